@@ -0,0 +1,154 @@
+package io.github.asewhy.conversions.processor;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Виртуальное поле класса на этапе компиляции, аналог BoundedAccessible: поле, геттер и сеттер с одним именем
+ */
+final class Accessor {
+    private final String name;
+    private VariableElement field;
+    private ExecutableElement getter;
+    private ExecutableElement setter;
+    //
+    // Если геттеров или сеттеров с одним именем несколько, то в рантайме будет выбран любой из них, поэтому такое поле
+    // не может быть сгенерировано
+    //
+    private boolean ambiguous;
+
+    private Accessor(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Собрать виртуальные поля класса по тем же правилам, что и ConversionStore#requestAllAccessibleData
+     *
+     * @param elements утилиты элементов
+     * @param owner класс, поля которого собираются
+     * @param excluded предикат классов, члены которых не учитываются
+     * @return карта, где ключ это имя поля
+     */
+    static Map<String, Accessor> scan(Elements elements, DeclaredType owner, Predicate<TypeElement> excluded) {
+        var result = new LinkedHashMap<String, Accessor>();
+
+        for(var member: elements.getAllMembers((TypeElement) owner.asElement())) {
+            var enclosing = member.getEnclosingElement();
+
+            if(member.getModifiers().contains(Modifier.STATIC) || !(enclosing instanceof TypeElement) || excluded.test((TypeElement) enclosing)) {
+                continue;
+            }
+
+            if(member.getKind() == ElementKind.FIELD) {
+                var name = member.getSimpleName().toString();
+                var accessor = result.computeIfAbsent(name, Accessor::new);
+
+                if(accessor.field == null) {
+                    accessor.field = (VariableElement) member;
+                }
+            } else if(member.getKind() == ElementKind.METHOD) {
+                var method = (ExecutableElement) member;
+                var methodName = method.getSimpleName().toString();
+
+                if(methodName.startsWith("get")) {
+                    var accessor = result.computeIfAbsent(getPureName(methodName), Accessor::new);
+
+                    accessor.ambiguous |= accessor.getter != null || !method.getParameters().isEmpty();
+                    accessor.getter = method;
+                } else if(methodName.startsWith("set")) {
+                    var accessor = result.computeIfAbsent(getPureName(methodName), Accessor::new);
+
+                    accessor.ambiguous |= accessor.setter != null || method.getParameters().size() != 1;
+                    accessor.setter = method;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * То же самое, что и ConversionUtils#getPureName
+     */
+    static String getPureName(String sourceName) {
+        var strip = sourceName.substring(3);
+
+        if(strip.length() > 1) {
+            return strip.substring(0, 1).toLowerCase(Locale.ROOT) + strip.substring(1);
+        } else {
+            return strip.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    String getName() {
+        return name;
+    }
+
+    boolean isAmbiguous() {
+        return ambiguous;
+    }
+
+    /**
+     * Тип поля с тем же приоритетом, что и в Bound#getType: поле, геттер, сеттер
+     */
+    TypeMirror getType(Types types, DeclaredType owner) {
+        if(field != null) {
+            return types.asMemberOf(owner, field);
+        } else if(getter != null) {
+            return ((ExecutableType) types.asMemberOf(owner, getter)).getReturnType();
+        } else {
+            return ((ExecutableType) types.asMemberOf(owner, setter)).getParameterTypes().get(0);
+        }
+    }
+
+    /**
+     * Член класса для чтения, с тем же приоритетом, что и в Bound#getComputedResult
+     */
+    Element getReader() {
+        return getter != null ? getter : field;
+    }
+
+    /**
+     * Член класса для записи, с тем же приоритетом, что и в Bound#setComputedResult
+     */
+    Element getWriter() {
+        if(setter != null) {
+            return setter;
+        } else if(field != null && !field.getModifiers().contains(Modifier.FINAL)) {
+            return field;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Тип значения, которое возвращает член класса для чтения
+     */
+    static TypeMirror readType(Types types, DeclaredType owner, Element reader) {
+        var type = types.asMemberOf(owner, reader);
+
+        return type instanceof ExecutableType ? ((ExecutableType) type).getReturnType() : type;
+    }
+
+    /**
+     * Тип значения, которое принимает член класса для записи
+     */
+    static TypeMirror writeType(Types types, DeclaredType owner, Element writer) {
+        var type = types.asMemberOf(owner, writer);
+
+        return type instanceof ExecutableType ? ((ExecutableType) type).getParameterTypes().get(0) : type;
+    }
+}
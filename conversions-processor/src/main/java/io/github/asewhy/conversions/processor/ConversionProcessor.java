@@ -0,0 +1,425 @@
+package io.github.asewhy.conversions.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Процессор аннотаций, который генерирует конвертеры простых полей для классов, помеченных
+ * {@code @ResponseDTO} и {@code @MutatorDTO}.
+ * <p>
+ * Поля сопоставляются по тем же правилам, что и в ConversionStore#registerResponse и ConversionStore#registerMutator.
+ * Сгенерированный код копирует только простые поля (примитивы, массивы, перечисления и финальные классы), поля которые
+ * требуют вложенной конверсии, а также классы, для которых код не был сгенерирован, продолжают обрабатываться рефлексивно.
+ * <p>
+ * Каждый сгенерированный конвертер реализует GeneratedConverterRegistry и записывается в META-INF/services, откуда
+ * ConversionStore загружает его через {@link java.util.ServiceLoader}.
+ * <p>
+ * Кроме того, процессор записывает индекс всех найденных ответов и мутаторов вместе с их целевыми типами в
+ * {@value #INDEX}, который используется ConversionStore#from вместо сканирования classpath.
+ */
+@SupportedAnnotationTypes({ ConversionProcessor.RESPONSE_DTO, ConversionProcessor.MUTATOR_DTO })
+public class ConversionProcessor extends AbstractProcessor {
+    static final String RESPONSE_DTO = "io.github.asewhy.conversions.support.annotations.ResponseDTO";
+    static final String MUTATOR_DTO = "io.github.asewhy.conversions.support.annotations.MutatorDTO";
+
+    private static final String CONVERSION_RESPONSE = "io.github.asewhy.conversions.ConversionResponse";
+    private static final String CONVERSION_MUTATOR = "io.github.asewhy.conversions.ConversionMutator";
+    private static final String CONVERTER = "io.github.asewhy.conversions.support.GeneratedConverter";
+    private static final String REGISTRY = "io.github.asewhy.conversions.support.GeneratedConverterRegistry";
+    private static final String GENERATED = "javax.annotation.processing.Generated";
+    private static final String SERVICES = "META-INF/services/" + REGISTRY;
+    private static final String SUFFIX = "$$GeneratedConverter";
+
+    /**
+     * Путь к индексу компонентов, формат строки: бинарное имя класса=бинарное имя целевого типа
+     */
+    static final String INDEX = "META-INF/conversions/components.idx";
+
+    private final Set<String> registries = new TreeSet<>();
+    private final Map<String, String> index = new TreeMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        for(var annotation: annotations) {
+            var isResponse = annotation.getQualifiedName().contentEquals(RESPONSE_DTO);
+
+            for(var element: round.getElementsAnnotatedWith(annotation)) {
+                if(element.getKind() == ElementKind.CLASS) {
+                    processType((TypeElement) element, isResponse);
+                }
+            }
+        }
+
+        if(round.processingOver()) {
+            if(!registries.isEmpty()) {
+                writeServices();
+            }
+
+            if(!index.isEmpty()) {
+                writeIndex();
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Сгенерировать конвертер для класса ответа или мутатора
+     *
+     * @param type класс ответа или мутатора
+     * @param isResponse true если класс помечен как ответ
+     */
+    private void processType(TypeElement type, boolean isResponse) {
+        var elements = processingEnv.getElementUtils();
+        var types = processingEnv.getTypeUtils();
+        var base = elements.getTypeElement(isResponse ? CONVERSION_RESPONSE : CONVERSION_MUTATOR);
+
+        if(base == null || !types.isSubtype(types.erasure(type.asType()), types.erasure(base.asType()))) {
+            return;
+        }
+
+        //
+        // Так же как и при сканировании пакета, целевой тип это первый дженерик родительского класса
+        //
+        var superclass = type.getSuperclass();
+
+        if(superclass.getKind() != TypeKind.DECLARED || ((DeclaredType) superclass).getTypeArguments().isEmpty()) {
+            return;
+        }
+
+        var generic = ((DeclaredType) superclass).getTypeArguments().get(0);
+
+        if(generic.getKind() != TypeKind.DECLARED) {
+            return;
+        }
+
+        //
+        // В индекс попадают те же классы, которые нашел бы сканер компонентов: независимые и не абстрактные
+        //
+        if(type.getNestingKind() == NestingKind.TOP_LEVEL || type.getNestingKind() == NestingKind.MEMBER && type.getModifiers().contains(Modifier.STATIC)) {
+            if(!type.getModifiers().contains(Modifier.ABSTRACT)) {
+                index.put(elements.getBinaryName(type).toString(), elements.getBinaryName((TypeElement) ((DeclaredType) generic).asElement()).toString());
+            }
+        }
+
+        if(elements.getTypeElement(REGISTRY) == null || !isAccessible(type, elements.getPackageOf(type))) {
+            return;
+        }
+
+        var self = (DeclaredType) type.asType();
+        var source = isResponse ? (DeclaredType) generic : self;
+        var target = isResponse ? self : (DeclaredType) generic;
+        var pkg = elements.getPackageOf(type);
+
+        if(
+            !isAccessible((TypeElement) source.asElement(), pkg) ||
+            !isAccessible((TypeElement) target.asElement(), pkg) ||
+            isSubtypeOf(target, "java.util.Map")
+        ) {
+            return;
+        }
+
+        //
+        // Поля мутатора собираются без членов самого ConversionMutator
+        //
+        var foundData = Accessor.scan(elements, source, e -> isExcluded(e, isResponse ? null : base));
+        var boundData = Accessor.scan(elements, target, e -> isExcluded(e, null));
+        var fields = new ArrayList<String>();
+        var copies = new ArrayList<String>();
+
+        for(var found: foundData.values()) {
+            var bound = boundData.get(found.getName());
+
+            if(bound == null || found.isAmbiguous() || bound.isAmbiguous()) {
+                continue;
+            }
+
+            var foundType = found.getType(types, source);
+
+            if(!types.isSameType(types.erasure(foundType), types.erasure(bound.getType(types, target))) || !isPlain(foundType)) {
+                continue;
+            }
+
+            var reader = found.getReader();
+            var writer = bound.getWriter();
+
+            if(
+                reader == null ||
+                writer == null ||
+                !isAccessible(reader, pkg) ||
+                !isAccessible(writer, pkg) ||
+                !types.isSameType(Accessor.readType(types, source, reader), Accessor.writeType(types, target, writer))
+            ) {
+                continue;
+            }
+
+            fields.add(found.getName());
+            copies.add(generateCopy(reader, writer));
+        }
+
+        if(!fields.isEmpty()) {
+            writeConverter(type, source, target, fields, copies);
+        }
+    }
+
+    private String generateCopy(Element reader, Element writer) {
+        var value = "source." + reader.getSimpleName() + (reader instanceof ExecutableElement ? "()" : "");
+
+        if(writer instanceof ExecutableElement) {
+            return "target." + writer.getSimpleName() + "(" + value + ");";
+        } else {
+            return "target." + writer.getSimpleName() + " = " + value + ";";
+        }
+    }
+
+    private void writeConverter(TypeElement type, DeclaredType source, DeclaredType target, List<String> fields, List<String> copies) {
+        var elements = processingEnv.getElementUtils();
+        var types = processingEnv.getTypeUtils();
+        var pkg = elements.getPackageOf(type);
+        var packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+        var binaryName = elements.getBinaryName(type).toString();
+        var simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)) + SUFFIX;
+        var qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        var sourceName = types.erasure(source).toString();
+        var targetName = types.erasure(target).toString();
+
+        try(var writer = new PrintWriter(processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter())) {
+            if(!packageName.isEmpty()) {
+                writer.println("package " + packageName + ";");
+                writer.println();
+            }
+
+            if(elements.getTypeElement(GENERATED) != null) {
+                writer.println("@" + GENERATED + "(\"" + getClass().getName() + "\")");
+            }
+
+            writer.println("@SuppressWarnings({\"rawtypes\", \"unchecked\"})");
+            writer.println("public final class " + simpleName + " implements " + CONVERTER + ", " + REGISTRY + " {");
+            writer.println("    private static final String[] FIELDS = {");
+
+            for(var i = 0; i < fields.size(); i++) {
+                writer.println("        \"" + fields.get(i) + "\"" + (i + 1 < fields.size() ? "," : ""));
+            }
+
+            writer.println("    };");
+            writer.println();
+            writer.println("    @Override");
+            writer.println("    public void register(" + REGISTRY + ".Registrar registrar) {");
+            writer.println("        registrar.converter(" + type.getQualifiedName() + ".class, FIELDS.clone(), this);");
+            writer.println("    }");
+            writer.println();
+            writer.println("    @Override");
+            writer.println("    public void copy(int step, Object from, Object to) {");
+            writer.println("        " + sourceName + " source = (" + sourceName + ") from;");
+            writer.println("        " + targetName + " target = (" + targetName + ") to;");
+            writer.println();
+            writer.println("        switch(step) {");
+
+            for(var i = 0; i < copies.size(); i++) {
+                writer.println("            case " + i + ":");
+                writer.println("                " + copies.get(i));
+                writer.println("                break;");
+            }
+
+            writer.println("        }");
+            writer.println("    }");
+            writer.println();
+            writer.println("    @Override");
+            writer.println("    public void copyAll(Object from, Object to) {");
+            writer.println("        " + sourceName + " source = (" + sourceName + ") from;");
+            writer.println("        " + targetName + " target = (" + targetName + ") to;");
+            writer.println();
+
+            for(var copy: copies) {
+                writer.println("        " + copy);
+            }
+
+            writer.println("    }");
+            writer.println("}");
+
+            registries.add(qualifiedName);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(
+                Diagnostic.Kind.WARNING, "Cannot generate converter, reflective conversion will be used: " + e.getMessage(), type
+            );
+        }
+    }
+
+    /**
+     * Записать сгенерированные конвертеры в META-INF/services. Записи, оставшиеся от предыдущей компиляции, сохраняются,
+     * если их классы всё ещё существуют
+     */
+    private void writeServices() {
+        var elements = processingEnv.getElementUtils();
+        var result = new TreeSet<>(registries);
+
+        for(var line: readExisting(SERVICES)) {
+            if(elements.getTypeElement(line) != null) {
+                result.add(line);
+            }
+        }
+
+        writeResource(SERVICES, result);
+    }
+
+    /**
+     * Записать индекс компонентов. Записи, оставшиеся от предыдущей компиляции, сохраняются, если их классы всё ещё
+     * существуют
+     */
+    private void writeIndex() {
+        var elements = processingEnv.getElementUtils();
+        var result = new TreeMap<String, String>();
+
+        for(var line: readExisting(INDEX)) {
+            var separator = line.indexOf('=');
+
+            if(separator > 0 && elements.getTypeElement(line.substring(0, separator).replace('$', '.')) != null) {
+                result.put(line.substring(0, separator), line.substring(separator + 1));
+            }
+        }
+
+        result.putAll(index);
+
+        writeResource(INDEX, result.entrySet().stream().map(e -> e.getKey() + "=" + e.getValue()).collect(Collectors.toList()));
+    }
+
+    private List<String> readExisting(String path) {
+        var result = new ArrayList<String>();
+
+        try {
+            var existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", path);
+
+            try(var reader = new BufferedReader(new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+
+                while((line = reader.readLine()) != null) {
+                    line = line.trim();
+
+                    if(!line.isEmpty() && !line.startsWith("#")) {
+                        result.add(line);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // Файла от предыдущей компиляции нет
+        }
+
+        return result;
+    }
+
+    private void writeResource(String path, Collection<String> lines) {
+        var filer = processingEnv.getFiler();
+
+        try(var writer = new PrintWriter(new OutputStreamWriter(filer.createResource(StandardLocation.CLASS_OUTPUT, "", path).openOutputStream(), StandardCharsets.UTF_8))) {
+            for(var current: lines) {
+                writer.println(current);
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Cannot write " + path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Можно ли копировать значение этого типа напрямую, то же самое, что и ConverterGenerator#isPlainType
+     */
+    private boolean isPlain(TypeMirror type) {
+        if(type.getKind().isPrimitive() || type instanceof ArrayType) {
+            return true;
+        }
+
+        if(type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+
+        var element = ((DeclaredType) type).asElement();
+
+        if(element.getKind() == ElementKind.ENUM) {
+            return true;
+        }
+
+        return element.getModifiers().contains(Modifier.FINAL) &&
+            !isSubtypeOf(type, "java.util.Collection") &&
+            !isSubtypeOf(type, "java.util.Map") &&
+            !isSubtypeOf(type, CONVERSION_RESPONSE) &&
+            !isSubtypeOf(type, CONVERSION_MUTATOR);
+    }
+
+    private boolean isSubtypeOf(TypeMirror type, String name) {
+        var element = processingEnv.getElementUtils().getTypeElement(name);
+        var types = processingEnv.getTypeUtils();
+
+        return element != null && types.isSubtype(types.erasure(type), types.erasure(element.asType()));
+    }
+
+    /**
+     * Не учитываются члены Object, а также члены класса stop и его родителей
+     */
+    private boolean isExcluded(TypeElement enclosing, TypeElement stop) {
+        if(enclosing.getQualifiedName().contentEquals("java.lang.Object")) {
+            return true;
+        }
+
+        if(stop != null) {
+            var types = processingEnv.getTypeUtils();
+
+            return types.isSubtype(types.erasure(stop.asType()), types.erasure(enclosing.asType()));
+        }
+
+        return false;
+    }
+
+    /**
+     * Доступен ли класс или член класса из сгенерированного класса в пакете pkg
+     */
+    private boolean isAccessible(Element element, PackageElement pkg) {
+        var elements = processingEnv.getElementUtils();
+
+        for(var current = element; current != null && current.getKind() != ElementKind.PACKAGE; current = current.getEnclosingElement()) {
+            var modifiers = current.getModifiers();
+
+            if(current instanceof TypeElement && ((TypeElement) current).getNestingKind() != NestingKind.TOP_LEVEL && ((TypeElement) current).getNestingKind() != NestingKind.MEMBER) {
+                return false;
+            }
+
+            if(modifiers.contains(Modifier.PRIVATE) || !modifiers.contains(Modifier.PUBLIC) && !elements.getPackageOf(current).equals(pkg)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
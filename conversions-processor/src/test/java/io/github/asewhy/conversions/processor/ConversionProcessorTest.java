@@ -0,0 +1,132 @@
+package io.github.asewhy.conversions.processor;
+
+import io.github.asewhy.conversions.ConversionStore;
+import io.github.asewhy.conversions.support.GeneratedConverterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ConversionProcessorTest {
+    private static final String FIXTURES = "io.github.asewhy.conversions.processor.fixtures.";
+    private static final String[] SOURCES = { "ExampleProcessorBookEntity", "ExampleProcessorBookResponse", "ExampleProcessorBookMutator" };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    @DisplayName("Процессор генерирует конвертеры ответов и мутаторов и записывает их в META-INF/services")
+    public void generatesConverters() throws Exception {
+        var output = compile();
+
+        Assertions.assertThat(output.resolve(path("ExampleProcessorBookResponse$$GeneratedConverter.class"))).exists();
+        Assertions.assertThat(output.resolve(path("ExampleProcessorBookMutator$$GeneratedConverter.class"))).exists();
+        Assertions.assertThat(Files.readAllLines(output.resolve("META-INF/services/" + GeneratedConverterRegistry.class.getName()))).containsExactly(
+            FIXTURES + "ExampleProcessorBookMutator$$GeneratedConverter",
+            FIXTURES + "ExampleProcessorBookResponse$$GeneratedConverter"
+        );
+    }
+
+    @Test
+    @DisplayName("Процессор записывает индекс ответов и мутаторов с их целевыми типами")
+    public void writesIndex() throws Exception {
+        var output = compile();
+
+        Assertions.assertThat(Files.readAllLines(output.resolve(ConversionProcessor.INDEX))).containsExactly(
+            FIXTURES + "ExampleProcessorBookMutator=" + FIXTURES + "ExampleProcessorBookEntity",
+            FIXTURES + "ExampleProcessorBookResponse=" + FIXTURES + "ExampleProcessorBookEntity"
+        );
+    }
+
+    @Test
+    @DisplayName("Стор загружает сгенерированные конвертеры через ServiceLoader при регистрации типов")
+    public void storeLoadsGeneratedConverters() throws Exception {
+        var output = compile();
+
+        try(var loader = new URLClassLoader(new URL[] { output.toUri().toURL() }, getClass().getClassLoader()); var context = new AnnotationConfigApplicationContext()) {
+            context.refresh();
+
+            var store = new ConversionStore(context);
+            var entityClass = loader.loadClass(FIXTURES + "ExampleProcessorBookEntity");
+            var responseClass = loader.loadClass(FIXTURES + "ExampleProcessorBookResponse");
+            var mutatorClass = loader.loadClass(FIXTURES + "ExampleProcessorBookMutator");
+
+            store.register(responseClass, entityClass);
+            store.register(mutatorClass, entityClass);
+
+            var response = store.getPrecompiledConverter(responseClass);
+            var mutator = store.getPrecompiledConverter(mutatorClass);
+
+            //
+            // Коллекции требуют конверсии элементов, поэтому копируются рефлексивно
+            //
+            Assertions.assertThat(response).isNotNull();
+            Assertions.assertThat(response.getFields()).containsExactlyInAnyOrder("name", "pageCount");
+            Assertions.assertThat(mutator).isNotNull();
+            Assertions.assertThat(mutator.getFields()).containsExactly("name");
+
+            var entity = entityClass.getConstructor().newInstance();
+            var result = responseClass.getConstructor().newInstance();
+
+            entityClass.getMethod("setName", String.class).invoke(entity, "generated");
+            entityClass.getMethod("setPageCount", Long.class).invoke(entity, 42L);
+            entityClass.getMethod("setAuthors", List.class).invoke(entity, List.of("author"));
+
+            response.getConverter().copyAll(entity, result);
+
+            Assertions.assertThat(responseClass.getMethod("getName").invoke(result)).isEqualTo("generated");
+            Assertions.assertThat(responseClass.getMethod("getPageCount").invoke(result)).isEqualTo(42L);
+            Assertions.assertThat(responseClass.getMethod("getAuthors").invoke(result)).isNull();
+        }
+    }
+
+    /**
+     * Скомпилировать исходники из fixtures с процессором
+     *
+     * @return каталог с классами и ресурсами
+     */
+    private Path compile() throws Exception {
+        var output = folder.newFolder().toPath();
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        var diagnostics = new DiagnosticCollector<JavaFileObject>();
+
+        try(var files = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            var options = List.of("-classpath", System.getProperty("java.class.path"), "-d", output.toString());
+            var task = compiler.getTask(null, files, diagnostics, options, null, files.getJavaFileObjectsFromPaths(sources()));
+
+            task.setProcessors(List.of(new ConversionProcessor()));
+
+            Assertions.assertThat(task.call()).as(diagnostics.getDiagnostics().toString()).isTrue();
+        }
+
+        return output;
+    }
+
+    private List<Path> sources() throws URISyntaxException {
+        var result = new ArrayList<Path>();
+
+        for(var current: SOURCES) {
+            result.add(Path.of(getClass().getResource("/fixtures/" + current + ".java").toURI()));
+        }
+
+        return result;
+    }
+
+    private static String path(String name) {
+        return FIXTURES.replace('.', '/') + name;
+    }
+}
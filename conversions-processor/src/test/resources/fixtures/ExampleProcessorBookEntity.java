@@ -0,0 +1,33 @@
+package io.github.asewhy.conversions.processor.fixtures;
+
+import java.util.List;
+
+public class ExampleProcessorBookEntity {
+    private String name;
+    private Long pageCount;
+    private List<String> authors;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Long getPageCount() {
+        return pageCount;
+    }
+
+    public void setPageCount(Long pageCount) {
+        this.pageCount = pageCount;
+    }
+
+    public List<String> getAuthors() {
+        return authors;
+    }
+
+    public void setAuthors(List<String> authors) {
+        this.authors = authors;
+    }
+}
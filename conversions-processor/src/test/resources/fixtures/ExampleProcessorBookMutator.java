@@ -0,0 +1,17 @@
+package io.github.asewhy.conversions.processor.fixtures;
+
+import io.github.asewhy.conversions.ConversionMutator;
+import io.github.asewhy.conversions.support.annotations.MutatorDTO;
+
+@MutatorDTO
+public class ExampleProcessorBookMutator extends ConversionMutator<ExampleProcessorBookEntity> {
+    private String name;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
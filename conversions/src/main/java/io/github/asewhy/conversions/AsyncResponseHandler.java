@@ -0,0 +1,149 @@
+package io.github.asewhy.conversions;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import io.github.asewhy.ReflectionUtils;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Обработка асинхронных ответов контроллера: {@link CompletionStage}, {@link ListenableFuture}, {@link DeferredResult}
+ * и {@link Callable}.
+ * <p>
+ * Когда значение {@link CompletionStage} или {@link ListenableFuture} готово, оно конвертируется на исполнителе
+ * {@link io.github.asewhy.conversions.support.ConversionConfiguration#conversionExecutor()}, и уже конвертированный ответ
+ * передается в MVC через асинхронную диспетчеризацию. Результат {@link Callable} конвертируется в том же потоке, в
+ * котором он был вычислен. Поток запроса не занят ни ожиданием, ни конверсией.
+ * <p>
+ * Исходный {@link DeferredResult} передается в MVC как есть, поэтому его таймаут, результат по таймауту и обработчики
+ * onTimeout, onError и onCompletion работают как обычно, а значение конвертируется при асинхронной диспетчеризации. Так же
+ * конвертируются значения остальных типов, если исполнитель не задан.
+ */
+final class AsyncResponseHandler {
+    private final ConversionProvider provider;
+
+    AsyncResponseHandler(@NotNull ConversionProvider provider) {
+        this.provider = provider;
+    }
+
+    /**
+     * Проверить, является ли значение асинхронным результатом, который может обработать этот обработчик
+     *
+     * @param value возвращаемое значение
+     * @return true если является
+     */
+    static boolean isAsync(Object value) {
+        return value instanceof CompletionStage<?> || value instanceof ListenableFuture<?> || value instanceof DeferredResult<?> || value instanceof Callable<?>;
+    }
+
+    /**
+     * Начать асинхронную обработку значения
+     *
+     * @param value асинхронный результат
+     * @param mapping маппинг ответа
+     * @param selection выборка полей ответа
+     * @param mavContainer контейнер модели текущего запроса
+     * @param webRequest текущий запрос
+     * @throws Exception если не удалось начать асинхронную обработку
+     */
+    void handle(@NotNull Object value, String mapping, FieldSelection selection, ModelAndViewContainer mavContainer, NativeWebRequest webRequest) throws Exception {
+        var asyncManager = WebAsyncUtils.getAsyncManager(webRequest);
+
+        if(value instanceof Callable<?>) {
+            var callable = (Callable<?>) value;
+
+            asyncManager.startCallableProcessing((Callable<Object>) () -> convert(callable.call(), mapping, selection), mavContainer);
+
+            return;
+        }
+
+        if(value instanceof DeferredResult<?>) {
+            asyncManager.startDeferredResultProcessing((DeferredResult<?>) value, mavContainer);
+
+            return;
+        }
+
+        var result = new DeferredResult<>();
+        var stage = value instanceof ListenableFuture<?> ? ((ListenableFuture<?>) value).completable() : (CompletionStage<?>) value;
+
+        stage.whenComplete((e, error) -> {
+            if(error != null) {
+                result.setErrorResult(unwrap(error));
+            } else {
+                complete(result, e, mapping, selection);
+            }
+        });
+
+        asyncManager.startDeferredResultProcessing(result, mavContainer);
+    }
+
+    private void complete(@NotNull DeferredResult<Object> result, Object value, String mapping, FieldSelection selection) {
+        var executor = provider.getConfig().getConfig().conversionExecutor();
+
+        //
+        // Без исполнителя значение конвертируется при асинхронной диспетчеризации
+        //
+        if(executor == null) {
+            result.setResult(value);
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    result.setResult(convert(value, mapping, selection));
+                } catch (Throwable e) {
+                    result.setErrorResult(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.setErrorResult(e);
+        }
+    }
+
+    private @NotNull Converted convert(Object value, String mapping, FieldSelection selection) {
+        if(value == null) {
+            return new Converted(null);
+        }
+
+        var type = ReflectionUtils.skipAnonClasses(value.getClass());
+        var store = provider.getConfig().getStore();
+
+        if(store.isPresentResponse(type) || provider.canResolveResponse(type, type, mapping)) {
+            return new Converted(FieldSelection.apply(selection, () -> provider.createResponseResolve(value, mapping)));
+        } else {
+            return new Converted(value);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        while((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+
+        return error;
+    }
+
+    /**
+     * Уже конвертированный результат асинхронной обработки, при диспетчеризации повторно не конвертируется
+     */
+    @Getter
+    static final class Converted {
+        @JsonValue
+        private final Object value;
+
+        private Converted(Object value) {
+            this.value = value;
+        }
+    }
+}
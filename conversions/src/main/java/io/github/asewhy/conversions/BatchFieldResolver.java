@@ -0,0 +1,33 @@
+package io.github.asewhy.conversions;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Пакетный ресолвер значений полей ответов, помеченных {@link io.github.asewhy.conversions.support.annotations.BatchField}.
+ * Ресолвер должен быть компонентом, помеченным {@link io.github.asewhy.conversions.support.annotations.ContextLoadable}.
+ *
+ * @param <K> тип ключа
+ * @param <V> тип значения поля
+ */
+public abstract class BatchFieldResolver<K, V> {
+    /**
+     * Загрузить значения для группы ключей. Ключи не повторяются, ключам, которых нет в результате, будет назначено null
+     *
+     * @param keys ключи
+     * @param context контекст, поставляемый конфигурацией
+     * @return значения по ключам
+     */
+    public abstract @NotNull Map<K, V> resolve(@NotNull Collection<K> keys, Object context);
+
+    /**
+     * Получить максимальное количество ключей в одном вызове {@link #resolve(Collection, Object)}
+     *
+     * @return размер пакета
+     */
+    public int getBatchSize() {
+        return 500;
+    }
+}
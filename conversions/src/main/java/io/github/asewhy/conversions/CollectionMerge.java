@@ -0,0 +1,227 @@
+package io.github.asewhy.conversions;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Слияние коллекций и карт вложенных мутаторов с коллекциями и картами сущностей за один проход.
+ * <p>
+ * Элементы сущности индексируются по идентификатору, каждому мутатору сопоставляется элемент с тем же идентификатором
+ * (один элемент сопоставляется не более чем одному мутатору, поэтому повторяющиеся идентификаторы не приводят к ошибке).
+ * Несопоставленные мутаторы создают новые элементы, несопоставленные элементы удаляются. Списки получают порядок
+ * мутаторов, в остальные коллекции новые элементы добавляются в конец. Карты сливаются по ключам.
+ */
+@SuppressWarnings("unchecked")
+final class CollectionMerge {
+    private CollectionMerge() {
+
+    }
+
+    /**
+     * Слить коллекцию мутаторов с коллекцией сущностей
+     *
+     * @param info данные для слияния коллекции
+     * @param internal конфигурация
+     * @param source коллекция мутаторов
+     * @param exists текущая коллекция сущности, может быть null
+     * @param parent заполняемая сущность, которой принадлежит коллекция
+     * @param context контекст заполнения
+     * @return результат слияния
+     */
+    static @NotNull MergeReport mergeCollection(
+        MutatorPlan.@NotNull CollectionInfo info,
+        @NotNull ConversionConfigurationInternal internal,
+        @NotNull Collection<?> source,
+        Object exists,
+        @NotNull Object parent,
+        Object context
+    ) {
+        var target = (Collection<Object>) (exists != null ? exists : info.getCollectionFactory().get());
+        var extractors = info.getIdExtractors(internal.getConfig());
+        var foundId = extractors.getFound();
+        var boundId = extractors.getBound();
+        var report = new MergeReport(target);
+
+        //
+        // Индекс элементов сущности, при повторяющихся идентификаторах используется первый элемент
+        //
+        var byId = new HashMap<Object, Object>(target.size() * 2);
+
+        for(var current: target) {
+            var id = current != null ? boundId.extract(current) : null;
+
+            if(id != null) {
+                byId.putIfAbsent(id, current);
+            }
+        }
+
+        //
+        // Сопоставление мутаторов элементам
+        //
+        var mutators = new ArrayList<ConversionMutator<Object>>(source.size());
+        var matches = new ArrayList<Object>(source.size());
+        var matched = Collections.newSetFromMap(new IdentityHashMap<>(source.size() * 2));
+
+        for(var current: source) {
+            if(current instanceof ConversionMutator) {
+                var id = foundId.extract(current);
+                var match = id != null ? byId.remove(id) : null;
+
+                if(match != null) {
+                    matched.add(match);
+                }
+
+                mutators.add((ConversionMutator<Object>) current);
+                matches.add(match);
+            }
+        }
+
+        for(var current: target) {
+            if(!matched.contains(current)) {
+                report.getRemoved().add(current);
+            }
+        }
+
+        //
+        // Удаление до заполнения, пока хеши элементов не изменились
+        //
+        if(!(target instanceof List) && !report.getRemoved().isEmpty()) {
+            target.removeIf(e -> !matched.contains(e));
+        }
+
+        var ordered = new ArrayList<>(mutators.size());
+
+        for(var i = 0; i < mutators.size(); i++) {
+            var mutator = mutators.get(i);
+            var element = matches.get(i);
+
+            if(element == null) {
+                element = info.getElementFactory().get();
+                report.getAdded().add(element);
+            } else {
+                report.getUpdated().add(element);
+            }
+
+            mutator.fillParent(element, parent);
+            mutator.fill(element, context);
+
+            ordered.add(element);
+        }
+
+        if(target instanceof List) {
+            applyOrder((List<Object>) target, ordered, matches, matched, report);
+        } else {
+            target.addAll(report.getAdded());
+        }
+
+        return report;
+    }
+
+    /**
+     * Слить карту мутаторов с картой сущностей по ключам
+     *
+     * @param info данные для слияния карты
+     * @param source карта мутаторов
+     * @param exists текущая карта сущности, может быть null
+     * @param parent заполняемая сущность, которой принадлежит карта
+     * @param context контекст заполнения
+     * @return результат слияния
+     */
+    static @NotNull MergeReport mergeMap(
+        MutatorPlan.@NotNull CollectionInfo info,
+        @NotNull Map<?, ?> source,
+        Object exists,
+        @NotNull Object parent,
+        Object context
+    ) {
+        var target = (Map<Object, Object>) (exists != null ? exists : info.getCollectionFactory().get());
+        var report = new MergeReport(target);
+        var iterator = target.entrySet().iterator();
+
+        while(iterator.hasNext()) {
+            var current = iterator.next();
+
+            if(!source.containsKey(current.getKey())) {
+                report.getRemoved().add(current.getValue());
+                iterator.remove();
+            }
+        }
+
+        for(var current: source.entrySet()) {
+            var value = current.getValue();
+
+            if(!(value instanceof ConversionMutator)) {
+                target.put(current.getKey(), value);
+                continue;
+            }
+
+            var mutator = (ConversionMutator<Object>) value;
+            var element = target.get(current.getKey());
+
+            if(element == null) {
+                element = info.getElementFactory().get();
+                report.getAdded().add(element);
+            } else {
+                report.getUpdated().add(element);
+            }
+
+            mutator.fillParent(element, parent);
+            mutator.fill(element, context);
+
+            target.put(current.getKey(), element);
+        }
+
+        return report;
+    }
+
+    private static void applyOrder(
+        @NotNull List<Object> target,
+        @NotNull List<Object> ordered,
+        @NotNull List<Object> matches,
+        @NotNull Set<Object> matched,
+        @NotNull MergeReport report
+    ) {
+        //
+        // Сравнение порядка сохранившихся элементов, итераторами, чтобы не зависеть от реализации списка
+        //
+        var retained = target.iterator();
+        var expected = matches.iterator();
+        var reordered = false;
+
+        while(!reordered && expected.hasNext()) {
+            var next = expected.next();
+
+            if(next == null) {
+                continue;
+            }
+
+            var current = (Object) null;
+
+            while(retained.hasNext() && !matched.contains(current = retained.next())) {
+                current = null;
+            }
+
+            reordered = current != next;
+        }
+
+        report.setReordered(reordered);
+
+        if(!report.isStructureChanged()) {
+            return;
+        }
+
+        //
+        // Список пересобирается целиком, это линейно и для списков с произвольным доступом, и для связных списков
+        //
+        target.clear();
+        target.addAll(ordered);
+    }
+}
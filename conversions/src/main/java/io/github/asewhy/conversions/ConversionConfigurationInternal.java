@@ -3,6 +3,8 @@ package io.github.asewhy.conversions;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.asewhy.conversions.support.CallbackNameStrategy;
 import io.github.asewhy.conversions.support.ConversionConfiguration;
+import io.github.asewhy.conversions.support.CyclePolicy;
+import io.github.asewhy.conversions.support.LazyLoadingHandler;
 import io.github.asewhy.conversions.support.naming.ConversionNamingStrategy;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
@@ -19,6 +21,9 @@ public class ConversionConfigurationInternal {
     private final ConversionStore store;
     private final CallbackNameStrategy callbackNameStrategy;
     private final ConversionNamingStrategy namingStrategy;
+    private final LazyLoadingHandler lazyLoadingHandler;
+    private final CyclePolicy cyclePolicy;
+    private final ResponseCache responseCache;
 
     @NotNull
     private final ConversionConfiguration config;
@@ -27,10 +32,15 @@ public class ConversionConfigurationInternal {
     public ConversionConfigurationInternal(@NotNull ConversionConfiguration config) {
         this.objectMapper = config.objectMapper().copy();
         this.namingStrategy = config.namingStrategy();
+        this.lazyLoadingHandler = config.lazyLoadingHandler();
+        this.cyclePolicy = config.cyclePolicy();
+        this.responseCache = config.responseCache();
         this.callbackNameStrategy = new CallbackNameStrategy(namingStrategy);
         this.store = config.conversionStore();
         this.config = config;
 
         this.objectMapper.setPropertyNamingStrategy(this.callbackNameStrategy);
+        this.objectMapper.registerModule(new MutatorModule(this));
+        this.objectMapper.registerModule(new ResponseModule());
     }
 }
@@ -5,7 +5,7 @@ import java.util.Collection;
 import java.util.List;
 
 @SuppressWarnings("unchecked")
-public abstract class ConversionContextRecipient<T extends ConversionResponse<?>, C> {
+public abstract class ConversionContextRecipient<T, C> {
     /**
      * Получить контекст для единой сущности
      *
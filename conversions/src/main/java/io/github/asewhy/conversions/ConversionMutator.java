@@ -1,6 +1,5 @@
 package io.github.asewhy.conversions;
 
-import io.github.asewhy.ReflectionUtils;
 import io.github.asewhy.conversions.exceptions.StoreNotFoundException;
 import io.github.asewhy.conversions.support.Bound;
 import io.github.asewhy.conversions.support.annotations.MutatorExcludes;
@@ -10,7 +9,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.UnmodifiableView;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Конвертируемый мутатор сервиса
@@ -20,7 +18,12 @@ import java.util.stream.Collectors;
 @Log4j2
 @SuppressWarnings({"UnusedReturnValue", "unused", "unchecked"})
 public abstract class ConversionMutator<T> {
-    protected final Set<String> touchedFields = new HashSet<>();
+    private final TouchedFields touched = new TouchedFields();
+
+    //
+    // Имена полей в json, переданные в мутатор. После регистрации стора проверка поля плана выполняется по индексу
+    //
+    protected final Set<String> touchedFields = touched;
 
     private ConversionConfigurationInternal config;
 
@@ -35,6 +38,21 @@ public abstract class ConversionMutator<T> {
         }
 
         this.config = internal;
+
+        var store = internal.getStore();
+
+        if(store != null) {
+            this.touched.bind(store.getMutatorPlan(this.getClass()).getFieldIndex(internal.getNamingStrategy()));
+        }
+    }
+
+    /**
+     * Проверить, зарегистрирован ли стор для этого мутатора
+     *
+     * @return true если зарегистрирован
+     */
+    final boolean isStoreRegistered() {
+        return this.config != null;
     }
 
     /**
@@ -50,17 +68,11 @@ public abstract class ConversionMutator<T> {
      * @param parent родительская сущность
      */
     protected void fillParent(T fill, @NotNull Object parent) {
-        var parentClazz = parent.getClass();
         var config = this.config.getConfig();
         var store = this.config.getStore();
-        var metadata = store.getMutatorBound(this.getClass());
-        var bound = metadata.getBound();
-
-        for(var current: bound) {
-            if(!parentClazz.isAssignableFrom(current.getType())) {
-                continue;
-            }
+        var plan = store.getMutatorPlan(this.getClass());
 
+        for(var current: plan.getParentSlots(parent.getClass())) {
             current.setComputedResult(fill, parent);
         }
 
@@ -92,31 +104,38 @@ public abstract class ConversionMutator<T> {
         }
 
         //
-        // Получаю бинды для класса
+        // Получаю скомпилированный план для класса
         //
-        var metadata = store.getMutatorBound(this.getClass());
+        var plan = store.getMutatorPlan(this.getClass());
+        var steps = plan.getSteps();
+        var generated = plan.getPrecompiled() != null || Boolean.TRUE.equals(this.config.getConfig().isGenerateConverters()) ? plan.getGenerated() : null;
 
         //
         // Перебираю поля, с совпадающими типами
         //
-        for(var current: metadata.getIntersect().entrySet()) {
+        for(var i = 0; i < steps.length; i++) {
+            var step = steps[i];
             //
             // Поставщик
             //
-            var found = current.getKey();
+            var found = step.getFound();
             //
             // Принимающий объект
             //
-            var bound = current.getValue();
-
-            var foundType = found.getType();
-            var boundType = bound.getType();
+            var bound = step.getBound();
 
             //
             // Если есть поле
             //
-            if(hasField(found)) {
+            if(touched.has(i)) {
                 if(requireProcessField(found, context, fill)) {
+                    //
+                    // Простые поля копируются сгенерированным конвертером, если он есть
+                    //
+                    if(generated != null && generated.copy(i, this, fill)) {
+                        continue;
+                    }
+
                     var received = found.getComputedResult(this);
 
                     if(received != null && bound.isFullfilled()) {
@@ -127,10 +146,7 @@ public abstract class ConversionMutator<T> {
                             requireProcessNested(found, received)
                         ) {
                             if(exists == null) {
-                                var mutatorClass = received.getClass();
-                                var mutatorMetadata = store.getMutatorBound(mutatorClass);
-
-                                exists = ReflectionUtils.safeInstance(mutatorMetadata.getBoundClass());
+                                exists = store.getMutatorPlan(received.getClass()).newTarget();
                             }
 
                             var mutator = (ConversionMutator<Object>) received;
@@ -139,54 +155,20 @@ public abstract class ConversionMutator<T> {
                             mutator.fill(exists, context);
 
                             received = exists;
-                        }
+                        } else if(
+                            (received instanceof Collection<?> || received instanceof Map<?, ?>) &&
+                            requireProcessNested(found, received)
+                        ) {
+                            var info = step.getCollection();
 
-                        if(received instanceof Collection<?> && requireProcessNested(found, received)) {
-                            var foundCollection = (Collection<?>) received;
-                            var foundSubtype = found.findXGeneric();
-                            var boundSubtype = bound.findXGeneric();
-                            var foundIdField = ReflectionUtils.findTypeId(foundSubtype);
-                            var boundIdField = ReflectionUtils.findTypeId(boundSubtype);
-
-                            if(boundIdField != null && foundIdField != null && boundSubtype != null) {
-                                if(exists == null) {
-                                    //
-                                    // Создадим экземпляр нужной коллекции
-                                    //
-                                    exists = ReflectionUtils.makeCollectionInstance(boundType);
-                                }
-
-                                var boundCollection = (Collection<Object>) exists;
-                                var existsMap = boundCollection.stream().collect(Collectors.toMap(e -> ReflectionUtils.safeAccess(boundIdField, e), e -> e));
-                                var foundMap = foundCollection.stream().collect(Collectors.toMap(e -> ReflectionUtils.safeAccess(foundIdField, e), e -> e));
-
-                                boundCollection.removeIf(e -> !foundMap.containsKey(ReflectionUtils.safeAccess(boundIdField, e)));
-
-                                for(var item: foundCollection) {
-                                    if(item instanceof ConversionMutator) {
-                                        var mutator = (ConversionMutator<Object>) item;
-                                        var mutatorId = ReflectionUtils.safeAccess(foundIdField, mutator);
-                                        var existsItem = existsMap.get(mutatorId);
-
-                                        if (mutatorId == null || existsItem == null) {
-                                            //
-                                            // Создадим экземпляр нужного члена коллекции
-                                            //
-                                            if(Map.class.isAssignableFrom(boundSubtype)) {
-                                                boundCollection.add(existsItem = ReflectionUtils.makeMapInstance(boundSubtype));
-                                            } else if(Collection.class.isAssignableFrom(boundSubtype)) {
-                                                boundCollection.add(existsItem = ReflectionUtils.makeCollectionInstance(boundSubtype));
-                                            } else {
-                                                boundCollection.add(existsItem = ReflectionUtils.safeInstance(boundSubtype));
-                                            }
-                                        }
-
-                                        mutator.fillParent(existsItem, fill);
-                                        mutator.fill(existsItem, context);
-                                    }
-                                }
-
-                                received = boundCollection;
+                            if(info.isMergeable(this.config.getConfig())) {
+                                var report = received instanceof Map<?, ?> ?
+                                    CollectionMerge.mergeMap(info, (Map<?, ?>) received, exists, fill, context) :
+                                    CollectionMerge.mergeCollection(info, this.config, (Collection<?>) received, exists, fill, context);
+
+                                received = report.getTarget();
+
+                                mergeInternal(fill, found, report, context);
                             }
                         }
                     }
@@ -217,10 +199,50 @@ public abstract class ConversionMutator<T> {
         return hasField(field.getName());
     }
 
-    public final boolean hasField(String name) {
+    /**
+     * Проверить, передано ли поле в мутатор. Поддерживаются пути вложенных мутаторов через точку, например
+     * "author.name" - передано поле author и во вложенном мутаторе передано поле name
+     *
+     * @param name название поля мутатора или путь до поля вложенного мутатора
+     * @return true если передано
+     */
+    public final boolean hasField(@NotNull String name) {
+        var dot = name.indexOf('.');
+
+        if(dot >= 0) {
+            return hasPath(name.substring(0, dot), name.substring(dot + 1));
+        }
+
+        var index = this.touched.getIndex();
+
+        if(index != null) {
+            var i = index.indexOfField(name);
+
+            if(i >= 0) {
+                return this.touched.has(i);
+            }
+        }
+
         return touchedFields.contains(convertFieldName(name));
     }
 
+    private boolean hasPath(@NotNull String head, @NotNull String tail) {
+        if(!hasField(head)) {
+            return false;
+        }
+
+        var index = this.touched.getIndex();
+        var i = index != null ? index.indexOfField(head) : -1;
+
+        if(i < 0) {
+            return false;
+        }
+
+        var nested = index.getField(i).getComputedResult(this);
+
+        return nested instanceof ConversionMutator<?> && ((ConversionMutator<?>) nested).hasField(tail);
+    }
+
     public final @NotNull String convertFieldName(String name) {
         var store = this.config.getStore();
 
@@ -228,14 +250,7 @@ public abstract class ConversionMutator<T> {
             throw new StoreNotFoundException(name);
         }
 
-        var metadata = store.getMutatorBound(this.getClass());
-        var field = metadata.getBoundField(name);
-
-        if(field != null) {
-            return this.config.getNamingStrategy().convert(name, field.getType());
-        } else {
-            return this.config.getNamingStrategy().convert(name, null);
-        }
+        return store.getMutatorBound(this.getClass()).getNameTable(this.config.getNamingStrategy()).getJsonName(name);
     }
 
     @Contract(" -> new")
@@ -250,4 +265,16 @@ public abstract class ConversionMutator<T> {
     protected void fillInternal(T fill, Object context) {
         // Do not nothing
     }
+
+    /**
+     * Вызывается после слияния коллекции или карты вложенных мутаторов с коллекцией или картой заполняемой сущности
+     *
+     * @param fill заполняемая сущность
+     * @param field поле мутатора
+     * @param report результат слияния
+     * @param context контекст заполнения
+     */
+    protected void mergeInternal(T fill, Bound field, MergeReport report, Object context) {
+        // Do not nothing
+    }
 }
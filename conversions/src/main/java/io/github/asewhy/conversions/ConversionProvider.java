@@ -0,0 +1,611 @@
+package io.github.asewhy.conversions;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.asewhy.ReflectionUtils;
+import io.github.asewhy.conversions.builders.MutatorObjectBuilder;
+import io.github.asewhy.conversions.defaults.CollectionRequestResolver;
+import io.github.asewhy.conversions.support.annotations.ResponseDTO;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+
+/**
+ * Поставщик конверсии, предоставляет базовые методы для создания сущностей
+ * ответа путем преобразования сущностей в их конвертируемые эквиваленты.
+ */
+@Getter
+@Service
+@SuppressWarnings({"unchecked", "unused"})
+public class ConversionProvider {
+    @Autowired
+    protected ConversionConfigurationInternal config;
+
+    protected final ResponseJsonWriter jsonWriter = new ResponseJsonWriter(this);
+
+    /**
+     * Получить строитель мутатора
+     *
+     * @return мутатор, для корневой сущности
+     */
+    public MutatorObjectBuilder<?> createMutatorBuilder() {
+        return new MutatorObjectBuilder<>(this, null);
+    }
+
+
+    /**
+     * Создать запрос из конвертируемого класса запроса
+     *
+     * @param node нода для разбора
+     * @param fromClass класс конвертируемого запроса
+     * @param generics дженерики класса
+     * @return конвертированный запрос
+     */
+    public Object createRequestResolve(JsonNode node, Class<?> fromClass, Type generics) {
+        return createRequestResolve(node, fromClass, generics, null);
+    }
+
+    /**
+     * Создать запрос из конвертируемого класса запроса
+     *
+     * @param node нода для разбора
+     * @param fromClass класс конвертируемого запроса
+     * @param generics дженерики класса
+     * @param context контекст
+     * @return конвертированный запрос
+     */
+    public Object createRequestResolve(JsonNode node, Class<?> fromClass, Type generics, Object context) {
+        var store = config.getStore();
+        var objectMapper = config.getObjectMapper();
+        var resolver = store.findRequestResolver(fromClass);
+
+        if(resolver != null && resolver.canProcess(fromClass, generics, this)) {
+            return resolver.resolveRequest(node, fromClass, generics, this, context);
+        } else {
+            try {
+                var result = objectMapper.treeToValue(node, fromClass);
+
+                if (store.isPresentMutator(fromClass) && result instanceof ConversionMutator<?>) {
+                    createMutator((ConversionMutator<?>) result, node);
+                } else {
+                    return null;
+                }
+
+                return result;
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Проверить, можно ли прочитать запрос напрямую из потока, без промежуточного дерева json. Это возможно для
+     * мутаторов без собственного ресолвера и для коллекций мутаторов, обрабатываемых {@link CollectionRequestResolver}.
+     *
+     * @param fromClass класс конвертируемого запроса
+     * @param generics дженерики класса
+     * @return true если можно
+     */
+    public boolean isDirectRequest(Class<?> fromClass, Type generics) {
+        var store = config.getStore();
+        var resolver = store.findRequestResolver(fromClass);
+
+        if(resolver == null) {
+            return store.isPresentMutator(fromClass);
+        }
+
+        if(resolver.getClass() == CollectionRequestResolver.class && resolver.canProcess(fromClass, generics, this)) {
+            var generic = ReflectionUtils.findXGeneric(generics, 0);
+
+            return generic != null && store.isPresentMutator(generic);
+        }
+
+        return false;
+    }
+
+    /**
+     * Прочитать запрос напрямую из парсера. Мутаторы на всех уровнях вложенности подготавливаются при десериализации
+     * модулем {@link MutatorModule}. Применимо только если {@link #isDirectRequest(Class, Type)} вернул true.
+     *
+     * @param parser парсер тела запроса
+     * @param fromClass класс конвертируемого запроса
+     * @param generics дженерики класса
+     * @return конвертированный запрос или null, если тело запроса пустое
+     * @throws IOException при ошибке чтения
+     */
+    public Object createRequestResolve(@NotNull JsonParser parser, Class<?> fromClass, Type generics) throws IOException {
+        var objectMapper = config.getObjectMapper();
+        var token = parser.nextToken();
+
+        if(token == null) {
+            return null;
+        }
+
+        if(Collection.class.isAssignableFrom(fromClass) && token != JsonToken.START_ARRAY) {
+            //
+            // Так же, как и CollectionRequestResolver
+            //
+            return ReflectionUtils.makeCollectionInstance((Class<? extends Collection<?>>) fromClass);
+        }
+
+        return objectMapper.readValue(parser, objectMapper.constructType(generics != null ? generics : fromClass));
+    }
+
+    /**
+     * Заполняет мутатор данными из
+     *
+     * @param from Мутатор для заполнения (перед, тем как мутатор будет работать его нужно заполнить.)
+     * @param mirror набор отражений
+     * @param <T> Тип мутатора
+     */
+    public <T extends ConversionMutator<?>> void createMutator(T from, JsonNode mirror) throws JsonProcessingException {
+        if(from == null) {
+            return;
+        }
+
+        //
+        // Мутатор уже подготовлен модулем MutatorModule при десериализации, включая вложенные мутаторы
+        //
+        if(from.isStoreRegistered()) {
+            return;
+        }
+
+        from.registerStore(this.getConfig());
+
+        var clazz = from.getClass();
+        var store = this.config.getStore();
+        var metadata = store.getMutatorBound(clazz);
+        var names = metadata.getNameTable(this.config.getNamingStrategy());
+
+        mirror.fieldNames().forEachRemaining(from.touchedFields::add);
+
+        if(metadata.getIsMap()) {
+            return;
+        }
+
+        //
+        // Перебираются только переданные поля, поле мутатора находится по имени в json
+        //
+        for (var iterator = mirror.fields(); iterator.hasNext(); ) {
+            var entry = iterator.next();
+            var current = names.findFound(entry.getKey());
+
+            if (current == null) {
+                continue;
+            }
+
+            var mirrorValue = entry.getValue();
+            var found = current.getComputedResult(from);
+
+            if (
+                found instanceof ConversionMutator<?> &&
+                found.getClass() != clazz && mirrorValue.isObject()
+            ) {
+                createMutator((ConversionMutator<?>) found, mirrorValue);
+            }
+
+            if (found instanceof Collection<?> ) {
+                var collection = (Collection<?>) found;
+                var foundIterator = collection.iterator();
+
+                if (mirrorValue.isArray()) {
+                    var mirrorIterator = mirrorValue.elements();
+
+                    if (foundIterator.hasNext() && mirrorIterator.hasNext()) {
+                        var currentFound = foundIterator.next();
+                        var currentMirror = mirrorIterator.next();
+
+                        if (
+                            currentFound instanceof ConversionMutator<?> &&
+                            currentFound.getClass() != clazz &&
+                            currentMirror instanceof Map<?, ?>
+                        ) {
+                            createMutator((ConversionMutator<?>) currentFound, currentMirror);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Проверить, может ли какой-либо конвертер принять исходный тип и его дженерик
+     *
+     * @param type тип
+     * @param generics generic тип этого типа
+     * @param mapping маппинг
+     * @return true если может
+     */
+    public boolean canResolveResponse(Class<?> type, Type generics, String mapping) {
+        var store = config.getStore();
+        var resolver = store.findResponseResolver(type);
+
+        if(resolver != null) {
+            return resolver.canProcess(type, generics, this, mapping);
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Создает ответ из конвертируемого элемента
+     *
+     * @param from конвертируемый объект
+     * @param mapping исходный маппинг
+     * @return конвертированный объект
+     */
+    public Object createResponseResolve(Object from, String mapping) {
+        return createResponseResolve(from, mapping, null);
+    }
+
+    /**
+     * Создает ответ из конвертируемого элемента
+     *
+     * @param from конвертируемый объект
+     * @param mapping исходный маппинг
+     * @param context поставляемый конвертируемый контекст
+     * @return конвертированный объект
+     */
+    public Object createResponseResolve(Object from, String mapping, Object context) {
+        if(from == null) {
+            return null;
+        }
+
+        var session = openSession(from, mapping, context);
+
+        if(session == null) {
+            return createResponseResolveInternal(from, mapping, context);
+        }
+
+        var previous = session.attach();
+
+        try {
+            return createResponseResolveInternal(from, mapping, context);
+        } finally {
+            ConversionSession.restore(previous);
+        }
+    }
+
+    private Object createResponseResolveInternal(@NotNull Object from, String mapping, Object context) {
+        var providedContext = config.getConfig().context();
+        var store = config.getStore();
+        var castedContext = context != null ? context : providedContext;
+        var type = ReflectionUtils.skipAnonClasses(from.getClass());
+        var resolver = store.findResponseResolver(type);
+
+        if(resolver != null) {
+            castedContext = mapResolverContext(resolver, from, mapping, castedContext);
+
+            return resolver.resolveResponse(from, type, this, mapping, castedContext);
+        } else {
+            var recipient = store.findContextRecipient(type);
+
+            //
+            // В двухфазном режиме контекст уже загружен сессией
+            //
+            if(recipient != null && !ConversionSession.isContextLoading()) {
+                castedContext = recipient.mapContext(from);
+            }
+
+            return createResponse(from, mapping, castedContext);
+        }
+    }
+
+    /**
+     * Получить контекст для контейнера from, обрабатываемого ресолвером resolver. Если для типа элементов контейнера есть
+     * получатель контекста, то контекст загружается для всего контейнера
+     *
+     * @param resolver ресолвер контейнера
+     * @param from контейнер
+     * @param mapping маппинг
+     * @param context переданный или глобальный контекст
+     * @return контекст
+     */
+    Object mapResolverContext(@NotNull ResponseResolver<?> resolver, @NotNull Object from, String mapping, Object context) {
+        if(ConversionSession.isContextLoading()) {
+            return context;
+        }
+
+        var example = resolver.extractExample(from, mapping, context);
+
+        if(example != null) {
+            var recipient = config.getStore().findContextRecipient(example);
+
+            if(recipient != null) {
+                return recipient.mapContext(from);
+            }
+        }
+
+        return context;
+    }
+
+    /**
+     * Открыть сессию конверсии, если в конфигурации включена двухфазная загрузка контекста или задана политика циклов,
+     * или в дереве ответов есть пакетные поля, и сессия еще не открыта в текущем потоке. Перед этим инициализируются
+     * ленивые связи дерева, если предоставлен обработчик ленивых связей
+     *
+     * @param from исходный объект
+     * @param mapping исходный маппинг
+     * @param context контекст конверсии, который получают пакетные ресолверы, или null для глобального контекста
+     * @return новая сессия или null
+     */
+    ConversionSession openSession(Object from, String mapping, Object context) {
+        if(ConversionSession.current() != null) {
+            return null;
+        }
+
+        var lazyLoadingHandler = config.getLazyLoadingHandler();
+
+        if(lazyLoadingHandler != null) {
+            LazyPrefetch.prefetch(this, lazyLoadingHandler, from, mapping);
+        }
+
+        var contextLoading = Boolean.TRUE.equals(config.getConfig().isBatchContextLoading());
+        var batchContext = context != null ? context : config.getConfig().context();
+
+        if(contextLoading || hasBatchSteps(from, mapping)) {
+            return ConversionSession.collect(this, from, mapping, contextLoading, batchContext);
+        }
+
+        if(config.getCyclePolicy() != null) {
+            return ConversionSession.identity(this, batchContext);
+        }
+
+        return null;
+    }
+
+    /**
+     * Проверить, есть ли пакетные поля в ответах дерева from. Для коллекции проверяется каждый класс её элементов
+     */
+    private boolean hasBatchSteps(Object from, String mapping) {
+        var store = config.getStore();
+
+        if(from == null || !store.hasBatchResolvers()) {
+            return false;
+        }
+
+        if(from instanceof Collection<?>) {
+            var checked = new HashSet<Class<?>>();
+
+            for(var item: (Collection<?>) from) {
+                if(item != null && (item instanceof Collection<?> || checked.add(item.getClass())) && hasBatchSteps(item, mapping)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        return store.getResponsePlan(ReflectionUtils.skipAnonClasses(from.getClass()), this).hasBatchSteps(mapping);
+    }
+
+    /**
+     * Создать ответ из сущности from
+     *
+     * @param from исходная сущность для создания ответа
+     * @param <T> тип сущности ответа
+     * @param <R> тип сущности, из которой будет создана сущность ответа
+     */
+    public <T extends ConversionResponse<R>, R> T createResponse(R from) {
+        return createResponse(from, ConversionUtils.COMMON_MAPPING, true, null);
+    }
+
+    /**
+     * Создать ответ из сущности from
+     *
+     * @param from исходная сущность для создания ответа
+     * @param mapping исходный маппинг
+     * @param <T> тип сущности ответа
+     * @param <R> тип сущности, из которой будет создана сущность ответа
+     */
+    public <T extends ConversionResponse<R>, R> T createResponse(R from, String mapping) {
+        return createResponse(from, mapping, true, null);
+    }
+
+    /**
+     * Создать ответ из сущности from
+     *
+     * @param from исходная сущность для создания ответа
+     * @param mapping исходный маппинг
+     * @param context поставляемый конвертируемый контекст
+     * @param <T> тип сущности ответа
+     * @param <R> тип сущности, из которой будет создана сущность ответа
+     */
+    public <T extends ConversionResponse<R>, R> T createResponse(R from, String mapping, Object context) {
+        return createResponse(from, mapping, true, context);
+    }
+
+    /**
+     * Создать ответ из сущности from
+     *
+     * @param from исходная сущность для создания ответа
+     * @param mapping исходный маппинг
+     * @param context поставляемый конвертируемый контекст
+     * @param <T> тип сущности ответа
+     * @param <R> тип сущности, из которой будет создана сущность ответа
+     */
+    public <T extends ConversionResponse<R>, R> T createResponse(R from, String mapping, Boolean applyMappingConversion, Object context) {
+        if(from == null) {
+            return null;
+        }
+
+        var store = config.getStore();
+        var fromClass = ReflectionUtils.skipAnonClasses(from.getClass());
+        var typePlan = store.getResponsePlan(fromClass, this);
+
+        //
+        // Ответы хранятся в сессии, поэтому при заданной политике циклов конверсия всегда выполняется в сессии
+        //
+        if(config.getCyclePolicy() == null || ConversionSession.current() != null) {
+            return createResponse(typePlan, from, mapping, applyMappingConversion, context);
+        }
+
+        var previous = ConversionSession.identity(this, context != null ? context : config.getConfig().context()).attach();
+
+        try {
+            return createResponse(typePlan, from, mapping, applyMappingConversion, context);
+        } finally {
+            ConversionSession.restore(previous);
+        }
+    }
+
+    /**
+     * Создать ответ из сущности from по скомпилированному плану класса сущности
+     *
+     * @param typePlan план класса исходной сущности
+     * @param from исходная сущность для создания ответа
+     * @param mapping исходный маппинг
+     * @param context поставляемый конвертируемый контекст
+     * @param <T> тип сущности ответа
+     * @param <R> тип сущности, из которой будет создана сущность ответа
+     */
+    protected <T extends ConversionResponse<R>, R> T createResponse(ResponseTypePlan typePlan, R from, String mapping, Boolean applyMappingConversion, Object context) {
+        if(applyMappingConversion) {
+            var resolver = typePlan.getMapper();
+
+            if(resolver != null) {
+                mapping = resolver.resolveMapping(from, mapping);
+                applyMappingConversion = resolver.propagation(from, mapping);
+            }
+        }
+
+        typePlan.checkPresent();
+
+        var session = ConversionSession.current();
+
+        if(session != null) {
+            context = session.contextFor(typePlan.getFromClass(), context);
+        }
+
+        var tracked = session != null && session.isIdentityTracking();
+
+        if(tracked) {
+            var existing = session.lookup(from, mapping);
+
+            if(existing != null) {
+                return existing == ConversionSession.CUT ? null : (T) existing;
+            }
+        }
+
+        var plan = typePlan.getPlan(mapping);
+        var responseCache = config.getResponseCache();
+        var cache = plan.getCache();
+
+        //
+        // В кеше хранятся только ответы со всеми полями, не зависящие от контекста и от пути конверсии: ключ кеша не
+        // учитывает ни контекст, ни предков, ссылки на которых отрезаны политикой циклов
+        //
+        if(responseCache != null && cache != null && FieldSelection.current() == null && !(tracked && session.isNested()) && isContextFree(typePlan, mapping, context)) {
+            var key = cache.keyOf(from, mapping, applyMappingConversion);
+
+            if(key != null) {
+                var resolvedMapping = mapping;
+                var resolvedApply = applyMappingConversion;
+                var resolvedContext = context;
+
+                return (T) responseCache.get(key, cache.getTtl(), () -> fillResponse(plan, from, resolvedMapping, resolvedApply, resolvedContext, session, tracked));
+            }
+        }
+
+        return fillResponse(plan, from, mapping, applyMappingConversion, context, session, tracked);
+    }
+
+    /**
+     * Проверить, что ответ конвертируется без контекста: контекст не передан, глобальный контекст не задан и ни у одного
+     * класса в дереве ответа нет получателя контекста или пакетных полей
+     */
+    private boolean isContextFree(@NotNull ResponseTypePlan typePlan, String mapping, Object context) {
+        if(context != null || typePlan.isContextDependent(mapping)) {
+            return false;
+        }
+
+        return config.getConfig().context() == null;
+    }
+
+    private <T extends ConversionResponse<R>, R> T fillResponse(
+        @NotNull ResponsePlan plan,
+        R from,
+        String mapping,
+        Boolean applyMappingConversion,
+        Object context,
+        ConversionSession session,
+        boolean tracked
+    ) {
+        var instance = (T) plan.newInstance();
+
+        if(tracked) {
+            session.begin(from, mapping, instance);
+        }
+
+        try {
+            plan.fill(instance, from, applyMappingConversion, context);
+            plan.fillBatch(instance, from, session, context);
+
+            instance.fillInternal(from, this, context != null ? context : config.getConfig().context());
+        } finally {
+            if(tracked) {
+                session.end(from, mapping);
+            }
+        }
+
+        return instance;
+    }
+
+
+    /**
+     * Получить план полей, которые читает конверсия сущности класса entityClass с маппингом mapping
+     *
+     * @param entityClass класс исходной сущности
+     * @param mapping маппинг
+     * @return план полей
+     */
+    public @NotNull ResponseFetchPlan getFetchPlan(@NotNull Class<?> entityClass, String mapping) {
+        return ResponseFetchPlan.build(this, entityClass, mapping);
+    }
+
+    /**
+     * Получить план полей, которые читает конверсия в ответ responseClass
+     *
+     * @param responseClass класс ответа
+     * @return план полей
+     */
+    public @NotNull ResponseFetchPlan getFetchPlan(@NotNull Class<? extends ConversionResponse<?>> responseClass) {
+        var entityClass = ReflectionUtils.findXGeneric(responseClass);
+
+        if(entityClass == null) {
+            throw new IllegalArgumentException("Cannot find source entity class of response " + responseClass.getName());
+        }
+
+        return getFetchPlan(entityClass, getEntityMapping(responseClass));
+    }
+
+    /**
+     * Получить маппинг из класса
+     *
+     * @param clazz класс для получения маппинга
+     * @return найденный маппинг или common
+     */
+    public String getEntityMapping(Class<?> clazz) {
+        if(ConversionResponse.class.isAssignableFrom(clazz)) {
+            var annotation = AnnotationUtils.findAnnotation(clazz, ResponseDTO.class);
+
+            if(annotation != null) {
+                return annotation.mapping();
+            } else {
+                return ConversionUtils.COMMON_MAPPING;
+            }
+        } else {
+            return ConversionUtils.COMMON_MAPPING;
+        }
+    }
+}
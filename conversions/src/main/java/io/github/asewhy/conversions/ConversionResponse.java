@@ -8,6 +8,11 @@ import io.github.asewhy.conversions.support.ConversionConfiguration;
  * @param <T> тип ответа, из которого можно создать текущий тип ответа
  */
 public abstract class ConversionResponse<T> {
+    //
+    // Выборка полей, с которой был заполнен ответ, невыбранные поля не сериализуются (см. ResponseModule)
+    //
+    private transient FieldSelection selection;
+
     /**
      * Метод для ручного заполнения текущей сущности
      *
@@ -28,4 +33,22 @@ public abstract class ConversionResponse<T> {
     protected void fillInternal(T from, ConversionProvider provider, Object context) {
         fillInternal(from, context);
     }
+
+    /**
+     * Получить выборку полей, с которой был заполнен ответ
+     *
+     * @return выборка или null, если выбраны все поля
+     */
+    FieldSelection selection() {
+        return selection;
+    }
+
+    /**
+     * Запомнить выборку полей, с которой заполняется ответ
+     *
+     * @param selection выборка или null
+     */
+    void select(FieldSelection selection) {
+        this.selection = selection;
+    }
 }
@@ -0,0 +1,552 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.ReflectionUtils;
+import io.github.asewhy.conversions.support.CyclePolicy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Сессия двухфазной конверсии ответа
+ * (см. {@link io.github.asewhy.conversions.support.ConversionConfiguration#isBatchContextLoading()}).
+ * <p>
+ * В первой фазе обходится всё дерево исходных сущностей, которое будет конвертировано: вложенные сущности, коллекции,
+ * в том числе коллекции с элементами разных типов. Сущности группируются по {@link ConversionContextRecipient}, и каждый
+ * получатель контекста вызывается один раз для всех своих сущностей. Во второй фазе, пока сессия является текущей,
+ * каждый ответ получает контекст, загруженный для типа его исходной сущности. Ответы типов без получателя контекста
+ * получают контекст родителя, как и без сессии.
+ * <p>
+ * Тот же обход собирает ключи полей {@link io.github.asewhy.conversions.support.annotations.BatchField}. Ключи каждого
+ * {@link BatchFieldResolver} без повторов загружаются пакетами не больше {@link BatchFieldResolver#getBatchSize()} с
+ * контекстом корневой конверсии, а результаты запоминаются в сессии. Ключи, которых не было при обходе, загружаются по одному и тоже запоминаются.
+ * <p>
+ * Если задана политика циклов ({@link io.github.asewhy.conversions.support.ConversionConfiguration#cyclePolicy()}), то
+ * сессия хранит ответы по паре (исходная сущность, маппинг): повторные ссылки на сущность получают тот же экземпляр
+ * ответа, а ссылки на предка в текущем пути конверсии обрабатываются по политике.
+ * <p>
+ * Сессия привязана к потоку, для передачи в другие потоки используется {@link #wrap(Runnable)}.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public final class ConversionSession {
+    private static final ThreadLocal<ConversionSession> CURRENT = new ThreadLocal<>();
+    //
+    // Отметка ключа, для которого ресолвер не вернул значения
+    //
+    private static final Object NULL = new Object();
+    //
+    // Отметка ссылки, которая по политике циклов получает null
+    //
+    static final Object CUT = new Object();
+    //
+    // Путь конверсии текущего потока, пары (сущность, маппинг), которые сейчас конвертируются
+    //
+    private static final ThreadLocal<Path> PATH = new ThreadLocal<>();
+
+    private final ConversionStore store;
+    private final Object batchContext;
+    private final boolean contextLoading;
+    private final Map<ConversionContextRecipient<?, ?>, Object> contexts;
+    private final Map<BatchFieldResolver<?, ?>, Map<Object, Object>> batches = new ConcurrentHashMap<>();
+    private final CyclePolicy cyclePolicy;
+    private final int cycleDepth;
+    private final Map<IdentityKey, Object> converted = new ConcurrentHashMap<>();
+
+    private ConversionSession(@NotNull ConversionConfigurationInternal config, boolean contextLoading, @NotNull Map<ConversionContextRecipient<?, ?>, Object> contexts, Object batchContext) {
+        var cycleDepth = config.getConfig().cycleDepth();
+
+        this.store = config.getStore();
+        this.batchContext = batchContext;
+        this.contextLoading = contextLoading;
+        this.contexts = contexts;
+        this.cyclePolicy = config.getCyclePolicy();
+        this.cycleDepth = cycleDepth != null ? cycleDepth : Integer.MAX_VALUE;
+    }
+
+    /**
+     * Получить текущую сессию потока
+     *
+     * @return текущая сессия или null
+     */
+    public static @Nullable ConversionSession current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Проверить, загружен ли контекст получателей текущей сессией потока. Если нет, то контекст загружается как без
+     * сессии
+     *
+     * @return true если контекст загружается сессией
+     */
+    static boolean isContextLoading() {
+        var session = CURRENT.get();
+
+        return session != null && session.contextLoading;
+    }
+
+    /**
+     * Обернуть задачу так, чтобы она выполнялась с текущей сессией, выборкой полей и путем конверсии потока, в котором
+     * задача была создана.
+     * Если поток конвертирует ответ для {@link ResponseCache}, то задача тоже считается его частью и не ждет записи кеша,
+     * которые конвертируют другие потоки
+     *
+     * @param task задача
+     * @return задача, выполняемая с текущей сессией
+     */
+    public static @NotNull Runnable wrap(@NotNull Runnable task) {
+        var session = CURRENT.get();
+        var selection = FieldSelection.current();
+        var loading = ResponseCache.loading();
+        var path = PATH.get();
+
+        if(session == null && selection == null && loading == null && path == null) {
+            return task;
+        }
+
+        //
+        // Задача продолжает путь конверсии, в которой создана: предки из этого пути остаются предками и в задаче
+        //
+        var inherited = path != null ? new Path(path) : null;
+
+        return () -> {
+            var previousLoading = ResponseCache.attachLoading(loading);
+            var previousSelection = FieldSelection.attach(selection);
+            var previousPath = PATH.get();
+            var previous = session != null ? session.attach() : CURRENT.get();
+
+            PATH.set(inherited != null ? new Path(inherited) : null);
+
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+
+                if(previousPath == null) {
+                    PATH.remove();
+                } else {
+                    PATH.set(previousPath);
+                }
+
+                FieldSelection.restore(previousSelection);
+                ResponseCache.attachLoading(previousLoading);
+            }
+        };
+    }
+
+    /**
+     * Собрать исходные сущности дерева from, загрузить контекст для каждого получателя контекста и значения пакетных
+     * полей
+     *
+     * @param provider поставщик конверсий
+     * @param from исходный объект
+     * @param mapping исходный маппинг
+     * @param contextLoading нужно ли загружать контекст получателей
+     * @param batchContext контекст конверсии, который получают пакетные ресолверы
+     * @return сессия с загруженными контекстами
+     */
+    static @NotNull ConversionSession collect(@NotNull ConversionProvider provider, Object from, String mapping, boolean contextLoading, Object batchContext) {
+        var store = provider.getConfig().getStore();
+        var collector = new Collector(provider, store, contextLoading);
+
+        collector.collect(from, mapping, true, FieldSelection.current());
+
+        var contexts = new LinkedHashMap<ConversionContextRecipient<?, ?>, Object>();
+
+        for(var current: collector.entities.entrySet()) {
+            contexts.put(current.getKey(), ((ConversionContextRecipient) current.getKey()).provideContextForEntities(current.getValue()));
+        }
+
+        var session = new ConversionSession(provider.getConfig(), contextLoading, contexts, batchContext);
+
+        for(var current: collector.keys.entrySet()) {
+            session.load((BatchFieldResolver<Object, Object>) current.getKey(), current.getValue());
+        }
+
+        return session;
+    }
+
+    /**
+     * Создать сессию без предварительного обхода дерева, которая только хранит конвертированные ответы
+     *
+     * @param provider поставщик конверсий
+     * @param batchContext контекст конверсии, который получают пакетные ресолверы
+     * @return новая сессия
+     */
+    static @NotNull ConversionSession identity(@NotNull ConversionProvider provider, Object batchContext) {
+        return new ConversionSession(provider.getConfig(), false, Collections.emptyMap(), batchContext);
+    }
+
+    /**
+     * Проверить, хранит ли сессия конвертированные ответы
+     *
+     * @return true если задана политика циклов
+     */
+    boolean isIdentityTracking() {
+        return cyclePolicy != null;
+    }
+
+    /**
+     * Проверить, конвертируется ли сейчас в потоке другой ответ, внутри которого находится текущая конверсия
+     *
+     * @return true если текущая конверсия не является корнем пути конверсии
+     */
+    boolean isNested() {
+        var path = PATH.get();
+
+        return path != null && path.depth > 0;
+    }
+
+    /**
+     * Найти ответ, уже созданный в этой сессии для сущности from с маппингом mapping
+     *
+     * @param from исходная сущность
+     * @param mapping маппинг
+     * @return ответ, {@link #CUT} если ссылка по политике циклов получает null, или null если ответ нужно создать
+     */
+    @Nullable Object lookup(@NotNull Object from, String mapping) {
+        var key = new IdentityKey(from, mapping);
+        var path = PATH.get();
+
+        if(path != null && path.keys.containsKey(key)) {
+            switch (cyclePolicy) {
+                case NULL:
+                    return CUT;
+                case DEPTH:
+                    return path.depth >= cycleDepth ? CUT : null;
+                default:
+                    break;
+            }
+        }
+
+        return converted.get(key);
+    }
+
+    /**
+     * Начать заполнение ответа instance для сущности from с маппингом mapping. Вызов должен завершаться
+     * {@link #end(Object, String)}
+     *
+     * @param from исходная сущность
+     * @param mapping маппинг
+     * @param instance созданный экземпляр ответа
+     */
+    void begin(@NotNull Object from, String mapping, @NotNull Object instance) {
+        var key = new IdentityKey(from, mapping);
+        var path = PATH.get();
+
+        if(path == null) {
+            PATH.set(path = new Path());
+        }
+
+        //
+        // При политике DEPTH повторная конверсия предка не заменяет его ответ
+        //
+        converted.putIfAbsent(key, instance);
+
+        path.keys.merge(key, 1, Integer::sum);
+        path.depth++;
+    }
+
+    /**
+     * Завершить заполнение ответа, начатое {@link #begin(Object, String, Object)}
+     *
+     * @param from исходная сущность
+     * @param mapping маппинг
+     */
+    void end(@NotNull Object from, String mapping) {
+        var path = PATH.get();
+
+        if(path == null) {
+            return;
+        }
+
+        path.keys.computeIfPresent(new IdentityKey(from, mapping), (k, v) -> v > 1 ? v - 1 : null);
+
+        if(--path.depth <= 0) {
+            PATH.remove();
+        }
+    }
+
+    /**
+     * Сделать сессию текущей для потока
+     *
+     * @return предыдущая сессия потока, которую нужно восстановить через {@link #restore(ConversionSession)}
+     */
+    @Nullable ConversionSession attach() {
+        var previous = CURRENT.get();
+
+        CURRENT.set(this);
+
+        return previous;
+    }
+
+    /**
+     * Восстановить предыдущую сессию потока
+     *
+     * @param previous предыдущая сессия, полученная из {@link #attach()}
+     */
+    static void restore(@Nullable ConversionSession previous) {
+        if(previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Получить контекст для ответа из сущности класса type
+     *
+     * @param type класс исходной сущности
+     * @param fallback контекст, который используется, если для класса нет загруженного контекста
+     * @return контекст
+     */
+    Object contextFor(@NotNull Class<?> type, Object fallback) {
+        if(contexts.isEmpty()) {
+            return fallback;
+        }
+
+        var recipient = store.findContextRecipient(type);
+
+        if(recipient == null || !contexts.containsKey(recipient)) {
+            return fallback;
+        }
+
+        return contexts.get(recipient);
+    }
+
+    /**
+     * Получить значение пакетного поля по ключу. Если ключ не был загружен при обходе, то он загружается отдельно
+     *
+     * @param resolver ресолвер поля
+     * @param key ключ
+     * @return значение или null
+     */
+    Object batchValue(@NotNull BatchFieldResolver<Object, Object> resolver, @NotNull Object key) {
+        var values = batches.computeIfAbsent(resolver, e -> new ConcurrentHashMap<>());
+        var result = values.get(key);
+
+        if(result == null) {
+            load(resolver, Collections.singletonList(key));
+
+            result = values.get(key);
+        }
+
+        return result == NULL ? null : result;
+    }
+
+    /**
+     * Загрузить значения ключей keys пакетами и запомнить их в сессии
+     */
+    private void load(@NotNull BatchFieldResolver<Object, Object> resolver, @NotNull Collection<Object> keys) {
+        var values = batches.computeIfAbsent(resolver, e -> new ConcurrentHashMap<>());
+        var size = Math.max(resolver.getBatchSize(), 1);
+        var chunk = new ArrayList<Object>(Math.min(size, keys.size()));
+
+        for(var key: keys) {
+            chunk.add(key);
+
+            if(chunk.size() == size) {
+                loadChunk(resolver, chunk, values);
+                chunk.clear();
+            }
+        }
+
+        if(!chunk.isEmpty()) {
+            loadChunk(resolver, chunk, values);
+        }
+    }
+
+    private void loadChunk(@NotNull BatchFieldResolver<Object, Object> resolver, @NotNull List<Object> chunk, @NotNull Map<Object, Object> values) {
+        var resolved = resolver.resolve(Collections.unmodifiableList(new ArrayList<>(chunk)), batchContext);
+
+        for(var key: chunk) {
+            var value = resolved.get(key);
+
+            values.put(key, value != null ? value : NULL);
+        }
+    }
+
+    /**
+     * Ключ ответа: исходная сущность по ссылке, маппинг и выборка полей текущего потока по ссылке
+     */
+    static final class IdentityKey {
+        private final Object from;
+        private final String mapping;
+        private final FieldSelection selection;
+
+        private IdentityKey(@NotNull Object from, String mapping) {
+            this(from, mapping, FieldSelection.current());
+        }
+
+        IdentityKey(@NotNull Object from, String mapping, FieldSelection selection) {
+            this.from = from;
+            this.mapping = mapping;
+            this.selection = selection;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(this == o) {
+                return true;
+            }
+
+            if(!(o instanceof IdentityKey)) {
+                return false;
+            }
+
+            var other = (IdentityKey) o;
+
+            return from == other.from && selection == other.selection && Objects.equals(mapping, other.mapping);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(from) + Objects.hashCode(mapping)) + System.identityHashCode(selection);
+        }
+    }
+
+    /**
+     * Путь конверсии потока
+     */
+    private static final class Path {
+        private final Map<IdentityKey, Integer> keys;
+        private int depth;
+
+        private Path() {
+            this.keys = new HashMap<>();
+        }
+
+        private Path(@NotNull Path parent) {
+            this.keys = new HashMap<>(parent.keys);
+            this.depth = parent.depth;
+        }
+    }
+
+    /**
+     * Обход дерева исходных сущностей по планам конверсии
+     */
+    private static final class Collector {
+        private final ConversionProvider provider;
+        private final ConversionStore store;
+        //
+        // Пары (сущность, маппинг, выборка), которые уже обойдены: одна сущность с другим маппингом или выборкой
+        // конвертируется другим планом и обходится ещё раз
+        //
+        private final Set<IdentityKey> visited = new HashSet<>();
+        //
+        // Сущности, уже переданные получателю контекста
+        //
+        private final Set<Object> recipients = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final Map<ConversionContextRecipient<?, ?>, List<Object>> entities = new LinkedHashMap<>();
+        //
+        // Ключи пакетных полей без повторов
+        //
+        private final Map<BatchFieldResolver<?, ?>, Set<Object>> keys = new LinkedHashMap<>();
+        private final boolean contextLoading;
+
+        private Collector(@NotNull ConversionProvider provider, @NotNull ConversionStore store, boolean contextLoading) {
+            this.provider = provider;
+            this.store = store;
+            this.contextLoading = contextLoading;
+        }
+
+        private void collect(Object value, String mapping, Boolean applyMappingConversion, FieldSelection selection) {
+            if(value == null) {
+                return;
+            }
+
+            if(value instanceof Collection<?>) {
+                for(var item: (Collection<?>) value) {
+                    collect(item, mapping, applyMappingConversion, selection);
+                }
+
+                return;
+            }
+
+            if(!visited.add(new IdentityKey(value, mapping, selection))) {
+                return;
+            }
+
+            var type = ReflectionUtils.skipAnonClasses(value.getClass());
+            var typePlan = store.getResponsePlan(type, provider);
+
+            if(!typePlan.isPresent()) {
+                return;
+            }
+
+            //
+            // Маппинг определяется так же, как и при конверсии
+            //
+            if(applyMappingConversion) {
+                var resolver = typePlan.getMapper();
+
+                if(resolver != null) {
+                    mapping = resolver.resolveMapping(value, mapping);
+                    applyMappingConversion = resolver.propagation(value, mapping);
+                }
+            }
+
+            var recipient = contextLoading ? store.findContextRecipient(type) : null;
+
+            if(recipient != null && recipients.add(value)) {
+                entities.computeIfAbsent(recipient, e -> new ArrayList<>()).add(value);
+            }
+
+            var plan = typePlan.getPlan(mapping);
+
+            for(var step: plan.getBatchSteps()) {
+                if(selection != null && !selection.isSelected(step.getJsonName())) {
+                    continue;
+                }
+
+                var key = step.keyOf(value);
+
+                if(key != null) {
+                    keys.computeIfAbsent(step.resolver(store), e -> new LinkedHashSet<>()).add(key);
+                }
+            }
+
+            for(var step: plan.stepsFor(value)) {
+                var nestedMapping = step.getNestedMapping();
+                var elementMapping = step.getElementMapping();
+
+                if(nestedMapping == null && elementMapping == null) {
+                    continue;
+                }
+
+                //
+                // Невыбранные вложенные ответы не конвертируются и не обходятся
+                //
+                if(selection != null && !selection.isSelected(step.getConvertedName())) {
+                    continue;
+                }
+
+                var nestedSelection = selection != null ? selection.get(step.getConvertedName()) : null;
+                var nested = step.foundValue(value);
+
+                if(step.isSkipped(nested)) {
+                    continue;
+                }
+
+                if(nestedMapping != null) {
+                    collect(nested, nestedMapping, applyMappingConversion, nestedSelection);
+                } else if(nested instanceof Collection<?>) {
+                    for(var item: (Collection<?>) nested) {
+                        collect(item, elementMapping, applyMappingConversion, nestedSelection);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,817 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.ReflectionUtils;
+import io.github.asewhy.conversions.support.Bound;
+import io.github.asewhy.conversions.support.ClassMetadata;
+import io.github.asewhy.conversions.support.GeneratedConverterRegistry;
+import io.github.asewhy.conversions.support.PrecompiledConverter;
+import io.github.asewhy.conversions.support.annotations.*;
+import lombok.NoArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.SpringProperties;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static io.github.asewhy.conversions.ConversionUtils.*;
+
+/**
+ * Хранилище метаданных конверсий.
+ * <p>
+ * Все данные стора хранятся в неизменяемом снимке, который читающие потоки получают без блокировок. Регистрация
+ * (в том числе после старта приложения, например через {@link #from(String, ClassLoader)} для поздно загруженных
+ * плагинов) строит новый снимок и атомарно подменяет им текущий, сбрасывая производные кеши.
+ */
+@Log4j2
+@NoArgsConstructor
+@SuppressWarnings({"unused", "unchecked"})
+public class ConversionStore {
+    /**
+     * Путь к индексу компонентов, который генерирует процессор аннотаций
+     */
+    public static final String COMPONENTS_INDEX = "META-INF/conversions/components.idx";
+    /**
+     * Системное свойство (или свойство spring.properties), отключающее использование индекса компонентов
+     */
+    public static final String IGNORE_INDEX_PROPERTY = "conversions.index.ignore";
+
+    private final Object lock = new Object();
+    private final Set<ClassLoader> loadedRegistries = ConcurrentHashMap.newKeySet();
+    private volatile StoreSnapshot snapshot = new StoreSnapshot.Builder(null).build();
+
+    /**
+     * Создать экземпляр стора и загрузить сервисные компоненты из контекста приложения
+     *
+     * @param context контекст приложения
+     */
+    public ConversionStore(ApplicationContext context) {
+        loadContext(context);
+    }
+
+    /**
+     * Загрузить сервисные компоненты из контекста приложения
+     *
+     * @param context контекст приложения
+     */
+    public void loadContext(@NotNull ApplicationContext context) {
+        var beans = context.getBeansWithAnnotation(ContextLoadable.class).values();
+
+        update(builder -> {
+            for(var current: beans) {
+                var type = current.getClass();
+                var generic = ReflectionUtils.findXGeneric(type);
+
+                if(current instanceof ConversionResponseMapper<?>) {
+                    builder.responseMappers.put(generic, (ConversionResponseMapper<?>) current);
+                }
+
+                if(current instanceof ResponseResolver<?>) {
+                    builder.responseResolvers.put(generic, (ResponseResolver<?>) current);
+                } else if(current instanceof RequestResolver<?>) {
+                    builder.requestResolvers.put(generic, (RequestResolver<?>) current);
+                }
+
+                if(current instanceof ConversionContextRecipient<?, ?>) {
+                    builder.contextRecipients.put(generic, (ConversionContextRecipient<?, ?>) current);
+                }
+
+                if(current instanceof BatchFieldResolver<?, ?>) {
+                    builder.batchResolvers.put(type, (BatchFieldResolver<?, ?>) current);
+                }
+            }
+        });
+    }
+
+    /**
+     * Построить новый снимок из текущего и атомарно опубликовать его. Если действие завершилось ошибкой, то текущий
+     * снимок не меняется
+     *
+     * @param action действие, изменяющее копию текущего снимка
+     */
+    private void update(@NotNull Consumer<StoreSnapshot.Builder> action) {
+        synchronized (lock) {
+            var builder = new StoreSnapshot.Builder(snapshot);
+
+            action.accept(builder);
+
+            snapshot = builder.build();
+        }
+    }
+
+    /**
+     * Получить зарегистрированные мутаторы текущего снимка
+     *
+     * @return неизменяемая карта
+     */
+    public @NotNull Map<Class<?>, ClassMetadata> getMutatorsMap() {
+        return snapshot.mutators;
+    }
+
+    /**
+     * Получить зарегистрированные ответы текущего снимка
+     *
+     * @return неизменяемая карта
+     */
+    public @NotNull Map<Class<?>, Map<String, ClassMetadata>> getResponseMap() {
+        return snapshot.responses;
+    }
+
+    /**
+     * Получить обработчики маппингов ответа текущего снимка
+     *
+     * @return неизменяемая карта
+     */
+    public @NotNull Map<Class<?>, ConversionResponseMapper<?>> getResponseMappersMap() {
+        return snapshot.responseMappers;
+    }
+
+    /**
+     * Получить ресолверы ответов текущего снимка
+     *
+     * @return неизменяемая карта
+     */
+    public @NotNull Map<Class<?>, ResponseResolver<?>> getResponseResolverMap() {
+        return snapshot.responseResolvers;
+    }
+
+    /**
+     * Получить ресолверы запросов текущего снимка
+     *
+     * @return неизменяемая карта
+     */
+    public @NotNull Map<Class<?>, RequestResolver<?>> getRequestResolverMap() {
+        return snapshot.requestResolvers;
+    }
+
+    /**
+     * Получить получателей контекста текущего снимка
+     *
+     * @return неизменяемая карта
+     */
+    public @NotNull Map<Class<?>, ConversionContextRecipient<?, ?>> getContextRecipientMap() {
+        return snapshot.contextRecipients;
+    }
+
+    /**
+     * Получить маппинг из класса
+     *
+     * @param clazz класс для получения маппинга
+     * @return найденный маппинг или common
+     */
+    public String getEntityMapping(Class<?> clazz) {
+        if(ConversionResponse.class.isAssignableFrom(clazz)) {
+            var annotation = clazz.getAnnotation(ResponseDTO.class);
+
+            if(annotation != null) {
+                return annotation.mapping();
+            } else {
+                return ConversionUtils.COMMON_MAPPING;
+            }
+        } else {
+            return ConversionUtils.COMMON_MAPPING;
+        }
+    }
+
+    /**
+     * Проверяет, иметься ли такой тип ответа в наличии в текущем сторе
+     *
+     * @param clazz класс мутатора
+     * @return true если имеется
+     */
+    public boolean isPresentResponse(Class<?> clazz) {
+        return snapshot.responseLookup.get(clazz) != null;
+    }
+
+    /**
+     * Проверяет, имеется ли такой мутатор в наличии в текущем сторе
+     *
+     * @param clazz класс мутатора
+     * @return true если имеется
+     */
+    public boolean isPresentMutator(Class<?> clazz) {
+        return snapshot.mutatorLookup.get(clazz) != null;
+    }
+
+    /**
+     * Добавляет все компоненты автоматически из выбранного пакета (Использует текущий загрузчик классов)
+     *
+     * @param packageName название пакета
+     */
+    public void from(String packageName) {
+        from(packageName, getClass().getClassLoader());
+    }
+
+    /**
+     * Добавляет все компоненты автоматически из выбранного пакета. Если в classpath есть индекс компонентов, сгенерированный
+     * процессором аннотаций, то компоненты берутся из него, иначе выполняется сканирование classpath. Если в индексе нет
+     * ни одного компонента из пакета (например, пакет скомпилирован без процессора), то пакет тоже сканируется. Индекс
+     * можно отключить свойством {@value #IGNORE_INDEX_PROPERTY}
+     *
+     * @param packageName название пакета
+     * @param loader загрузчик классов, который следует использовать для загрузки аннотированных классов
+     */
+    public void from(String packageName, ClassLoader loader) {
+        var index = SpringProperties.getFlag(IGNORE_INDEX_PROPERTY) ? null : readIndex(loader);
+
+        var found = new ArrayList<Map.Entry<Class<?>, Class<?>>>();
+
+        if(index == null || !fromIndex(index, packageName, loader, found)) {
+            fromScan(packageName, loader, found);
+        }
+
+        registerAll(found);
+    }
+
+    private void fromScan(String packageName, ClassLoader loader, List<Map.Entry<Class<?>, Class<?>>> found) {
+        var scanner = new ClassPathScanningCandidateComponentProvider(false);
+
+        scanner.addIncludeFilter(new AnnotationTypeFilter(MutatorDTO.class));
+        scanner.addIncludeFilter(new AnnotationTypeFilter(ResponseDTO.class));
+
+        for(var current: scanner.findCandidateComponents(packageName)) {
+            try {
+                var clazz = Class.forName(current.getBeanClassName(), false, loader);
+                var generic = ReflectionUtils.findXGeneric(clazz);
+
+                if(isRegistrable(clazz, generic)) {
+                    found.add(Map.entry(clazz, generic));
+                }
+            } catch (ClassNotFoundException e) {
+                log.error("Cannot create conversion for " + current.getBeanClassName());
+            }
+        }
+    }
+
+    private boolean fromIndex(@NotNull Map<String, String> index, String packageName, ClassLoader loader, List<Map.Entry<Class<?>, Class<?>>> found) {
+        var prefix = packageName.isEmpty() ? "" : packageName + ".";
+        var indexed = false;
+
+        for(var current: index.entrySet()) {
+            var name = current.getKey();
+
+            if(!name.startsWith(prefix)) {
+                continue;
+            }
+
+            indexed = true;
+
+            try {
+                var clazz = Class.forName(name, false, loader);
+                var generic = Class.forName(current.getValue(), false, loader);
+
+                if(isRegistrable(clazz, generic)) {
+                    found.add(Map.entry(clazz, generic));
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                log.error("Cannot create conversion for " + name);
+            }
+        }
+
+        return indexed;
+    }
+
+    private static boolean isRegistrable(@NotNull Class<?> clazz, Class<?> generic) {
+        return generic != null && (
+            ConversionMutator.class.isAssignableFrom(clazz) && clazz.isAnnotationPresent(MutatorDTO.class) ||
+            ConversionResponse.class.isAssignableFrom(clazz) && clazz.isAnnotationPresent(ResponseDTO.class)
+        );
+    }
+
+    /**
+     * Прочитать все индексы компонентов, доступные загрузчику классов
+     *
+     * @param loader загрузчик классов
+     * @return карта, где ключ это имя класса компонента, а значение это имя целевого типа, или null если индексов нет
+     */
+    private static Map<String, String> readIndex(ClassLoader loader) {
+        try {
+            var resources = (loader != null ? loader : ClassLoader.getSystemClassLoader()).getResources(COMPONENTS_INDEX);
+
+            if(!resources.hasMoreElements()) {
+                return null;
+            }
+
+            var result = new LinkedHashMap<String, String>();
+
+            while(resources.hasMoreElements()) {
+                try(var reader = new BufferedReader(new InputStreamReader(resources.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    String line;
+
+                    while((line = reader.readLine()) != null) {
+                        var separator = line.indexOf('=');
+
+                        if(separator > 0 && !line.startsWith("#")) {
+                            result.put(line.substring(0, separator).trim(), line.substring(separator + 1).trim());
+                        }
+                    }
+                }
+            }
+
+            return result;
+        } catch (IOException e) {
+            log.warn("Cannot read components index, classpath will be scanned", e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Зарегистрировать мутатор или тип ответа в сторе
+     *
+     * @param reg регистрируемый тип
+     * @param target что этот мутатор будет менять
+     */
+    public void register(Class<?> reg, Class<?> target) {
+        registerAll(List.of(Map.entry(reg, target)));
+    }
+
+    /**
+     * Зарегистрировать несколько мутаторов или типов ответа одним новым снимком. Если хотя бы один тип не может быть
+     * зарегистрирован, то не регистрируется ни один
+     *
+     * @param types пары (регистрируемый тип, что этот тип будет менять)
+     */
+    public void registerAll(@NotNull Collection<Map.Entry<Class<?>, Class<?>>> types) {
+        if(types.isEmpty()) {
+            return;
+        }
+
+        for(var current: types) {
+            var loader = current.getKey().getClassLoader();
+
+            if(loader != null) {
+                loadPrecompiled(loader);
+            }
+        }
+
+        update(builder -> {
+            for(var current: types) {
+                var reg = current.getKey();
+                var target = current.getValue();
+
+                if(ConversionResponse.class.isAssignableFrom(reg)) {
+                    this.registerResponse(builder, target, reg);
+                } else if(ConversionMutator.class.isAssignableFrom(reg)) {
+                    this.registerMutator(builder, reg, target);
+                } else {
+                    throw new IllegalArgumentException("Received class is not ConversionResponse or ConversionMutator");
+                }
+            }
+        });
+    }
+
+    /**
+     * Загрузить конвертеры, сгенерированные процессором аннотаций, из реестров доступных загрузчику классов.
+     * Каждый загрузчик обрабатывается один раз
+     *
+     * @param loader загрузчик классов
+     */
+    public void loadPrecompiled(@NotNull ClassLoader loader) {
+        if(!loadedRegistries.add(loader)) {
+            return;
+        }
+
+        var loaded = new HashMap<Class<?>, PrecompiledConverter>();
+
+        try {
+            var iterator = ServiceLoader.load(GeneratedConverterRegistry.class, loader).iterator();
+
+            while(iterator.hasNext()) {
+                try {
+                    iterator.next().register((type, fields, converter) -> loaded.put(type, new PrecompiledConverter(type, fields, converter)));
+                } catch (ServiceConfigurationError | LinkageError e) {
+                    log.warn("Cannot load generated converters registry, reflective conversion will be used", e);
+                }
+            }
+        } catch (ServiceConfigurationError e) {
+            log.warn("Cannot lookup generated converters registries, reflective conversion will be used", e);
+        }
+
+        if(loaded.isEmpty()) {
+            return;
+        }
+
+        update(builder -> {
+            builder.precompiled.putAll(loaded);
+
+            //
+            // Планы, скомпилированные до загрузки реестра, пересоздаются с учетом сгенерированных конвертеров
+            //
+            builder.mutatorPlans.replaceAll((type, plan) -> new MutatorPlan(type, plan.getMetadata(), builder.precompiled.get(type)));
+        });
+    }
+
+    /**
+     * Получить конвертер, сгенерированный процессором аннотаций для класса ответа или мутатора
+     *
+     * @param forClass класс ответа или мутатора
+     * @return конвертер или null, если он не был сгенерирован
+     */
+    public PrecompiledConverter getPrecompiledConverter(Class<?> forClass) {
+        return forClass != null ? snapshot.precompiled.get(forClass) : null;
+    }
+
+    /**
+     * Зарегистрировать мутатор или тип ответа в сторе
+     *
+     * @param target целевой тип ответа, с которого будет происходить маппинг <T> у {@link ConversionResponse}
+     * @param response регистрируемый тип ответа, на который будет происходить маппинг, сам {@link ConversionResponse}
+     */
+    private void registerResponse(StoreSnapshot.@NotNull Builder builder, Class<?> target, Class<?> response) {
+        var mapping = getEntityMapping(response);
+        var metadataMap = new HashMap<>(builder.responses.getOrDefault(target, Map.of()));
+
+        if (metadataMap.containsKey(mapping)) {
+            throw new RuntimeException(
+                "It is not possible to create a converter for this type of response - " + target + "[" + mapping + "], " +
+                "because there is already a registered mapping for it. Use a different mapping or remove the declaration of this converter."
+            );
+        }
+
+        var metadata = new ClassMetadata();
+
+        var fieldsFound = metadata.getIntersect();
+        var fieldsTotal = metadata.getFound();
+
+        var foundFields = ReflectionUtils.scanFieldsToMap(target);
+        var boundFields = ReflectionUtils.scanFieldsToMap(response);
+        var foundMethods = ReflectionUtils.scanMethodsToMap(target);
+        var boundMethods = ReflectionUtils.scanMethodsToMap(response);
+        var foundSuffix = target.isInterface() ? "[Interface]" : Map.class.isAssignableFrom(target) ? "[Map]" : "[Pure]";
+
+        var foundData = requestAllAccessibleData(foundFields.values(), foundMethods.values());
+        var boundData = requestAllAccessibleData(boundFields.values(), boundMethods.values());
+
+        metadata.setBoundClass(response);
+        metadata.setIsMap(Map.class.isAssignableFrom(target));
+
+        log.info("Register conversion response from {} to {} {}", target.getSimpleName(), response.getSimpleName(), foundSuffix);
+
+        for(var current: foundData.entrySet()) {
+            var found = current.getValue();
+            var foundSource = getBoundForField(found);
+
+            if(!foundSource.isPresent()) {
+                continue;
+            }
+
+            if(boundData.containsKey(current.getKey())) {
+                var bound = boundData.get(current.getKey());
+                var boundSource = getBoundForField(bound);
+
+                if(!boundSource.isPresent()) {
+                    continue;
+                }
+
+                if (
+                    isConventionalOrCollection(foundSource, boundSource) ||
+                    isConverterOwn(foundSource, boundSource, ConversionResponse.class)
+                ) {
+                    fieldsFound.put(foundSource, boundSource);
+                }
+
+                fieldsTotal.add(foundSource);
+            } else if (metadata.getIsMap() || foundSource.isAnnotated(IgnoreMatch.class)) {
+                fieldsTotal.add(foundSource);
+            }
+        }
+
+        for(var current: boundData.values()) {
+            metadata.addBound(getBoundForField(current));
+        }
+
+        metadataMap.put(mapping, metadata);
+        builder.responses.put(target, metadataMap);
+    }
+
+    /**
+     * Зарегистрировать мутатор или тип ответа в сторе
+     *
+     * @param mutator мутатор, с которого будет происходить маппинг {@link ConversionMutator}
+     * @param target подтип мутатора на который будет происходить маппинг <T> у {@link ConversionMutator}
+     */
+    private void registerMutator(StoreSnapshot.@NotNull Builder builder, Class<?> mutator, Class<?> target) {
+        var metadata = new ClassMetadata();
+
+        var fieldsFound = metadata.getIntersect();
+        var fieldsTotal = metadata.getFound();
+
+        var foundFields = ReflectionUtils.scanFieldsToMap(mutator, Set.of(ConversionMutator.class));
+        var boundFields = ReflectionUtils.scanFieldsToMap(target);
+        var foundMethods = ReflectionUtils.scanMethodsToMap(mutator, Set.of(ConversionMutator.class));
+        var boundMethods = ReflectionUtils.scanMethodsToMap(target);
+        var foundSuffix = target.isInterface() ? "[Interface]" : Map.class.isAssignableFrom(target) ? "[Map]" : "[Pure]";
+
+        var foundData = requestAllAccessibleData(foundFields.values(), foundMethods.values());
+        var boundData = requestAllAccessibleData(boundFields.values(), boundMethods.values());
+
+        metadata.setBoundClass(target);
+        metadata.setIsMap(Map.class.isAssignableFrom(target));
+
+        for(var current: foundData.entrySet()) {
+            var found = current.getValue();
+            var foundSource = getBoundForField(found);
+
+            if(!foundSource.isPresent()) {
+                continue;
+            }
+
+            if(boundData.containsKey(current.getKey())) {
+                var bound = boundData.get(current.getKey());
+                var boundSource = getBoundForField(bound);
+
+                if(!boundSource.isPresent()) {
+                    continue;
+                }
+
+                if(
+                    isConventionalOrCollection(boundSource, foundSource) ||
+                    isConverterOwn(boundSource, foundSource, ConversionMutator.class)
+                ) {
+                    fieldsFound.put(foundSource, boundSource);
+                }
+
+                fieldsTotal.add(foundSource);
+            } else if(metadata.getIsMap() || foundSource.isAnnotated(IgnoreMatch.class)) {
+                fieldsTotal.add(foundSource);
+            }
+        }
+
+        for(var current: boundData.values()) {
+            metadata.addBound(getBoundForField(current));
+        }
+
+        builder.mutators.put(mutator, metadata);
+        builder.mutatorPlans.put(mutator, new MutatorPlan(mutator, metadata, builder.precompiled.get(mutator)));
+    }
+
+    /**
+     * Можно ли преобразовать после bnd1 в bnd2
+     *
+     * @param bnd1 найденное значение
+     * @param bnd2 значение для преобразования
+     * @return true если коллекции можно конвертировать
+     */
+    public boolean isConventionalOrCollection(@NotNull Bound bnd1, @NotNull Bound bnd2) {
+        var boundType = bnd1.getType();
+        var foundType = bnd2.getType();
+
+        if(boundType == foundType) {
+            if(Collection.class.isAssignableFrom(boundType)) {
+                return isConventionalCollection(bnd1, bnd2);
+            } else {
+                return true;
+            }
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Можно ли сопоставить коллекцию bnd1 и bnd2
+     *
+     * @param bnd1 коллекция bnd1
+     * @param bnd2 коллекция bnd2
+     * @return true если можно
+     */
+    private static boolean isConventionalCollection(@NotNull Bound bnd1, @NotNull Bound bnd2) {
+        var requireBeConverter = bnd2.findXGeneric();
+
+        if(requireBeConverter == null) {
+            return false;
+        } else {
+            var compareGeneric = bnd1.findXGeneric();
+
+            if(compareGeneric != null && requireBeConverter == compareGeneric) {
+                return true;
+            }
+
+            var sourceGeneric = ReflectionUtils.findXGeneric(requireBeConverter);
+
+            if(compareGeneric != null && sourceGeneric != null) {
+                return sourceGeneric.isAssignableFrom(compareGeneric);
+            } else {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Получить все доступные виртуальные поля целевого объекта
+     *
+     * @param fields набор полей
+     * @param methods набор методов
+     * @return карта, где ключ это название. А значение это список доступных полей
+     */
+    private @NotNull Map<String, Collection<AccessibleObject>> requestAllAccessibleData(@NotNull Collection<Field> fields, Collection<Method> methods) {
+        var result = new HashMap<String, Collection<AccessibleObject>>();
+
+        for(var current: fields) {
+            if(Modifier.isStatic(current.getModifiers())) {
+                continue;
+            }
+
+            result.computeIfAbsent(current.getName(), e -> new HashSet<>()).add(current);
+        }
+
+        for(var current: methods) {
+            var name = current.getName();
+            var pureName = ConversionUtils.getPureName(name);
+
+            if(Modifier.isStatic(current.getModifiers())) {
+                continue;
+            }
+
+            if(name.startsWith("set") || name.startsWith("get")) {
+                result.computeIfAbsent(pureName, e -> new HashSet<>()).add(current);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Вернет true если это поле конвертера, для поля целевого класса
+     *
+     * @param found поле с конвертером
+     * @param bound целевое поле
+     * @return true если истина
+     */
+    private boolean isConverterOwn(@NotNull Bound found, @NotNull Bound bound, Class<?> converterClazz) {
+        var type = bound.getType();
+        var generic = bound.findXGeneric();
+
+        if(generic == null) {
+            generic = ReflectionUtils.findXGeneric(type);
+        }
+
+        if(generic != null) {
+            return generic.isAssignableFrom(found.getType()) && converterClazz.isAssignableFrom(bound.getType());
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Найти конвертер для конвертации ответа по целевому типу
+     *
+     * @param forClass класс для которого нужен конвертер
+     * @param <T> целевой тип
+     * @return конвертер
+     */
+    public <T> ResponseResolver<T> findResponseResolver(Class<? extends T> forClass) {
+        return (ResponseResolver<T>) snapshot.responseResolverLookup.get(forClass);
+    }
+
+    /**
+     * Найти конвертер для конвертации запроса по целевому типу
+     *
+     * @param forClass класс для которого нужен конвертер
+     * @param <T> целевой тип
+     * @return конвертер
+     */
+    public <T> RequestResolver<T> findRequestResolver(Class<? extends T> forClass) {
+        return (RequestResolver<T>) snapshot.requestResolverLookup.get(forClass);
+    }
+
+    /**
+     * Найти подходящий текущему классу обработчик маппингов ответа
+     *
+     * @param forClass Класс для поиска обработчика
+     * @param <T> тип обработчика
+     * @return найденный обработчик или null
+     */
+    public <T> ConversionResponseMapper<T> findResponseMapper(Class<? extends T> forClass) {
+        return (ConversionResponseMapper<T>) snapshot.responseMapperLookup.get(forClass);
+    }
+
+    /**
+     * йти подходящий текущему классу получатель контекста
+     * @param <T> тип сущностей получателя
+     * @param <T> тип получателя
+     * @param forClass Класс для поиска получателя
+     * @return найденный обработчик или null
+     */
+    public <T, C> ConversionContextRecipient<T, C> findContextRecipient(Class<?> forClass) {
+        return (ConversionContextRecipient<T, C>) snapshot.contextRecipientLookup.get(forClass);
+    }
+
+    /**
+     * Найти пакетный ресолвер полей класса forClass (или его наследника)
+     *
+     * @param forClass класс ресолвера, указанный в {@link io.github.asewhy.conversions.support.annotations.BatchField}
+     * @return найденный ресолвер или null
+     */
+    public <K, V> BatchFieldResolver<K, V> findBatchResolver(Class<?> forClass) {
+        return (BatchFieldResolver<K, V>) snapshot.batchResolverLookup.get(forClass);
+    }
+
+    /**
+     * Проверить, зарегистрированы ли пакетные ресолверы полей
+     *
+     * @return true если зарегистрированы
+     */
+    public boolean hasBatchResolvers() {
+        return !snapshot.batchResolvers.isEmpty();
+    }
+
+    /**
+     * Получить бинды для класса конвертера
+     *
+     * @param forClass класс для получения биндов
+     * @return найденные бинды, или пустая карта
+     */
+    public @NotNull Map<String, ClassMetadata> getResponseBound(Class<?> forClass) {
+        return snapshot.responses.getOrDefault(forClass, Map.of());
+    }
+
+    /**
+     * Получить бинды для класса конвертера
+     *
+     * @param forClass класс для получения биндов
+     * @param mapping маппинг для поиска
+     * @return найденные бинды, или пустая карта
+     */
+    public @NotNull ClassMetadata getResponseBound(Class<?> forClass, String mapping) {
+        var source = snapshot.responseLookup.get(forClass);
+
+        if(source == null) {
+            return new ClassMetadata();
+        }
+
+        if(!source.containsKey(mapping)) {
+            mapping = ConversionUtils.COMMON_MAPPING;
+        }
+
+        return Objects.requireNonNullElseGet(source.get(mapping), ClassMetadata::new);
+    }
+
+    /**
+     * Получить скомпилированный план конверсии для класса источника. План компилируется при первом обращении
+     * и сбрасывается при регистрации новых типов.
+     *
+     * @param forClass класс источника
+     * @param provider поставщик конверсии, для которого компилируется план
+     * @return план конверсии
+     */
+    public @NotNull ResponseTypePlan getResponsePlan(Class<?> forClass, ConversionProvider provider) {
+        var plans = snapshot.responsePlans;
+        var result = plans.get(forClass);
+
+        if(result == null || result.getProvider() != provider) {
+            result = new ResponseTypePlan(this, provider, forClass);
+            plans.put(forClass, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Получить скомпилированный план заполнения для класса мутатора. Для зарегистрированных мутаторов план
+     * компилируется при регистрации, для остальных создается пустой план.
+     *
+     * @param forClass класс мутатора
+     * @return план заполнения
+     */
+    public @NotNull MutatorPlan getMutatorPlan(Class<?> forClass) {
+        var current = snapshot;
+        var result = current.mutatorPlans.get(forClass);
+
+        if(result == null) {
+            result = current.mutatorPlans.computeIfAbsent(forClass, e -> new MutatorPlan(
+                e, current.mutators.getOrDefault(e, new ClassMetadata()), current.precompiled.get(e)
+            ));
+        }
+
+        return result;
+    }
+
+    /**
+     * Получить бинды для класса конвертера
+     *
+     * @param forClass класс для получения биндов
+     * @return найденные бинды, или пустая карта
+     */
+    public @NotNull ClassMetadata getMutatorBound(Class<?> forClass) {
+        var result = snapshot.mutators.get(forClass);
+
+        if(result == null) {
+            result = new ClassMetadata();
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.asewhy.conversions;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Отложенный ответ, который при сериализации записывает исходный объект напрямую через {@link ResponseJsonWriter},
+ * не создавая промежуточных объектов ответа.
+ */
+@Getter
+@JsonSerialize(using = DirectResponse.Serializer.class)
+public final class DirectResponse {
+    private final ResponseJsonWriter writer;
+    private final Object value;
+    private final String mapping;
+    private final Object context;
+
+    public DirectResponse(@NotNull ResponseJsonWriter writer, Object value, String mapping, Object context) {
+        this.writer = writer;
+        this.value = value;
+        this.mapping = mapping;
+        this.context = context;
+    }
+
+    public static final class Serializer extends StdSerializer<DirectResponse> {
+        public Serializer() {
+            super(DirectResponse.class);
+        }
+
+        @Override
+        public void serialize(@NotNull DirectResponse response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            response.writer.write(response.value, response.mapping, response.context, gen, provider);
+        }
+    }
+}
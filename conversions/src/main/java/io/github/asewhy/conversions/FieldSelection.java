@@ -0,0 +1,245 @@
+package io.github.asewhy.conversions;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Выборка полей ответа, например из параметра запроса {@code ?fields=title,author.name}.
+ * <p>
+ * Выражение состоит из путей через запятую. Путь - названия полей в JSON через точку, поля вложенного ответа можно
+ * перечислить в скобках: {@code author(id,name)} равнозначно {@code author.id,author.name}. Поле без вложенного пути
+ * выбирает весь вложенный ответ. Выборка применяется к элементам коллекций так же, как к вложенным ответам.
+ * <p>
+ * Выборка текущей конверсии привязана к потоку (см. {@link #apply(FieldSelection, Supplier)}), невыбранные поля и
+ * вложенные ответы не читаются из исходной сущности и не конвертируются.
+ */
+public final class FieldSelection {
+    private static final ThreadLocal<FieldSelection> CURRENT = new ThreadLocal<>();
+
+    //
+    // Выбранные поля, null в значении означает, что вложенный ответ выбран целиком
+    //
+    private final Map<String, FieldSelection> fields;
+
+    private FieldSelection(@NotNull Map<String, FieldSelection> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Разобрать выражение выборки
+     *
+     * @param expression выражение
+     * @return выборка или null, если выражение пустое (выбраны все поля)
+     * @throws IllegalArgumentException если выражение некорректно
+     */
+    public static @Nullable FieldSelection parse(@Nullable String expression) {
+        if(expression == null || expression.isBlank()) {
+            return null;
+        }
+
+        var parser = new Parser(expression);
+        var result = parser.list();
+
+        if(parser.position < expression.length()) {
+            throw parser.error();
+        }
+
+        return result;
+    }
+
+    /**
+     * Проверить, выбрано ли поле
+     *
+     * @param name название поля в JSON
+     * @return true если выбрано
+     */
+    public boolean isSelected(String name) {
+        return fields.containsKey(name);
+    }
+
+    /**
+     * Получить выборку вложенного ответа поля name
+     *
+     * @param name название поля в JSON
+     * @return выборка или null, если вложенный ответ выбран целиком
+     */
+    public @Nullable FieldSelection get(String name) {
+        return fields.get(name);
+    }
+
+    /**
+     * Получить выбранные поля
+     *
+     * @return поля и выборки их вложенных ответов
+     */
+    public @NotNull @UnmodifiableView Map<String, FieldSelection> getFields() {
+        return Collections.unmodifiableMap(fields);
+    }
+
+    /**
+     * Получить выборку текущего потока
+     *
+     * @return выборка или null, если выбраны все поля
+     */
+    public static @Nullable FieldSelection current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Выполнить действие с выборкой selection
+     *
+     * @param selection выборка или null
+     * @param action действие
+     * @return результат действия
+     */
+    public static <T> T apply(@Nullable FieldSelection selection, @NotNull Supplier<T> action) {
+        var previous = attach(selection);
+
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Сделать выборку текущей для потока
+     *
+     * @param selection выборка или null
+     * @return предыдущая выборка потока, которую нужно восстановить через {@link #restore(FieldSelection)}
+     */
+    static @Nullable FieldSelection attach(@Nullable FieldSelection selection) {
+        var previous = CURRENT.get();
+
+        if(selection == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(selection);
+        }
+
+        return previous;
+    }
+
+    /**
+     * Восстановить предыдущую выборку потока
+     *
+     * @param previous предыдущая выборка, полученная из {@link #attach(FieldSelection)}
+     */
+    static void restore(@Nullable FieldSelection previous) {
+        attach(previous);
+    }
+
+    private static void merge(@NotNull Map<String, FieldSelection> target, @NotNull String name, @Nullable FieldSelection nested) {
+        if(!target.containsKey(name)) {
+            target.put(name, nested);
+            return;
+        }
+
+        var existing = target.get(name);
+
+        //
+        // Поле, выбранное целиком, поглощает выборку вложенных полей
+        //
+        if(existing == null || nested == null) {
+            target.put(name, null);
+        } else {
+            for(var current: nested.fields.entrySet()) {
+                merge(existing.fields, current.getKey(), current.getValue());
+            }
+        }
+    }
+
+    /**
+     * Разбор выражения: list := path (',' path)*, path := name ('.' path | '(' list ')')?
+     */
+    private static final class Parser {
+        private final String expression;
+        private int position;
+
+        private Parser(@NotNull String expression) {
+            this.expression = expression;
+        }
+
+        private @NotNull FieldSelection list() {
+            var fields = new LinkedHashMap<String, FieldSelection>();
+
+            do {
+                path(fields);
+            } while(skip(','));
+
+            return new FieldSelection(fields);
+        }
+
+        private void path(@NotNull Map<String, FieldSelection> target) {
+            var name = name();
+
+            if(skip('.')) {
+                var nested = new LinkedHashMap<String, FieldSelection>();
+
+                path(nested);
+                merge(target, name, new FieldSelection(nested));
+            } else if(skip('(')) {
+                var nested = list();
+
+                if(!skip(')')) {
+                    throw error();
+                }
+
+                merge(target, name, nested);
+            } else {
+                merge(target, name, null);
+            }
+        }
+
+        private @NotNull String name() {
+            whitespace();
+
+            var start = position;
+
+            while(position < expression.length() && isNameChar(expression.charAt(position))) {
+                position++;
+            }
+
+            if(start == position) {
+                throw error();
+            }
+
+            var result = expression.substring(start, position);
+
+            whitespace();
+
+            return result;
+        }
+
+        private boolean skip(char ch) {
+            whitespace();
+
+            if(position < expression.length() && expression.charAt(position) == ch) {
+                position++;
+                return true;
+            }
+
+            return false;
+        }
+
+        private void whitespace() {
+            while(position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+                position++;
+            }
+        }
+
+        private static boolean isNameChar(char ch) {
+            return ch != ',' && ch != '.' && ch != '(' && ch != ')' && !Character.isWhitespace(ch);
+        }
+
+        private @NotNull IllegalArgumentException error() {
+            return new IllegalArgumentException("Invalid field selection '" + expression + "' at position " + position);
+        }
+    }
+}
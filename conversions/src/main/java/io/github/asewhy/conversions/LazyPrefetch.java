@@ -0,0 +1,171 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.ReflectionUtils;
+import io.github.asewhy.conversions.support.LazyLoadingHandler;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Пакетная инициализация ленивых связей дерева исходных сущностей перед конверсией.
+ * <p>
+ * Дерево обходится по уровням. На каждом уровне сначала одним вызовом инициализируются неинициализированные сущности
+ * уровня, затем читаются поля, которые будут конвертированы во вложенные ответы, и неинициализированные значения этих
+ * полей у всех сущностей уровня тоже инициализируются одним вызовом. Так одна и та же связь всех элементов коллекции
+ * загружается вместе, а не по одной при чтении полей во время конверсии.
+ */
+final class LazyPrefetch {
+    private final ConversionProvider provider;
+    private final ConversionStore store;
+    private final LazyLoadingHandler handler;
+    //
+    // Пары (сущность, маппинг, выборка), которые уже обойдены: одна сущность с другим маппингом или выборкой
+    // конвертируется другим планом, и его связи тоже нужно загрузить
+    //
+    private final Set<ConversionSession.IdentityKey> visited = new HashSet<>();
+
+    private LazyPrefetch(@NotNull ConversionProvider provider, @NotNull LazyLoadingHandler handler) {
+        this.provider = provider;
+        this.store = provider.getConfig().getStore();
+        this.handler = handler;
+    }
+
+    /**
+     * Инициализировать ленивые связи дерева from
+     *
+     * @param provider поставщик конверсий
+     * @param handler обработчик ленивых связей
+     * @param from исходный объект
+     * @param mapping исходный маппинг
+     */
+    static void prefetch(@NotNull ConversionProvider provider, @NotNull LazyLoadingHandler handler, Object from, String mapping) {
+        var prefetch = new LazyPrefetch(provider, handler);
+        var level = new ArrayList<Node>();
+
+        prefetch.add(level, from, mapping, true, FieldSelection.current());
+
+        while(!level.isEmpty()) {
+            level = prefetch.next(level);
+        }
+    }
+
+    private @NotNull ArrayList<Node> next(@NotNull List<Node> level) {
+        var pending = new ArrayList<>();
+
+        for(var node: level) {
+            if(!handler.isInitialized(node.value)) {
+                pending.add(node.value);
+            }
+        }
+
+        initialize(pending);
+
+        //
+        // Значения полей уровня, которые будут конвертированы во вложенные ответы
+        //
+        var values = new ArrayList<Node>();
+
+        for(var node: level) {
+            var value = node.value;
+            var mapping = node.mapping;
+            var applyMappingConversion = node.applyMappingConversion;
+            var selection = node.selection;
+            var typePlan = store.getResponsePlan(ReflectionUtils.skipAnonClasses(value.getClass()), provider);
+
+            if(!typePlan.isPresent()) {
+                continue;
+            }
+
+            if(applyMappingConversion) {
+                var resolver = typePlan.getMapper();
+
+                if(resolver != null) {
+                    mapping = resolver.resolveMapping(value, mapping);
+                    applyMappingConversion = resolver.propagation(value, mapping);
+                }
+            }
+
+            for(var step: typePlan.getPlan(mapping).stepsFor(value)) {
+                var nestedMapping = step.getNestedMapping();
+                var elementMapping = step.getElementMapping();
+
+                if(nestedMapping == null && elementMapping == null) {
+                    continue;
+                }
+
+                //
+                // Невыбранные вложенные ответы не конвертируются, и их связи не загружаются
+                //
+                if(selection != null && !selection.isSelected(step.getConvertedName())) {
+                    continue;
+                }
+
+                var nested = step.foundValue(value);
+
+                if(nested == null || step.isSkipped(nested)) {
+                    continue;
+                }
+
+                if(!handler.isInitialized(nested)) {
+                    pending.add(nested);
+                }
+
+                values.add(new Node(
+                    nested,
+                    nestedMapping != null ? nestedMapping : elementMapping,
+                    applyMappingConversion,
+                    selection != null ? selection.get(step.getConvertedName()) : null
+                ));
+            }
+        }
+
+        initialize(pending);
+
+        var result = new ArrayList<Node>();
+
+        for(var node: values) {
+            add(result, node.value, node.mapping, node.applyMappingConversion, node.selection);
+        }
+
+        return result;
+    }
+
+    private void add(@NotNull List<Node> level, Object value, String mapping, Boolean applyMappingConversion, FieldSelection selection) {
+        if(value == null) {
+            return;
+        }
+
+        if(value instanceof Collection<?>) {
+            for(var item: (Collection<?>) value) {
+                add(level, item, mapping, applyMappingConversion, selection);
+            }
+        } else if(visited.add(new ConversionSession.IdentityKey(value, mapping, selection))) {
+            level.add(new Node(value, mapping, applyMappingConversion, selection));
+        }
+    }
+
+    private void initialize(@NotNull List<Object> pending) {
+        if(!pending.isEmpty()) {
+            handler.initialize(new ArrayList<>(pending));
+            pending.clear();
+        }
+    }
+
+    private static final class Node {
+        private final Object value;
+        private final String mapping;
+        private final Boolean applyMappingConversion;
+        private final FieldSelection selection;
+
+        private Node(Object value, String mapping, Boolean applyMappingConversion, FieldSelection selection) {
+            this.value = value;
+            this.mapping = mapping;
+            this.applyMappingConversion = applyMappingConversion;
+            this.selection = selection;
+        }
+    }
+}
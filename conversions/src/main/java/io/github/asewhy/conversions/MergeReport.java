@@ -0,0 +1,43 @@
+package io.github.asewhy.conversions;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Результат слияния коллекции (или карты) вложенных мутаторов с коллекцией (или картой) сущностей. Содержит элементы
+ * заполняемой сущности, которые были добавлены, обновлены или удалены.
+ */
+@Getter
+public final class MergeReport {
+    //
+    // Коллекция или карта после слияния
+    //
+    private final Object target;
+    private final List<Object> added = new ArrayList<>();
+    private final List<Object> updated = new ArrayList<>();
+    private final List<Object> removed = new ArrayList<>();
+    //
+    // True если порядок сохранившихся элементов списка изменился
+    //
+    private boolean reordered;
+
+    MergeReport(@NotNull Object target) {
+        this.target = target;
+    }
+
+    void setReordered(boolean reordered) {
+        this.reordered = reordered;
+    }
+
+    /**
+     * Изменился ли состав или порядок элементов
+     *
+     * @return true если изменился
+     */
+    public boolean isStructureChanged() {
+        return reordered || !added.isEmpty() || !removed.isEmpty();
+    }
+}
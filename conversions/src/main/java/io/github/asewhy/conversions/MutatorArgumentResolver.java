@@ -38,11 +38,29 @@ public class MutatorArgumentResolver implements HandlerMethodArgumentResolver {
         var httpServletRequest = nativeWebRequest.getNativeRequest(HttpServletRequest.class);
 
         if (httpServletRequest != null) {
+            var type = parameter.getParameterType();
+            var generics = parameter.getGenericParameterType();
+            var isMutator = parameter.getParameterAnnotation(ConvertMutator.class) != null;
+
+            //
+            // Мутаторы и коллекции мутаторов читаются из потока напрямую, дерево нужно только собственным ресолверам
+            //
+            if(isMutator && provider.isDirectRequest(type, generics)) {
+                try(var parser = objectMapper.getFactory().createParser(httpServletRequest.getInputStream())) {
+                    var resolvedRequest = provider.createRequestResolve(parser, type, generics);
+
+                    if(resolvedRequest != null) {
+                        return validate(resolvedRequest, nativeWebRequest, binderFactory, parameter);
+                    }
+                }
+
+                return validate(Objects.requireNonNull(parameter.getConstructor()).newInstance(), nativeWebRequest, binderFactory, parameter);
+            }
+
             var tree = objectMapper.readTree(httpServletRequest.getInputStream());
 
-            if(parameter.getParameterAnnotation(ConvertMutator.class) != null) {
-                var type = parameter.getParameterType();
-                var resolvedRequest = provider.createRequestResolve(tree, type, parameter.getGenericParameterType());
+            if(isMutator) {
+                var resolvedRequest = provider.createRequestResolve(tree, type, generics);
 
                 if(resolvedRequest != null) {
                     return validate(resolvedRequest, nativeWebRequest, binderFactory, parameter);
@@ -0,0 +1,180 @@
+package io.github.asewhy.conversions;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Модуль jackson, который подготавливает мутаторы во время обычной потоковой десериализации: регистрирует в них стор и
+ * записывает поля, переданные в json объекте мутатора, на каждом уровне вложенности. После этого мутатор не нужно
+ * повторно обходить по дереву json в {@link ConversionProvider#createMutator(ConversionMutator, com.fasterxml.jackson.databind.JsonNode)}.
+ */
+public class MutatorModule extends SimpleModule {
+    public MutatorModule(@NotNull ConversionConfigurationInternal config) {
+        super("ConversionMutatorModule");
+
+        setDeserializerModifier(new BeanDeserializerModifier() {
+            @Override
+            public JsonDeserializer<?> modifyDeserializer(DeserializationConfig deserializationConfig, BeanDescription description, JsonDeserializer<?> deserializer) {
+                if(ConversionMutator.class.isAssignableFrom(description.getBeanClass())) {
+                    return new MutatorDeserializer(deserializer, config);
+                }
+
+                return deserializer;
+            }
+        });
+    }
+
+    /**
+     * Обертка над десериализатором мутатора, которая следит за токенами объекта мутатора
+     */
+    private static final class MutatorDeserializer extends DelegatingDeserializer {
+        private final ConversionConfigurationInternal config;
+
+        private MutatorDeserializer(JsonDeserializer<?> delegatee, ConversionConfigurationInternal config) {
+            super(delegatee);
+
+            this.config = config;
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+            return new MutatorDeserializer(newDelegatee, config);
+        }
+
+        @Override
+        public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            var touched = new LinkedHashSet<String>();
+
+            return prepare(_delegatee.deserialize(new TouchedFieldsParser(p, touched), ctxt), touched);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object deserialize(JsonParser p, DeserializationContext ctxt, Object intoValue) throws IOException {
+            var touched = new LinkedHashSet<String>();
+
+            return prepare(((JsonDeserializer<Object>) _delegatee).deserialize(new TouchedFieldsParser(p, touched), ctxt, intoValue), touched);
+        }
+
+        private Object prepare(Object result, Set<String> touched) {
+            if(result instanceof ConversionMutator<?>) {
+                var mutator = (ConversionMutator<?>) result;
+
+                if(!mutator.isStoreRegistered()) {
+                    mutator.registerStore(config);
+                }
+
+                mutator.touchedFields.addAll(touched);
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * Парсер, который записывает имена полей объекта, с которого он был создан. Вложенные объекты и массивы пропускаются,
+     * их поля записывают обертки вложенных мутаторов.
+     */
+    private static final class TouchedFieldsParser extends JsonParserDelegate {
+        private final Set<String> touched;
+        private int depth;
+
+        private TouchedFieldsParser(@NotNull JsonParser parser, @NotNull Set<String> touched) {
+            super(parser);
+
+            this.touched = touched;
+
+            var token = parser.currentToken();
+
+            //
+            // Десериализатор может быть вызван как на начале объекта, так и на первом поле (например после чтения
+            // идентификатора типа)
+            //
+            if(token == JsonToken.FIELD_NAME) {
+                depth = 1;
+                touched.add(currentNameOf(parser));
+            } else if(token != null && token.isStructStart()) {
+                depth = 1;
+            }
+        }
+
+        @Override
+        public JsonToken nextToken() throws IOException {
+            var token = delegate.nextToken();
+
+            if(token != null) {
+                if(token.isStructStart()) {
+                    depth++;
+                } else if(token.isStructEnd()) {
+                    depth--;
+                } else if(token == JsonToken.FIELD_NAME && depth == 1) {
+                    touched.add(currentNameOf(delegate));
+                }
+            }
+
+            return token;
+        }
+
+        @Override
+        public JsonToken nextValue() throws IOException {
+            var token = nextToken();
+
+            if(token == JsonToken.FIELD_NAME) {
+                token = nextToken();
+            }
+
+            return token;
+        }
+
+        @Override
+        public JsonParser skipChildren() throws IOException {
+            var token = currentToken();
+
+            if(token == null || !token.isStructStart()) {
+                return this;
+            }
+
+            //
+            // Пропуск через nextToken, иначе глубина разойдется с парсером
+            //
+            var open = 1;
+
+            while(open > 0) {
+                token = nextToken();
+
+                if(token == null) {
+                    break;
+                }
+
+                if(token.isStructStart()) {
+                    open++;
+                } else if(token.isStructEnd()) {
+                    open--;
+                }
+            }
+
+            return this;
+        }
+
+        private static String currentNameOf(@NotNull JsonParser parser) {
+            try {
+                return parser.getCurrentName();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,462 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.ReflectionUtils;
+import io.github.asewhy.conversions.support.Bound;
+import io.github.asewhy.conversions.support.BoundAccessors;
+import io.github.asewhy.conversions.support.ClassMetadata;
+import io.github.asewhy.conversions.support.ConversionConfiguration;
+import io.github.asewhy.conversions.support.ConverterGenerator;
+import io.github.asewhy.conversions.support.GeneratedConverter;
+import io.github.asewhy.conversions.support.IdExtractor;
+import io.github.asewhy.conversions.support.PrecompiledConverter;
+import io.github.asewhy.conversions.support.naming.ConversionNamingStrategy;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Скомпилированный план заполнения сущности мутатором.
+ * <p>
+ * Компилируется при регистрации мутатора в сторе и содержит упорядоченные шаги заполнения полей, типы элементов
+ * коллекций, функции доступа к идентификаторам и поля для обратных ссылок на родительскую сущность.
+ */
+@Getter
+@SuppressWarnings("unused")
+public final class MutatorPlan {
+    private final Class<?> mutatorClass;
+    private final ClassMetadata metadata;
+    private final Step[] steps;
+    private final Supplier<Object> targetFactory;
+    //
+    // Конвертер, сгенерированный процессором аннотаций, null если мутатор не обрабатывался процессором
+    //
+    private final PrecompiledConverter precompiled;
+    //
+    // Поля получателя, которые могут принять родителя, ключ по классу родителя
+    //
+    private final Map<Class<?>, Bound[]> parentSlots = new ConcurrentHashMap<>();
+    //
+    // Индексы полей мутатора для текущей политики именования, вычисляются при первой регистрации мутатора
+    //
+    private volatile FieldIndex fieldIndex;
+    //
+    // Сгенерированный конвертер простых полей, создается при первом запросе
+    //
+    private volatile Generated generated;
+
+    MutatorPlan(@NotNull Class<?> mutatorClass, @NotNull ClassMetadata metadata, @Nullable PrecompiledConverter precompiled) {
+        var steps = new ArrayList<Step>();
+        var boundClass = metadata.getBoundClass();
+
+        for(var current: metadata.getIntersect().entrySet()) {
+            steps.add(new Step(metadata, current.getKey(), current.getValue()));
+        }
+
+        this.mutatorClass = mutatorClass;
+        this.metadata = metadata;
+        this.steps = steps.toArray(Step[]::new);
+        this.targetFactory = boundClass != null ? BoundAccessors.createFactory(boundClass) : null;
+        this.precompiled = precompiled;
+    }
+
+    /**
+     * Создать экземпляр заполняемой сущности
+     *
+     * @return экземпляр заполняемой сущности
+     */
+    public Object newTarget() {
+        return targetFactory != null ? targetFactory.get() : ReflectionUtils.safeInstance(metadata.getBoundClass());
+    }
+
+    /**
+     * Получить поля получателя, в которые нужно записать родительскую сущность класса parentClass
+     *
+     * @param parentClass класс родительской сущности
+     * @return поля для записи родителя
+     */
+    public Bound @NotNull [] getParentSlots(@NotNull Class<?> parentClass) {
+        var result = parentSlots.get(parentClass);
+
+        if(result == null) {
+            result = metadata.getBound().stream().filter(e -> parentClass.isAssignableFrom(e.getType())).toArray(Bound[]::new);
+
+            parentSlots.put(parentClass, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Получить имена полей шагов в json, индекс совпадает с индексом шага
+     *
+     * @param strategy политика именования
+     * @return имена полей
+     */
+    public String @NotNull [] getJsonNames(@NotNull ConversionNamingStrategy strategy) {
+        return getFieldIndex(strategy).stepNames;
+    }
+
+    /**
+     * Получить индексы полей мутатора для политики именования. Индексы полей шагов совпадают с индексами шагов,
+     * остальные поля мутатора идут после них
+     *
+     * @param strategy политика именования
+     * @return индексы полей
+     */
+    public @NotNull FieldIndex getFieldIndex(@NotNull ConversionNamingStrategy strategy) {
+        var current = fieldIndex;
+
+        if(current == null || current.strategy != strategy) {
+            fieldIndex = current = new FieldIndex(strategy, metadata, steps);
+        }
+
+        return current;
+    }
+
+    /**
+     * Получить сгенерированный конвертер простых полей. Если мутатор обрабатывался процессором аннотаций, то
+     * используется конвертер, сгенерированный при компиляции, иначе конвертер генерируется при первом запросе
+     *
+     * @return сгенерированный конвертер
+     */
+    public @NotNull Generated getGenerated() {
+        var current = generated;
+
+        if(current == null) {
+            var indexes = new int[steps.length];
+            var plain = new ArrayList<Step>();
+
+            for(var i = 0; i < steps.length; i++) {
+                if(
+                    !Boolean.TRUE.equals(metadata.getIsMap()) &&
+                    steps[i].isPlain() &&
+                    (precompiled == null || precompiled.indexOf(steps[i].name) >= 0)
+                ) {
+                    indexes[i] = plain.size();
+                    plain.add(steps[i]);
+                } else {
+                    indexes[i] = -1;
+                }
+            }
+
+            var converter = (GeneratedConverter) null;
+
+            if(!plain.isEmpty() && precompiled != null) {
+                converter = precompiled.select(plain.stream().map(Step::getName).toArray(String[]::new));
+            } else if(!plain.isEmpty()) {
+                converter = ConverterGenerator.generate(
+                    mutatorClass,
+                    plain.stream().map(Step::getFound).toArray(Bound[]::new),
+                    plain.stream().map(Step::getBound).toArray(Bound[]::new)
+                );
+            }
+
+            generated = current = new Generated(converter, indexes);
+        }
+
+        return current;
+    }
+
+    /**
+     * Шаг заполнения одного поля
+     */
+    @Getter
+    public static final class Step {
+        private final Bound found;
+        private final Bound bound;
+        private final String name;
+        //
+        // Тип, который передается в политику именования для этого поля
+        //
+        private final Class<?> namingType;
+        //
+        // Данные для слияния коллекций, null если поставщик статически не является коллекцией
+        //
+        private final CollectionInfo collection;
+
+        private Step(@NotNull ClassMetadata metadata, @NotNull Bound found, @NotNull Bound bound) {
+            var namingField = metadata.getBoundField(found.getName());
+
+            this.found = found;
+            this.bound = bound;
+            this.name = found.getName();
+            this.namingType = namingField != null ? namingField.getType() : null;
+            this.collection = Collection.class.isAssignableFrom(found.getType()) || Map.class.isAssignableFrom(found.getType()) ? new CollectionInfo(found, bound) : null;
+        }
+
+        /**
+         * Простой шаг не требует вложенного заполнения и может быть выполнен сгенерированным конвертером
+         *
+         * @return true если шаг простой
+         */
+        public boolean isPlain() {
+            var type = found.getType();
+
+            return ConverterGenerator.isPlainType(type) && !ConversionMutator.class.isAssignableFrom(type);
+        }
+
+        /**
+         * Получить данные для слияния коллекции или карты
+         *
+         * @return данные для слияния коллекции
+         */
+        public @NotNull CollectionInfo getCollection() {
+            return collection != null ? collection : new CollectionInfo(found, bound);
+        }
+    }
+
+    /**
+     * Данные для слияния коллекции (или карты) мутаторов с коллекцией (или картой) сущностей
+     */
+    @Getter
+    public static final class CollectionInfo {
+        //
+        // True если поле является картой, тогда типы элементов - это типы значений карты, а идентификатор - ключ карты
+        //
+        private final boolean map;
+        private final Class<?> foundSubtype;
+        private final Class<?> boundSubtype;
+        private final Field foundIdField;
+        private final Field boundIdField;
+        private final Function<Object, Object> foundIdAccessor;
+        private final Function<Object, Object> boundIdAccessor;
+        private final Supplier<Object> collectionFactory;
+        private final Supplier<Object> elementFactory;
+        //
+        // Функции получения идентификаторов для последней использованной конфигурации
+        //
+        @Getter(AccessLevel.NONE)
+        private volatile IdExtractors idExtractors;
+
+        private CollectionInfo(@NotNull Bound found, @NotNull Bound bound) {
+            var elementIndex = Map.class.isAssignableFrom(found.getType()) ? 1 : 0;
+
+            this.map = elementIndex == 1;
+            this.foundSubtype = found.findXGeneric(elementIndex);
+            this.boundSubtype = bound.findXGeneric(elementIndex);
+            this.foundIdField = foundSubtype != null ? ReflectionUtils.findTypeId(foundSubtype) : null;
+            this.boundIdField = boundSubtype != null ? ReflectionUtils.findTypeId(boundSubtype) : null;
+            this.foundIdAccessor = foundIdField != null ? BoundAccessors.createPropertyGetter(foundSubtype, foundIdField) : null;
+            this.boundIdAccessor = boundIdField != null ? BoundAccessors.createPropertyGetter(boundSubtype, boundIdField) : null;
+            this.collectionFactory = BoundAccessors.createFactory(bound.getType());
+            this.elementFactory = boundSubtype != null ? BoundAccessors.createFactory(boundSubtype) : null;
+        }
+
+        /**
+         * Можно ли сливать коллекции по идентификатору
+         *
+         * @return true если можно
+         */
+        public boolean isMergeable() {
+            return boundIdField != null && foundIdField != null && boundSubtype != null;
+        }
+
+        /**
+         * Можно ли сливать коллекции с учетом функций получения идентификаторов из конфигурации. Карты сливаются по
+         * ключам, если значения карты являются мутаторами
+         *
+         * @param config конфигурация
+         * @return true если можно
+         */
+        public boolean isMergeable(@NotNull ConversionConfiguration config) {
+            if(boundSubtype == null || elementFactory == null) {
+                return false;
+            }
+
+            if(map) {
+                return foundSubtype != null && ConversionMutator.class.isAssignableFrom(foundSubtype);
+            }
+
+            var extractors = getIdExtractors(config);
+
+            return extractors.found != null && extractors.bound != null;
+        }
+
+        /**
+         * Получить функции получения идентификаторов элементов. Функции из {@link ConversionConfiguration#idExtractor(Class)}
+         * имеют приоритет над полями идентификаторов
+         *
+         * @param config конфигурация
+         * @return функции получения идентификаторов
+         */
+        public @NotNull IdExtractors getIdExtractors(@NotNull ConversionConfiguration config) {
+            var current = idExtractors;
+
+            if(current == null || current.config != config) {
+                idExtractors = current = new IdExtractors(
+                    config,
+                    resolveIdExtractor(config, foundSubtype, foundIdAccessor),
+                    resolveIdExtractor(config, boundSubtype, boundIdAccessor)
+                );
+            }
+
+            return current;
+        }
+
+        private static @Nullable IdExtractor resolveIdExtractor(@NotNull ConversionConfiguration config, Class<?> type, Function<Object, Object> accessor) {
+            var result = type != null ? config.idExtractor(type) : null;
+
+            if(result == null && accessor != null) {
+                return accessor::apply;
+            }
+
+            return result;
+        }
+    }
+
+    /**
+     * Функции получения идентификаторов элементов мутатора и сущности
+     */
+    @Getter
+    public static final class IdExtractors {
+        @Getter(AccessLevel.NONE)
+        private final ConversionConfiguration config;
+        private final IdExtractor found;
+        private final IdExtractor bound;
+
+        private IdExtractors(ConversionConfiguration config, IdExtractor found, IdExtractor bound) {
+            this.config = config;
+            this.found = found;
+            this.bound = bound;
+        }
+    }
+
+    /**
+     * Сгенерированный конвертер простых полей и соответствие индексов шагов индексам конвертера
+     */
+    public static final class Generated {
+        private final GeneratedConverter converter;
+        private final int[] indexes;
+
+        private Generated(GeneratedConverter converter, int[] indexes) {
+            this.converter = converter;
+            this.indexes = indexes;
+        }
+
+        /**
+         * Скопировать значение поля шага сгенерированным конвертером
+         *
+         * @param step индекс шага
+         * @param from мутатор
+         * @param to заполняемая сущность
+         * @return false если шаг не может быть выполнен конвертером и его нужно интерпретировать
+         */
+        public boolean copy(int step, Object from, Object to) {
+            if(converter == null || indexes[step] < 0) {
+                return false;
+            }
+
+            converter.copy(indexes[step], from, to);
+
+            return true;
+        }
+    }
+
+    /**
+     * Плотные индексы полей мутатора, по ним отмечаются переданные в запросе поля
+     */
+    public static final class FieldIndex {
+        private final ConversionNamingStrategy strategy;
+        private final Bound[] fields;
+        private final String[] names;
+        private final String[] stepNames;
+        private final Map<String, Integer> byJsonName;
+        private final Map<String, Integer> byFieldName;
+
+        private FieldIndex(@NotNull ConversionNamingStrategy strategy, @NotNull ClassMetadata metadata, Step @NotNull [] steps) {
+            var fields = new ArrayList<Bound>();
+
+            for(var current: steps) {
+                fields.add(current.found);
+            }
+
+            for(var current: metadata.getFound()) {
+                if(!fields.contains(current)) {
+                    fields.add(current);
+                }
+            }
+
+            this.strategy = strategy;
+            this.fields = fields.toArray(Bound[]::new);
+            this.names = new String[this.fields.length];
+            this.byJsonName = new HashMap<>(this.fields.length * 2);
+            this.byFieldName = new HashMap<>(this.fields.length * 2);
+
+            var table = metadata.getNameTable(strategy);
+
+            for(var i = 0; i < this.fields.length; i++) {
+                var name = this.fields[i].getName();
+
+                this.names[i] = table.getJsonName(name);
+                this.byJsonName.putIfAbsent(this.names[i], i);
+                this.byFieldName.putIfAbsent(name, i);
+            }
+
+            this.stepNames = Arrays.copyOf(this.names, steps.length);
+        }
+
+        /**
+         * Получить индекс поля по его имени в json
+         *
+         * @param jsonName имя поля в json
+         * @return индекс поля или -1, если у мутатора нет такого поля
+         */
+        public int indexOfJsonName(String jsonName) {
+            var result = byJsonName.get(jsonName);
+
+            return result != null ? result : -1;
+        }
+
+        /**
+         * Получить индекс поля по его имени в классе мутатора
+         *
+         * @param fieldName имя поля
+         * @return индекс поля или -1, если у мутатора нет такого поля
+         */
+        public int indexOfField(String fieldName) {
+            var result = byFieldName.get(fieldName);
+
+            return result != null ? result : -1;
+        }
+
+        /**
+         * Получить имя поля в json по индексу
+         *
+         * @param index индекс поля
+         * @return имя поля в json
+         */
+        public String getJsonName(int index) {
+            return names[index];
+        }
+
+        /**
+         * Получить поле мутатора по индексу
+         *
+         * @param index индекс поля
+         * @return поле мутатора
+         */
+        public Bound getField(int index) {
+            return fields[index];
+        }
+
+        /**
+         * Получить количество проиндексированных полей
+         *
+         * @return количество полей
+         */
+        public int size() {
+            return fields.length;
+        }
+    }
+}
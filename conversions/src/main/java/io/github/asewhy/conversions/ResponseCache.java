@@ -0,0 +1,344 @@
+package io.github.asewhy.conversions;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Кеш конвертированных ответов. Предоставляется методом
+ * {@link io.github.asewhy.conversions.support.ConversionConfiguration#responseCache()}, кешируются только ответы,
+ * помеченные {@link io.github.asewhy.conversions.support.annotations.ResponseDTO#cached()}.
+ * <p>
+ * Ключ ответа - класс исходной сущности, ее идентификатор, версия, маппинг и признак применения обработчика маппингов
+ * к вложенным сущностям, поэтому после изменения версии сущности
+ * ответ конвертируется заново. Суммарный вес записей ограничен, при превышении удаляются давно не использованные записи.
+ * Записи живут не дольше времени жизни. Если несколько потоков одновременно запрашивают один ключ, то ответ
+ * конвертируется один раз, а остальные потоки ждут результата. Поток, который сам конвертирует ответ для кеша, не ждет
+ * другие потоки, а конвертирует вложенный ответ сам: иначе два потока, конвертирующие ответы, которые ссылаются друг на
+ * друга, ждали бы друг друга бесконечно.
+ * <p>
+ * Версия в ключе - версия только самой сущности, изменения вложенных сущностей она не отражает. Ответ, содержащий
+ * вложенные ответы, остается в кеше после изменения вложенной сущности до истечения времени жизни или до удаления через
+ * {@link #invalidate(Class, Object)}.
+ * <p>
+ * Один экземпляр ответа отдается всем запросам, поэтому кешируемые ответы не должны изменяться после конверсии. Ответы,
+ * конвертируемые с контекстом (переданным, глобальным или от получателя контекста), и ответы, в дереве которых есть
+ * классы с получателем контекста или пакетными полями, не кешируются. При заданной политике циклов кешируются только
+ * ответы, конвертируемые в корне пути конверсии: вложенный ответ зависит от пути, по которому до него дошли.
+ */
+public class ResponseCache {
+    //
+    // Запись, которую сейчас конвертирует текущий поток или задача, запущенная из этой конверсии в другом потоке
+    //
+    private static final ThreadLocal<Object> LOADING = new ThreadLocal<>();
+
+    private final Object lock = new Object();
+    private final long maximumWeight;
+    private final long ttl;
+    private final ToLongFunction<Object> weigher;
+    //
+    // Записи в порядке использования, первая - давно не использованная
+    //
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+
+    /**
+     * @param maximumSize максимальное количество ответов
+     * @param ttl время жизни ответа
+     */
+    public ResponseCache(long maximumSize, @NotNull Duration ttl) {
+        this(maximumSize, ttl, e -> 1);
+    }
+
+    /**
+     * @param maximumWeight максимальный суммарный вес ответов
+     * @param ttl время жизни ответа
+     * @param weigher функция вычисления веса ответа
+     */
+    public ResponseCache(long maximumWeight, @NotNull Duration ttl, @NotNull ToLongFunction<Object> weigher) {
+        this.maximumWeight = maximumWeight;
+        this.ttl = ttl.toNanos();
+        this.weigher = weigher;
+    }
+
+    /**
+     * Получить ответ по ключу или конвертировать его
+     *
+     * @param key ключ ответа
+     * @param ttl время жизни ответа в миллисекундах, если 0 или меньше, то используется время жизни кеша
+     * @param loader конверсия ответа
+     * @return ответ
+     */
+    public Object get(@NotNull Key key, long ttl, @NotNull Supplier<Object> loader) {
+        var now = System.nanoTime();
+        var entry = (Entry) null;
+        var owner = false;
+
+        synchronized (lock) {
+            entry = entries.get(key);
+
+            if(entry != null && entry.isExpired(now)) {
+                remove(key, entry);
+                entry = null;
+            }
+
+            if(entry == null) {
+                entry = new Entry(now + (ttl > 0 ? Duration.ofMillis(ttl).toNanos() : this.ttl));
+                entries.put(key, entry);
+                owner = true;
+            }
+        }
+
+        var previous = LOADING.get();
+
+        if(!owner) {
+            //
+            // Поток, конвертирующий запись, может быть нужен потоку, конвертирующему эту, поэтому ответ конвертируется
+            // без ожидания и без публикации в кеш. Поток без своих записей никого не блокирует и может ждать
+            //
+            if(previous != null && !entry.future.isDone()) {
+                return loader.get();
+            }
+
+            return entry.join();
+        }
+
+        attachLoading(entry);
+
+        try {
+            var value = loader.get();
+
+            entry.weight = value != null ? weigher.applyAsLong(value) : 0;
+
+            synchronized (lock) {
+                if(entries.get(key) == entry) {
+                    weight += entry.weight;
+                    entry.loaded = true;
+                    evict();
+                }
+            }
+
+            entry.future.complete(value);
+
+            return value;
+        } catch (RuntimeException | Error e) {
+            synchronized (lock) {
+                entries.remove(key, entry);
+            }
+
+            entry.future.completeExceptionally(e);
+
+            throw e;
+        } finally {
+            attachLoading(previous);
+        }
+    }
+
+    /**
+     * Удалить ответы сущности класса type (или его наследников) с идентификатором id во всех маппингах и версиях
+     *
+     * @param type класс сущности
+     * @param id идентификатор сущности
+     */
+    public void invalidate(@NotNull Class<?> type, Object id) {
+        invalidateIf(e -> type.isAssignableFrom(e.type) && Objects.equals(e.id, id));
+    }
+
+    /**
+     * Удалить ответы всех сущностей класса type (или его наследников)
+     *
+     * @param type класс сущности
+     */
+    public void invalidate(@NotNull Class<?> type) {
+        invalidateIf(e -> type.isAssignableFrom(e.type));
+    }
+
+    /**
+     * Удалить ответы, ключи которых удовлетворяют условию
+     *
+     * @param condition условие
+     */
+    public void invalidateIf(@NotNull Predicate<Key> condition) {
+        synchronized (lock) {
+            var iterator = entries.entrySet().iterator();
+
+            while(iterator.hasNext()) {
+                var current = iterator.next();
+
+                if(condition.test(current.getKey())) {
+                    release(current.getValue());
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Удалить все ответы
+     */
+    public void invalidateAll() {
+        invalidateIf(e -> true);
+    }
+
+    /**
+     * Получить количество записей
+     *
+     * @return количество записей, включая конвертируемые в данный момент
+     */
+    public int size() {
+        synchronized (lock) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Получить запись, которую конвертирует текущий поток. Передается в задачи других потоков через
+     * {@link ConversionSession#wrap(Runnable)}
+     *
+     * @return запись или null
+     */
+    static Object loading() {
+        return LOADING.get();
+    }
+
+    /**
+     * Сделать запись entry конвертируемой текущим потоком
+     *
+     * @param entry запись или null
+     * @return предыдущая запись потока
+     */
+    static Object attachLoading(Object entry) {
+        var previous = LOADING.get();
+
+        if(entry == null) {
+            LOADING.remove();
+        } else {
+            LOADING.set(entry);
+        }
+
+        return previous;
+    }
+
+    private void evict() {
+        var iterator = entries.values().iterator();
+
+        while(weight > maximumWeight && iterator.hasNext()) {
+            var current = iterator.next();
+
+            //
+            // Конвертируемые записи не удаляются, их ждут другие потоки
+            //
+            if(current.loaded) {
+                release(current);
+                iterator.remove();
+            }
+        }
+    }
+
+    private void remove(@NotNull Key key, @NotNull Entry entry) {
+        if(entries.remove(key, entry)) {
+            release(entry);
+        }
+    }
+
+    private void release(@NotNull Entry entry) {
+        if(entry.loaded) {
+            weight -= entry.weight;
+            entry.loaded = false;
+        }
+    }
+
+    /**
+     * Ключ ответа
+     */
+    @Getter
+    public static final class Key {
+        private final Class<?> type;
+        private final Object id;
+        private final Object version;
+        private final String mapping;
+        private final boolean propagation;
+
+        public Key(@NotNull Class<?> type, @NotNull Object id, Object version, String mapping) {
+            this(type, id, version, mapping, true);
+        }
+
+        public Key(@NotNull Class<?> type, @NotNull Object id, Object version, String mapping, boolean propagation) {
+            this.type = type;
+            this.id = id;
+            this.version = version;
+            this.mapping = mapping;
+            this.propagation = propagation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if(this == o) {
+                return true;
+            }
+
+            if(!(o instanceof Key)) {
+                return false;
+            }
+
+            var other = (Key) o;
+
+            return type == other.type &&
+                propagation == other.propagation &&
+                id.equals(other.id) &&
+                Objects.equals(version, other.version) &&
+                Objects.equals(mapping, other.mapping);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, id, version, mapping, propagation);
+        }
+
+        @Override
+        public String toString() {
+            return type.getSimpleName() + "#" + id + "@" + version + " (" + mapping + (propagation ? "" : ", no propagation") + ")";
+        }
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private final long expiresAt;
+        private long weight;
+        private boolean loaded;
+
+        private Entry(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+
+        private Object join() {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                var cause = e.getCause();
+
+                if(cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+
+                if(cause instanceof Error) {
+                    throw (Error) cause;
+                }
+
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.ReflectionUtils;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Поля исходной сущности, которые читает конверсия в ответ для пары (класс сущности, маппинг), включая поля вложенных
+ * сущностей и элементов коллекций. По плану можно построить запрос, который загрузит ровно то, что нужно ответу
+ * (см. {@link io.github.asewhy.conversions.jpa.ResponseGraphFactory}).
+ * <p>
+ * План строится по статическим маппингам ответов, маппинги, выбираемые {@link ConversionResponseMapper} во время
+ * конверсии, в нем не учитываются. Если ответ ссылается на уже встреченную в пути пару (класс, маппинг), то вложенный план
+ * для нее не строится, а поле остается в списке полей.
+ * <p>
+ * Поля в плане упорядочены по имени, чтобы построенные по нему запросы не зависели от порядка шагов плана ответа.
+ */
+@Getter
+public final class ResponseFetchPlan {
+    private final Class<?> entityClass;
+    private final String mapping;
+    //
+    // Поля сущности, которые копируются в ответ
+    //
+    private final @UnmodifiableView Set<String> attributes;
+    //
+    // Поля, которые конвертируются во вложенные ответы, и планы их значений
+    //
+    private final @UnmodifiableView Map<String, ResponseFetchPlan> nested;
+
+    private ResponseFetchPlan(@NotNull Class<?> entityClass, String mapping, @NotNull Set<String> attributes, @NotNull Map<String, ResponseFetchPlan> nested) {
+        this.entityClass = entityClass;
+        this.mapping = mapping;
+        this.attributes = Collections.unmodifiableSet(attributes);
+        this.nested = Collections.unmodifiableMap(nested);
+    }
+
+    /**
+     * Построить план для класса сущности entityClass и маппинга mapping
+     *
+     * @param provider поставщик конверсий
+     * @param entityClass класс исходной сущности
+     * @param mapping маппинг
+     * @return план полей
+     */
+    static @NotNull ResponseFetchPlan build(@NotNull ConversionProvider provider, @NotNull Class<?> entityClass, String mapping) {
+        return build(provider, entityClass, mapping, new HashSet<>());
+    }
+
+    private static @NotNull ResponseFetchPlan build(@NotNull ConversionProvider provider, @NotNull Class<?> entityClass, String mapping, @NotNull Set<String> path) {
+        var typePlan = provider.getConfig().getStore().getResponsePlan(entityClass, provider);
+
+        typePlan.checkPresent();
+
+        var key = entityClass.getName() + "#" + mapping;
+        var attributes = new TreeSet<String>();
+        var nested = new TreeMap<String, ResponseFetchPlan>();
+
+        path.add(key);
+
+        for(var step: typePlan.getPlan(mapping).getSteps()) {
+            var found = step.getFound();
+            var name = found.getName();
+
+            attributes.add(name);
+
+            var nestedType = (Class<?>) null;
+            var nestedMapping = step.getNestedMapping();
+
+            if(nestedMapping != null) {
+                nestedType = found.getType();
+            } else if(step.getElementMapping() != null && Collection.class.isAssignableFrom(found.getType())) {
+                nestedType = found.findXGeneric();
+                nestedMapping = step.getElementMapping();
+            }
+
+            if(nestedType == null) {
+                continue;
+            }
+
+            nestedType = ReflectionUtils.skipAnonClasses(nestedType);
+
+            //
+            // Вложенный тип может быть не зарегистрирован (например интерфейс, реализации которого зарегистрированы отдельно)
+            //
+            if(!provider.getConfig().getStore().isPresentResponse(nestedType) || path.contains(nestedType.getName() + "#" + nestedMapping)) {
+                continue;
+            }
+
+            nested.put(name, build(provider, nestedType, nestedMapping, path));
+        }
+
+        path.remove(key);
+
+        return new ResponseFetchPlan(entityClass, mapping, attributes, nested);
+    }
+}
@@ -0,0 +1,503 @@
+package io.github.asewhy.conversions;
+
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.AnnotatedField;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMethod;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import io.github.asewhy.ReflectionUtils;
+import io.github.asewhy.conversions.defaults.CollectionResponseResolver;
+import io.github.asewhy.conversions.support.TrivialAccessors;
+import lombok.extern.log4j.Log4j2;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Set;
+
+/**
+ * Прямая запись ответа в JSON.
+ * <p>
+ * Вместо построения дерева ответов и последующей его сериализации, поля исходной сущности записываются сразу в
+ * {@link JsonGenerator} по скомпилированному плану {@link ResponsePlan}. Имена, порядок, правила включения и сериализаторы
+ * свойств берутся из сериализатора jackson для класса ответа, поэтому результат совпадает с обычной сериализацией.
+ * <p>
+ * Напрямую записываются только ответы, состояние которых полностью определяется шагами плана: без переопределенного
+ * fillInternal, без аннотаций jackson и с тривиальными геттерами и сеттерами. Остальные ответы создаются обычной конверсией
+ * и сериализуются jackson'ом, это касается только их собственного поддерева.
+ */
+@Log4j2
+@SuppressWarnings("unchecked")
+public final class ResponseJsonWriter {
+    private static final Set<JsonInclude.Include> SUPPORTED_INCLUSIONS = Set.of(
+        JsonInclude.Include.ALWAYS,
+        JsonInclude.Include.USE_DEFAULTS,
+        JsonInclude.Include.NON_NULL
+    );
+
+    private final ConversionProvider provider;
+
+    ResponseJsonWriter(@NotNull ConversionProvider provider) {
+        this.provider = provider;
+    }
+
+    /**
+     * Проверить, может ли объект from быть записан напрямую. Это либо зарегистрированная сущность, либо коллекция, которую
+     * обрабатывает {@link CollectionResponseResolver}.
+     *
+     * @param from исходный объект
+     * @return true если может
+     */
+    public boolean isApplicable(Object from) {
+        if(from == null) {
+            return false;
+        }
+
+        var store = provider.getConfig().getStore();
+        var type = ReflectionUtils.skipAnonClasses(from.getClass());
+        var resolver = store.findResponseResolver(type);
+
+        if(resolver != null) {
+            return resolver.getClass() == CollectionResponseResolver.class;
+        } else {
+            return store.isPresentResponse(type);
+        }
+    }
+
+    /**
+     * Записать ответ, который был бы получен через {@link ConversionProvider#createResponseResolve(Object, String, Object)}
+     *
+     * @param from исходный объект
+     * @param mapping исходный маппинг
+     * @param context поставляемый конвертируемый контекст
+     * @param gen генератор json
+     * @param serializers текущий поставщик сериализаторов jackson
+     * @throws IOException при ошибке записи
+     */
+    public void write(Object from, String mapping, Object context, @NotNull JsonGenerator gen, @NotNull SerializerProvider serializers) throws IOException {
+        if(from == null) {
+            serializers.defaultSerializeNull(gen);
+            return;
+        }
+
+        var session = provider.openSession(from, mapping, context);
+
+        if(session == null) {
+            writeInternal(from, mapping, context, gen, serializers);
+            return;
+        }
+
+        var previous = session.attach();
+
+        try {
+            writeInternal(from, mapping, context, gen, serializers);
+        } finally {
+            ConversionSession.restore(previous);
+        }
+    }
+
+    private void writeInternal(@NotNull Object from, String mapping, Object context, @NotNull JsonGenerator gen, @NotNull SerializerProvider serializers) throws IOException {
+        var store = provider.getConfig().getStore();
+        var type = ReflectionUtils.skipAnonClasses(from.getClass());
+        var resolver = store.findResponseResolver(type);
+        var castedContext = context != null ? context : provider.getConfig().getConfig().context();
+
+        if(resolver != null) {
+            castedContext = provider.mapResolverContext(resolver, from, mapping, castedContext);
+
+            //
+            // То же самое, что делает CollectionResponseResolver, но без промежуточной коллекции
+            //
+            gen.writeStartArray();
+
+            for(var item: (Collection<?>) from) {
+                if(item == null) {
+                    serializers.defaultSerializeNull(gen);
+                } else {
+                    writeEntity(store.getResponsePlan(ReflectionUtils.skipAnonClasses(item.getClass()), provider), item, mapping, true, castedContext, gen, serializers);
+                }
+            }
+
+            gen.writeEndArray();
+        } else {
+            var recipient = store.findContextRecipient(type);
+
+            if(recipient != null && !ConversionSession.isContextLoading()) {
+                castedContext = recipient.mapContext(from);
+            }
+
+            writeEntity(store.getResponsePlan(type, provider), from, mapping, true, castedContext, gen, serializers);
+        }
+    }
+
+    /**
+     * Записать ответ для сущности from, аналог {@link ConversionProvider#createResponse(ResponseTypePlan, Object, String, Boolean, Object)}
+     */
+    private void writeEntity(
+        @NotNull ResponseTypePlan typePlan,
+        @NotNull Object from,
+        String mapping,
+        Boolean applyMappingConversion,
+        Object context,
+        @NotNull JsonGenerator gen,
+        @NotNull SerializerProvider serializers
+    ) throws IOException {
+        var resolvedMapping = mapping;
+        var apply = applyMappingConversion;
+
+        if(apply) {
+            var resolver = typePlan.getMapper();
+
+            if(resolver != null) {
+                resolvedMapping = resolver.resolveMapping(from, resolvedMapping);
+                apply = resolver.propagation(from, resolvedMapping);
+            }
+        }
+
+        typePlan.checkPresent();
+
+        var plan = typePlan.getPlan(resolvedMapping);
+        var layout = getLayout(plan, serializers);
+
+        if(layout.properties == null) {
+            Object response = provider.createResponse(typePlan, from, mapping, applyMappingConversion, context);
+
+            serializers.defaultSerializeValue(response, gen);
+
+            return;
+        }
+
+        var session = ConversionSession.current();
+
+        if(session != null) {
+            context = session.contextFor(typePlan.getFromClass(), context);
+        }
+
+        gen.writeStartObject();
+
+        var selection = FieldSelection.current();
+
+        for(var property: layout.properties) {
+            if(selection == null) {
+                writeProperty(property, from, apply, context, gen, serializers);
+                continue;
+            }
+
+            var name = property.name.getValue();
+
+            if(!selection.isSelected(name)) {
+                continue;
+            }
+
+            var previous = FieldSelection.attach(selection.get(name));
+
+            try {
+                writeProperty(property, from, apply, context, gen, serializers);
+            } finally {
+                FieldSelection.restore(previous);
+            }
+        }
+
+        gen.writeEndObject();
+    }
+
+    private void writeProperty(
+        @NotNull Property property,
+        @NotNull Object from,
+        Boolean applyMappingConversion,
+        Object context,
+        @NotNull JsonGenerator gen,
+        @NotNull SerializerProvider serializers
+    ) throws IOException {
+        var step = property.step;
+        var value = step != null ? step.getFound().getComputedResult(from) : property.value;
+
+        //
+        // Пропущенная ленивая связь записывается так же, как незаполненное поле ответа
+        //
+        if(step != null && step.isSkipped(value)) {
+            value = null;
+        }
+
+        if(value == null) {
+            if(property.nullSerializer != null) {
+                gen.writeFieldName(property.name);
+                property.nullSerializer.serialize(null, gen, serializers);
+            }
+
+            return;
+        }
+
+        gen.writeFieldName(property.name);
+
+        if(step != null && step.getNestedMapping() != null) {
+            writeEntity(step.nestedPlan(value), value, step.getNestedMapping(), applyMappingConversion, context, gen, serializers);
+        } else if(step != null && value instanceof Collection<?>) {
+            gen.writeStartArray();
+
+            for(var item: (Collection<?>) value) {
+                if(item == null) {
+                    continue;
+                }
+
+                if(step.getElementMapping() != null) {
+                    writeEntity(step.elementPlan(item), item, step.getElementMapping(), applyMappingConversion, context, gen, serializers);
+                } else {
+                    serializers.defaultSerializeValue(item, gen);
+                }
+            }
+
+            gen.writeEndArray();
+        } else {
+            var serializer = property.serializer != null ? property.serializer : serializers.findPrimaryPropertySerializer(value.getClass(), property.writer);
+
+            serializer.serialize(value, gen, serializers);
+        }
+    }
+
+    /**
+     * Получить раскладку плана для текущей конфигурации сериализации. Раскладка хранится в плане и пересчитывается, если
+     * конфигурация сменилась.
+     */
+    private @NotNull Layout getLayout(@NotNull ResponsePlan plan, @NotNull SerializerProvider serializers) throws IOException {
+        var config = serializers.getConfig();
+
+        //
+        // Представления jackson фильтруют свойства на каждый вызов, такие записи всегда идут через обычную сериализацию
+        //
+        if(serializers.getActiveView() != null) {
+            return Layout.UNSUPPORTED;
+        }
+
+        var layout = plan.getDirectLayout();
+
+        if(layout != null && layout.config == config) {
+            return layout;
+        }
+
+        var properties = createProperties(plan, serializers);
+
+        if(properties == null && provider.getConfig().getConfig().isDebug()) {
+            log.info("Response " + plan.getBoundClass() + " cannot be written directly, it will be converted before serialization");
+        }
+
+        layout = new Layout(config, properties);
+
+        plan.setDirectLayout(layout);
+
+        return layout;
+    }
+
+    private Property @Nullable [] createProperties(@NotNull ResponsePlan plan, @NotNull SerializerProvider serializers) throws IOException {
+        var config = serializers.getConfig();
+        var boundClass = plan.getBoundClass();
+
+        //
+        // Пакетные поля заполняются, кеш ответов используется, а повторные ссылки и циклы обрабатываются только при конверсии
+        //
+        if(plan.isMap() || boundClass == null || plan.getBatchSteps().length > 0 || plan.getCache() != null || provider.getConfig().getCyclePolicy() != null || config.isEnabled(MapperFeature.USE_STATIC_TYPING) || !isPlainResponse(boundClass, config)) {
+            return null;
+        }
+
+        var serializer = serializers.findValueSerializer(boundClass);
+
+        if(serializer.getClass() != BeanSerializer.class || serializers.findTypeSerializer(config.constructType(boundClass)) != null) {
+            return null;
+        }
+
+        //
+        // Шаги по полям ответа, в которые они записывают значение
+        //
+        var steps = new HashMap<Field, ResponsePlan.Step>();
+
+        for(var step: plan.getSteps()) {
+            var bound = step.getBound();
+            var setter = bound.getSetter();
+            var field = setter != null ? TrivialAccessors.setterField(setter) : bound.getField();
+
+            if(field == null) {
+                return null;
+            }
+
+            steps.put(field, step);
+        }
+
+        var template = (Object) null;
+        var result = new ArrayList<Property>();
+        var iterator = serializer.properties();
+
+        while(iterator.hasNext()) {
+            var next = iterator.next();
+
+            //
+            // Прямая запись сама пропускает невыбранные поля, поэтому поля модуля ответов тоже считаются обычными
+            //
+            if(next.getClass() != BeanPropertyWriter.class && next.getClass() != ResponseModule.SelectedPropertyWriter.class) {
+                return null;
+            }
+
+            var writer = (BeanPropertyWriter) next;
+            var inclusion = config.getDefaultInclusion(boundClass, writer.getType().getRawClass());
+
+            if(writer.getTypeSerializer() != null || !SUPPORTED_INCLUSIONS.contains(inclusion.getValueInclusion())) {
+                return null;
+            }
+
+            var member = writer.getMember();
+            var field = (Field) null;
+
+            if(member instanceof AnnotatedField) {
+                field = (Field) member.getMember();
+            } else if(member instanceof AnnotatedMethod) {
+                field = TrivialAccessors.getterField((Method) member.getMember());
+            }
+
+            if(field == null) {
+                return null;
+            }
+
+            var step = steps.get(field);
+            var value = (Object) null;
+
+            if(step == null) {
+                //
+                // Поле не заполняется конверсией, поэтому его значение одинаково у всех ответов этого плана
+                //
+                if(template == null) {
+                    template = plan.newInstance();
+                }
+
+                try {
+                    value = writer.get(template);
+                } catch (Exception e) {
+                    return null;
+                }
+
+                if(value != null && !(value instanceof String) && !(value instanceof Enum<?>) && !ClassUtils.isPrimitiveOrWrapper(value.getClass())) {
+                    return null;
+                }
+            }
+
+            result.add(new Property(
+                writer,
+                step,
+                value,
+                writer.hasSerializer() ? writer.getSerializer() : null,
+                writer.willSuppressNulls() ? null : serializers.findNullValueSerializer(writer)
+            ));
+        }
+
+        return result.toArray(Property[]::new);
+    }
+
+    /**
+     * Ответ без ручного заполнения, примесей и аннотаций jackson, его сериализация определяется только значениями полей
+     */
+    private static boolean isPlainResponse(@NotNull Class<?> boundClass, @NotNull SerializationConfig config) {
+        if(config.findConfigOverride(boundClass) != null) {
+            return false;
+        }
+
+        for(var current = boundClass; current != null && current != ConversionContextResponse.class && current != ConversionResponse.class; current = current.getSuperclass()) {
+            if(config.findMixInClassFor(current) != null || isJacksonAnnotated(current)) {
+                return false;
+            }
+
+            for(var field: current.getDeclaredFields()) {
+                if(isJacksonAnnotated(field)) {
+                    return false;
+                }
+            }
+
+            for(var method: current.getDeclaredMethods()) {
+                var name = method.getName();
+
+                if(name.equals("fillInternal") || name.equals("fillPureInternal") || isJacksonAnnotated(method)) {
+                    return false;
+                }
+            }
+        }
+
+        for(var current: ClassUtils.getAllInterfacesForClassAsSet(boundClass)) {
+            if(config.findMixInClassFor(current) != null || isJacksonAnnotated(current)) {
+                return false;
+            }
+
+            for(var method: current.getDeclaredMethods()) {
+                if(isJacksonAnnotated(method)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isJacksonAnnotated(@NotNull AnnotatedElement element) {
+        for(var annotation: element.getAnnotations()) {
+            var type = annotation.annotationType();
+
+            if(type.getName().startsWith("com.fasterxml.jackson.") || type.isAnnotationPresent(JacksonAnnotationsInside.class)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Раскладка плана для конфигурации сериализации, если properties равен null, то план нельзя записать напрямую
+     */
+    static final class Layout {
+        private static final Layout UNSUPPORTED = new Layout(null, null);
+
+        private final SerializationConfig config;
+        private final Property[] properties;
+
+        private Layout(SerializationConfig config, Property[] properties) {
+            this.config = config;
+            this.properties = properties;
+        }
+    }
+
+    /**
+     * Свойство json ответа, значение берется из шага плана, либо является значением по умолчанию
+     */
+    private static final class Property {
+        private final BeanPropertyWriter writer;
+        private final SerializableString name;
+        private final ResponsePlan.Step step;
+        private final Object value;
+        private final JsonSerializer<Object> serializer;
+        private final JsonSerializer<Object> nullSerializer;
+
+        private Property(
+            @NotNull BeanPropertyWriter writer,
+            @Nullable ResponsePlan.Step step,
+            @Nullable Object value,
+            @Nullable JsonSerializer<Object> serializer,
+            @Nullable JsonSerializer<Object> nullSerializer
+        ) {
+            this.writer = writer;
+            this.name = writer.getSerializedName();
+            this.step = step;
+            this.value = value;
+            this.serializer = serializer;
+            this.nullSerializer = nullSerializer;
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.conversions.support.annotations.ConvertResponse;
+import io.github.asewhy.conversions.support.annotations.ShiftController;
+import lombok.extern.log4j.Log4j2;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.AsyncHandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.RequestResponseBodyMethodProcessor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Log4j2
+public final class ResponseMessageHandler extends RequestResponseBodyMethodProcessor implements AsyncHandlerMethodReturnValueHandler {
+    private final ConversionProvider provider;
+    private final ResponseStreamWriter streamWriter;
+    private final AsyncResponseHandler asyncHandler;
+    //
+    // Выборки полей из аннотаций, разбираются один раз
+    //
+    private final Map<ConvertResponse, Optional<FieldSelection>> selections = new ConcurrentHashMap<>();
+
+    public ResponseMessageHandler(List<HttpMessageConverter<?>> converters, ConversionProvider provider) {
+        super(converters);
+
+        this.provider = provider;
+        this.streamWriter = new ResponseStreamWriter(provider);
+        this.asyncHandler = new AsyncResponseHandler(provider);
+    }
+
+    @Override
+    public boolean supportsReturnType(@NotNull MethodParameter parameter) {
+        var annotation = parameter.getParameterAnnotation(ConvertResponse.class) != null;
+        var annotatedClass = parameter.getContainingClass();
+
+        if (!annotation) {
+            annotation = annotatedClass.getAnnotation(ConvertResponse.class) != null;
+        }
+
+        if(!annotation) {
+            annotation = annotatedClass.getAnnotation(ShiftController.class) != null;
+        }
+
+        return annotation;
+    }
+
+    @Override
+    public boolean isAsyncReturnValue(Object returnValue, @NotNull MethodParameter returnType) {
+        return AsyncResponseHandler.isAsync(returnValue) && supportsReturnType(returnType);
+    }
+
+    @Override
+    public void handleReturnValue(
+        Object returnValue,
+        @NotNull MethodParameter returnType,
+        @NotNull ModelAndViewContainer mavContainer,
+        @NotNull NativeWebRequest webRequest
+    ) throws HttpMediaTypeNotAcceptableException, IOException {
+        var previous = FieldSelection.attach(getSelection(returnType, webRequest));
+
+        try {
+            handleReturnValueInternal(returnValue, returnType, mavContainer, webRequest);
+        } finally {
+            FieldSelection.restore(previous);
+        }
+    }
+
+    private void handleReturnValueInternal(
+        Object returnValue,
+        @NotNull MethodParameter returnType,
+        @NotNull ModelAndViewContainer mavContainer,
+        @NotNull NativeWebRequest webRequest
+    ) throws HttpMediaTypeNotAcceptableException, IOException {
+        var httpServletRequest = webRequest.getNativeResponse(HttpServletResponse.class);
+        var converted = returnValue;
+
+        if(returnValue instanceof AsyncResponseHandler.Converted) {
+            //
+            // Результат асинхронной обработки уже конвертирован
+            //
+            converted = ((AsyncResponseHandler.Converted) returnValue).getValue();
+        } else if(AsyncResponseHandler.isAsync(returnValue)) {
+            try {
+                asyncHandler.handle(returnValue, getMappingName(returnType), FieldSelection.current(), mavContainer, webRequest);
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Cannot start async processing of " + returnType.getParameterType(), e);
+            }
+
+            return;
+        } else if(httpServletRequest != null) {
+            var mapping = getMappingName(returnType);
+
+            if(canProcess(returnType, mapping)) {
+                var httpRequest = webRequest.getNativeRequest(HttpServletRequest.class);
+
+                if(httpRequest != null && streamWriter.isStreamed(returnValue)) {
+                    mavContainer.setRequestHandled(true);
+                    streamWriter.write(returnValue, mapping, httpRequest, httpServletRequest);
+
+                    return;
+                }
+
+                var writer = provider.getJsonWriter();
+
+                if(Boolean.TRUE.equals(provider.getConfig().getConfig().isDirectSerialization()) && writer.isApplicable(returnValue)) {
+                    converted = new DirectResponse(writer, returnValue, mapping, null);
+                } else {
+                    converted = provider.createResponseResolve(returnValue, mapping);
+                }
+            } else {
+                if(provider.getConfig().getConfig().isDebug()) {
+                    log.warn("IS NOT A CONVERTIBLE ENTITY " + returnType.getParameterType());
+                }
+            }
+        }
+
+        super.handleReturnValue(converted, returnType, mavContainer, webRequest);
+    }
+
+    /**
+     * Получить название маппинга для текущей конвертируемой сущности
+     *
+     * @param parameter конвертируемый параметр
+     * @return маппинг
+     */
+    private String getMappingName(@NotNull MethodParameter parameter) {
+        var annotation = findConvertResponse(parameter);
+
+        if(annotation != null) {
+            return annotation.mapping();
+        }
+
+        return ConversionUtils.COMMON_MAPPING;
+    }
+
+    /**
+     * Найти аннотацию {@link ConvertResponse} метода или класса контроллера. При асинхронной диспетчеризации параметр
+     * принадлежит служебному методу MVC, но аннотации метода и класса контроллера доступны через него
+     *
+     * @param parameter конвертируемый параметр
+     * @return аннотация или null
+     */
+    private ConvertResponse findConvertResponse(@NotNull MethodParameter parameter) {
+        var annotation = parameter.getMethodAnnotation(ConvertResponse.class);
+
+        if(annotation != null) {
+            return annotation;
+        }
+
+        return AnnotationUtils.findAnnotation(parameter.getContainingClass(), ConvertResponse.class);
+    }
+
+    /**
+     * Получить выборку полей ответа из параметра запроса или из аннотации {@link ConvertResponse}
+     *
+     * @param parameter конвертируемый параметр
+     * @param webRequest текущий запрос
+     * @return выборка или null, если выбраны все поля
+     */
+    private FieldSelection getSelection(@NotNull MethodParameter parameter, @NotNull NativeWebRequest webRequest) {
+        var name = provider.getConfig().getConfig().fieldsParameter();
+
+        if(name != null) {
+            var value = webRequest.getParameter(name);
+
+            if(value != null) {
+                try {
+                    return FieldSelection.parse(value);
+                } catch (IllegalArgumentException e) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+                }
+            }
+        }
+
+        var annotation = findConvertResponse(parameter);
+
+        if(annotation == null) {
+            return null;
+        }
+
+        return selections.computeIfAbsent(annotation, e -> Optional.ofNullable(FieldSelection.parse(String.join(",", e.fields())))).orElse(null);
+    }
+
+    /**
+     * Вернет true если этот обработчик может обработать этот тип
+     *
+     * @param parameter параметр для обработки
+     * @return true если этот обработчик может обработать этот тип
+     */
+    private boolean canProcess(@NotNull MethodParameter parameter, String mapping) {
+        var result = parameter.getParameterType();
+        var store = provider.getConfig().getStore();
+
+        if(store.isPresentResponse(result) || streamWriter.isStreamable(result)) {
+            return true;
+        } else {
+            return provider.canResolveResponse(result, parameter.getGenericParameterType(), mapping);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.asewhy.conversions;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Модуль jackson, который не сериализует поля ответа, не входящие в выборку полей (см. {@link FieldSelection}), с
+ * которой ответ был заполнен. Без модуля невыбранные поля попали бы в JSON со значениями по умолчанию. Выборка хранится
+ * в самом ответе, поэтому ответ можно сериализовать в другом потоке, например в WebFlux.
+ */
+public class ResponseModule extends SimpleModule {
+    public ResponseModule() {
+        super("ConversionResponseModule");
+
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription description, List<BeanPropertyWriter> properties) {
+                if(!ConversionResponse.class.isAssignableFrom(description.getBeanClass())) {
+                    return properties;
+                }
+
+                var result = new ArrayList<BeanPropertyWriter>(properties.size());
+
+                for(var property: properties) {
+                    result.add(new SelectedPropertyWriter(property));
+                }
+
+                return result;
+            }
+        });
+    }
+
+    /**
+     * Поле ответа, которое сериализуется, только если оно входит в выборку ответа
+     */
+    static final class SelectedPropertyWriter extends BeanPropertyWriter {
+        private SelectedPropertyWriter(@NotNull BeanPropertyWriter base) {
+            super(base);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            if(isSelected(bean)) {
+                super.serializeAsField(bean, gen, prov);
+            } else if(!gen.canOmitFields()) {
+                super.serializeAsOmittedField(bean, gen, prov);
+            }
+        }
+
+        @Override
+        public void serializeAsElement(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            if(isSelected(bean)) {
+                super.serializeAsElement(bean, gen, prov);
+            } else {
+                super.serializeAsPlaceholder(bean, gen, prov);
+            }
+        }
+
+        private boolean isSelected(Object bean) {
+            var selection = bean instanceof ConversionResponse ? ((ConversionResponse<?>) bean).selection() : null;
+
+            return selection == null || selection.isSelected(getName());
+        }
+    }
+}
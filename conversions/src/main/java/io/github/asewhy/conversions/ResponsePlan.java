@@ -0,0 +1,676 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.ReflectionUtils;
+import io.github.asewhy.conversions.support.Bound;
+import io.github.asewhy.conversions.support.BoundAccessors;
+import io.github.asewhy.conversions.support.ClassMetadata;
+import io.github.asewhy.conversions.support.ConverterGenerator;
+import io.github.asewhy.conversions.support.GeneratedConverter;
+import io.github.asewhy.conversions.support.LazyLoadingHandler;
+import io.github.asewhy.conversions.support.annotations.BatchField;
+import io.github.asewhy.conversions.support.annotations.ResponseDTO;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.core.annotation.AnnotationUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Скомпилированный план конверсии для пары (класс источника, маппинг).
+ * <p>
+ * Всё что зависит только от класса и маппинга (конструктор ответа, шаги копирования полей, маппинги вложенных
+ * сущностей и фабрики коллекций) вычисляется один раз при компиляции плана. Метод {@link ConversionProvider#createResponse}
+ * только исполняет план.
+ */
+@Getter
+@SuppressWarnings({"unchecked", "unused"})
+public final class ResponsePlan {
+    private final ResponseTypePlan typePlan;
+    private final ClassMetadata metadata;
+    private final String mapping;
+    private final Class<?> boundClass;
+    private final boolean map;
+    //
+    // Пропускать ли неинициализированные ленивые связи (см. ResponseDTO#skipUninitialized)
+    //
+    private final boolean skipUninitialized;
+    private final Step[] steps;
+    private final Step[] mapSteps;
+    //
+    // Если конвертер был сгенерирован, то простые шаги выполняются им, а остальные интерпретируются
+    //
+    private final GeneratedConverter converter;
+    private final Step[] plainSteps;
+    private final Step[] interpretedSteps;
+    //
+    // Поля, загружаемые пакетными ресолверами, в обычные шаги не попадают
+    //
+    private final BatchStep[] batchSteps;
+    //
+    // Параметры кеширования, если ответ кешируется
+    //
+    private final CacheSpec cache;
+
+    private final Supplier<Object> instantiator;
+    //
+    // Раскладка прямой записи в JSON, вычисляется в ResponseJsonWriter при первой записи этого плана
+    //
+    private volatile ResponseJsonWriter.Layout directLayout;
+
+    ResponsePlan(@NotNull ResponseTypePlan typePlan, @NotNull ClassMetadata metadata, String mapping) {
+        var provider = typePlan.getProvider();
+        var namingStrategy = provider.getConfig().getNamingStrategy();
+        var fromClass = typePlan.getFromClass();
+
+        this.typePlan = typePlan;
+        this.metadata = metadata;
+        this.mapping = mapping;
+        this.boundClass = metadata.getBoundClass();
+        this.map = Boolean.TRUE.equals(metadata.getIsMap());
+        this.instantiator = boundClass != null ? createInstantiator(boundClass) : null;
+
+        var annotation = boundClass != null ? AnnotationUtils.findAnnotation(boundClass, ResponseDTO.class) : null;
+
+        this.skipUninitialized = annotation != null && annotation.skipUninitialized();
+        this.cache = annotation != null && annotation.cached() && !map ? new CacheSpec(fromClass, annotation) : null;
+
+        var skipHandler = skipUninitialized ? provider.getConfig().getLazyLoadingHandler() : null;
+
+        var steps = new ArrayList<Step>();
+        var mapSteps = new ArrayList<Step>();
+        var batchSteps = new ArrayList<BatchStep>();
+
+        var names = metadata.getNameTable(namingStrategy);
+
+        for(var bound: metadata.getBound()) {
+            var batchField = bound.getAnnotation(BatchField.class);
+
+            if(batchField != null) {
+                batchSteps.add(new BatchStep(fromClass, bound, batchField, names.getJsonName(bound.getName())));
+            }
+        }
+
+        var batchBound = batchSteps.stream().map(BatchStep::getBound).collect(Collectors.toSet());
+
+        for(var current: metadata.getIntersect().entrySet()) {
+            //
+            // Поставляющее поле
+            //
+            var found = current.getKey();
+            //
+            // Принимающее поле
+            //
+            var bound = current.getValue();
+            //
+            // Класс, которому принадлежит поле
+            //
+            var declaredClazz = bound.getDeclaredClass();
+
+            if(batchBound.contains(bound)) {
+                continue;
+            }
+
+            //
+            // Если класс, которому принадлежит поле не совпадает с классом биндинга, то ошибка
+            //
+            if(!declaredClazz.isAssignableFrom(boundClass)) {
+                throw new RuntimeException(
+                    "Cannot cast " + declaredClazz.getName() + " to " + boundClass.getName() + "[" + fromClass.getName() + " (" + mapping + ")]. " +
+                    "Have you registered two converters with the same mappings?"
+                );
+            }
+
+            steps.add(new Step(provider, found, bound, found.getType(), names.getJsonName(bound.getName()), skipHandler));
+        }
+
+        if(map) {
+            for(var bound: metadata.getBound()) {
+                if(batchBound.contains(bound)) {
+                    continue;
+                }
+
+                mapSteps.add(new Step(provider, null, bound, null, names.getJsonName(bound.getName()), null));
+            }
+        }
+
+        this.steps = steps.toArray(Step[]::new);
+        this.mapSteps = mapSteps.toArray(Step[]::new);
+        this.batchSteps = batchSteps.toArray(BatchStep[]::new);
+
+        var converter = (GeneratedConverter) null;
+        var plainSteps = new Step[0];
+        var interpretedSteps = this.steps;
+        var precompiled = typePlan.getStore().getPrecompiledConverter(boundClass);
+
+        if(precompiled != null) {
+            //
+            // Конвертер, сгенерированный при компиляции, копирует только те простые поля, которые нашел процессор
+            //
+            plainSteps = steps.stream().filter(e -> e.isPlain() && precompiled.indexOf(e.getFound().getName()) >= 0).toArray(Step[]::new);
+            converter = precompiled.select(Arrays.stream(plainSteps).map(e -> e.getFound().getName()).toArray(String[]::new));
+        } else if(Boolean.TRUE.equals(provider.getConfig().getConfig().isGenerateConverters()) && boundClass != null) {
+            plainSteps = steps.stream().filter(Step::isPlain).toArray(Step[]::new);
+            converter = ConverterGenerator.generate(
+                boundClass,
+                Arrays.stream(plainSteps).map(Step::getFound).toArray(Bound[]::new),
+                Arrays.stream(plainSteps).map(Step::getBound).toArray(Bound[]::new)
+            );
+        }
+
+        if(converter != null) {
+            var plain = Set.of(plainSteps);
+
+            interpretedSteps = steps.stream().filter(e -> !plain.contains(e)).toArray(Step[]::new);
+        } else {
+            plainSteps = new Step[0];
+        }
+
+        this.converter = converter;
+        this.plainSteps = plainSteps;
+        this.interpretedSteps = interpretedSteps;
+    }
+
+    /**
+     * Создать экземпляр ответа
+     *
+     * @return экземпляр ответа
+     */
+    public Object newInstance() {
+        if(instantiator != null) {
+            return instantiator.get();
+        }
+
+        try {
+            return boundClass.getConstructor().newInstance();
+        } catch (NoSuchMethodException e) {
+            throw new RuntimeException("Cannot find default constructor on " + boundClass.getName(), e);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Заполнить экземпляр ответа из исходной сущности
+     *
+     * @param instance экземпляр ответа
+     * @param from исходная сущность
+     * @param applyMappingConversion нужно ли применять обработчики маппингов для вложенных сущностей
+     * @param context поставляемый конвертируемый контекст
+     */
+    public void fill(Object instance, Object from, Boolean applyMappingConversion, Object context) {
+        var selection = FieldSelection.current();
+
+        if(selection != null) {
+            fillSelected(instance, from, applyMappingConversion, context, selection);
+        } else if(map && from instanceof Map) {
+            var source = (Map<?, ?>) from;
+
+            for(var step: mapSteps) {
+                step.applyFromMap(instance, source, applyMappingConversion, context);
+            }
+        } else {
+            if(converter != null) {
+                converter.copyAll(from, instance);
+            }
+
+            for(var step: interpretedSteps) {
+                step.apply(instance, from, applyMappingConversion, context);
+            }
+        }
+    }
+
+    /**
+     * Заполнить только выбранные поля. Сгенерированный конвертер копирует все простые поля, поэтому не используется.
+     * Выборка запоминается в ответе, чтобы невыбранные поля не попали в JSON
+     */
+    private void fillSelected(Object instance, Object from, Boolean applyMappingConversion, Object context, @NotNull FieldSelection selection) {
+        var fromMap = map && from instanceof Map;
+
+        if(instance instanceof ConversionResponse) {
+            ((ConversionResponse<?>) instance).select(selection);
+        }
+
+        for(var step: fromMap ? mapSteps : steps) {
+            var name = step.getConvertedName();
+
+            if(!selection.isSelected(name)) {
+                continue;
+            }
+
+            var previous = FieldSelection.attach(selection.get(name));
+
+            try {
+                if(fromMap) {
+                    step.applyFromMap(instance, (Map<?, ?>) from, applyMappingConversion, context);
+                } else {
+                    step.apply(instance, from, applyMappingConversion, context);
+                }
+            } finally {
+                FieldSelection.restore(previous);
+            }
+        }
+    }
+
+    /**
+     * Заполнить поля экземпляра ответа, загружаемые пакетными ресолверами. В сессии значения берутся из пакетов,
+     * загруженных для всего дерева с контекстом сессии, без сессии ресолвер вызывается для одного ключа с контекстом
+     * context
+     *
+     * @param instance экземпляр ответа
+     * @param from исходная сущность
+     * @param session текущая сессия или null
+     * @param context контекст конверсии или null для глобального контекста
+     */
+    public void fillBatch(Object instance, Object from, @Nullable ConversionSession session, Object context) {
+        if(batchSteps.length == 0) {
+            return;
+        }
+
+        var store = typePlan.getStore();
+        var selection = FieldSelection.current();
+        var batchContext = context != null ? context : typePlan.getProvider().getConfig().getConfig().context();
+
+        for(var step: batchSteps) {
+            if(selection != null && !selection.isSelected(step.getJsonName())) {
+                continue;
+            }
+
+            var key = step.keyOf(from);
+            var result = (Object) null;
+
+            if(key != null) {
+                if(session != null) {
+                    result = session.batchValue(step.resolver(store), key);
+                } else {
+                    result = step.resolver(store).resolve(Collections.singletonList(key), batchContext).get(key);
+                }
+            }
+
+            step.getBound().setComputedResult(instance, result);
+        }
+    }
+
+    /**
+     * Получить шаги, по которым будет заполнен ответ из сущности from
+     *
+     * @param from исходная сущность
+     * @return шаги заполнения
+     */
+    Step @NotNull [] stepsFor(Object from) {
+        return map && from instanceof Map ? mapSteps : steps;
+    }
+
+    ResponseJsonWriter.Layout getDirectLayout() {
+        return directLayout;
+    }
+
+    void setDirectLayout(ResponseJsonWriter.Layout directLayout) {
+        this.directLayout = directLayout;
+    }
+
+    private static Supplier<Object> createInstantiator(@NotNull Class<?> boundClass) {
+        try {
+            return BoundAccessors.createInstantiator(boundClass.getConstructor());
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Шаг копирования одного поля
+     */
+    @Getter
+    public static final class Step {
+        private final ConversionProvider provider;
+        private final Bound found;
+        private final Bound bound;
+        private final Class<?> boundType;
+        //
+        // Название поля в JSON
+        //
+        private final String convertedName;
+        //
+        // Если получатель является ответом, то маппинг для него
+        //
+        private final String nestedMapping;
+        //
+        // Если получатель является коллекцией ответов, то маппинг для элементов
+        //
+        private final String elementMapping;
+        //
+        // Фабрика коллекции, если поставщик статически является коллекцией
+        //
+        private final Supplier<Object> collectionFactory;
+        //
+        // Обработчик ленивых связей, если неинициализированные значения этого шага пропускаются
+        //
+        private final LazyLoadingHandler skipHandler;
+
+        private final NestedPlanCache nestedCache = new NestedPlanCache();
+        private final NestedPlanCache elementCache = new NestedPlanCache();
+
+        private Step(@NotNull ConversionProvider provider, Bound found, @NotNull Bound bound, Class<?> foundType, String convertedName, LazyLoadingHandler skipHandler) {
+            this.provider = provider;
+            this.skipHandler = skipHandler;
+            this.found = found;
+            this.bound = bound;
+            this.boundType = bound.getType();
+            this.convertedName = convertedName;
+            this.nestedMapping = ConversionResponse.class.isAssignableFrom(boundType) ? provider.getEntityMapping(boundType) : null;
+
+            var boundGeneric = Collection.class.isAssignableFrom(boundType) ? bound.findXGeneric() : null;
+
+            if(boundGeneric != null && ConversionResponse.class.isAssignableFrom(boundGeneric)) {
+                this.elementMapping = provider.getEntityMapping(boundGeneric);
+            } else {
+                this.elementMapping = null;
+            }
+
+            if(foundType != null && Collection.class.isAssignableFrom(foundType)) {
+                this.collectionFactory = BoundAccessors.createFactory(foundType);
+            } else {
+                this.collectionFactory = null;
+            }
+        }
+
+        /**
+         * Простой шаг не требует вложенной конверсии и может быть выполнен сгенерированным конвертером
+         *
+         * @return true если шаг простой
+         */
+        public boolean isPlain() {
+            return found != null && nestedMapping == null && elementMapping == null && collectionFactory == null && ConverterGenerator.isPlainType(found.getType());
+        }
+
+        /**
+         * Проверить, нужно ли пропустить значение поля, потому что оно является неинициализированной ленивой связью
+         *
+         * @param value значение поставляющего поля
+         * @return true если значение нужно пропустить
+         */
+        public boolean isSkipped(Object value) {
+            return skipHandler != null && value != null && !skipHandler.isInitialized(value);
+        }
+
+        /**
+         * Получить план вложенной сущности для значения value
+         *
+         * @param value значение поставляющего поля
+         * @return план класса значения
+         */
+        @NotNull ResponseTypePlan nestedPlan(@NotNull Object value) {
+            return nestedCache.get(provider, value);
+        }
+
+        /**
+         * Получить план элемента коллекции для значения item
+         *
+         * @param item элемент коллекции поставляющего поля
+         * @return план класса элемента
+         */
+        @NotNull ResponseTypePlan elementPlan(@NotNull Object item) {
+            return elementCache.get(provider, item);
+        }
+
+        /**
+         * Получить значение поставляющего поля сущности from
+         *
+         * @param from исходная сущность
+         * @return значение поля
+         */
+        Object foundValue(@NotNull Object from) {
+            if(found != null) {
+                return found.getComputedResult(from);
+            }
+
+            if(from instanceof Map) {
+                var source = (Map<?, ?>) from;
+                var name = bound.getName();
+
+                return source.containsKey(name) ? source.get(name) : source.get(convertedName);
+            }
+
+            return null;
+        }
+
+        private void apply(Object instance, Object from, Boolean applyMappingConversion, Object context) {
+            var result = found.getComputedResult(from);
+
+            if(isSkipped(result)) {
+                return;
+            }
+
+            if(result != null) {
+                if(nestedMapping != null) {
+                    result = provider.createResponse(nestedCache.get(provider, result), result, nestedMapping, applyMappingConversion, context);
+                }
+
+                if(result instanceof Collection<?>) {
+                    result = convertCollection(
+                        (Collection<?>) result,
+                        collectionFactory != null ? (Collection<Object>) collectionFactory.get() : ReflectionUtils.makeCollectionInstance(found.getType()),
+                        applyMappingConversion,
+                        context
+                    );
+                }
+            }
+
+            bound.setComputedResult(instance, result);
+        }
+
+        private void applyFromMap(Object instance, @NotNull Map<?, ?> from, Boolean applyMappingConversion, Object context) {
+            var name = bound.getName();
+            var result = from.containsKey(name) ? from.get(name) : from.get(convertedName);
+            var foundType = (Class<?>) null;
+
+            if(result != null) {
+                foundType = result.getClass();
+
+                if(nestedMapping != null) {
+                    result = provider.createResponse(nestedCache.get(provider, result), result, nestedMapping, applyMappingConversion, context);
+                }
+
+                if(result instanceof Collection<?>) {
+                    result = convertCollection((Collection<?>) result, ReflectionUtils.makeCollectionInstance(foundType), applyMappingConversion, context);
+                }
+            }
+
+            if(foundType == null || foundType.isAssignableFrom(boundType)) {
+                bound.setComputedResult(instance, result);
+            }
+        }
+
+        private @NotNull Collection<Object> convertCollection(@NotNull Collection<?> collection, @NotNull Collection<Object> target, Boolean applyMappingConversion, Object context) {
+            for(var item: collection) {
+                if(item == null) {
+                    continue;
+                }
+
+                if(elementMapping != null) {
+                    target.add(provider.createResponse(elementCache.get(provider, item), item, elementMapping, applyMappingConversion, context));
+                } else {
+                    target.add(item);
+                }
+            }
+
+            return target;
+        }
+    }
+
+    /**
+     * Шаг заполнения поля, загружаемого пакетным ресолвером
+     */
+    @Getter
+    public static final class BatchStep {
+        private final Bound bound;
+        private final Class<?> resolverClass;
+        private final String jsonName;
+        private final String keyName;
+        private final Function<Object, Object> keyAccessor;
+
+        private BatchStep(@NotNull Class<?> fromClass, @NotNull Bound bound, @NotNull BatchField annotation, String jsonName) {
+            this.bound = bound;
+            this.jsonName = jsonName;
+            this.resolverClass = annotation.resolver();
+
+            //
+            // Для карт ключ берется по названию, по умолчанию из "id"
+            //
+            if(Map.class.isAssignableFrom(fromClass)) {
+                this.keyName = annotation.key().isEmpty() ? "id" : annotation.key();
+                this.keyAccessor = null;
+            } else {
+                var keyField = annotation.key().isEmpty() ? ReflectionUtils.findTypeId(fromClass) : ReflectionUtils.scanFieldsToMap(fromClass).get(annotation.key());
+
+                this.keyName = keyField != null ? keyField.getName() : annotation.key();
+                this.keyAccessor = createKeyAccessor(fromClass, bound, keyField);
+            }
+        }
+
+        /**
+         * Получить ключ исходной сущности from
+         *
+         * @param from исходная сущность
+         * @return ключ или null
+         */
+        public Object keyOf(Object from) {
+            if(from instanceof Map) {
+                return ((Map<?, ?>) from).get(keyName);
+            }
+
+            return keyAccessor != null ? keyAccessor.apply(from) : null;
+        }
+
+        /**
+         * Найти зарегистрированный ресолвер этого шага
+         *
+         * @param store хранилище конвертеров
+         * @return ресолвер
+         */
+        public @NotNull BatchFieldResolver<Object, Object> resolver(@NotNull ConversionStore store) {
+            var resolver = store.<Object, Object>findBatchResolver(resolverClass);
+
+            if(resolver == null) {
+                throw new RuntimeException(
+                    "Cannot find batch resolver " + resolverClass.getName() + " for field " + bound.getName() + ". " +
+                    "Is it registered as a component with @ContextLoadable?"
+                );
+            }
+
+            return resolver;
+        }
+
+        private static @NotNull Function<Object, Object> createKeyAccessor(@NotNull Class<?> fromClass, @NotNull Bound bound, Field field) {
+            if(field == null) {
+                throw new RuntimeException("Cannot find key field for batch field " + bound.getName() + " on " + fromClass.getName());
+            }
+
+            return BoundAccessors.createPropertyGetter(fromClass, field);
+        }
+    }
+
+    /**
+     * Параметры кеширования ответа (см. {@link ResponseDTO#cached()})
+     */
+    @Getter
+    public static final class CacheSpec {
+        private final Class<?> fromClass;
+        private final Function<Object, Object> idAccessor;
+        private final Function<Object, Object> versionAccessor;
+        private final long ttl;
+
+        private CacheSpec(@NotNull Class<?> fromClass, @NotNull ResponseDTO annotation) {
+            var idField = ReflectionUtils.findTypeId(fromClass);
+
+            if(idField == null) {
+                throw new RuntimeException("Cannot cache responses of " + fromClass.getName() + ", it has no id field");
+            }
+
+            var versionField = findVersionField(fromClass, annotation.version());
+
+            this.fromClass = fromClass;
+            this.idAccessor = BoundAccessors.createPropertyGetter(fromClass, idField);
+            this.versionAccessor = versionField != null ? BoundAccessors.createPropertyGetter(fromClass, versionField) : null;
+            this.ttl = annotation.cacheTtl();
+        }
+
+        /**
+         * Получить ключ кеша для сущности from
+         *
+         * @param from исходная сущность
+         * @param mapping маппинг
+         * @param propagation применяется ли обработчик маппингов к вложенным сущностям
+         * @return ключ или null, если у сущности нет идентификатора
+         */
+        public @Nullable ResponseCache.Key keyOf(@NotNull Object from, String mapping, boolean propagation) {
+            var id = idAccessor.apply(from);
+
+            if(id == null) {
+                return null;
+            }
+
+            return new ResponseCache.Key(fromClass, id, versionAccessor != null ? versionAccessor.apply(from) : null, mapping, propagation);
+        }
+
+        private static @Nullable Field findVersionField(@NotNull Class<?> fromClass, @NotNull String name) {
+            var fields = ReflectionUtils.scanFieldsToMap(fromClass);
+
+            if(!name.isEmpty()) {
+                var field = fields.get(name);
+
+                if(field == null) {
+                    throw new RuntimeException("Cannot find version field " + name + " on " + fromClass.getName());
+                }
+
+                return field;
+            }
+
+            //
+            // Аннотация версии ищется по названию, чтобы не зависеть от JPA или Spring Data
+            //
+            for(var field: fields.values()) {
+                for(var annotation: field.getAnnotations()) {
+                    if(annotation.annotationType().getSimpleName().equals("Version")) {
+                        return field;
+                    }
+                }
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * Мономорфный кеш плана вложенной сущности. Вложенные сущности почти всегда имеют один и тот же класс, поэтому
+     * план для последнего встреченного класса хранится прямо в шаге.
+     */
+    private static final class NestedPlanCache {
+        private volatile Object[] last;
+
+        private @NotNull ResponseTypePlan get(@NotNull ConversionProvider provider, @NotNull Object value) {
+            var clazz = value.getClass();
+            var cached = last;
+
+            if(cached != null && cached[0] == clazz) {
+                return (ResponseTypePlan) cached[1];
+            }
+
+            var plan = provider.getConfig().getStore().getResponsePlan(ReflectionUtils.skipAnonClasses(clazz), provider);
+
+            last = new Object[] { clazz, plan };
+
+            return plan;
+        }
+    }
+}
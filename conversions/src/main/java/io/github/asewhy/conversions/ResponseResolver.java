@@ -16,6 +16,16 @@ public abstract class ResponseResolver<T> {
      */
     protected abstract T resolveInternalResponse(T from, Class<? extends T> type, ConversionProvider provider, String mapping);
 
+    /**
+     * Произвести преобразование типа T с учетом контекста. По умолчанию контекст не используется
+     *
+     * @param from объект, из которого происходит преобразование
+     * @param context контекст, полученный от получателя контекста или переданный извне
+     */
+    protected T resolveInternalResponse(T from, Class<? extends T> type, ConversionProvider provider, String mapping, Object context) {
+        return resolveInternalResponse(from, type, provider, mapping);
+    }
+
     /**
      * Распаковать конвертируемый контейнер T и преобразовать его в тип, содержащийся в этом контейнере T
      *
@@ -53,6 +63,6 @@ public abstract class ResponseResolver<T> {
      * @param context исходный поставляемый контекст
      */
     public final <F> F resolveResponse(F from, Class<?> type, ConversionProvider provider, String mapping, Object context) {
-        return (F) resolveInternalResponse((T) from, (Class<? extends T>) type, provider, mapping);
+        return (F) resolveInternalResponse((T) from, (Class<? extends T>) type, provider, mapping, context);
     }
 }
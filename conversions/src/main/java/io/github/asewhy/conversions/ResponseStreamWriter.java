@@ -0,0 +1,240 @@
+package io.github.asewhy.conversions;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.asewhy.ReflectionUtils;
+import io.github.asewhy.conversions.defaults.CollectionResponseResolver;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Потоковая запись ответа контроллера.
+ * <p>
+ * Элементы потока, итератора или коллекции конвертируются по одному и сразу записываются в ответ, как JSON массив или,
+ * если клиент запросил {@link MediaType#APPLICATION_NDJSON}, как NDJSON. В памяти одновременно находится только один
+ * конвертированный элемент. Потоки и закрываемые итераторы закрываются после записи, в том числе при ошибке.
+ */
+final class ResponseStreamWriter {
+    private final ConversionProvider provider;
+
+    ResponseStreamWriter(@NotNull ConversionProvider provider) {
+        this.provider = provider;
+    }
+
+    /**
+     * Проверить, является ли тип возвращаемого значения потоковым (поток, итератор или, если включено в конфигурации,
+     * итерируемый объект, не являющийся коллекцией, для которого нет своего ресолвера)
+     *
+     * @param type тип возвращаемого значения
+     * @return true если является
+     */
+    boolean isStreamable(@NotNull Class<?> type) {
+        if(Stream.class.isAssignableFrom(type) || Iterator.class.isAssignableFrom(type)) {
+            return true;
+        }
+
+        return Boolean.TRUE.equals(provider.getConfig().getConfig().isStreamIterables()) &&
+            Iterable.class.isAssignableFrom(type) &&
+            !Collection.class.isAssignableFrom(type) &&
+            provider.getConfig().getStore().findResponseResolver(type) == null;
+    }
+
+    /**
+     * Проверить, нужно ли записывать значение потоком
+     *
+     * @param value возвращаемое значение
+     * @return true если нужно
+     */
+    boolean isStreamed(Object value) {
+        if(value == null) {
+            return false;
+        }
+
+        var type = ReflectionUtils.skipAnonClasses(value.getClass());
+
+        if(value instanceof Collection<?>) {
+            var resolver = provider.getConfig().getStore().findResponseResolver(type);
+
+            return Boolean.TRUE.equals(provider.getConfig().getConfig().isStreamCollections()) && resolver != null && resolver.getClass() == CollectionResponseResolver.class;
+        }
+
+        return isStreamable(type);
+    }
+
+    /**
+     * Записать значение в ответ, конвертируя элементы по одному. Если при записи возникла ошибка, то массив не
+     * закрывается: еще не отправленный ответ сбрасывается, чтобы ошибку обработал MVC, а уже отправленный обрывается и
+     * остается некорректным JSON, чтобы клиент не принял его часть за полный ответ
+     *
+     * @param value поток, итератор, итерируемый объект или коллекция
+     * @param mapping маппинг элементов
+     * @param request текущий запрос
+     * @param response текущий ответ
+     * @throws IOException при ошибке записи
+     */
+    void write(@NotNull Object value, String mapping, @NotNull HttpServletRequest request, @NotNull HttpServletResponse response) throws IOException {
+        var ndjson = isNdjsonAccepted(request);
+        var objectMapper = provider.getConfig().getObjectMapper();
+        var objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        var flushInterval = Math.max(1, provider.getConfig().getConfig().streamFlushInterval());
+        //
+        // Коллекция уже в памяти, поэтому, как и в CollectionResponseResolver, сессия и контекст создаются для всей
+        // коллекции, а элементы потоков и итераторов получают их каждый для себя
+        //
+        var session = value instanceof Collection<?> ? provider.openSession(value, mapping, null) : null;
+        var previous = session != null ? session.attach() : null;
+        var failure = (Throwable) null;
+
+        try {
+            response.setContentType((ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON).toString());
+            response.setCharacterEncoding(JsonEncoding.UTF8.getJavaName());
+
+            var context = value instanceof Collection<?> ? collectionContext(value, mapping) : null;
+            var gen = objectMapper.getFactory().createGenerator(response.getOutputStream(), JsonEncoding.UTF8);
+
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+
+            try {
+                var iterator = toIterator(value);
+                var written = 0;
+
+                if(!ndjson) {
+                    gen.writeStartArray();
+                }
+
+                while(iterator.hasNext()) {
+                    objectWriter.writeValue(gen, convert(iterator.next(), mapping, context));
+
+                    if(ndjson) {
+                        gen.writeRaw('\n');
+                    }
+
+                    //
+                    // Первый элемент отправляется сразу, остальные пачками, чтобы не отправлять по чанку на каждый элемент
+                    //
+                    if(written++ % flushInterval == 0) {
+                        gen.flush();
+                    }
+                }
+
+                if(!ndjson) {
+                    gen.writeEndArray();
+                }
+
+                gen.close();
+            } catch (IOException | RuntimeException | Error e) {
+                abort(response);
+
+                throw e;
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            failure = e;
+
+            throw e;
+        } finally {
+            if(session != null) {
+                ConversionSession.restore(previous);
+            }
+
+            close(value, failure);
+        }
+    }
+
+    private Object collectionContext(@NotNull Object value, String mapping) {
+        var config = provider.getConfig();
+        var resolver = config.getStore().findResponseResolver(ReflectionUtils.skipAnonClasses(value.getClass()));
+
+        return provider.mapResolverContext(resolver, value, mapping, config.getConfig().context());
+    }
+
+    private Object convert(Object item, String mapping, Object context) {
+        if(item == null) {
+            return null;
+        }
+
+        var store = provider.getConfig().getStore();
+        var type = ReflectionUtils.skipAnonClasses(item.getClass());
+
+        if(store.isPresentResponse(type)) {
+            //
+            // Контекст коллекции передается элементам так же, как в CollectionResponseResolver
+            //
+            return context != null ? provider.createResponse(item, mapping, context) : provider.createResponseResolve(item, mapping);
+        } else if(store.findResponseResolver(type) != null) {
+            return provider.createResponseResolve(item, mapping, context);
+        } else {
+            return item;
+        }
+    }
+
+    /**
+     * Прервать ответ. Буфер генератора не сбрасывается, поэтому закрывающая скобка массива и недописанный элемент
+     * клиенту не отправляются
+     */
+    private static void abort(@NotNull HttpServletResponse response) {
+        if(!response.isCommitted()) {
+            response.reset();
+        }
+    }
+
+    private static @NotNull Iterator<?> toIterator(@NotNull Object value) {
+        if(value instanceof Stream<?>) {
+            return ((Stream<?>) value).iterator();
+        } else if(value instanceof Iterator<?>) {
+            return (Iterator<?>) value;
+        } else {
+            return ((Iterable<?>) value).iterator();
+        }
+    }
+
+    /**
+     * Закрыть поток или итератор. Если запись уже завершилась ошибкой, то ошибка закрытия добавляется к ней как
+     * подавленная, чтобы не скрыть исходную
+     *
+     * @param value записываемое значение
+     * @param failure ошибка записи или null
+     * @throws IOException при ошибке закрытия, если запись завершилась без ошибки
+     */
+    private static void close(@NotNull Object value, Throwable failure) throws IOException {
+        if(value instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) value).close();
+            } catch (Exception e) {
+                if(failure != null) {
+                    failure.addSuppressed(e);
+                } else if(e instanceof IOException) {
+                    throw (IOException) e;
+                } else if(e instanceof RuntimeException) {
+                    throw (RuntimeException) e;
+                } else {
+                    throw new IOException(e);
+                }
+            }
+        }
+    }
+
+    private static boolean isNdjsonAccepted(@NotNull HttpServletRequest request) {
+        var accept = request.getHeader("Accept");
+
+        if(!StringUtils.hasText(accept)) {
+            return false;
+        }
+
+        for(var type: MediaType.parseMediaTypes(accept)) {
+            if(!type.isWildcardType() && !type.isWildcardSubtype() && type.isCompatibleWith(MediaType.APPLICATION_NDJSON)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
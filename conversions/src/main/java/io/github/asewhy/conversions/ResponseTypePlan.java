@@ -0,0 +1,175 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.ReflectionUtils;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiPredicate;
+
+/**
+ * Скомпилированные данные конверсии для класса источника.
+ * <p>
+ * Хранит всё, что зависит только от класса источника: наличие ответа в сторе, обработчик маппингов
+ * и планы конверсии для каждого запрошенного маппинга.
+ */
+@Getter
+@SuppressWarnings("unused")
+public final class ResponseTypePlan {
+    private final Class<?> fromClass;
+    private final boolean present;
+    private final ConversionResponseMapper<Object> mapper;
+
+    private final ConversionStore store;
+    private final ConversionProvider provider;
+    private final Map<String, ResponsePlan> plans = new ConcurrentHashMap<>();
+    //
+    // Есть ли пакетные поля в ответах дерева для маппинга, вычисляется при первом обращении
+    //
+    private final Map<String, Boolean> batched = new ConcurrentHashMap<>();
+    //
+    // Зависят ли ответы дерева для маппинга от контекста, вычисляется при первом обращении
+    //
+    private final Map<String, Boolean> contextual = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    ResponseTypePlan(@NotNull ConversionStore store, @NotNull ConversionProvider provider, @NotNull Class<?> fromClass) {
+        this.store = store;
+        this.provider = provider;
+        this.fromClass = fromClass;
+        this.present = store.isPresentResponse(fromClass);
+        this.mapper = (ConversionResponseMapper<Object>) store.findResponseMapper(fromClass);
+    }
+
+    /**
+     * Проверить, что класс источника зарегистрирован в сторе
+     *
+     * @throws IllegalArgumentException если класс не зарегистрирован
+     */
+    public void checkPresent() {
+        if(!present) {
+            throw new IllegalArgumentException(
+                "It's entity is not registered on current store. " + fromClass + "\n" +
+                "Check the classloader used to initialize the store, and the current classloader."
+            );
+        }
+    }
+
+    /**
+     * Получить план конверсии для маппинга, план компилируется при первом обращении
+     *
+     * @param mapping маппинг
+     * @return план конверсии
+     */
+    public @NotNull ResponsePlan getPlan(String mapping) {
+        var plan = plans.get(mapping);
+
+        if(plan == null) {
+            plan = plans.computeIfAbsent(mapping, e -> new ResponsePlan(this, store.getResponseBound(fromClass, e), e));
+        }
+
+        return plan;
+    }
+
+    /**
+     * Проверить, есть ли пакетные поля в ответе этого класса с маппингом mapping или в ответах его вложенных сущностей и
+     * элементов коллекций. Вложенные сущности проверяются по всем зарегистрированным классам, совместимым с объявленным
+     * типом поля, а для классов с обработчиком маппингов проверяются все их маппинги
+     *
+     * @param mapping маппинг
+     * @return true если конверсии нужно собирать ключи пакетных полей
+     */
+    public boolean hasBatchSteps(String mapping) {
+        var result = batched.get(mapping);
+
+        if(result == null) {
+            result = reaches(provider, fromClass, mapping, new HashSet<>(), (type, plan) -> plan.getBatchSteps().length > 0);
+
+            batched.putIfAbsent(mapping, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Проверить, может ли ответ этого класса с маппингом mapping зависеть от контекста: у класса или у классов его
+     * вложенных сущностей и элементов коллекций есть получатель контекста или пакетные поля. Вложенные сущности
+     * проверяются так же, как в {@link #hasBatchSteps(String)}
+     *
+     * @param mapping маппинг
+     * @return true если ответ может зависеть от контекста
+     */
+    public boolean isContextDependent(String mapping) {
+        var result = contextual.get(mapping);
+
+        if(result == null) {
+            result = reaches(provider, fromClass, mapping, new HashSet<>(), (type, plan) ->
+                plan.getBatchSteps().length > 0 || store.findContextRecipient(type.getFromClass()) != null
+            );
+
+            contextual.putIfAbsent(mapping, result);
+        }
+
+        return result;
+    }
+
+    private static boolean reaches(
+        @NotNull ConversionProvider provider,
+        @NotNull Class<?> entityClass,
+        String mapping,
+        @NotNull Set<String> visited,
+        @NotNull BiPredicate<ResponseTypePlan, ResponsePlan> condition
+    ) {
+        var store = provider.getConfig().getStore();
+        var typePlan = store.getResponsePlan(entityClass, provider);
+
+        if(!typePlan.isPresent()) {
+            return false;
+        }
+
+        //
+        // Маппинг, который выберет обработчик маппингов, заранее неизвестен
+        //
+        var mappings = typePlan.getMapper() != null ? store.getResponseBound(entityClass).keySet() : Collections.singleton(mapping);
+
+        for(var current: mappings) {
+            if(!visited.add(entityClass.getName() + "#" + current)) {
+                continue;
+            }
+
+            var plan = typePlan.getPlan(current);
+
+            if(condition.test(typePlan, plan)) {
+                return true;
+            }
+
+            for(var step: plan.getSteps()) {
+                var nestedMapping = step.getNestedMapping() != null ? step.getNestedMapping() : step.getElementMapping();
+
+                if(nestedMapping == null) {
+                    continue;
+                }
+
+                var found = step.getFound();
+                var nestedType = Collection.class.isAssignableFrom(found.getType()) ? found.findXGeneric() : found.getType();
+
+                if(nestedType == null) {
+                    nestedType = Object.class;
+                }
+
+                for(var candidate: store.getResponseMap().keySet()) {
+                    if(nestedType.isAssignableFrom(candidate) && reaches(provider, ReflectionUtils.skipAnonClasses(candidate), nestedMapping, visited, condition)) {
+                        return true;
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,126 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.ReflectionUtils;
+import io.github.asewhy.conversions.support.ClassHierarchyCache;
+import io.github.asewhy.conversions.support.ClassMetadata;
+import io.github.asewhy.conversions.support.PrecompiledConverter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Неизменяемый снимок данных стора конверсий.
+ * <p>
+ * Читающие потоки получают текущий снимок одним чтением volatile поля и работают с ним без блокировок. Регистрация
+ * строит новый снимок через {@link Builder} и атомарно подменяет им текущий. Производные кеши (результаты поиска по
+ * иерархии классов и скомпилированные планы) принадлежат снимку, поэтому сбрасываются вместе с его заменой.
+ */
+final class StoreSnapshot {
+    final Map<Class<?>, ClassMetadata> mutators;
+    final Map<Class<?>, Map<String, ClassMetadata>> responses;
+    final Map<Class<?>, ConversionResponseMapper<?>> responseMappers;
+    final Map<Class<?>, ResponseResolver<?>> responseResolvers;
+    final Map<Class<?>, RequestResolver<?>> requestResolvers;
+    final Map<Class<?>, ConversionContextRecipient<?, ?>> contextRecipients;
+    final Map<Class<?>, BatchFieldResolver<?, ?>> batchResolvers;
+    final Map<Class<?>, PrecompiledConverter> precompiled;
+
+    //
+    // Планы зарегистрированных мутаторов компилируются при регистрации, планы остальных классов создаются по запросу
+    //
+    final Map<Class<?>, MutatorPlan> mutatorPlans;
+    final Map<Class<?>, ResponseTypePlan> responsePlans = new ConcurrentHashMap<>();
+
+    final ClassHierarchyCache<Map<String, ClassMetadata>> responseLookup;
+    final ClassHierarchyCache<ClassMetadata> mutatorLookup;
+    final ClassHierarchyCache<ConversionResponseMapper<?>> responseMapperLookup;
+    final ClassHierarchyCache<ResponseResolver<?>> responseResolverLookup;
+    final ClassHierarchyCache<RequestResolver<?>> requestResolverLookup;
+    final ClassHierarchyCache<ConversionContextRecipient<?, ?>> contextRecipientLookup;
+    final ClassHierarchyCache<BatchFieldResolver<?, ?>> batchResolverLookup;
+
+    private StoreSnapshot(@NotNull Builder builder) {
+        var responses = new HashMap<Class<?>, Map<String, ClassMetadata>>();
+
+        for(var current: builder.responses.entrySet()) {
+            responses.put(current.getKey(), Collections.unmodifiableMap(new HashMap<>(current.getValue())));
+        }
+
+        this.mutators = Collections.unmodifiableMap(new HashMap<>(builder.mutators));
+        this.responses = Collections.unmodifiableMap(responses);
+        this.responseMappers = Collections.unmodifiableMap(new HashMap<>(builder.responseMappers));
+        this.responseResolvers = Collections.unmodifiableMap(new HashMap<>(builder.responseResolvers));
+        this.requestResolvers = Collections.unmodifiableMap(new HashMap<>(builder.requestResolvers));
+        this.contextRecipients = Collections.unmodifiableMap(new HashMap<>(builder.contextRecipients));
+        this.batchResolvers = Collections.unmodifiableMap(new HashMap<>(builder.batchResolvers));
+        this.precompiled = Collections.unmodifiableMap(new HashMap<>(builder.precompiled));
+        this.mutatorPlans = new ConcurrentHashMap<>(builder.mutatorPlans);
+
+        this.responseLookup = new ClassHierarchyCache<>(e -> ReflectionUtils.findOnClassMap(this.responses, e));
+        this.mutatorLookup = new ClassHierarchyCache<>(e -> ReflectionUtils.findOnClassMap(this.mutators, e));
+        this.responseMapperLookup = new ClassHierarchyCache<>(e -> ReflectionUtils.findOnClassMap(this.responseMappers, e));
+        this.responseResolverLookup = new ClassHierarchyCache<>(e -> ReflectionUtils.findOnClassMap(this.responseResolvers, e));
+        this.requestResolverLookup = new ClassHierarchyCache<>(e -> ReflectionUtils.findOnClassMap(this.requestResolvers, e));
+        this.contextRecipientLookup = new ClassHierarchyCache<>(e -> ReflectionUtils.findOnClassMap(this.contextRecipients, e));
+        //
+        // Ресолверы ищутся по классу, указанному в аннотации, зарегистрированный бин может быть его наследником (прокси)
+        //
+        this.batchResolverLookup = new ClassHierarchyCache<>(e -> this.batchResolvers.values().stream().filter(e::isInstance).findFirst().orElse(null));
+    }
+
+    /**
+     * Изменяемая копия снимка, из которой строится следующий снимок
+     */
+    static final class Builder {
+        final Map<Class<?>, ClassMetadata> mutators;
+        final Map<Class<?>, Map<String, ClassMetadata>> responses;
+        final Map<Class<?>, ConversionResponseMapper<?>> responseMappers;
+        final Map<Class<?>, ResponseResolver<?>> responseResolvers;
+        final Map<Class<?>, RequestResolver<?>> requestResolvers;
+        final Map<Class<?>, ConversionContextRecipient<?, ?>> contextRecipients;
+        final Map<Class<?>, BatchFieldResolver<?, ?>> batchResolvers;
+        final Map<Class<?>, PrecompiledConverter> precompiled;
+        final Map<Class<?>, MutatorPlan> mutatorPlans = new HashMap<>();
+
+        Builder(@Nullable StoreSnapshot base) {
+            if(base != null) {
+                this.mutators = new HashMap<>(base.mutators);
+                this.responses = new HashMap<>(base.responses);
+                this.responseMappers = new HashMap<>(base.responseMappers);
+                this.responseResolvers = new HashMap<>(base.responseResolvers);
+                this.requestResolvers = new HashMap<>(base.requestResolvers);
+                this.contextRecipients = new HashMap<>(base.contextRecipients);
+                this.batchResolvers = new HashMap<>(base.batchResolvers);
+                this.precompiled = new HashMap<>(base.precompiled);
+
+                //
+                // Планы зарегистрированных мутаторов остаются актуальными, созданные по запросу пересоздадутся
+                //
+                for(var current: base.mutators.keySet()) {
+                    var plan = base.mutatorPlans.get(current);
+
+                    if(plan != null) {
+                        this.mutatorPlans.put(current, plan);
+                    }
+                }
+            } else {
+                this.mutators = new HashMap<>();
+                this.responses = new HashMap<>();
+                this.responseMappers = new HashMap<>();
+                this.responseResolvers = new HashMap<>();
+                this.requestResolvers = new HashMap<>();
+                this.contextRecipients = new HashMap<>();
+                this.batchResolvers = new HashMap<>();
+                this.precompiled = new HashMap<>();
+            }
+        }
+
+        StoreSnapshot build() {
+            return new StoreSnapshot(this);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package io.github.asewhy.conversions;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Набор полей, переданных в мутатор.
+ * <p>
+ * После регистрации мутатора поля, известные плану мутатора, отмечаются битами по индексам из
+ * {@link MutatorPlan.FieldIndex}, а проверка поля сводится к проверке бита. Остальные имена (например ключи мутатора карты
+ * или поля, добавленные до регистрации) хранятся в обычном наборе.
+ */
+final class TouchedFields extends AbstractSet<String> {
+    private MutatorPlan.FieldIndex index;
+    private BitSet bits;
+    private Set<String> extra;
+
+    /**
+     * Привязать набор к индексам полей мутатора. Уже добавленные имена переносятся в биты
+     *
+     * @param index индексы полей мутатора
+     */
+    void bind(@NotNull MutatorPlan.FieldIndex index) {
+        var pending = this.extra;
+
+        this.index = index;
+        this.bits = new BitSet(index.size());
+        this.extra = null;
+
+        if(pending != null) {
+            addAll(pending);
+        }
+    }
+
+    /**
+     * Получить индексы полей, к которым привязан набор
+     *
+     * @return индексы полей или null, если мутатор еще не зарегистрирован
+     */
+    MutatorPlan.FieldIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Проверить, передано ли поле с индексом index
+     *
+     * @param index индекс поля
+     * @return true если передано
+     */
+    boolean has(int index) {
+        return index >= 0 && bits != null && bits.get(index);
+    }
+
+    @Override
+    public boolean add(String name) {
+        var i = indexOf(name);
+
+        if(i >= 0) {
+            if(bits.get(i)) {
+                return false;
+            }
+
+            bits.set(i);
+
+            return true;
+        }
+
+        if(extra == null) {
+            extra = new LinkedHashSet<>();
+        }
+
+        return extra.add(name);
+    }
+
+    @Override
+    public boolean contains(Object name) {
+        if(!(name instanceof String)) {
+            return false;
+        }
+
+        var i = indexOf((String) name);
+
+        if(i >= 0) {
+            return bits.get(i);
+        }
+
+        return extra != null && extra.contains(name);
+    }
+
+    @Override
+    public boolean remove(Object name) {
+        if(!(name instanceof String)) {
+            return false;
+        }
+
+        var i = indexOf((String) name);
+
+        if(i >= 0) {
+            if(!bits.get(i)) {
+                return false;
+            }
+
+            bits.clear(i);
+
+            return true;
+        }
+
+        return extra != null && extra.remove(name);
+    }
+
+    @Override
+    public void clear() {
+        if(bits != null) {
+            bits.clear();
+        }
+
+        extra = null;
+    }
+
+    @Override
+    public int size() {
+        return (bits != null ? bits.cardinality() : 0) + (extra != null ? extra.size() : 0);
+    }
+
+    @Override
+    public @NotNull Iterator<String> iterator() {
+        return new Iterator<>() {
+            private int next = bits != null ? bits.nextSetBit(0) : -1;
+            private int last = -1;
+            private Iterator<String> extraIterator;
+
+            @Override
+            public boolean hasNext() {
+                if(next >= 0) {
+                    return true;
+                }
+
+                if(extraIterator == null) {
+                    extraIterator = extra != null ? extra.iterator() : null;
+                }
+
+                return extraIterator != null && extraIterator.hasNext();
+            }
+
+            @Override
+            public String next() {
+                if(!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                if(next >= 0) {
+                    last = next;
+                    next = bits.nextSetBit(next + 1);
+
+                    return index.getJsonName(last);
+                }
+
+                last = -1;
+
+                return extraIterator.next();
+            }
+
+            @Override
+            public void remove() {
+                if(last >= 0) {
+                    bits.clear(last);
+                    last = -1;
+                } else if(extraIterator != null) {
+                    extraIterator.remove();
+                } else {
+                    throw new IllegalStateException();
+                }
+            }
+        };
+    }
+
+    private int indexOf(String name) {
+        return index != null ? index.indexOfJsonName(name) : -1;
+    }
+}
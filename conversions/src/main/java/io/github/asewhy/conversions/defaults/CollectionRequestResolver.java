@@ -37,14 +37,11 @@ public class CollectionRequestResolver extends RequestResolver<Collection<?>> {
             if(generic != null && store.isPresentMutator(generic)) {
                 var collection = ReflectionUtils.makeCollectionInstance(fromClass);
 
+                //
+                // Стор и переданные поля каждого элемента заполняет MutatorModule при десериализации
+                //
                 for (var current: node) {
-                    var mutator = objectMapper.convertValue(current, (Class<? extends ConversionMutator<?>>) generic);
-
-                    if (current.isObject()) {
-                        provider.createMutator(mutator, current);
-                    }
-
-                    collection.add(mutator);
+                    collection.add(objectMapper.convertValue(current, (Class<? extends ConversionMutator<?>>) generic));
                 }
 
                 return collection;
@@ -0,0 +1,131 @@
+package io.github.asewhy.conversions.defaults;
+
+import io.github.asewhy.ReflectionUtils;
+import io.github.asewhy.conversions.ConversionProvider;
+import io.github.asewhy.conversions.ConversionSession;
+import io.github.asewhy.conversions.ResponseResolver;
+import io.github.asewhy.conversions.support.annotations.ContextLoadable;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@ContextLoadable
+@SuppressWarnings({"unchecked", "unused"})
+public class CollectionResponseResolver extends ResponseResolver<Collection<?>> {
+    //
+    // Меньшие части не окупают передачу задачи в другой поток
+    //
+    private static final int MIN_CHUNK_SIZE = 64;
+
+    @Override
+    public Collection<?> resolveInternalResponse(@NotNull Collection<?> from, Class<? extends Collection<?>> type, ConversionProvider provider, String mapping) {
+        return resolveInternalResponse(from, type, provider, mapping, null);
+    }
+
+    @Override
+    protected Collection<?> resolveInternalResponse(@NotNull Collection<?> from, Class<? extends Collection<?>> type, ConversionProvider provider, String mapping, Object context) {
+        var result = ReflectionUtils.makeCollectionInstance(type);
+        var config = provider.getConfig().getConfig();
+        var threshold = config.parallelThreshold(mapping);
+        var executor = threshold != null && from.size() >= threshold ? config.conversionExecutor() : null;
+
+        if(executor != null) {
+            result.addAll(Arrays.asList(resolveParallel(from.toArray(), provider, mapping, executor, context != null ? context : config.context())));
+
+            return result;
+        }
+
+        var iterator = from.iterator();
+
+        while(iterator.hasNext()) {
+            result.add(provider.createResponse(iterator.next(), mapping, context));
+        }
+
+        return result;
+    }
+
+    /**
+     * Конвертировать элементы частями на исполнителе executor. Первая часть конвертируется в текущем потоке, порядок
+     * элементов сохраняется. При ошибке оставшиеся части прекращают работу, а исключение пробрасывается вызывающему.
+     */
+    private Object[] resolveParallel(Object @NotNull [] items, ConversionProvider provider, String mapping, Executor executor, Object context) {
+        var results = new Object[items.length];
+        var cancelled = new AtomicBoolean();
+        var chunkSize = Math.max(MIN_CHUNK_SIZE, items.length / (Runtime.getRuntime().availableProcessors() * 4));
+        var futures = new ArrayList<CompletableFuture<Void>>();
+
+        try {
+            for(var start = chunkSize; start < items.length; start += chunkSize) {
+                var chunkStart = start;
+                var chunkEnd = Math.min(items.length, start + chunkSize);
+
+                futures.add(CompletableFuture.runAsync(ConversionSession.wrap(() -> resolveRange(items, results, chunkStart, chunkEnd, provider, mapping, context, cancelled)), executor));
+            }
+
+            resolveRange(items, results, 0, Math.min(chunkSize, items.length), provider, mapping, context, cancelled);
+
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            cancelled.set(true);
+
+            var cause = e.getCause();
+
+            if(cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if(cause instanceof Error) {
+                throw (Error) cause;
+            } else {
+                throw new RuntimeException(cause);
+            }
+        } catch (RuntimeException | Error e) {
+            cancelled.set(true);
+
+            throw e;
+        }
+
+        return results;
+    }
+
+    private static void resolveRange(
+        Object @NotNull [] items,
+        Object @NotNull [] results,
+        int start,
+        int end,
+        @NotNull ConversionProvider provider,
+        String mapping,
+        Object context,
+        @NotNull AtomicBoolean cancelled
+    ) {
+        try {
+            for(var i = start; i < end && !cancelled.get(); i++) {
+                results[i] = provider.createResponse(items[i], mapping, context);
+            }
+        } catch (RuntimeException | Error e) {
+            //
+            // Остальные части перестают конвертировать элементы, результат всё равно будет отброшен
+            //
+            cancelled.set(true);
+
+            throw e;
+        }
+    }
+
+    @Override
+    protected Class<?> extractInternalExample(@NotNull Collection<?> from, String mapping, Object globalContextOrPassedContext) {
+        return from.stream().map(Object::getClass).findFirst().orElse(null);
+    }
+
+    @Override
+    protected boolean canProcess(Class<?> from, Type generics, ConversionProvider provider, String mapping) {
+        return Collection.class.isAssignableFrom(from);
+    }
+}
@@ -0,0 +1,122 @@
+package io.github.asewhy.conversions.hibernate;
+
+import io.github.asewhy.conversions.support.LazyLoadingHandler;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.proxy.HibernateProxy;
+import org.jetbrains.annotations.NotNull;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Обработчик ленивых связей Hibernate.
+ * <p>
+ * Прокси сущностей группируются по названию сущности и загружаются запросом по списку идентификаторов, коллекции
+ * группируются по роли и загружаются одним join fetch запросом для всех владельцев. После этого прокси и коллекции
+ * инициализируются из контекста персистентности без отдельных запросов. Загрузка выполняется в сессии entityManager,
+ * поэтому конверсия должна выполняться в транзакции или с открытой сессией (open session in view).
+ */
+public class HibernateLazyLoadingHandler implements LazyLoadingHandler {
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    public HibernateLazyLoadingHandler(@NotNull EntityManager entityManager) {
+        this(entityManager, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param entityManager менеджер сущностей, например общий менеджер spring
+     * @param batchSize максимальное количество идентификаторов или владельцев в одном запросе
+     */
+    public HibernateLazyLoadingHandler(@NotNull EntityManager entityManager, int batchSize) {
+        this.entityManager = entityManager;
+        this.batchSize = Math.max(batchSize, 1);
+    }
+
+    @Override
+    public boolean isInitialized(Object value) {
+        return Hibernate.isInitialized(value);
+    }
+
+    @Override
+    public void initialize(@NotNull Collection<Object> values) {
+        //
+        // Название сущности - идентификаторы прокси, роль коллекции - владельцы коллекций
+        //
+        var proxies = new LinkedHashMap<String, List<Object>>();
+        var collections = new LinkedHashMap<String, List<Object>>();
+
+        for(var current: values) {
+            if(current instanceof HibernateProxy) {
+                var initializer = ((HibernateProxy) current).getHibernateLazyInitializer();
+
+                if(initializer.isUninitialized()) {
+                    proxies.computeIfAbsent(initializer.getEntityName(), e -> new ArrayList<>()).add(initializer.getIdentifier());
+                }
+            } else if(current instanceof PersistentCollection) {
+                var collection = (PersistentCollection) current;
+
+                if(!collection.wasInitialized() && collection.getRole() != null && collection.getOwner() != null) {
+                    collections.computeIfAbsent(collection.getRole(), e -> new ArrayList<>()).add(collection.getOwner());
+                }
+            }
+        }
+
+        if(!proxies.isEmpty() || !collections.isEmpty()) {
+            var session = entityManager.unwrap(Session.class);
+
+            for(var current: proxies.entrySet()) {
+                loadEntities(session, current.getKey(), current.getValue());
+            }
+
+            for(var current: collections.entrySet()) {
+                loadCollections(session, current.getKey(), current.getValue());
+            }
+        }
+
+        //
+        // Значения, которые не удалось загрузить пакетом (например из другой сессии), инициализируются по одному
+        //
+        for(var current: values) {
+            if(!Hibernate.isInitialized(current)) {
+                Hibernate.initialize(current);
+            }
+        }
+    }
+
+    private void loadEntities(@NotNull Session session, @NotNull String entityName, @NotNull List<Object> ids) {
+        for(var chunk: chunks(ids)) {
+            session.byMultipleIds(entityName).withBatchSize(batchSize).multiLoad(chunk);
+        }
+    }
+
+    private void loadCollections(@NotNull Session session, @NotNull String role, @NotNull List<Object> owners) {
+        var factory = session.getSessionFactory().unwrap(SessionFactoryImplementor.class);
+        var entityName = factory.getMetamodel().collectionPersister(role).getOwnerEntityPersister().getEntityName();
+        var property = role.substring(entityName.length() + 1);
+        var query = "select distinct e from " + entityName + " e left join fetch e." + property + " where e in (:owners)";
+
+        for(var chunk: chunks(owners)) {
+            session.createQuery(query).setParameter("owners", chunk).getResultList();
+        }
+    }
+
+    private @NotNull List<List<Object>> chunks(@NotNull List<Object> values) {
+        var result = new ArrayList<List<Object>>();
+
+        for(var i = 0; i < values.size(); i += batchSize) {
+            result.add(values.subList(i, Math.min(i + batchSize, values.size())));
+        }
+
+        return result;
+    }
+}
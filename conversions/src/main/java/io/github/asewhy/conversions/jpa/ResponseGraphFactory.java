@@ -0,0 +1,150 @@
+package io.github.asewhy.conversions.jpa;
+
+import io.github.asewhy.conversions.ConversionProvider;
+import io.github.asewhy.conversions.ConversionResponse;
+import io.github.asewhy.conversions.ResponseFetchPlan;
+import org.jetbrains.annotations.NotNull;
+
+import javax.persistence.EntityGraph;
+import javax.persistence.EntityManager;
+import javax.persistence.Subgraph;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.ManagedType;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Построение JPA запросов по полям, которые читает конверсия в ответ (см. {@link ResponseFetchPlan}).
+ * <p>
+ * Граф сущности содержит все персистентные поля, которые копируются в ответ, и подграфы связей, которые конвертируются
+ * во вложенные ответы. Граф передается в запрос как fetch граф:
+ * <pre>
+ * entityManager.createQuery("select p from Post p", Post.class)
+ *     .setHint("javax.persistence.fetchgraph", factory.createEntityGraph(PostResponse.class))
+ * </pre>
+ * Поля, которых нет в метамодели (вычисляемые геттеры), пропускаются.
+ */
+public class ResponseGraphFactory {
+    private final EntityManager entityManager;
+    private final ConversionProvider provider;
+
+    public ResponseGraphFactory(@NotNull EntityManager entityManager, @NotNull ConversionProvider provider) {
+        this.entityManager = entityManager;
+        this.provider = provider;
+    }
+
+    /**
+     * Создать граф сущности для ответа responseClass
+     *
+     * @param responseClass класс ответа
+     * @return граф сущности
+     */
+    @SuppressWarnings("unchecked")
+    public @NotNull <T> EntityGraph<T> createEntityGraph(@NotNull Class<? extends ConversionResponse<T>> responseClass) {
+        return (EntityGraph<T>) createEntityGraph(provider.getFetchPlan(responseClass));
+    }
+
+    /**
+     * Создать граф сущности entityClass для маппинга mapping
+     *
+     * @param entityClass класс сущности
+     * @param mapping маппинг
+     * @return граф сущности
+     */
+    @SuppressWarnings("unchecked")
+    public @NotNull <T> EntityGraph<T> createEntityGraph(@NotNull Class<T> entityClass, String mapping) {
+        return (EntityGraph<T>) createEntityGraph(provider.getFetchPlan(entityClass, mapping));
+    }
+
+    /**
+     * Создать граф сущности по плану полей
+     *
+     * @param plan план полей
+     * @return граф сущности
+     */
+    public @NotNull EntityGraph<?> createEntityGraph(@NotNull ResponseFetchPlan plan) {
+        var graph = entityManager.createEntityGraph(plan.getEntityClass());
+
+        fill(plan, graph::addAttributeNodes, graph::addSubgraph);
+
+        return graph;
+    }
+
+    /**
+     * Создать JPQL запрос, который загружает сущности entityClass вместе со связями, конвертируемыми во вложенные ответы.
+     * Псевдонимы fetch join не входят в стандарт JPA, но поддерживаются Hibernate. Hibernate не позволяет загружать так
+     * несколько коллекций типа List (bag) одновременно, для таких связей нужно использовать Set или граф сущности
+     *
+     * @param entityClass класс сущности
+     * @param mapping маппинг
+     * @return JPQL запрос с псевдонимом корневой сущности "e"
+     */
+    public @NotNull String createFetchQuery(@NotNull Class<?> entityClass, String mapping) {
+        return createFetchQuery(provider.getFetchPlan(entityClass, mapping));
+    }
+
+    /**
+     * Создать JPQL запрос по плану полей
+     *
+     * @param plan план полей
+     * @return JPQL запрос с псевдонимом корневой сущности "e"
+     */
+    public @NotNull String createFetchQuery(@NotNull ResponseFetchPlan plan) {
+        var type = entityManager.getMetamodel().entity(plan.getEntityClass());
+        var query = new StringBuilder("select distinct e from ").append(type.getName()).append(" e");
+
+        appendJoins(plan, type, "e", query, new int[] { 0 });
+
+        return query.toString();
+    }
+
+    private void fill(@NotNull ResponseFetchPlan plan, @NotNull Consumer<String> attributes, @NotNull Function<String, Subgraph<?>> subgraphs) {
+        var type = entityManager.getMetamodel().managedType(plan.getEntityClass());
+
+        for(var name: plan.getAttributes()) {
+            if(!hasAttribute(type, name)) {
+                continue;
+            }
+
+            var nested = plan.getNested().get(name);
+
+            if(nested != null && isAssociation(type.getAttribute(name))) {
+                var subgraph = subgraphs.apply(name);
+
+                fill(nested, subgraph::addAttributeNodes, subgraph::addSubgraph);
+            } else {
+                attributes.accept(name);
+            }
+        }
+    }
+
+    private void appendJoins(@NotNull ResponseFetchPlan plan, @NotNull ManagedType<?> type, @NotNull String alias, @NotNull StringBuilder query, int @NotNull [] counter) {
+        for(var current: plan.getNested().entrySet()) {
+            var name = current.getKey();
+
+            if(!hasAttribute(type, name) || !isAssociation(type.getAttribute(name))) {
+                continue;
+            }
+
+            var nestedAlias = "j" + counter[0]++;
+
+            query.append(" left join fetch ").append(alias).append('.').append(name).append(' ').append(nestedAlias);
+
+            appendJoins(current.getValue(), entityManager.getMetamodel().managedType(current.getValue().getEntityClass()), nestedAlias, query, counter);
+        }
+    }
+
+    private static boolean hasAttribute(@NotNull ManagedType<?> type, @NotNull String name) {
+        for(var attribute: type.getAttributes()) {
+            if(attribute.getName().equals(name)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isAssociation(@NotNull Attribute<?, ?> attribute) {
+        return attribute.isAssociation() || attribute.isCollection();
+    }
+}
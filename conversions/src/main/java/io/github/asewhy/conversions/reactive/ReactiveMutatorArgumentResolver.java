@@ -0,0 +1,115 @@
+package io.github.asewhy.conversions.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.asewhy.conversions.ConversionProvider;
+import io.github.asewhy.conversions.support.annotations.ConvertMutator;
+import io.github.asewhy.conversions.support.annotations.ConvertRequest;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.BindingContext;
+import org.springframework.web.reactive.result.method.HandlerMethodArgumentResolver;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import javax.validation.Valid;
+import java.io.IOException;
+
+/**
+ * WebFlux аналог {@link io.github.asewhy.conversions.MutatorArgumentResolver}. Тело запроса собирается без блокировки,
+ * а разбор и заполнение мутатора выполняются на планировщике scheduler.
+ */
+public class ReactiveMutatorArgumentResolver implements HandlerMethodArgumentResolver {
+    private final ConversionProvider provider;
+    private final Scheduler scheduler;
+
+    public ReactiveMutatorArgumentResolver(@NotNull ConversionProvider provider, @NotNull Scheduler scheduler) {
+        this.provider = provider;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public boolean supportsParameter(@NotNull MethodParameter parameter) {
+        return parameter.getParameterAnnotation(ConvertMutator.class) != null ||
+        parameter.getParameterAnnotation(ConvertRequest.class) != null;
+    }
+
+    @Override
+    public @NotNull Mono<Object> resolveArgument(@NotNull MethodParameter parameter, @NotNull BindingContext bindingContext, @NotNull ServerWebExchange exchange) {
+        var objectMapper = provider.getConfig().getObjectMapper();
+        var type = parameter.getParameterType();
+
+        if(parameter.getParameterAnnotation(ConvertMutator.class) != null && provider.isDirectRequest(type, parameter.getGenericParameterType())) {
+            return DataBufferUtils.join(exchange.getRequest().getBody())
+                .publishOn(scheduler)
+                .flatMap(buffer -> Mono.justOrEmpty(resolveDirect(buffer, parameter)))
+                .switchIfEmpty(Mono.fromSupplier(() -> BeanUtils.instantiateClass(type)))
+                .map(result -> validate(result, parameter, bindingContext, exchange));
+        }
+
+        return DataBufferUtils.join(exchange.getRequest().getBody())
+            .publishOn(scheduler)
+            .map(buffer -> {
+                try(var stream = buffer.asInputStream(true)) {
+                    return objectMapper.readTree(stream);
+                } catch (IOException e) {
+                    throw new ServerWebInputException("Cannot read request body", parameter, e);
+                }
+            })
+            .map(tree -> resolve(tree, parameter))
+            .switchIfEmpty(Mono.fromSupplier(() -> BeanUtils.instantiateClass(parameter.getParameterType())))
+            .map(result -> validate(result, parameter, bindingContext, exchange));
+    }
+
+    private @Nullable Object resolveDirect(@NotNull DataBuffer buffer, @NotNull MethodParameter parameter) {
+        var objectMapper = provider.getConfig().getObjectMapper();
+
+        try(var stream = buffer.asInputStream(true); var parser = objectMapper.getFactory().createParser(stream)) {
+            return provider.createRequestResolve(parser, parameter.getParameterType(), parameter.getGenericParameterType());
+        } catch (IOException e) {
+            throw new ServerWebInputException("Cannot read request body", parameter, e);
+        }
+    }
+
+    private @NotNull Object resolve(@NotNull JsonNode tree, @NotNull MethodParameter parameter) {
+        var type = parameter.getParameterType();
+
+        try {
+            if(parameter.getParameterAnnotation(ConvertMutator.class) != null) {
+                var resolvedRequest = provider.createRequestResolve(tree, type, parameter.getGenericParameterType());
+
+                if(resolvedRequest != null) {
+                    return resolvedRequest;
+                }
+
+                return BeanUtils.instantiateClass(type);
+            } else {
+                return provider.getConfig().getObjectMapper().treeToValue(tree, type);
+            }
+        } catch (IOException e) {
+            throw new ServerWebInputException("Cannot convert request body to " + type.getName(), parameter, e);
+        }
+    }
+
+    private @NotNull Object validate(@NotNull Object result, @NotNull MethodParameter parameter, @NotNull BindingContext bindingContext, @NotNull ServerWebExchange exchange) {
+        if(parameter.hasParameterAnnotation(Valid.class)) {
+            var binder = bindingContext.createDataBinder(exchange, result, "resolvedObjectLogicalName");
+
+            binder.validate();
+
+            var bindingResult = binder.getBindingResult();
+
+            if(bindingResult.getErrorCount() > 0) {
+                throw new WebExchangeBindException(parameter, bindingResult);
+            }
+        }
+
+        return result;
+    }
+}
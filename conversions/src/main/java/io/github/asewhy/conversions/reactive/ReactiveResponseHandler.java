@@ -0,0 +1,207 @@
+package io.github.asewhy.conversions.reactive;
+
+import io.github.asewhy.ReflectionUtils;
+import io.github.asewhy.conversions.ConversionProvider;
+import io.github.asewhy.conversions.ConversionUtils;
+import io.github.asewhy.conversions.FieldSelection;
+import io.github.asewhy.conversions.support.annotations.ConvertResponse;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ReactiveAdapterRegistry;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.HandlerResult;
+import org.springframework.web.reactive.HandlerResultHandler;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolver;
+import org.springframework.web.reactive.result.method.annotation.AbstractMessageWriterResultHandler;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Обработчик ответов WebFlux контроллеров, помеченных {@link io.github.asewhy.conversions.support.annotations.ShiftController}
+ * или {@link ConvertResponse}.
+ * <p>
+ * Элементы {@link Flux} конвертируются по одному на планировщике scheduler, у источника запрашивается не больше
+ * {@link io.github.asewhy.conversions.support.ConversionConfiguration#reactiveBatchSize()} элементов за раз, поэтому
+ * обратное давление сохраняется. Значения {@link Mono} и синхронные значения конвертируются на том же планировщике.
+ * Для потоковых типов содержимого (например application/x-ndjson) каждый элемент записывается сразу после конверсии.
+ */
+public class ReactiveResponseHandler extends AbstractMessageWriterResultHandler implements HandlerResultHandler {
+    //
+    // Порядок перед ResponseBodyResultHandler и ViewResolutionResultHandler
+    //
+    public static final int DEFAULT_ORDER = 50;
+
+    private static final MethodParameter FLUX_BODY = new MethodParameter(Objects.requireNonNull(
+        org.springframework.util.ReflectionUtils.findMethod(ReactiveResponseHandler.class, "fluxBody")
+    ), -1);
+    private static final MethodParameter MONO_BODY = new MethodParameter(Objects.requireNonNull(
+        org.springframework.util.ReflectionUtils.findMethod(ReactiveResponseHandler.class, "monoBody")
+    ), -1);
+
+    private final ConversionProvider provider;
+    private final Scheduler scheduler;
+    //
+    // Выборки полей из аннотаций методов, разбираются один раз
+    //
+    private final Map<Method, Optional<FieldSelection>> selections = new ConcurrentHashMap<>();
+
+    public ReactiveResponseHandler(
+        @NotNull List<HttpMessageWriter<?>> writers,
+        @NotNull RequestedContentTypeResolver contentTypeResolver,
+        @NotNull ReactiveAdapterRegistry adapterRegistry,
+        @NotNull ConversionProvider provider,
+        @NotNull Scheduler scheduler
+    ) {
+        super(writers, contentTypeResolver, adapterRegistry);
+
+        this.provider = provider;
+        this.scheduler = scheduler;
+
+        setOrder(DEFAULT_ORDER);
+    }
+
+    @Override
+    public boolean supports(@NotNull HandlerResult result) {
+        var handler = result.getHandler();
+
+        if(!(handler instanceof HandlerMethod)) {
+            return false;
+        }
+
+        var handlerMethod = (HandlerMethod) handler;
+
+        return handlerMethod.hasMethodAnnotation(ConvertResponse.class) || AnnotatedElementUtils.hasAnnotation(handlerMethod.getBeanType(), ConvertResponse.class);
+    }
+
+    @Override
+    public @NotNull Mono<Void> handleResult(@NotNull ServerWebExchange exchange, @NotNull HandlerResult result) {
+        var returnValue = result.getReturnValue();
+        var returnType = result.getReturnTypeSource();
+        var mapping = getMappingName(returnType);
+        var selection = getSelection(returnType, exchange);
+        var adapter = getAdapterRegistry().getAdapter(returnType.getParameterType(), returnValue);
+
+        if(adapter == null) {
+            return writeBody(Mono.justOrEmpty(returnValue).publishOn(scheduler).map(e -> convert(e, mapping, selection)), MONO_BODY, exchange);
+        }
+
+        if(adapter.isNoValue() || returnValue == null) {
+            return writeBody(returnValue, returnType, exchange);
+        }
+
+        var publisher = adapter.toPublisher(returnValue);
+
+        if(adapter.isMultiValue()) {
+            var batchSize = Math.max(1, provider.getConfig().getConfig().reactiveBatchSize());
+
+            return writeBody(Flux.from(publisher).publishOn(scheduler, batchSize).map(e -> convert(e, mapping, selection)), FLUX_BODY, exchange);
+        } else {
+            return writeBody(Mono.from(publisher).publishOn(scheduler).map(e -> convert(e, mapping, selection)), MONO_BODY, exchange);
+        }
+    }
+
+    private @NotNull Object convert(@NotNull Object value, String mapping, FieldSelection selection) {
+        var type = ReflectionUtils.skipAnonClasses(value.getClass());
+        var store = provider.getConfig().getStore();
+
+        if(store.isPresentResponse(type) || provider.canResolveResponse(type, type, mapping)) {
+            return FieldSelection.apply(selection, () -> provider.createResponseResolve(value, mapping));
+        } else {
+            return value;
+        }
+    }
+
+    /**
+     * Получить название маппинга для текущей конвертируемой сущности
+     *
+     * @param parameter возвращаемое значение метода
+     * @return маппинг
+     */
+    private String getMappingName(@NotNull MethodParameter parameter) {
+        var method = parameter.getMethod();
+
+        if(method == null) {
+            return ConversionUtils.COMMON_MAPPING;
+        }
+
+        var annotation = AnnotationUtils.findAnnotation(method, ConvertResponse.class);
+
+        if(annotation != null) {
+            return annotation.mapping();
+        }
+
+        annotation = AnnotationUtils.findAnnotation(parameter.getDeclaringClass(), ConvertResponse.class);
+
+        if(annotation != null) {
+            return annotation.mapping();
+        }
+
+        return ConversionUtils.COMMON_MAPPING;
+    }
+
+    /**
+     * Получить выборку полей ответа из параметра запроса или из аннотации {@link ConvertResponse}
+     *
+     * @param parameter возвращаемое значение метода
+     * @param exchange текущий обмен
+     * @return выборка или null, если выбраны все поля
+     */
+    private FieldSelection getSelection(@NotNull MethodParameter parameter, @NotNull ServerWebExchange exchange) {
+        var name = provider.getConfig().getConfig().fieldsParameter();
+
+        if(name != null) {
+            var value = exchange.getRequest().getQueryParams().getFirst(name);
+
+            if(value != null) {
+                try {
+                    return FieldSelection.parse(value);
+                } catch (IllegalArgumentException e) {
+                    throw new ServerWebInputException(e.getMessage());
+                }
+            }
+        }
+
+        var method = parameter.getMethod();
+
+        if(method == null) {
+            return null;
+        }
+
+        return selections.computeIfAbsent(method, e -> {
+            var annotation = AnnotationUtils.findAnnotation(e, ConvertResponse.class);
+
+            if(annotation == null) {
+                annotation = AnnotationUtils.findAnnotation(parameter.getDeclaringClass(), ConvertResponse.class);
+            }
+
+            return Optional.ofNullable(annotation != null ? FieldSelection.parse(String.join(",", annotation.fields())) : null);
+        }).orElse(null);
+    }
+
+    //
+    // Сигнатуры тела ответа после конверсии, тип элементов известен только во время выполнения
+    //
+
+    @SuppressWarnings("unused")
+    private static Flux<Object> fluxBody() {
+        return null;
+    }
+
+    @SuppressWarnings("unused")
+    private static Mono<Object> monoBody() {
+        return null;
+    }
+}
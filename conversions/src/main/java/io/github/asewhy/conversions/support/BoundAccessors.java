@@ -0,0 +1,345 @@
+package io.github.asewhy.conversions.support;
+
+import io.github.asewhy.ReflectionUtils;
+import lombok.extern.log4j.Log4j2;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Фабрика предварительно связанных функций доступа к полям и методам биндинга.
+ * <p>
+ * Функции создаются один раз при регистрации биндинга. Для методов используется {@link LambdaMetafactory},
+ * для полей - {@link MethodHandle}. Если доступ к члену класса получить невозможно, то возвращается null
+ * и биндинг продолжает работать через рефлексию.
+ */
+@Log4j2
+@SuppressWarnings("unchecked")
+public final class BoundAccessors {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private BoundAccessors() {
+        // Utility class
+    }
+
+    /**
+     * Создать функцию чтения значения. Геттер имеет приоритет над полем, так же как в {@link Bound#getComputedResult(Object)}
+     *
+     * @param getter геттер (может быть null)
+     * @param field поле (может быть null)
+     * @return функция чтения или null, если её невозможно создать
+     */
+    public static @Nullable Function<Object, Object> createGetter(@Nullable Method getter, @Nullable Field field) {
+        if(getter != null) {
+            if(getter.getParameterCount() != 0 || getter.getReturnType() == void.class || Modifier.isStatic(getter.getModifiers())) {
+                return null;
+            }
+
+            return createMethodGetter(getter);
+        } else if(field != null) {
+            return createFieldGetter(field);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Создать функцию записи значения. Сеттер имеет приоритет над полем, так же как в {@link Bound#setComputedResult(Object, Object)}
+     *
+     * @param setter сеттер (может быть null)
+     * @param field поле (может быть null)
+     * @return функция записи или null, если её невозможно создать
+     */
+    public static @Nullable BiConsumer<Object, Object> createSetter(@Nullable Method setter, @Nullable Field field) {
+        if(setter != null) {
+            if(setter.getParameterCount() != 1 || Modifier.isStatic(setter.getModifiers())) {
+                return null;
+            }
+
+            return createMethodSetter(setter);
+        } else if(field != null) {
+            return createFieldSetter(field);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Создать функцию чтения свойства класса type, которому соответствует поле field. Если у класса есть публичный
+     * геттер свойства, то значение читается через него, как и в {@link Bound#getComputedResult(Object)}. Прокси ORM
+     * хранят значения не в своих полях, а в загруженной сущности, и прямое чтение поля прокси вернуло бы null
+     *
+     * @param type класс, экземпляры которого передаются в функцию
+     * @param field поле свойства
+     * @return функция чтения
+     */
+    public static @NotNull Function<Object, Object> createPropertyGetter(@NotNull Class<?> type, @NotNull Field field) {
+        var bound = new BoundedAccessible(field, findGetter(type, field), null);
+
+        return bound::getComputedResult;
+    }
+
+    /**
+     * Создать функцию создания экземпляра через конструктор без параметров
+     *
+     * @param constructor конструктор без параметров
+     * @return функция создания экземпляра или null, если её невозможно создать
+     */
+    public static @Nullable Supplier<Object> createInstantiator(@NotNull Constructor<?> constructor) {
+        var declaring = constructor.getDeclaringClass();
+
+        if(constructor.getParameterCount() != 0 || Modifier.isAbstract(declaring.getModifiers())) {
+            return null;
+        }
+
+        try {
+            var lookup = MethodHandles.privateLookupIn(declaring, LOOKUP);
+            var handle = lookup.unreflectConstructor(constructor);
+
+            var lambda = spin(constructor, lookup, "get", Supplier.class, MethodType.methodType(Object.class), handle, MethodType.methodType(declaring));
+
+            if(lambda != null) {
+                return (Supplier<Object>) lambda;
+            }
+
+            var adapted = handle.asType(MethodType.methodType(Object.class));
+
+            return () -> {
+                try {
+                    return (Object) adapted.invokeExact();
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new UndeclaredThrowableException(e);
+                }
+            };
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.debug("Cannot access constructor {}, reflection will be used", constructor, e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Создать фабрику экземпляров класса. Для коллекций и карт используется та же реализация, что и у
+     * {@link ReflectionUtils#makeCollectionInstance} и {@link ReflectionUtils#makeMapInstance}, но конструктор
+     * найденной реализации связывается один раз.
+     *
+     * @param type тип создаваемого экземпляра
+     * @return фабрика экземпляров
+     */
+    public static @NotNull Supplier<Object> createFactory(@NotNull Class<?> type) {
+        try {
+            if(Collection.class.isAssignableFrom(type)) {
+                var instantiator = createInstantiator(ReflectionUtils.makeCollectionInstance(type).getClass().getConstructor());
+
+                if(instantiator != null) {
+                    return instantiator;
+                }
+
+                return () -> ReflectionUtils.makeCollectionInstance(type);
+            } else if(Map.class.isAssignableFrom(type)) {
+                var instantiator = createInstantiator(ReflectionUtils.makeMapInstance(type).getClass().getConstructor());
+
+                if(instantiator != null) {
+                    return instantiator;
+                }
+
+                return () -> ReflectionUtils.makeMapInstance(type);
+            } else {
+                var instantiator = createInstantiator(type.getDeclaredConstructor());
+
+                if(instantiator != null) {
+                    return instantiator;
+                }
+            }
+        } catch (NoSuchMethodException | RuntimeException e) {
+            log.debug("Cannot bind factory for {}, reflection will be used", type, e);
+        }
+
+        if(Collection.class.isAssignableFrom(type)) {
+            return () -> ReflectionUtils.makeCollectionInstance(type);
+        } else if(Map.class.isAssignableFrom(type)) {
+            return () -> ReflectionUtils.makeMapInstance(type);
+        } else {
+            return () -> ReflectionUtils.safeInstance(type);
+        }
+    }
+
+    /**
+     * Получить класс-обертку примитивного типа
+     *
+     * @param type тип
+     * @return класс-обертка, если type примитивный, иначе сам type
+     */
+    public static @NotNull Class<?> wrap(@NotNull Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    private static @Nullable Method findGetter(@NotNull Class<?> type, @NotNull Field field) {
+        var name = field.getName();
+        var suffix = name.substring(0, 1).toUpperCase(Locale.ROOT) + name.substring(1);
+        var prefixes = field.getType() == boolean.class ? new String[] { "is", "get" } : new String[] { "get" };
+
+        for(var prefix: prefixes) {
+            try {
+                var getter = type.getMethod(prefix + suffix);
+
+                if(!Modifier.isStatic(getter.getModifiers()) && field.getType().isAssignableFrom(getter.getReturnType())) {
+                    return getter;
+                }
+            } catch (NoSuchMethodException e) {
+                // Геттера с таким названием нет
+            }
+        }
+
+        return null;
+    }
+
+    //
+    // Связывание выполняется один раз при создании биндинга, поэтому ошибки связывания (недоступный класс, несовместимые
+    // типы) обнаруживаются здесь, а не при вызове функции
+    //
+    private static @Nullable Object spin(
+        @NotNull Object member,
+        @NotNull MethodHandles.Lookup lookup,
+        @NotNull String name,
+        @NotNull Class<?> functional,
+        @NotNull MethodType erased,
+        @NotNull MethodHandle handle,
+        @NotNull MethodType instantiated
+    ) {
+        try {
+            var site = LambdaMetafactory.metafactory(lookup, name, MethodType.methodType(functional), erased, handle, instantiated);
+
+            return site.getTarget().invoke();
+        } catch (LinkageError e) {
+            log.debug("Cannot spin lambda for {}, method handle will be used", member, e);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            log.debug("Cannot spin lambda for {}, method handle will be used", member, e);
+        }
+
+        return null;
+    }
+
+    private static @Nullable Function<Object, Object> createMethodGetter(@NotNull Method getter) {
+        var declaring = getter.getDeclaringClass();
+
+        try {
+            var lookup = MethodHandles.privateLookupIn(declaring, LOOKUP);
+            var handle = lookup.unreflect(getter);
+
+            var lambda = spin(getter, lookup, "apply", Function.class, GETTER_TYPE, handle, MethodType.methodType(wrap(getter.getReturnType()), declaring));
+
+            if(lambda != null) {
+                return (Function<Object, Object>) lambda;
+            }
+
+            return wrapGetter(handle);
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.debug("Cannot access getter {}, reflection will be used", getter, e);
+        }
+
+        return null;
+    }
+
+    private static @Nullable BiConsumer<Object, Object> createMethodSetter(@NotNull Method setter) {
+        var declaring = setter.getDeclaringClass();
+
+        try {
+            var lookup = MethodHandles.privateLookupIn(declaring, LOOKUP);
+            var handle = lookup.unreflect(setter);
+
+            var lambda = spin(setter, lookup, "accept", BiConsumer.class, SETTER_TYPE, handle, MethodType.methodType(void.class, declaring, wrap(setter.getParameterTypes()[0])));
+
+            if(lambda != null) {
+                return (BiConsumer<Object, Object>) lambda;
+            }
+
+            return wrapSetter(handle);
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.debug("Cannot access setter {}, reflection will be used", setter, e);
+        }
+
+        return null;
+    }
+
+    private static @Nullable Function<Object, Object> createFieldGetter(@NotNull Field field) {
+        if(Modifier.isStatic(field.getModifiers())) {
+            return null;
+        }
+
+        try {
+            var lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), LOOKUP);
+
+            return wrapGetter(lookup.unreflectGetter(field));
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.debug("Cannot access field {}, reflection will be used", field, e);
+        }
+
+        return null;
+    }
+
+    private static @Nullable BiConsumer<Object, Object> createFieldSetter(@NotNull Field field) {
+        if(Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+            return null;
+        }
+
+        try {
+            var lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(), LOOKUP);
+
+            return wrapSetter(lookup.unreflectSetter(field));
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.debug("Cannot access field {}, reflection will be used", field, e);
+        }
+
+        return null;
+    }
+
+    private static @NotNull Function<Object, Object> wrapGetter(@NotNull MethodHandle handle) {
+        var adapted = handle.asType(GETTER_TYPE);
+
+        return target -> {
+            try {
+                return (Object) adapted.invokeExact(target);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        };
+    }
+
+    private static @NotNull BiConsumer<Object, Object> wrapSetter(@NotNull MethodHandle handle) {
+        var adapted = handle.asType(SETTER_TYPE);
+
+        return (target, value) -> {
+            try {
+                adapted.invokeExact(target, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new UndeclaredThrowableException(e);
+            }
+        };
+    }
+}
@@ -0,0 +1,128 @@
+package io.github.asewhy.conversions.support;
+
+import org.springframework.core.annotation.AnnotationUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+@SuppressWarnings("unchecked")
+public class BoundedAccessible implements Bound {
+    protected final Field field;
+    protected final Method getter;
+    protected final Method setter;
+    protected final Map<Class<? extends Annotation>, Annotation> annotations;
+    //
+    // Предварительно связанные функции доступа, null если доступ возможен только через рефлексию
+    //
+    protected final Function<Object, Object> getterAccessor;
+    protected final BiConsumer<Object, Object> setterAccessor;
+    //
+    // Типы, которые принимают связанные функции. Значения других типов передаются через рефлексию, так как связанная
+    // функция бросила бы ClassCastException или NullPointerException вместо ошибки рефлексивного вызова
+    //
+    protected final Class<?> getterTarget;
+    protected final Class<?> setterTarget;
+    protected final Class<?> setterValue;
+
+    public BoundedAccessible(
+        Field field,
+        Method getter,
+        Method setter
+    ) {
+        this.field = field;
+        this.getter = getter;
+        this.setter = setter;
+        this.annotations = new HashMap<>();
+        this.getterAccessor = BoundAccessors.createGetter(getter, field);
+        this.setterAccessor = BoundAccessors.createSetter(setter, field);
+        this.getterTarget = getter != null ? getter.getDeclaringClass() : field != null ? field.getDeclaringClass() : null;
+        this.setterTarget = setter != null ? setter.getDeclaringClass() : field != null ? field.getDeclaringClass() : null;
+        this.setterValue = setter != null && setter.getParameterCount() == 1 ? setter.getParameterTypes()[0] : field != null ? field.getType() : null;
+
+        if(field != null) {
+            for(var current: field.getDeclaredAnnotations()) {
+                annotations.put(current.getClass(), current);
+            }
+        }
+
+        if(getter != null) {
+            for(var current: getter.getDeclaredAnnotations()) {
+                annotations.put(current.getClass(), current);
+            }
+        }
+
+        if(setter != null) {
+            for(var current: setter.getDeclaredAnnotations()) {
+                annotations.put(current.getClass(), current);
+            }
+        }
+    }
+
+    @Override
+    public Field getField() {
+        return field;
+    }
+
+    @Override
+    public Method getGetter() {
+        return getter;
+    }
+
+    @Override
+    public Method getSetter() {
+        return setter;
+    }
+
+    @Override
+    public Object getComputedResult(Object target) {
+        //
+        // Исключения геттера пробрасываются как есть, повторно через рефлексию геттер не вызывается
+        //
+        if(getterAccessor != null && getterTarget.isInstance(target)) {
+            return getterAccessor.apply(target);
+        }
+
+        return Bound.super.getComputedResult(target);
+    }
+
+    @Override
+    public void setComputedResult(Object target, Object value) {
+        if(setterAccessor != null && setterTarget.isInstance(target) && isAssignable(setterValue, value)) {
+            setterAccessor.accept(target, value);
+        } else {
+            Bound.super.setComputedResult(target, value);
+        }
+    }
+
+    @Override
+    public Collection<Annotation> getAnnotations() {
+        return annotations.values();
+    }
+
+    @Override
+    public <T extends Annotation> T getAnnotation(Class<T> annotation) {
+        if(annotations.containsKey(annotation)) {
+            return (T) annotations.get(annotation);
+        } else {
+            return annotations
+                .values()
+                .stream()
+                .map(e -> AnnotationUtils.getAnnotation(e, annotation))
+                .filter(Objects::nonNull)
+                .findAny()
+            .orElse(null);
+        }
+    }
+
+    private static boolean isAssignable(Class<?> type, Object value) {
+        if(value == null) {
+            return !type.isPrimitive();
+        }
+
+        return BoundAccessors.wrap(type).isInstance(value);
+    }
+}
@@ -0,0 +1,211 @@
+package io.github.asewhy.conversions.support;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Преобразование названий полей между стилями написания.
+ * <p>
+ * Название разбивается на слова по разделителям ('-', ' ', '_') и по смене регистра: "someField" - [some, Field],
+ * "HTTPServer" - [HTTP, Server], "field1Name" - [field1, Name]. Преобразование работает с любыми буквами, а не только
+ * с латиницей. Результаты кешируются, размер кеша каждого стиля ограничен {@link #CACHE_SIZE}.
+ */
+public class CaseUtil {
+    //
+    // Набор названий полей обычно ограничен, при переполнении кеш просто сбрасывается
+    //
+    public static final int CACHE_SIZE = 4096;
+
+    private static final Map<Case, Map<String, String>> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Стиль написания названий
+     */
+    public enum Case {
+        /**
+         * someFieldName
+         */
+        CAMEL,
+        /**
+         * SomeFieldName
+         */
+        PASCAL,
+        /**
+         * some_field_name
+         */
+        SNAKE,
+        /**
+         * SOME_FIELD_NAME
+         */
+        SCREAMING_SNAKE,
+        /**
+         * some-field-name
+         */
+        KEBAB
+    }
+
+    /**
+     * То же, что и {@link #toCamelCase(String)}
+     */
+    public static String toUpperCase(String input) {
+        return toCamelCase(input);
+    }
+
+    public static String toCamelCase(String input) {
+        return convert(input, Case.CAMEL);
+    }
+
+    public static String toPascalCase(String input) {
+        return convert(input, Case.PASCAL);
+    }
+
+    public static String toLowerSnakeCase(String input) {
+        return convert(input, Case.SNAKE);
+    }
+
+    public static String toScreamingSnakeCase(String input) {
+        return convert(input, Case.SCREAMING_SNAKE);
+    }
+
+    public static String toKebabCase(String input) {
+        return convert(input, Case.KEBAB);
+    }
+
+    /**
+     * Преобразовать название в стиль style
+     *
+     * @param input исходное название
+     * @param style стиль написания
+     * @return преобразованное название, пустая строка, если исходное название пустое или null
+     */
+    public static @NotNull String convert(String input, @NotNull Case style) {
+        if (input == null || input.isBlank()) {
+            return "";
+        }
+
+        var cache = caches.computeIfAbsent(style, e -> new ConcurrentHashMap<>());
+        var result = cache.get(input);
+
+        if(result == null) {
+            result = convertInternal(input.toCharArray(), style);
+
+            if(cache.size() >= CACHE_SIZE) {
+                cache.clear();
+            }
+
+            cache.put(input, result);
+        }
+
+        return result;
+    }
+
+    private static @NotNull String convertInternal(char @NotNull [] input, @NotNull Case style) {
+        switch (style) {
+            case CAMEL:
+                return joined(input, false);
+            case PASCAL:
+                return joined(input, true);
+            case SNAKE:
+                return delimited(input, '_', false);
+            case SCREAMING_SNAKE:
+                return delimited(input, '_', true);
+            case KEBAB:
+                return delimited(input, '-', false);
+            default:
+                throw new IllegalArgumentException("Unknown case " + style);
+        }
+    }
+
+    /**
+     * Слова пишутся слитно, каждое слово начинается с заглавной буквы, остальные буквы слова не меняются. В camelCase
+     * первое слово пишется строчными буквами
+     */
+    private static @NotNull String joined(char @NotNull [] input, boolean pascal) {
+        var result = new char[input.length];
+        var length = 0;
+        var wordStart = true;
+        var firstWord = !pascal;
+
+        for (var i = 0; i < input.length; i++) {
+            var ch = input[i];
+
+            if (isSeparator(ch)) {
+                wordStart = true;
+                firstWord = firstWord && length == 0;
+                continue;
+            }
+
+            if (length > 0 && !wordStart && isBoundary(input, i)) {
+                wordStart = true;
+                firstWord = false;
+            }
+
+            if (firstWord) {
+                result[length++] = Character.toLowerCase(ch);
+            } else if (wordStart) {
+                result[length++] = Character.toUpperCase(ch);
+            } else {
+                result[length++] = ch;
+            }
+
+            wordStart = false;
+        }
+
+        return new String(result, 0, length);
+    }
+
+    /**
+     * Слова разделяются символом delimiter, все буквы приводятся к одному регистру
+     */
+    private static @NotNull String delimited(char @NotNull [] input, char delimiter, boolean upper) {
+        var result = new char[input.length * 2];
+        var length = 0;
+        var pending = false;
+
+        for (var i = 0; i < input.length; i++) {
+            var ch = input[i];
+
+            if (isSeparator(ch)) {
+                pending = length > 0;
+                continue;
+            }
+
+            if (pending || (length > 0 && isBoundary(input, i))) {
+                result[length++] = delimiter;
+                pending = false;
+            }
+
+            result[length++] = upper ? Character.toUpperCase(ch) : Character.toLowerCase(ch);
+        }
+
+        return new String(result, 0, length);
+    }
+
+    /**
+     * Начинается ли новое слово с символа i (разделители обрабатываются отдельно)
+     */
+    private static boolean isBoundary(char @NotNull [] input, int i) {
+        var ch = input[i];
+
+        if (i == 0 || !(Character.isUpperCase(ch) || Character.isTitleCase(ch))) {
+            return false;
+        }
+
+        var prev = input[i - 1];
+
+        if (Character.isLowerCase(prev) || Character.isDigit(prev)) {
+            return true;
+        }
+
+        //
+        // Конец аббревиатуры: последняя заглавная перед строчной начинает новое слово (HTTPServer - HTTP, Server)
+        //
+        return Character.isUpperCase(prev) && i + 1 < input.length && Character.isLowerCase(input[i + 1]);
+    }
+
+    private static boolean isSeparator(char ch) {
+        return ch == '-' || ch == ' ' || ch == '_';
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.asewhy.conversions.support;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Function;
+
+/**
+ * Кеш результатов поиска по иерархии класса, основанный на {@link ClassValue}.
+ * <p>
+ * Результат поиска для каждого класса времени выполнения (в том числе прокси и анонимных классов) вычисляется один
+ * раз, после чего возвращается без обхода иерархии. Отрицательные результаты тоже кешируются, поэтому данные, по
+ * которым выполняется поиск, не должны меняться после создания кеша.
+ *
+ * @param <V> тип результата поиска
+ */
+@SuppressWarnings("unchecked")
+public final class ClassHierarchyCache<V> {
+    private static final Object NULL = new Object();
+
+    private final Function<Class<?>, V> resolver;
+    private final ClassValue<Object> values;
+
+    public ClassHierarchyCache(@NotNull Function<Class<?>, V> resolver) {
+        this.resolver = resolver;
+        this.values = create();
+    }
+
+    /**
+     * Получить результат поиска для класса
+     *
+     * @param clazz класс
+     * @return результат поиска или null, если ничего не найдено
+     */
+    public V get(Class<?> clazz) {
+        if(clazz == null) {
+            return null;
+        }
+
+        var result = values.get(clazz);
+
+        return result != NULL ? (V) result : null;
+    }
+
+    private @NotNull ClassValue<Object> create() {
+        return new ClassValue<>() {
+            @Override
+            protected Object computeValue(Class<?> type) {
+                var result = resolver.apply(type);
+
+                return result != null ? result : NULL;
+            }
+        };
+    }
+}
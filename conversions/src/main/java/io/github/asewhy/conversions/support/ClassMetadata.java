@@ -1,8 +1,11 @@
 package io.github.asewhy.conversions.support;
 
+import io.github.asewhy.conversions.support.naming.ConversionNamingStrategy;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
 
 import java.util.HashMap;
 import java.util.HashSet;
@@ -37,6 +40,13 @@ public class ClassMetadata {
     // True если получатель является картой вида ключ - значение
     //
     private Boolean isMap;
+    //
+    // Таблица имен полей в json для последней использованной политики именования
+    //
+    @ToString.Exclude
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile NameTable nameTable;
 
     /**
      * Найти поле по его имени
@@ -48,6 +58,23 @@ public class ClassMetadata {
         return boundFieldsNameMap.get(field);
     }
 
+    /**
+     * Получить таблицу имен полей в json для политики именования. Таблица вычисляется при первом запросе, поэтому
+     * запрашивать ее нужно после того, как все поля добавлены в метаданные
+     *
+     * @param strategy политика именования
+     * @return таблица имен
+     */
+    public @NotNull NameTable getNameTable(@NotNull ConversionNamingStrategy strategy) {
+        var current = nameTable;
+
+        if(current == null || current.getStrategy() != strategy) {
+            nameTable = current = new NameTable(strategy, this);
+        }
+
+        return current;
+    }
+
     /**
      * Установить класс получателя
      *
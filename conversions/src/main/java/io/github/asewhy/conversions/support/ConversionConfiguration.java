@@ -0,0 +1,224 @@
+package io.github.asewhy.conversions.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.asewhy.conversions.ConversionStore;
+import io.github.asewhy.conversions.ResponseCache;
+import io.github.asewhy.conversions.support.naming.ConversionNamingStrategy;
+
+import java.util.concurrent.Executor;
+
+public interface ConversionConfiguration {
+    /**
+     * Функция поставщик стора
+     *
+     * @return стор
+     */
+    ConversionStore conversionStore();
+
+    /**
+     * Функция потравщик маппера
+     *
+     * @return json маппер
+     */
+    ObjectMapper objectMapper();
+
+    /**
+     * Предоставить контекст для заполнения сущностей
+     * <p>
+     * !! Поле не кешируется !!
+     * Контекст будет запрашиваться каждый раз при вызове метода fill у мутатора без параметра контекста.
+     *
+     * @return контекст для заполнения сущностей
+     */
+    default Object context() {
+        return null;
+    }
+
+    /**
+     * Должен возвращать TRUE, если нужен вывод отладочной информации
+     *
+     * @return true если нужен вывод отладочной информации
+     */
+    default Boolean isDebug() {
+        return false;
+    }
+
+    /**
+     * Должен возвращать TRUE, если для конвертируемых классов нужно генерировать классы конвертеров, которые копируют простые
+     * поля прямыми вызовами геттеров и сеттеров. Если сгенерировать конвертер невозможно, используется обычная конверсия.
+     *
+     * @return true если нужна генерация конвертеров
+     */
+    default Boolean isGenerateConverters() {
+        return false;
+    }
+
+    /**
+     * Должен возвращать TRUE, если ответы контроллеров нужно записывать в JSON напрямую из исходных сущностей, без создания
+     * промежуточных объектов ответа. Ответы с переопределенным fillInternal, аннотациями jackson или нетривиальными
+     * геттерами и сеттерами всё равно создаются обычной конверсией.
+     *
+     * @return true если нужна прямая запись ответов
+     */
+    default Boolean isDirectSerialization() {
+        return false;
+    }
+
+    /**
+     * Должен возвращать TRUE, если контекст из {@link io.github.asewhy.conversions.ConversionContextRecipient} нужно
+     * загружать в две фазы: сначала собираются все исходные сущности дерева ответа (включая вложенные сущности и
+     * коллекции), и каждый получатель контекста вызывается один раз для всех своих сущностей, затем каждый ответ
+     * получает контекст своего типа. Потоковые ответы конвертируются по одному элементу и так не загружаются.
+     *
+     * @return true если нужна двухфазная загрузка контекста
+     */
+    default Boolean isBatchContextLoading() {
+        return false;
+    }
+
+    /**
+     * Предоставить кеш ответов, помеченных {@link io.github.asewhy.conversions.support.annotations.ResponseDTO#cached()}.
+     * Если null, то ответы не кешируются
+     *
+     * @return кеш или null
+     */
+    default ResponseCache responseCache() {
+        return null;
+    }
+
+    /**
+     * Название параметра запроса с выборкой полей ответа (см. {@link io.github.asewhy.conversions.FieldSelection}),
+     * например "fields" для {@code ?fields=title,author.name}. Если null, то выборка берется только из
+     * {@link io.github.asewhy.conversions.support.annotations.ConvertResponse#fields()}
+     *
+     * @return название параметра или null
+     */
+    default String fieldsParameter() {
+        return null;
+    }
+
+    /**
+     * Политика обработки циклов. Если политика задана, то в пределах одной конверсии каждая исходная сущность
+     * конвертируется в каждый маппинг один раз, и повторные ссылки на нее получают тот же экземпляр ответа, а ссылки на
+     * сущность, которая еще конвертируется (циклы), обрабатываются по политике. Если null, то сущности конвертируются
+     * при каждой ссылке
+     *
+     * @return политика или null
+     */
+    default CyclePolicy cyclePolicy() {
+        return null;
+    }
+
+    /**
+     * Максимальная глубина вложенности ответов для политики {@link CyclePolicy#DEPTH}
+     *
+     * @return глубина
+     */
+    default Integer cycleDepth() {
+        return 8;
+    }
+
+    /**
+     * Должен возвращать TRUE, если коллекции, возвращаемые контроллерами, нужно конвертировать и записывать в ответ
+     * по одному элементу, не создавая конвертированную копию коллекции. Потоки и итераторы записываются так всегда.
+     *
+     * @return true если нужна потоковая запись коллекций
+     */
+    default Boolean isStreamCollections() {
+        return false;
+    }
+
+    /**
+     * Должен возвращать TRUE, если итерируемые объекты, не являющиеся коллекциями и не имеющие своего ресолвера, нужно
+     * записывать в ответ потоком, как JSON массив. По умолчанию они сериализуются как обычно, потому что многие такие
+     * типы (страницы Spring Data, узлы Jackson, пути файлов) сериализуются не массивом
+     *
+     * @return true если нужна потоковая запись итерируемых объектов
+     */
+    default Boolean isStreamIterables() {
+        return false;
+    }
+
+    /**
+     * Количество элементов, после записи которых потоковый ответ сбрасывается клиенту
+     *
+     * @return количество элементов
+     */
+    default Integer streamFlushInterval() {
+        return 100;
+    }
+
+    /**
+     * Минимальный размер коллекции, начиная с которого {@link io.github.asewhy.conversions.defaults.CollectionResponseResolver}
+     * конвертирует элементы параллельно на {@link #conversionExecutor()}. Если возвращает null или исполнитель не задан,
+     * то коллекции этого маппинга всегда конвертируются последовательно.
+     * <p>
+     * При параллельной конверсии контекст {@link #context()} запрашивается один раз на всю коллекцию в потоке запроса,
+     * а не для каждого элемента.
+     * <p>
+     * Геттеры исходных сущностей вызываются из нескольких потоков одновременно, поэтому сущности должны быть полностью
+     * загружены до конверсии. Сессия Hibernate не потокобезопасна, и ленивая загрузка из потоков исполнителя приведет
+     * к ошибкам. Связи нужно загружать запросом (например по графу из {@link io.github.asewhy.conversions.jpa.ResponseGraphFactory})
+     * или задать {@link #lazyLoadingHandler()}, тогда связи всего дерева инициализируются в потоке запроса до разделения
+     * коллекции на части.
+     *
+     * @param mapping маппинг элементов коллекции
+     * @return минимальный размер коллекции или null
+     */
+    default Integer parallelThreshold(String mapping) {
+        return null;
+    }
+
+    /**
+     * Исполнитель для параллельной конверсии коллекций и конверсии асинхронных ответов контроллеров. Общий пул
+     * {@link java.util.concurrent.ForkJoinPool#commonPool()} для этого не подходит: конверсия блокируется на загрузке
+     * данных и занимает потоки, которые нужны остальному приложению. Если исполнитель не задан, то коллекции
+     * конвертируются последовательно, а асинхронные ответы - при асинхронной диспетчеризации MVC
+     *
+     * @return исполнитель или null
+     */
+    default Executor conversionExecutor() {
+        return null;
+    }
+
+    /**
+     * Количество элементов, которое WebFlux обработчик запрашивает у источника и конвертирует за один раз
+     *
+     * @return размер пачки
+     */
+    default Integer reactiveBatchSize() {
+        return 256;
+    }
+
+    /**
+     * Предоставить функцию получения идентификатора элементов класса type при слиянии коллекций вложенных мутаторов.
+     * Вызывается для классов элементов коллекций мутаторов и сущностей. Если функция не предоставлена, то
+     * идентификатором считается поле, помеченное как идентификатор
+     *
+     * @param type класс элемента коллекции
+     * @return функция получения идентификатора или null
+     */
+    default IdExtractor idExtractor(Class<?> type) {
+        return null;
+    }
+
+    /**
+     * Предоставить обработчик ленивых связей ORM. Если обработчик предоставлен, то неинициализированные связи дерева
+     * ответа инициализируются пакетами перед конверсией, а ответы с {@link io.github.asewhy.conversions.support.annotations.ResponseDTO#skipUninitialized()}
+     * пропускают неинициализированные поля
+     *
+     * @return обработчик или null
+     */
+    default LazyLoadingHandler lazyLoadingHandler() {
+        return null;
+    }
+
+    /**
+     * Предоставить стратегию именования полей конвертируемых в DTO сущностей
+     *
+     * @return стратегия именования
+     */
+    default ConversionNamingStrategy namingStrategy() {
+        return (defaultName, rawReturnType) -> defaultName;
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.asewhy.conversions.support;
+
+import org.jetbrains.annotations.NotNull;
+import org.springframework.context.annotation.ImportSelector;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.util.ClassUtils;
+
+import java.util.ArrayList;
+
+/**
+ * Подключает интеграцию с MVC и WebFlux в зависимости от того, какие из них присутствуют в classpath
+ */
+public class ConversionImportSelector implements ImportSelector {
+    private static final String SERVLET_DISPATCHER = "org.springframework.web.servlet.DispatcherServlet";
+    private static final String REACTIVE_DISPATCHER = "org.springframework.web.reactive.DispatcherHandler";
+    //
+    // Классы конфигураций указаны строками, т.к. загрузка класса без MVC или WebFlux в classpath завершится ошибкой
+    //
+    private static final String SERVLET_CONFIGURATION = "io.github.asewhy.conversions.support.ConversionSpringAutoconfigure";
+    private static final String REACTIVE_CONFIGURATION = "io.github.asewhy.conversions.support.ConversionReactiveAutoconfigure";
+
+    @Override
+    public String @NotNull [] selectImports(@NotNull AnnotationMetadata importingClassMetadata) {
+        var loader = getClass().getClassLoader();
+        var result = new ArrayList<String>();
+
+        if(ClassUtils.isPresent(SERVLET_DISPATCHER, loader)) {
+            result.add(SERVLET_CONFIGURATION);
+        }
+
+        if(ClassUtils.isPresent(REACTIVE_DISPATCHER, loader)) {
+            result.add(REACTIVE_CONFIGURATION);
+        }
+
+        return result.toArray(String[]::new);
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.asewhy.conversions.support;
+
+import io.github.asewhy.conversions.ConversionProvider;
+import io.github.asewhy.conversions.reactive.ReactiveMutatorArgumentResolver;
+import io.github.asewhy.conversions.reactive.ReactiveResponseHandler;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ReactiveAdapterRegistry;
+import org.springframework.http.codec.EncoderHttpMessageWriter;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.accept.RequestedContentTypeResolver;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * Подключение конверсии к WebFlux, используется только в реактивных веб приложениях. Конверсия выполняется на планировщике с именем бина conversionScheduler, если он
+ * объявлен, иначе на {@link Schedulers#boundedElastic()}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ComponentScan("io.github.asewhy.conversions.defaults")
+public class ConversionReactiveAutoconfigure implements WebFluxConfigurer {
+    @Autowired
+    protected ConversionProvider provider;
+
+    @Autowired(required = false)
+    @Qualifier("conversionScheduler")
+    protected Scheduler scheduler;
+
+    @Override
+    public void configureArgumentResolvers(@NotNull ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactiveMutatorArgumentResolver(provider, getScheduler()));
+    }
+
+    @Bean
+    public ReactiveResponseHandler conversionReactiveResponseHandler(
+        @Qualifier("webFluxContentTypeResolver") RequestedContentTypeResolver contentTypeResolver,
+        @Qualifier("webFluxAdapterRegistry") ReactiveAdapterRegistry adapterRegistry
+    ) {
+        return new ReactiveResponseHandler(
+            List.of(new EncoderHttpMessageWriter<>(new Jackson2JsonEncoder(provider.getConfig().getObjectMapper()))),
+            contentTypeResolver,
+            adapterRegistry,
+            provider,
+            getScheduler()
+        );
+    }
+
+    private @NotNull Scheduler getScheduler() {
+        return scheduler != null ? scheduler : Schedulers.boundedElastic();
+    }
+}
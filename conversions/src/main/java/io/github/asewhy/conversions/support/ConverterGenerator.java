@@ -0,0 +1,286 @@
+package io.github.asewhy.conversions.support;
+
+import lombok.extern.log4j.Log4j2;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Генератор классов {@link GeneratedConverter}.
+ * <p>
+ * Для каждого класса получателя генерируется один класс, который копирует значения полей прямыми вызовами геттеров,
+ * сеттеров и обращениями к полям. Класс определяется в пакете класса хозяина через {@link MethodHandles.Lookup#defineClass},
+ * поэтому ему доступны публичные члены любых классов и члены пакета хозяина. Если хотя бы одно поле нельзя скопировать
+ * напрямую, то генерация невозможна и возвращается null.
+ */
+@Log4j2
+public final class ConverterGenerator implements Opcodes {
+    private static final AtomicLong COUNTER = new AtomicLong();
+    private static final String CONVERTER_NAME = Type.getInternalName(GeneratedConverter.class);
+
+    private ConverterGenerator() {
+        // Utility class
+    }
+
+    /**
+     * Можно ли копировать значение этого типа напрямую. Значения таких типов никогда не являются коллекциями, мутаторами
+     * или ответами, поэтому не требуют вложенной конверсии.
+     *
+     * @param type тип значения
+     * @return true если можно
+     */
+    public static boolean isPlainType(@NotNull Class<?> type) {
+        if(Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type)) {
+            return false;
+        }
+
+        return type.isPrimitive() || type.isArray() || type.isEnum() || Modifier.isFinal(type.getModifiers());
+    }
+
+    /**
+     * Сгенерировать конвертер
+     *
+     * @param host класс, в пакете которого будет определен конвертер
+     * @param found поля, из которых читаются значения
+     * @param bound поля, в которые записываются значения (индекс совпадает с found)
+     * @return конвертер или null, если генерация невозможна
+     */
+    public static @Nullable GeneratedConverter generate(@NotNull Class<?> host, Bound @NotNull [] found, Bound @NotNull [] bound) {
+        if(found.length != bound.length || host.isArray() || host.isPrimitive() || !isVisible(GeneratedConverter.class, host)) {
+            return null;
+        }
+
+        var readers = new Member[found.length];
+        var writers = new Member[bound.length];
+
+        for(var i = 0; i < found.length; i++) {
+            readers[i] = findReader(found[i], host);
+            writers[i] = findWriter(bound[i], host);
+
+            if(readers[i] == null || writers[i] == null || readType(readers[i]) != writeType(writers[i])) {
+                return null;
+            }
+        }
+
+        var name = host.getName() + "$$Converter$$" + COUNTER.incrementAndGet();
+
+        try {
+            var lookup = MethodHandles.privateLookupIn(host, MethodHandles.lookup());
+            var bytes = generateBytes(name.replace('.', '/'), readers, writers);
+            var clazz = lookup.defineClass(bytes);
+
+            return (GeneratedConverter) clazz.getConstructor().newInstance();
+        } catch (Throwable e) {
+            log.debug("Cannot generate converter for {}, plan will be interpreted", host, e);
+        }
+
+        return null;
+    }
+
+    private static byte @NotNull [] generateBytes(String internalName, Member[] readers, Member[] writers) {
+        var writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+
+        //
+        // Версия 1.6 не требует фреймов стека, поэтому не нужно загружать классы для их вычисления
+        //
+        writer.visit(V1_6, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, internalName, null, "java/lang/Object", new String[] { CONVERTER_NAME });
+
+        var constructor = writer.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+
+        constructor.visitCode();
+        constructor.visitVarInsn(ALOAD, 0);
+        constructor.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitInsn(RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        var copy = writer.visitMethod(ACC_PUBLIC, "copy", "(ILjava/lang/Object;Ljava/lang/Object;)V", null, null);
+        var labels = new Label[readers.length];
+        var fallback = new Label();
+
+        for(var i = 0; i < labels.length; i++) {
+            labels[i] = new Label();
+        }
+
+        copy.visitCode();
+
+        if(labels.length > 0) {
+            copy.visitVarInsn(ILOAD, 1);
+            copy.visitTableSwitchInsn(0, labels.length - 1, fallback, labels);
+
+            for(var i = 0; i < labels.length; i++) {
+                copy.visitLabel(labels[i]);
+                generateCopy(copy, readers[i], writers[i], 2, 3);
+                copy.visitInsn(RETURN);
+            }
+        }
+
+        copy.visitLabel(fallback);
+        copy.visitInsn(RETURN);
+        copy.visitMaxs(0, 0);
+        copy.visitEnd();
+
+        var copyAll = writer.visitMethod(ACC_PUBLIC, "copyAll", "(Ljava/lang/Object;Ljava/lang/Object;)V", null, null);
+
+        copyAll.visitCode();
+
+        for(var i = 0; i < readers.length; i++) {
+            generateCopy(copyAll, readers[i], writers[i], 1, 2);
+        }
+
+        copyAll.visitInsn(RETURN);
+        copyAll.visitMaxs(0, 0);
+        copyAll.visitEnd();
+
+        writer.visitEnd();
+
+        return writer.toByteArray();
+    }
+
+    private static void generateCopy(@NotNull MethodVisitor visitor, Member reader, Member writer, int fromSlot, int toSlot) {
+        var writerOwner = writer.getDeclaringClass();
+        var readerOwner = reader.getDeclaringClass();
+
+        visitor.visitVarInsn(ALOAD, toSlot);
+        visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(writerOwner));
+        visitor.visitVarInsn(ALOAD, fromSlot);
+        visitor.visitTypeInsn(CHECKCAST, Type.getInternalName(readerOwner));
+
+        if(reader instanceof Method) {
+            var method = (Method) reader;
+            var isInterface = readerOwner.isInterface();
+
+            visitor.visitMethodInsn(isInterface ? INVOKEINTERFACE : INVOKEVIRTUAL, Type.getInternalName(readerOwner), method.getName(), Type.getMethodDescriptor(method), isInterface);
+        } else {
+            var field = (Field) reader;
+
+            visitor.visitFieldInsn(GETFIELD, Type.getInternalName(readerOwner), field.getName(), Type.getDescriptor(field.getType()));
+        }
+
+        if(writer instanceof Method) {
+            var method = (Method) writer;
+            var isInterface = writerOwner.isInterface();
+            var returnType = method.getReturnType();
+
+            visitor.visitMethodInsn(isInterface ? INVOKEINTERFACE : INVOKEVIRTUAL, Type.getInternalName(writerOwner), method.getName(), Type.getMethodDescriptor(method), isInterface);
+
+            if(returnType == long.class || returnType == double.class) {
+                visitor.visitInsn(POP2);
+            } else if(returnType != void.class) {
+                visitor.visitInsn(POP);
+            }
+        } else {
+            var field = (Field) writer;
+
+            visitor.visitFieldInsn(PUTFIELD, Type.getInternalName(writerOwner), field.getName(), Type.getDescriptor(field.getType()));
+        }
+    }
+
+    /**
+     * Найти член класса для чтения, с тем же приоритетом, что и в {@link Bound#getComputedResult(Object)}
+     */
+    private static @Nullable Member findReader(@NotNull Bound bound, Class<?> host) {
+        var getter = bound.getGetter();
+
+        if(getter != null) {
+            if(getter.getParameterCount() != 0 || getter.getReturnType() == void.class || Modifier.isStatic(getter.getModifiers())) {
+                return null;
+            }
+
+            return isAccessible(getter, host) && isVisible(getter.getReturnType(), host) ? getter : null;
+        }
+
+        var field = bound.getField();
+
+        if(field != null && !Modifier.isStatic(field.getModifiers()) && isAccessible(field, host) && isVisible(field.getType(), host)) {
+            return field;
+        }
+
+        return null;
+    }
+
+    /**
+     * Найти член класса для записи, с тем же приоритетом, что и в {@link Bound#setComputedResult(Object, Object)}
+     */
+    private static @Nullable Member findWriter(@NotNull Bound bound, Class<?> host) {
+        var setter = bound.getSetter();
+
+        if(setter != null) {
+            if(setter.getParameterCount() != 1 || Modifier.isStatic(setter.getModifiers())) {
+                return null;
+            }
+
+            return isAccessible(setter, host) && isVisible(setter.getParameterTypes()[0], host) && isVisible(setter.getReturnType(), host) ? setter : null;
+        }
+
+        var field = bound.getField();
+
+        if(
+            field != null &&
+            !Modifier.isStatic(field.getModifiers()) &&
+            !Modifier.isFinal(field.getModifiers()) &&
+            isAccessible(field, host) &&
+            isVisible(field.getType(), host)
+        ) {
+            return field;
+        }
+
+        return null;
+    }
+
+    private static Class<?> readType(Member member) {
+        return member instanceof Method ? ((Method) member).getReturnType() : ((Field) member).getType();
+    }
+
+    private static Class<?> writeType(Member member) {
+        return member instanceof Method ? ((Method) member).getParameterTypes()[0] : ((Field) member).getType();
+    }
+
+    /**
+     * Доступен ли член класса из класса, определенного в пакете хозяина
+     */
+    private static boolean isAccessible(@NotNull Member member, @NotNull Class<?> host) {
+        var owner = member.getDeclaringClass();
+        var modifiers = member.getModifiers();
+
+        if(Modifier.isPrivate(modifiers) || Modifier.isPrivate(owner.getModifiers()) || !isVisible(owner, host)) {
+            return false;
+        }
+
+        var samePackage = owner.getClassLoader() == host.getClassLoader() && owner.getPackageName().equals(host.getPackageName());
+
+        return (Modifier.isPublic(owner.getModifiers()) || samePackage) && (Modifier.isPublic(modifiers) || samePackage);
+    }
+
+    /**
+     * Виден ли класс из загрузчика хозяина (разрешается ли в тот же самый класс)
+     */
+    private static boolean isVisible(@NotNull Class<?> type, @NotNull Class<?> host) {
+        while(type.isArray()) {
+            type = type.getComponentType();
+        }
+
+        if(type.isPrimitive()) {
+            return true;
+        }
+
+        try {
+            return Class.forName(type.getName(), false, host.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
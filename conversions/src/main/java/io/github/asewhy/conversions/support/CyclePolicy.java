@@ -0,0 +1,22 @@
+package io.github.asewhy.conversions.support;
+
+/**
+ * Политика обработки циклов при конверсии ответов (см. {@link ConversionConfiguration#cyclePolicy()})
+ */
+public enum CyclePolicy {
+    /**
+     * Повторная ссылка на сущность, которая еще конвертируется, получает тот же экземпляр ответа. Граф ответов при этом
+     * содержит цикл, и для сериализации нужно использовать {@code @JsonIdentityInfo} или {@code @JsonBackReference}
+     */
+    REFERENCE,
+    /**
+     * Повторная ссылка на сущность, которая еще конвертируется, получает null
+     */
+    NULL,
+    /**
+     * Повторная ссылка на сущность, которая еще конвертируется, конвертируется заново, пока глубина вложенности не
+     * достигнет {@link ConversionConfiguration#cycleDepth()}, дальше ссылки получают null. Глубина считается по всему
+     * пути конверсии от корневого ответа, а не от первого ответа цикла
+     */
+    DEPTH
+}
@@ -0,0 +1,26 @@
+package io.github.asewhy.conversions.support;
+
+/**
+ * Сгенерированный конвертер, копирующий значения полей прямыми вызовами геттеров и сеттеров (без рефлексии и без
+ * упаковки примитивов).
+ * <p>
+ * Конвертер обслуживает только простые поля, индекс шага соответствует порядку полей, переданных при генерации.
+ */
+public interface GeneratedConverter {
+    /**
+     * Скопировать значение одного поля
+     *
+     * @param step индекс поля
+     * @param from объект, из которого читается значение
+     * @param to объект, в который записывается значение
+     */
+    void copy(int step, Object from, Object to);
+
+    /**
+     * Скопировать значения всех полей
+     *
+     * @param from объект, из которого читаются значения
+     * @param to объект, в который записываются значения
+     */
+    void copyAll(Object from, Object to);
+}
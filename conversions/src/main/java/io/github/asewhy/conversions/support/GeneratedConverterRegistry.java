@@ -0,0 +1,33 @@
+package io.github.asewhy.conversions.support;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Реестр конвертеров, сгенерированных процессором аннотаций на этапе компиляции.
+ * <p>
+ * Реализации генерируются процессором модуля conversions-processor и регистрируются в
+ * META-INF/services, после чего {@link io.github.asewhy.conversions.ConversionStore} загружает их через
+ * {@link java.util.ServiceLoader}. Классы, для которых код не был сгенерирован, обрабатываются рефлексивно.
+ */
+public interface GeneratedConverterRegistry {
+    /**
+     * Зарегистрировать все сгенерированные конвертеры реестра
+     *
+     * @param registrar получатель конвертеров
+     */
+    void register(@NotNull Registrar registrar);
+
+    /**
+     * Получатель сгенерированных конвертеров
+     */
+    interface Registrar {
+        /**
+         * Зарегистрировать конвертер
+         *
+         * @param type класс ответа или мутатора, для которого сгенерирован конвертер
+         * @param fields имена полей, индекс имени соответствует индексу шага конвертера
+         * @param converter конвертер
+         */
+        void converter(@NotNull Class<?> type, String @NotNull [] fields, @NotNull GeneratedConverter converter);
+    }
+}
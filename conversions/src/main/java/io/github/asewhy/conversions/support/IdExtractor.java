@@ -0,0 +1,22 @@
+package io.github.asewhy.conversions.support;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Функция получения идентификатора элемента коллекции при слиянии коллекций вложенных мутаторов с коллекциями сущностей.
+ * <p>
+ * Позволяет использовать составные или естественные ключи: возвращаемое значение должно корректно реализовывать equals
+ * и hashCode (например {@link java.util.List#of(Object[])} из нескольких полей). Предоставляется методом
+ * {@link ConversionConfiguration#idExtractor(Class)}.
+ */
+@FunctionalInterface
+public interface IdExtractor {
+    /**
+     * Получить идентификатор элемента
+     *
+     * @param element элемент коллекции (мутатор или сущность)
+     * @return идентификатор или null, если у элемента еще нет идентификатора
+     */
+    @Nullable Object extract(@NotNull Object element);
+}
@@ -0,0 +1,29 @@
+package io.github.asewhy.conversions.support;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * Обработчик ленивых связей ORM. Предоставляется методом {@link ConversionConfiguration#lazyLoadingHandler()}.
+ * <p>
+ * Перед конверсией ответа дерево исходных сущностей обходится по уровням, и неинициализированные связи каждого уровня
+ * инициализируются одним вызовом {@link #initialize(Collection)}, а не по одной при чтении полей. Реализация для
+ * Hibernate - {@link io.github.asewhy.conversions.hibernate.HibernateLazyLoadingHandler}.
+ */
+public interface LazyLoadingHandler {
+    /**
+     * Проверить, инициализировано ли значение поля
+     *
+     * @param value значение поля (прокси сущности, коллекция или обычное значение)
+     * @return true если значение инициализировано или не является ленивым
+     */
+    boolean isInitialized(Object value);
+
+    /**
+     * Инициализировать группу неинициализированных значений
+     *
+     * @param values неинициализированные значения
+     */
+    void initialize(@NotNull Collection<Object> values);
+}
@@ -0,0 +1,75 @@
+package io.github.asewhy.conversions.support;
+
+import io.github.asewhy.conversions.support.naming.ConversionNamingStrategy;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Таблица имен полей в json для метаданных класса и политики именования.
+ * <p>
+ * Имена вычисляются один раз при создании таблицы: прямая таблица содержит имя в json для каждого поля источника и
+ * получателя, обратная - поле источника для каждого имени в json. Тип, который передается в политику именования, берется из
+ * поля получателя с тем же названием (или null, если такого поля нет).
+ */
+@Getter
+public final class NameTable {
+    private final ConversionNamingStrategy strategy;
+    private final Map<String, String> jsonNames;
+    private final Map<String, Bound> foundByJsonName;
+
+    NameTable(@NotNull ConversionNamingStrategy strategy, @NotNull ClassMetadata metadata) {
+        var found = metadata.getFound();
+        var bound = metadata.getBound();
+
+        this.strategy = strategy;
+        this.jsonNames = new HashMap<>((found.size() + bound.size()) * 2);
+        this.foundByJsonName = new HashMap<>(found.size() * 2);
+
+        for(var current: bound) {
+            jsonNames.computeIfAbsent(current.getName(), e -> convert(metadata, e));
+        }
+
+        for(var current: found) {
+            foundByJsonName.putIfAbsent(jsonNames.computeIfAbsent(current.getName(), e -> convert(metadata, e)), current);
+        }
+    }
+
+    /**
+     * Получить имя поля в json
+     *
+     * @param name название поля
+     * @return имя поля в json
+     */
+    public @NotNull String getJsonName(@NotNull String name) {
+        var result = jsonNames.get(name);
+
+        if(result == null) {
+            //
+            // Поле не найдено ни в источнике, ни в получателе, имя не кешируется, т.к. набор таких имен не ограничен
+            //
+            return strategy.convert(name, null);
+        }
+
+        return result;
+    }
+
+    /**
+     * Найти поле источника по имени в json
+     *
+     * @param jsonName имя поля в json
+     * @return поле источника или null, если такого поля нет
+     */
+    public @Nullable Bound findFound(String jsonName) {
+        return foundByJsonName.get(jsonName);
+    }
+
+    private String convert(@NotNull ClassMetadata metadata, @NotNull String name) {
+        var field = metadata.getBoundField(name);
+
+        return strategy.convert(name, field != null ? field.getType() : null);
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.asewhy.conversions.support;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Конвертер, сгенерированный на этапе компиляции, вместе с именами полей, которые он копирует
+ */
+@Getter
+public final class PrecompiledConverter {
+    private final Class<?> type;
+    private final String[] fields;
+    private final GeneratedConverter converter;
+    private final Map<String, Integer> indexes = new HashMap<>();
+
+    public PrecompiledConverter(@NotNull Class<?> type, String @NotNull [] fields, @NotNull GeneratedConverter converter) {
+        this.type = type;
+        this.fields = fields.clone();
+        this.converter = converter;
+
+        for(var i = 0; i < fields.length; i++) {
+            indexes.put(fields[i], i);
+        }
+    }
+
+    /**
+     * Получить индекс поля в конвертере
+     *
+     * @param name имя поля
+     * @return индекс поля или -1, если конвертер не копирует это поле
+     */
+    public int indexOf(String name) {
+        return indexes.getOrDefault(name, -1);
+    }
+
+    /**
+     * Получить конвертер, который копирует только выбранные поля. Индекс шага возвращаемого конвертера соответствует
+     * индексу имени в names
+     *
+     * @param names имена копируемых полей
+     * @return конвертер или null, если хотя бы одно поле не копируется этим конвертером
+     */
+    public @Nullable GeneratedConverter select(String @NotNull [] names) {
+        var selected = new int[names.length];
+
+        for(var i = 0; i < names.length; i++) {
+            if((selected[i] = indexOf(names[i])) < 0) {
+                return null;
+            }
+        }
+
+        return new GeneratedConverter() {
+            @Override
+            public void copy(int step, Object from, Object to) {
+                converter.copy(selected[step], from, to);
+            }
+
+            @Override
+            public void copyAll(Object from, Object to) {
+                for(var current: selected) {
+                    converter.copy(current, from, to);
+                }
+            }
+        };
+    }
+}
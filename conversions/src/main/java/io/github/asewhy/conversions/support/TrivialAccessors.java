@@ -0,0 +1,227 @@
+package io.github.asewhy.conversions.support;
+
+import lombok.extern.log4j.Log4j2;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.Handle;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Анализ байткода геттеров и сеттеров.
+ * <p>
+ * Тривиальный геттер только возвращает значение поля своего класса, тривиальный сеттер только записывает параметр в поле
+ * своего класса (так выглядят методы, сгенерированные lombok). Если у метода есть любая другая логика, или байткод класса
+ * недоступен, то метод считается нетривиальным.
+ */
+@Log4j2
+public final class TrivialAccessors {
+    private static final ClassValue<Map<String, String>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Map<String, String> computeValue(Class<?> type) {
+            return scan(type);
+        }
+    };
+
+    private TrivialAccessors() {
+        // Utility class
+    }
+
+    /**
+     * Получить поле, значение которого возвращает тривиальный геттер
+     *
+     * @param getter геттер
+     * @return поле класса геттера или null, если геттер не тривиальный
+     */
+    public static @Nullable Field getterField(@NotNull Method getter) {
+        return find(getter, "get:");
+    }
+
+    /**
+     * Получить поле, в которое записывает значение тривиальный сеттер
+     *
+     * @param setter сеттер
+     * @return поле класса сеттера или null, если сеттер не тривиальный
+     */
+    public static @Nullable Field setterField(@NotNull Method setter) {
+        return find(setter, "set:");
+    }
+
+    private static @Nullable Field find(@NotNull Method method, @NotNull String kind) {
+        var clazz = method.getDeclaringClass();
+        var accessed = ACCESSORS.get(clazz).get(method.getName() + Type.getMethodDescriptor(method));
+
+        if(accessed == null || !accessed.startsWith(kind)) {
+            return null;
+        }
+
+        try {
+            return clazz.getDeclaredField(accessed.substring(kind.length()));
+        } catch (NoSuchFieldException e) {
+            return null;
+        }
+    }
+
+    private static @NotNull Map<String, String> scan(@NotNull Class<?> type) {
+        var loader = type.getClassLoader();
+        var resource = type.getName().replace('.', '/') + ".class";
+        var result = new HashMap<String, String>();
+
+        try(var stream = loader != null ? loader.getResourceAsStream(resource) : ClassLoader.getSystemResourceAsStream(resource)) {
+            if(stream == null) {
+                return Collections.emptyMap();
+            }
+
+            var owner = Type.getInternalName(type);
+
+            new ClassReader(stream).accept(new ClassVisitor(Opcodes.ASM9) {
+                @Override
+                public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                    if((access & (Opcodes.ACC_STATIC | Opcodes.ACC_ABSTRACT | Opcodes.ACC_NATIVE)) != 0) {
+                        return null;
+                    }
+
+                    return new AccessorVisitor(owner, descriptor, e -> result.put(name + descriptor, e));
+                }
+            }, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Cannot read bytecode of {}, accessors are considered non trivial", type, e);
+
+            return Collections.emptyMap();
+        }
+
+        return result;
+    }
+
+    /**
+     * Распознает последовательности ALOAD 0, GETFIELD, xRETURN и ALOAD 0, xLOAD 1, PUTFIELD, RETURN
+     */
+    private static final class AccessorVisitor extends MethodVisitor {
+        private final String owner;
+        private final Type[] arguments;
+        private final Consumer<String> callback;
+
+        private int step;
+        private String field;
+        private boolean setter;
+        private boolean broken;
+
+        private AccessorVisitor(String owner, String descriptor, Consumer<String> callback) {
+            super(Opcodes.ASM9);
+
+            this.owner = owner;
+            this.arguments = Type.getArgumentTypes(descriptor);
+            this.callback = callback;
+        }
+
+        @Override
+        public void visitVarInsn(int opcode, int var) {
+            if(step == 0 && opcode == Opcodes.ALOAD && var == 0) {
+                step = 1;
+            } else if(step == 1 && var == 1 && arguments.length == 1 && opcode == arguments[0].getOpcode(Opcodes.ILOAD)) {
+                step = 2;
+                setter = true;
+            } else {
+                broken = true;
+            }
+        }
+
+        @Override
+        public void visitFieldInsn(int opcode, String fieldOwner, String name, String descriptor) {
+            if(!owner.equals(fieldOwner)) {
+                broken = true;
+            } else if(step == 1 && !setter && opcode == Opcodes.GETFIELD && arguments.length == 0) {
+                step = 3;
+                field = name;
+            } else if(step == 2 && setter && opcode == Opcodes.PUTFIELD && descriptor.equals(arguments[0].getDescriptor())) {
+                step = 3;
+                field = name;
+            } else {
+                broken = true;
+            }
+        }
+
+        @Override
+        public void visitInsn(int opcode) {
+            if(step == 3 && (opcode >= Opcodes.IRETURN && opcode <= Opcodes.RETURN) && (opcode == Opcodes.RETURN) == setter) {
+                step = 4;
+            } else {
+                broken = true;
+            }
+        }
+
+        @Override
+        public void visitIntInsn(int opcode, int operand) {
+            broken = true;
+        }
+
+        @Override
+        public void visitTypeInsn(int opcode, String type) {
+            broken = true;
+        }
+
+        @Override
+        public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+            broken = true;
+        }
+
+        @Override
+        public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrapMethodHandle, Object... bootstrapMethodArguments) {
+            broken = true;
+        }
+
+        @Override
+        public void visitJumpInsn(int opcode, Label label) {
+            broken = true;
+        }
+
+        @Override
+        public void visitLdcInsn(Object value) {
+            broken = true;
+        }
+
+        @Override
+        public void visitIincInsn(int var, int increment) {
+            broken = true;
+        }
+
+        @Override
+        public void visitTableSwitchInsn(int min, int max, Label dflt, Label... labels) {
+            broken = true;
+        }
+
+        @Override
+        public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] labels) {
+            broken = true;
+        }
+
+        @Override
+        public void visitMultiANewArrayInsn(String descriptor, int numDimensions) {
+            broken = true;
+        }
+
+        @Override
+        public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
+            broken = true;
+        }
+
+        @Override
+        public void visitEnd() {
+            if(!broken && step == 4) {
+                callback.accept((setter ? "set:" : "get:") + field);
+            }
+        }
+    }
+}
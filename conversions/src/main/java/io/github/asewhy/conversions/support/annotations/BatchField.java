@@ -0,0 +1,29 @@
+package io.github.asewhy.conversions.support.annotations;
+
+import io.github.asewhy.conversions.BatchFieldResolver;
+
+import java.lang.annotation.*;
+
+/**
+ * Поле ответа, значение которого загружается пакетно ресолвером {@link BatchFieldResolver}.
+ * <p>
+ * Во время конверсии ключи всех ответов собираются, повторяющиеся ключи отбрасываются, и ресолвер вызывается для
+ * всех ключей сразу (частями не больше {@link BatchFieldResolver#getBatchSize()}). Затем каждый ответ получает значение
+ * по своему ключу.
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface BatchField {
+    /**
+     * Класс ресолвера, ресолвер должен быть компонентом, помеченным {@link ContextLoadable}
+     */
+    @SuppressWarnings("rawtypes")
+    Class<? extends BatchFieldResolver> resolver();
+
+    /**
+     * Название поля исходной сущности, значение которого является ключом. По умолчанию используется идентификатор
+     * исходной сущности
+     */
+    String key() default "";
+}
@@ -17,4 +17,10 @@ public @interface ConvertResponse {
      * Маппинг для конвертера
      */
     String mapping() default ConversionUtils.COMMON_MAPPING;
+
+    /**
+     * Выборка полей ответа по умолчанию (см. {@link io.github.asewhy.conversions.FieldSelection}), пути объединяются через
+     * запятую. Выборка из параметра запроса имеет приоритет. Если пусто, то выбираются все поля
+     */
+    String[] fields() default {};
 }
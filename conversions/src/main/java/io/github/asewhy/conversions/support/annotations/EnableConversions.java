@@ -2,7 +2,7 @@ package io.github.asewhy.conversions.support.annotations;
 
 import io.github.asewhy.conversions.ConversionConfigurationInternal;
 import io.github.asewhy.conversions.ConversionProvider;
-import io.github.asewhy.conversions.support.ConversionSpringAutoconfigure;
+import io.github.asewhy.conversions.support.ConversionImportSelector;
 import org.springframework.context.annotation.Import;
 
 import java.lang.annotation.*;
@@ -10,7 +10,7 @@ import java.lang.annotation.*;
 @Documented
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
-@Import({ConversionSpringAutoconfigure.class, ConversionConfigurationInternal.class, ConversionProvider.class})
+@Import({ConversionImportSelector.class, ConversionConfigurationInternal.class, ConversionProvider.class})
 public @interface EnableConversions {
 
 }
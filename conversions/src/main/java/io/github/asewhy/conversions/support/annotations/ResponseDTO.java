@@ -0,0 +1,43 @@
+package io.github.asewhy.conversions.support.annotations;
+
+import io.github.asewhy.conversions.ConversionUtils;
+
+import java.lang.annotation.*;
+
+/**
+ * При автоматическом сканировании пакета регистрирует ответ в сторе,
+ * и устанавливает маппинг ответа на указанный в аннотации.
+ * При ручном добавлении, просто указывает маппинг
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ResponseDTO {
+    /**
+     * Маппинг для конвертера
+     */
+    String mapping() default ConversionUtils.COMMON_MAPPING;
+
+    /**
+     * Пропускать поля, значения которых являются неинициализированными ленивыми связями, вместо их загрузки. Работает,
+     * если предоставлен {@link io.github.asewhy.conversions.support.ConversionConfiguration#lazyLoadingHandler()}
+     */
+    boolean skipUninitialized() default false;
+
+    /**
+     * Кешировать ответы в {@link io.github.asewhy.conversions.support.ConversionConfiguration#responseCache()} по классу,
+     * идентификатору и версии исходной сущности и маппингу. Исходная сущность должна иметь поле идентификатора
+     */
+    boolean cached() default false;
+
+    /**
+     * Название поля версии исходной сущности для ключа кеша. По умолчанию используется поле, помеченное аннотацией
+     * Version (например javax.persistence.Version), если такого поля нет, то версия не учитывается
+     */
+    String version() default "";
+
+    /**
+     * Время жизни ответа в кеше в миллисекундах. Если 0, то используется время жизни кеша
+     */
+    long cacheTtl() default 0;
+}
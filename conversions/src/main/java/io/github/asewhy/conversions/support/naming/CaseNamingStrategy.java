@@ -0,0 +1,56 @@
+package io.github.asewhy.conversions.support.naming;
+
+import io.github.asewhy.conversions.support.CaseUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
+/**
+ * Политика именования, которая переводит названия полей в один из стилей {@link CaseUtil.Case}. Поля, тип которых
+ * входит в excluded, сохраняют исходное название.
+ * <p>
+ * Пример: {@code new CaseNamingStrategy(CaseUtil.Case.SNAKE, Set.of(RestFilter.class))}
+ */
+public class CaseNamingStrategy extends ExtrudableNamingStrategy {
+    private final CaseUtil.Case style;
+    private final Set<Class<?>> excluded;
+
+    public CaseNamingStrategy(@NotNull CaseUtil.Case style) {
+        this(style, Set.of());
+    }
+
+    public CaseNamingStrategy(@NotNull CaseUtil.Case style, @NotNull Set<Class<?>> excluded) {
+        this.style = style;
+        this.excluded = Set.copyOf(excluded);
+    }
+
+    public static @NotNull CaseNamingStrategy camelCase() {
+        return new CaseNamingStrategy(CaseUtil.Case.CAMEL);
+    }
+
+    public static @NotNull CaseNamingStrategy pascalCase() {
+        return new CaseNamingStrategy(CaseUtil.Case.PASCAL);
+    }
+
+    public static @NotNull CaseNamingStrategy snakeCase() {
+        return new CaseNamingStrategy(CaseUtil.Case.SNAKE);
+    }
+
+    public static @NotNull CaseNamingStrategy screamingSnakeCase() {
+        return new CaseNamingStrategy(CaseUtil.Case.SCREAMING_SNAKE);
+    }
+
+    public static @NotNull CaseNamingStrategy kebabCase() {
+        return new CaseNamingStrategy(CaseUtil.Case.KEBAB);
+    }
+
+    @Override
+    protected boolean isExcluded(@NotNull String defaultName, @NotNull Class<?> rawReturnType) {
+        return excluded.contains(rawReturnType);
+    }
+
+    @Override
+    protected String convert(@NotNull String defaultName) {
+        return CaseUtil.convert(defaultName, style);
+    }
+}
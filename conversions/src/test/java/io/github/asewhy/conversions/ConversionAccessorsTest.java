@@ -0,0 +1,69 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.conversions.support.BoundedAccessible;
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+public class ConversionAccessorsTest {
+    @Test
+    @DisplayName("Исключение геттера пробрасывается, а геттер вызывается один раз")
+    public void getterExceptionPropagatesOnce() throws NoSuchMethodException {
+        var bound = new BoundedAccessible(null, Counter.class.getMethod("getFailing"), null);
+        var target = new Counter();
+
+        Assertions.assertThatThrownBy(() -> bound.getComputedResult(target)).isInstanceOf(IllegalStateException.class);
+        Assertions.assertThat(target.getCalls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Исключение сеттера пробрасывается, а сеттер вызывается один раз")
+    public void setterExceptionPropagatesOnce() throws NoSuchMethodException {
+        var bound = new BoundedAccessible(null, null, Counter.class.getMethod("setFailing", String.class));
+        var target = new Counter();
+
+        Assertions.assertThatThrownBy(() -> bound.setComputedResult(target, "value")).isInstanceOf(IllegalStateException.class);
+        Assertions.assertThat(target.getCalls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Связанные геттер и сеттер читают и пишут примитивные значения")
+    public void primitiveValuesAreBound() throws NoSuchMethodException {
+        var bound = new BoundedAccessible(null, Counter.class.getMethod("getCount"), Counter.class.getMethod("setCount", int.class));
+        var target = new Counter();
+
+        bound.setComputedResult(target, 5);
+
+        Assertions.assertThat(bound.getComputedResult(target)).isEqualTo(5);
+        Assertions.assertThat(target.getCalls()).isEqualTo(2);
+    }
+
+    public static class Counter {
+        private int calls;
+        private int count;
+
+        public int getCalls() {
+            return calls;
+        }
+
+        public int getCount() {
+            calls++;
+            return count;
+        }
+
+        public void setCount(int count) {
+            calls++;
+            this.count = count;
+        }
+
+        public String getFailing() {
+            calls++;
+            throw new IllegalStateException("getter");
+        }
+
+        public void setFailing(String value) {
+            calls++;
+            throw new IllegalStateException("setter");
+        }
+    }
+}
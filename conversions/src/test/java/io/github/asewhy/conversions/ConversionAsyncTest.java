@@ -0,0 +1,203 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.conversions.config.ConversationalTestConfiguration;
+import io.github.asewhy.conversions.config.entities.book.ExampleTestAuthorEntity;
+import io.github.asewhy.conversions.config.entities.book.ExampleTestPointEntity;
+import io.github.asewhy.conversions.support.annotations.ConvertResponse;
+import io.github.asewhy.conversions.support.annotations.ShiftController;
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.SettableListenableFuture;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { ConversionAsyncTest.AsyncTestConfiguration.class })
+public class ConversionAsyncTest {
+    @Autowired
+    protected WebApplicationContext context;
+    @Autowired
+    protected AsyncTestConfiguration configuration;
+
+    private MockMvc mvc;
+
+    @Before
+    public void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).build();
+        configuration.executed.set(0);
+    }
+
+    @Test
+    @DisplayName("Значение CompletionStage конвертируется на исполнителе и не конвертируется повторно при диспетчеризации")
+    public void completionStage() throws Exception {
+        dispatch("/async/stage")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("async author"))
+            .andExpect(jsonPath("$.location.x").value(1));
+
+        Assertions.assertThat(configuration.executed.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Значение ListenableFuture конвертируется на исполнителе")
+    public void listenableFuture() throws Exception {
+        dispatch("/async/listenable")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("async author"));
+
+        Assertions.assertThat(configuration.executed.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Значение DeferredResult конвертируется при асинхронной диспетчеризации")
+    public void deferredResult() throws Exception {
+        dispatch("/async/deferred")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("async author"))
+            .andExpect(jsonPath("$.location.y").value(2));
+
+        Assertions.assertThat(configuration.executed.get()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Результат Callable конвертируется в потоке, в котором он был вычислен")
+    public void callable() throws Exception {
+        dispatch("/async/callable")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("async author"));
+
+        Assertions.assertThat(configuration.executed.get()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Выборка полей из аннотации применяется к асинхронному ответу")
+    public void selection() throws Exception {
+        dispatch("/async/selected")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("async author"))
+            .andExpect(jsonPath("$.location").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Ошибка асинхронного результата передается MVC без обертки")
+    public void failure() throws Exception {
+        var result = mvc.perform(get("/async/failed"))
+            .andExpect(request().asyncStarted())
+        .andReturn();
+
+        var thrown = Assertions.catchThrowable(() -> mvc.perform(asyncDispatch(result)));
+
+        Assertions.assertThat(NestedExceptionUtils.getRootCause(thrown))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("broken");
+        Assertions.assertThat(configuration.executed.get()).isEqualTo(0);
+    }
+
+    private ResultActions dispatch(String path) throws Exception {
+        var result = mvc.perform(get(path))
+            .andExpect(request().asyncStarted())
+        .andReturn();
+
+        return mvc.perform(asyncDispatch(result));
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @Import(AsyncTestController.class)
+    public static class AsyncTestConfiguration extends ConversationalTestConfiguration {
+        private final AtomicInteger executed = new AtomicInteger();
+
+        @Override
+        public Executor conversionExecutor() {
+            return task -> {
+                executed.incrementAndGet();
+                task.run();
+            };
+        }
+    }
+
+    @ShiftController
+    @RequestMapping("/async")
+    public static class AsyncTestController {
+        @GetMapping("/stage")
+        public CompletionStage<ExampleTestAuthorEntity> stage() {
+            return CompletableFuture.supplyAsync(AsyncTestController::author);
+        }
+
+        @GetMapping("/listenable")
+        public ListenableFuture<ExampleTestAuthorEntity> listenable() {
+            var result = new SettableListenableFuture<ExampleTestAuthorEntity>();
+
+            result.set(author());
+
+            return result;
+        }
+
+        @GetMapping("/deferred")
+        public DeferredResult<ExampleTestAuthorEntity> deferred() {
+            var result = new DeferredResult<ExampleTestAuthorEntity>();
+
+            result.setResult(author());
+
+            return result;
+        }
+
+        @GetMapping("/callable")
+        public Callable<ExampleTestAuthorEntity> callable() {
+            return AsyncTestController::author;
+        }
+
+        @GetMapping("/selected")
+        @ConvertResponse(fields = "name")
+        public CompletionStage<ExampleTestAuthorEntity> selected() {
+            return CompletableFuture.completedFuture(author());
+        }
+
+        @GetMapping("/failed")
+        public CompletionStage<ExampleTestAuthorEntity> failed() {
+            return CompletableFuture.supplyAsync(() -> {
+                throw new IllegalStateException("broken");
+            });
+        }
+
+        private static ExampleTestAuthorEntity author() {
+            var author = new ExampleTestAuthorEntity();
+            var location = new ExampleTestPointEntity();
+
+            location.setX(1L);
+            location.setY(2L);
+            author.setName("async author");
+            author.setLocation(location);
+
+            return author;
+        }
+    }
+}
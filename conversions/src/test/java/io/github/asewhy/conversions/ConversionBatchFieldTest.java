@@ -0,0 +1,84 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.conversions.config.ConversationalTestConfiguration;
+import io.github.asewhy.conversions.config.converters.graph.ExampleTestNovelRatedResponse;
+import io.github.asewhy.conversions.config.converters.graph.ExampleTestWriterRatedResponse;
+import io.github.asewhy.conversions.config.resolvers.ExampleTestRatingResolver;
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.github.asewhy.conversions.config.support.ExampleTestWriters.detach;
+import static io.github.asewhy.conversions.config.support.ExampleTestWriters.writer;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { ConversationalTestConfiguration.class })
+@SuppressWarnings("unchecked")
+public class ConversionBatchFieldTest {
+    private static final String RATED = "rated";
+
+    @Autowired
+    protected ConversionProvider provider;
+    @Autowired
+    protected ExampleTestRatingResolver resolver;
+
+    @Before
+    public void reset() {
+        resolver.reset();
+    }
+
+    @Test
+    @DisplayName("Повторяющиеся ключи пакетного поля загружаются один раз")
+    public void deduplicatesKeys() {
+        var from = new ArrayList<>(List.of(
+            detach(writer(1, "Tolstoy", "War and Peace", "Anna Karenina")),
+            detach(writer(1, "Tolstoy", "War and Peace", "Anna Karenina"))
+        ));
+
+        var result = (List<ExampleTestWriterRatedResponse>) provider.createResponseResolve(from, RATED);
+
+        Assertions.assertThat(resolver.getCalls()).containsExactly(List.of(100L, 101L));
+        Assertions.assertThat(result.get(0).getNovels()).extracting(ExampleTestNovelRatedResponse::getRating).containsExactly(1000L, 1010L);
+        Assertions.assertThat(result.get(1).getNovels()).extracting(ExampleTestNovelRatedResponse::getRating).containsExactly(1000L, 1010L);
+    }
+
+    @Test
+    @DisplayName("Ключи передаются ресолверу частями не больше размера пакета")
+    public void chunksByBatchSize() {
+        var from = new ArrayList<>(List.of(
+            detach(writer(1, "Tolstoy", "War and Peace", "Anna Karenina", "Resurrection")),
+            detach(writer(2, "Chekhov", "The Steppe", "Ward No. 6"))
+        ));
+
+        var result = (List<ExampleTestWriterRatedResponse>) provider.createResponseResolve(from, RATED);
+
+        Assertions.assertThat(resolver.getCalls()).allSatisfy(e -> Assertions.assertThat(e).hasSizeLessThanOrEqualTo(ExampleTestRatingResolver.BATCH_SIZE));
+        Assertions.assertThat(resolver.getCalls()).containsExactly(List.of(100L, 101L), List.of(102L, 200L), List.of(201L));
+        Assertions.assertThat(result.get(0).getNovels()).extracting(ExampleTestNovelRatedResponse::getRating).containsExactly(1000L, 1010L, 1020L);
+        Assertions.assertThat(result.get(1).getNovels()).extracting(ExampleTestNovelRatedResponse::getRating).containsExactly(2000L, 2010L);
+    }
+
+    @Test
+    @DisplayName("Ключ, не собранный при обходе дерева, загружается отдельно, собранные ключи повторно не загружаются")
+    public void loadsMissedKey() {
+        var session = ConversionSession.collect(provider, detach(writer(1, "Tolstoy", "War and Peace")), RATED, false, "batch");
+        var batch = (BatchFieldResolver<Object, Object>) (BatchFieldResolver<?, ?>) resolver;
+
+        Assertions.assertThat(resolver.getCalls()).containsExactly(List.of(100L));
+        Assertions.assertThat(session.batchValue(batch, 100L)).isEqualTo(1000L);
+        Assertions.assertThat(resolver.getCalls()).containsExactly(List.of(100L));
+
+        Assertions.assertThat(session.batchValue(batch, 700L)).isEqualTo(7000L);
+        Assertions.assertThat(session.batchValue(batch, 700L)).isEqualTo(7000L);
+        Assertions.assertThat(resolver.getCalls()).containsExactly(List.of(100L), List.of(700L));
+        Assertions.assertThat(resolver.getContexts()).containsOnly("batch");
+    }
+}
@@ -0,0 +1,180 @@
+package io.github.asewhy.conversions;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class ConversionCacheTest {
+    @Test
+    @DisplayName("Ответ конвертируется один раз для ключа и заново после изменения версии")
+    public void cachesByVersion() {
+        var cache = new ResponseCache(10, Duration.ofMinutes(1));
+        var calls = new AtomicInteger();
+        Supplier<Object> loader = () -> "response " + calls.incrementAndGet();
+
+        var first = cache.get(key(1L, 1), 0, loader);
+        var second = cache.get(key(1L, 1), 0, loader);
+        var changed = cache.get(key(1L, 2), 0, loader);
+
+        Assertions.assertThat(second).isSameAs(first);
+        Assertions.assertThat(changed).isEqualTo("response 2");
+        Assertions.assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("При превышении размера удаляются давно не использованные ответы")
+    public void evictsLeastRecentlyUsed() {
+        var cache = new ResponseCache(2, Duration.ofMinutes(1));
+        var calls = new AtomicInteger();
+        Supplier<Object> loader = calls::incrementAndGet;
+
+        cache.get(key(1L, 0), 0, loader);
+        cache.get(key(2L, 0), 0, loader);
+        cache.get(key(1L, 0), 0, loader);
+        cache.get(key(3L, 0), 0, loader);
+
+        Assertions.assertThat(cache.size()).isEqualTo(2);
+        Assertions.assertThat(calls.get()).isEqualTo(3);
+
+        cache.get(key(1L, 0), 0, loader);
+
+        Assertions.assertThat(calls.get()).isEqualTo(3);
+
+        cache.get(key(2L, 0), 0, loader);
+
+        Assertions.assertThat(calls.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Ответ конвертируется заново после истечения времени жизни")
+    public void expiresAfterTtl() throws InterruptedException {
+        var cache = new ResponseCache(10, Duration.ofMinutes(1));
+        var calls = new AtomicInteger();
+        Supplier<Object> loader = calls::incrementAndGet;
+
+        cache.get(key(1L, 0), 1, loader);
+
+        Thread.sleep(20);
+
+        cache.get(key(1L, 0), 1, loader);
+
+        Assertions.assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Ответы удаляются по сущности, по классу и целиком")
+    public void invalidates() {
+        var cache = new ResponseCache(10, Duration.ofMinutes(1));
+
+        cache.get(key(1L, 0), 0, () -> "first");
+        cache.get(key(2L, 0), 0, () -> "second");
+        cache.get(new ResponseCache.Key(Integer.class, 1L, null, "common"), 0, () -> "other");
+
+        cache.invalidate(String.class, 1L);
+
+        Assertions.assertThat(cache.size()).isEqualTo(2);
+
+        cache.invalidate(String.class);
+
+        Assertions.assertThat(cache.size()).isEqualTo(1);
+
+        cache.invalidateAll();
+
+        Assertions.assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Ошибка конверсии не кешируется")
+    public void failuresAreNotCached() {
+        var cache = new ResponseCache(10, Duration.ofMinutes(1));
+
+        Assertions.assertThatThrownBy(() -> cache.get(key(1L, 0), 0, () -> { throw new IllegalStateException("loader"); }))
+            .isInstanceOf(IllegalStateException.class);
+
+        Assertions.assertThat(cache.size()).isEqualTo(0);
+        Assertions.assertThat(cache.get(key(1L, 0), 0, () -> "loaded")).isEqualTo("loaded");
+    }
+
+    @Test
+    @DisplayName("Одновременные запросы одного ответа конвертируют его один раз")
+    public void singleFlight() throws Exception {
+        var cache = new ResponseCache(10, Duration.ofMinutes(1));
+        var calls = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var first = CompletableFuture.supplyAsync(() -> cache.get(key(1L, 0), 0, () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "response";
+        }));
+
+        await(started);
+
+        var second = CompletableFuture.supplyAsync(() -> cache.get(key(1L, 0), 0, calls::incrementAndGet));
+
+        release.countDown();
+
+        Assertions.assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("response");
+        Assertions.assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("response");
+        Assertions.assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Потоки, конвертирующие ответы со ссылками друг на друга, не ждут друг друга")
+    public void crossReferenceDoesNotDeadlock() throws Exception {
+        var cache = new ResponseCache(10, Duration.ofMinutes(1));
+        var bothStarted = new CountDownLatch(2);
+
+        var first = CompletableFuture.supplyAsync(() -> cache.get(key(1L, 0), 0, () -> {
+            bothStarted.countDown();
+            await(bothStarted);
+            return "first with " + cache.get(key(2L, 0), 0, () -> "second (nested)");
+        }));
+
+        var second = CompletableFuture.supplyAsync(() -> cache.get(key(2L, 0), 0, () -> {
+            bothStarted.countDown();
+            await(bothStarted);
+            return "second with " + cache.get(key(1L, 0), 0, () -> "first (nested)");
+        }));
+
+        //
+        // Вложенный ответ конвертируется заново или берется из кеша, если другой поток уже закончил
+        //
+        Assertions.assertThat(first.get(5, TimeUnit.SECONDS)).asString().startsWith("first with second");
+        Assertions.assertThat(second.get(5, TimeUnit.SECONDS)).asString().startsWith("second with first");
+        Assertions.assertThat(cache.get(key(1L, 0), 0, () -> "reloaded")).isEqualTo(first.get());
+    }
+
+    @Test
+    @DisplayName("Ответ, ссылающийся сам на себя, конвертируется без ожидания")
+    public void selfReferenceDoesNotDeadlock() {
+        var cache = new ResponseCache(10, Duration.ofMinutes(1));
+        var result = cache.get(key(1L, 0), 0, () -> "outer with " + cache.get(key(1L, 0), 0, () -> "inner"));
+
+        Assertions.assertThat(result).isEqualTo("outer with inner");
+    }
+
+    private static ResponseCache.Key key(Long id, Object version) {
+        return new ResponseCache.Key(String.class, id, version, "common");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if(!latch.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
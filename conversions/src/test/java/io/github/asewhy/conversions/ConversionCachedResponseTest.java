@@ -0,0 +1,137 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.conversions.config.ConversationalTestConfiguration;
+import io.github.asewhy.conversions.config.converters.graph.ExampleTestNovelResponse;
+import io.github.asewhy.conversions.config.converters.graph.ExampleTestWriterRatedResponse;
+import io.github.asewhy.conversions.config.converters.graph.ExampleTestWriterResponse;
+import io.github.asewhy.conversions.support.CyclePolicy;
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.Duration;
+
+import static io.github.asewhy.conversions.config.support.ExampleTestWriters.detach;
+import static io.github.asewhy.conversions.config.support.ExampleTestWriters.writer;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { ConversationalTestConfiguration.class })
+public class ConversionCachedResponseTest {
+    @Autowired
+    protected ApplicationContext context;
+
+    @Test
+    @DisplayName("Ответ берется из кеша, пока не изменится версия сущности")
+    public void cachesByEntityVersion() {
+        var cache = new ResponseCache(10, Duration.ofMinutes(1));
+        var provider = createProvider(cache, null, null);
+        var writer = detach(writer(1, "Tolstoy", "War and Peace"));
+
+        ExampleTestWriterResponse first = provider.createResponse(writer);
+        ExampleTestWriterResponse second = provider.createResponse(writer);
+
+        Assertions.assertThat(second).isSameAs(first);
+        Assertions.assertThat(first.getNovels()).extracting(ExampleTestNovelResponse::getTitle).containsExactly("War and Peace");
+
+        writer.setVersion(2L);
+
+        ExampleTestWriterResponse changed = provider.createResponse(writer);
+
+        Assertions.assertThat(changed).isNotSameAs(first);
+        Assertions.assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Ключ кеша учитывает применение обработчика маппингов к вложенным сущностям")
+    public void keyIncludesPropagation() {
+        var cache = new ResponseCache(10, Duration.ofMinutes(1));
+        var provider = createProvider(cache, null, null);
+        var writer = detach(writer(1, "Tolstoy", "War and Peace"));
+
+        ExampleTestWriterResponse propagated = provider.createResponse(writer, ConversionUtils.COMMON_MAPPING, true, null);
+        ExampleTestWriterResponse plain = provider.createResponse(writer, ConversionUtils.COMMON_MAPPING, false, null);
+
+        Assertions.assertThat(plain).isNotSameAs(propagated);
+        Assertions.assertThat((Object) provider.createResponse(writer, ConversionUtils.COMMON_MAPPING, false, null)).isSameAs(plain);
+        Assertions.assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Ответы, конвертируемые с переданным или глобальным контекстом, не кешируются")
+    public void contextBypassesCache() {
+        var cache = new ResponseCache(10, Duration.ofMinutes(1));
+        var provider = createProvider(cache, null, null);
+        var writer = detach(writer(1, "Tolstoy", "War and Peace"));
+
+        Assertions.assertThat((Object) provider.createResponse(writer, ConversionUtils.COMMON_MAPPING, "context"))
+            .isNotSameAs(provider.createResponse(writer, ConversionUtils.COMMON_MAPPING, "context"));
+
+        var global = createProvider(cache, null, "global");
+
+        Assertions.assertThat((Object) global.createResponse(writer)).isNotSameAs(global.createResponse(writer));
+        Assertions.assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Ответ не кешируется, если во вложенных ответах есть пакетные поля")
+    public void contextDependentTreeIsNotCached() {
+        var cache = new ResponseCache(10, Duration.ofMinutes(1));
+        var provider = createProvider(cache, null, null);
+        var writer = detach(writer(1, "Tolstoy", "War and Peace", "Anna Karenina"));
+
+        ExampleTestWriterRatedResponse first = provider.createResponse(writer, "rated");
+        ExampleTestWriterRatedResponse second = provider.createResponse(writer, "rated");
+
+        Assertions.assertThat(second).isNotSameAs(first);
+        Assertions.assertThat(first.getNovels().get(1).getRating()).isEqualTo(1010L);
+        Assertions.assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("При политике циклов вложенные ответы не кешируются, корневые кешируются")
+    public void nestedResponsesUnderCyclePolicyAreNotCached() {
+        var cache = new ResponseCache(10, Duration.ofMinutes(1));
+        var provider = createProvider(cache, CyclePolicy.NULL, null);
+        var writer = writer(1, "Tolstoy", "War and Peace");
+        var novel = writer.getNovels().get(0);
+
+        ExampleTestNovelResponse fromNovel = provider.createResponse(novel);
+
+        //
+        // Роман, с которого началась конверсия, отрезан в списке романов вложенного писателя
+        //
+        Assertions.assertThat(fromNovel.getWriter().getNovels()).containsExactly((ExampleTestNovelResponse) null);
+        Assertions.assertThat(cache.size()).isEqualTo(0);
+
+        ExampleTestWriterResponse fromWriter = provider.createResponse(writer);
+
+        Assertions.assertThat(fromWriter.getNovels()).extracting(ExampleTestNovelResponse::getTitle).containsExactly("War and Peace");
+        Assertions.assertThat(fromWriter.getNovels().get(0).getWriter()).isNull();
+        Assertions.assertThat((Object) provider.createResponse(writer)).isSameAs(fromWriter);
+        Assertions.assertThat(cache.size()).isEqualTo(1);
+    }
+
+    private ConversionProvider createProvider(ResponseCache cache, CyclePolicy policy, Object global) {
+        return new ConversationalTestConfiguration(context) {
+            @Override
+            public ResponseCache responseCache() {
+                return cache;
+            }
+
+            @Override
+            public CyclePolicy cyclePolicy() {
+                return policy;
+            }
+
+            @Override
+            public Object context() {
+                return global;
+            }
+        }.createProvider();
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.conversions.support.CaseUtil;
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+public class ConversionCaseTest {
+    @Test
+    @DisplayName("Snake case сохраняет существующие разделители")
+    public void snakeCaseKeepsSeparators() {
+        Assertions.assertThat(CaseUtil.toLowerSnakeCase("some_field")).isEqualTo("some_field");
+        Assertions.assertThat(CaseUtil.toLowerSnakeCase("some-field name")).isEqualTo("some_field_name");
+        Assertions.assertThat(CaseUtil.toLowerSnakeCase("some__field")).isEqualTo("some_field");
+    }
+
+    @Test
+    @DisplayName("Заглавная первая буква не выделяется в отдельное слово")
+    public void leadingCapitalIsNotSeparated() {
+        Assertions.assertThat(CaseUtil.toLowerSnakeCase("SomeField")).isEqualTo("some_field");
+        Assertions.assertThat(CaseUtil.toKebabCase("SomeField")).isEqualTo("some-field");
+        Assertions.assertThat(CaseUtil.toCamelCase("SomeField")).isEqualTo("someField");
+    }
+
+    @Test
+    @DisplayName("Аббревиатуры считаются одним словом")
+    public void acronymsAreOneWord() {
+        Assertions.assertThat(CaseUtil.toLowerSnakeCase("HTTPServer")).isEqualTo("http_server");
+        Assertions.assertThat(CaseUtil.toLowerSnakeCase("someHTTPServer")).isEqualTo("some_http_server");
+        Assertions.assertThat(CaseUtil.toLowerSnakeCase("someURL")).isEqualTo("some_url");
+        Assertions.assertThat(CaseUtil.toCamelCase("URLValue")).isEqualTo("urlValue");
+        Assertions.assertThat(CaseUtil.toPascalCase("URLValue")).isEqualTo("URLValue");
+    }
+
+    @Test
+    @DisplayName("Разделители в начале и в конце названия отбрасываются")
+    public void outerSeparatorsAreDropped() {
+        Assertions.assertThat(CaseUtil.toLowerSnakeCase("field_")).isEqualTo("field");
+        Assertions.assertThat(CaseUtil.toLowerSnakeCase("_field")).isEqualTo("field");
+        Assertions.assertThat(CaseUtil.toCamelCase("_some_field_")).isEqualTo("someField");
+    }
+
+    @Test
+    @DisplayName("Цифры завершают слово перед заглавной буквой")
+    public void digitsEndWord() {
+        Assertions.assertThat(CaseUtil.toLowerSnakeCase("field1Name")).isEqualTo("field1_name");
+        Assertions.assertThat(CaseUtil.toCamelCase("field_1_name")).isEqualTo("field1Name");
+    }
+
+    @Test
+    @DisplayName("Все стили написания")
+    public void allStyles() {
+        Assertions.assertThat(CaseUtil.toCamelCase("some_field_name")).isEqualTo("someFieldName");
+        Assertions.assertThat(CaseUtil.toUpperCase("some_field_name")).isEqualTo("someFieldName");
+        Assertions.assertThat(CaseUtil.toPascalCase("some_field_name")).isEqualTo("SomeFieldName");
+        Assertions.assertThat(CaseUtil.toLowerSnakeCase("someFieldName")).isEqualTo("some_field_name");
+        Assertions.assertThat(CaseUtil.toScreamingSnakeCase("someFieldName")).isEqualTo("SOME_FIELD_NAME");
+        Assertions.assertThat(CaseUtil.toKebabCase("someFieldName")).isEqualTo("some-field-name");
+    }
+
+    @Test
+    @DisplayName("Преобразуются названия не только на латинице")
+    public void nonLatinNames() {
+        Assertions.assertThat(CaseUtil.toLowerSnakeCase("названиеПоля")).isEqualTo("название_поля");
+        Assertions.assertThat(CaseUtil.toCamelCase("название_поля")).isEqualTo("названиеПоля");
+    }
+
+    @Test
+    @DisplayName("Пустое название")
+    public void emptyNames() {
+        Assertions.assertThat(CaseUtil.toCamelCase(null)).isEmpty();
+        Assertions.assertThat(CaseUtil.toLowerSnakeCase(" ")).isEmpty();
+    }
+}
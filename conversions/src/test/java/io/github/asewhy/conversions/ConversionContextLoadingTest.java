@@ -0,0 +1,125 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.conversions.config.ConversationalTestConfiguration;
+import io.github.asewhy.conversions.config.converters.graph.ExampleTestNovelContextualResponse;
+import io.github.asewhy.conversions.config.converters.graph.ExampleTestWriterContextualResponse;
+import io.github.asewhy.conversions.config.resolvers.ExampleTestNovelContextRecipient;
+import io.github.asewhy.conversions.config.resolvers.ExampleTestWriterContextRecipient;
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.github.asewhy.conversions.config.support.ExampleTestWriters.detach;
+import static io.github.asewhy.conversions.config.support.ExampleTestWriters.writer;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { ConversationalTestConfiguration.class })
+@SuppressWarnings("unchecked")
+public class ConversionContextLoadingTest {
+    @Autowired
+    protected ApplicationContext context;
+
+    @Test
+    @DisplayName("Получатель контекста вызывается один раз для всех сущностей вложенных коллекций")
+    public void nestedCollections() {
+        var writers = new ExampleTestWriterContextRecipient();
+        var novels = new ExampleTestNovelContextRecipient();
+        var provider = createProvider(writers, novels);
+        var from = new ArrayList<>(List.of(
+            detach(writer(1, "Tolstoy", "War and Peace", "Anna Karenina")),
+            detach(writer(2, "Chekhov", "The Steppe")),
+            detach(writer(3, "Gogol", "Dead Souls", "The Nose"))
+        ));
+
+        var result = (List<ExampleTestWriterContextualResponse>) provider.createResponseResolve(from, "contextual");
+
+        Assertions.assertThat(writers.getCalls()).containsExactly(List.of(1L, 2L, 3L));
+        Assertions.assertThat(novels.getCalls()).containsExactly(List.of(100L, 101L, 200L, 300L, 301L));
+
+        //
+        // Каждый ответ получает свою часть контекста, загруженного для его типа
+        //
+        Assertions.assertThat(result).extracting(ExampleTestWriterContextualResponse::getLabel).containsExactly("writer 1", "writer 2", "writer 3");
+        Assertions.assertThat(result.get(0).getNovels()).extracting(ExampleTestNovelContextualResponse::getLabel).containsExactly("novel 100", "novel 101");
+        Assertions.assertThat(result.get(2).getNovels()).extracting(ExampleTestNovelContextualResponse::getLabel).containsExactly("novel 300", "novel 301");
+    }
+
+    @Test
+    @DisplayName("Сущности коллекции с элементами разных типов группируются по получателям контекста")
+    public void heterogeneousCollection() {
+        var writers = new ExampleTestWriterContextRecipient();
+        var novels = new ExampleTestNovelContextRecipient();
+        var provider = createProvider(writers, novels);
+        var tolstoy = detach(writer(1, "Tolstoy", "War and Peace"));
+        var chekhov = detach(writer(2, "Chekhov", "The Steppe", "Ward No. 6"));
+        var from = new ArrayList<Object>(List.of(tolstoy, chekhov.getNovels().get(1), writer(3, "Gogol")));
+
+        var result = (List<?>) provider.createResponseResolve(from, "contextual");
+
+        Assertions.assertThat(writers.getCalls()).containsExactly(List.of(1L, 3L));
+        Assertions.assertThat(novels.getCalls()).containsExactly(List.of(100L, 201L));
+
+        Assertions.assertThat(result.get(0)).isInstanceOf(ExampleTestWriterContextualResponse.class);
+        Assertions.assertThat(((ExampleTestWriterContextualResponse) result.get(0)).getLabel()).isEqualTo("writer 1");
+        Assertions.assertThat(((ExampleTestWriterContextualResponse) result.get(0)).getNovels().get(0).getLabel()).isEqualTo("novel 100");
+        Assertions.assertThat(result.get(1)).isInstanceOf(ExampleTestNovelContextualResponse.class);
+        Assertions.assertThat(((ExampleTestNovelContextualResponse) result.get(1)).getLabel()).isEqualTo("novel 201");
+        Assertions.assertThat(((ExampleTestWriterContextualResponse) result.get(2)).getLabel()).isEqualTo("writer 3");
+    }
+
+    @Test
+    @DisplayName("Сущность, встречающаяся в дереве несколько раз, передается получателю контекста один раз")
+    public void repeatedEntity() {
+        var writers = new ExampleTestWriterContextRecipient();
+        var novels = new ExampleTestNovelContextRecipient();
+        var provider = createProvider(writers, novels);
+        var tolstoy = detach(writer(1, "Tolstoy", "War and Peace"));
+
+        var result = (List<ExampleTestWriterContextualResponse>) provider.createResponseResolve(new ArrayList<>(List.of(tolstoy, tolstoy)), "contextual");
+
+        Assertions.assertThat(writers.getCalls()).containsExactly(List.of(1L));
+        Assertions.assertThat(novels.getCalls()).containsExactly(List.of(100L));
+        Assertions.assertThat(result).extracting(ExampleTestWriterContextualResponse::getLabel).containsExactly("writer 1", "writer 1");
+    }
+
+    /**
+     * Создать поставщик с двухфазной загрузкой контекста, стор которого знает только переданных получателей контекста
+     *
+     * @param recipients получатели контекста
+     * @return поставщик конверсий
+     */
+    private ConversionProvider createProvider(Object... recipients) {
+        return new ConversationalTestConfiguration(context) {
+            @Override
+            public ConversionStore conversionStore() {
+                var store = super.conversionStore();
+
+                try(var beans = new GenericApplicationContext()) {
+                    for(var current: recipients) {
+                        beans.registerBean(current.getClass().getName(), Object.class, () -> current);
+                    }
+
+                    beans.refresh();
+
+                    store.loadContext(beans);
+                }
+
+                return store;
+            }
+
+            @Override
+            public Boolean isBatchContextLoading() {
+                return true;
+            }
+        }.createProvider();
+    }
+}
@@ -0,0 +1,137 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.conversions.config.ConversationalTestConfiguration;
+import io.github.asewhy.conversions.config.converters.graph.ExampleTestNovelResponse;
+import io.github.asewhy.conversions.config.converters.graph.ExampleTestWriterResponse;
+import io.github.asewhy.conversions.support.CyclePolicy;
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.github.asewhy.conversions.config.support.ExampleTestWriters.detach;
+import static io.github.asewhy.conversions.config.support.ExampleTestWriters.writer;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { ConversationalTestConfiguration.class })
+public class ConversionCycleTest {
+    @Autowired
+    protected ApplicationContext context;
+
+    @Test
+    @DisplayName("REFERENCE: ссылка на предка получает его экземпляр ответа")
+    public void referencePolicy() {
+        var provider = createProvider(CyclePolicy.REFERENCE, null);
+        var writer = writer(1, "Tolstoy", "War and Peace", "Anna Karenina");
+
+        ExampleTestWriterResponse result = provider.createResponse(writer);
+
+        Assertions.assertThat(result.getNovels()).hasSize(2);
+        Assertions.assertThat(result.getNovels()).allSatisfy(e -> Assertions.assertThat(e.getWriter()).isSameAs(result));
+    }
+
+    @Test
+    @DisplayName("NULL: ссылка на предка получает null")
+    public void nullPolicy() {
+        var provider = createProvider(CyclePolicy.NULL, null);
+        var writer = writer(1, "Tolstoy", "War and Peace", "Anna Karenina");
+
+        ExampleTestWriterResponse result = provider.createResponse(writer);
+
+        Assertions.assertThat(result.getNovels()).extracting(ExampleTestNovelResponse::getTitle).containsExactly("War and Peace", "Anna Karenina");
+        Assertions.assertThat(result.getNovels()).allSatisfy(e -> Assertions.assertThat(e.getWriter()).isNull());
+    }
+
+    @Test
+    @DisplayName("DEPTH: предок конвертируется заново, пока общая глубина пути меньше cycleDepth")
+    public void depthPolicy() {
+        var provider = createProvider(CyclePolicy.DEPTH, 3);
+        var writer = writer(1, "Tolstoy", "War and Peace");
+
+        ExampleTestWriterResponse result = provider.createResponse(writer);
+
+        //
+        // Писатель (глубина 1) -> роман (2) -> писатель заново (3) -> роман отрезан: глубина пути уже 3
+        //
+        var novel = result.getNovels().get(0);
+        var repeated = novel.getWriter();
+
+        Assertions.assertThat(repeated).isNotNull().isNotSameAs(result);
+        Assertions.assertThat(repeated.getName()).isEqualTo("Tolstoy");
+        Assertions.assertThat(repeated.getNovels()).containsExactly((ExampleTestNovelResponse) null);
+    }
+
+    @Test
+    @DisplayName("DEPTH: глубина считается по всему пути, а не по глубине цикла")
+    public void depthPolicyCountsWholePath() {
+        var provider = createProvider(CyclePolicy.DEPTH, 3);
+        var writer = writer(1, "Tolstoy", "War and Peace");
+
+        ExampleTestNovelResponse result = provider.createResponse(writer.getNovels().get(0));
+
+        //
+        // Роман (1) -> писатель (2) -> роман заново (3) -> писатель отрезан, хотя цикл писателя начался на глубине 2
+        //
+        var repeated = result.getWriter().getNovels().get(0);
+
+        Assertions.assertThat(repeated).isNotNull().isNotSameAs(result);
+        Assertions.assertThat(repeated.getWriter()).isNull();
+    }
+
+    @Test
+    @DisplayName("Повторные ссылки на одну сущность получают один экземпляр ответа")
+    public void sharedReferenceIsReused() {
+        var provider = createProvider(CyclePolicy.NULL, null);
+        var result = convertNovelsOfSharedWriter(provider);
+
+        Assertions.assertThat(result).hasSize(2);
+        Assertions.assertThat(result.get(0).getWriter()).isNotNull();
+        Assertions.assertThat(result.get(1).getWriter()).isSameAs(result.get(0).getWriter());
+    }
+
+    @Test
+    @DisplayName("Без политики циклов повторные ссылки конвертируются заново")
+    public void sharedReferenceWithoutPolicy() {
+        var provider = createProvider(null, null);
+        var result = convertNovelsOfSharedWriter(provider);
+
+        Assertions.assertThat(result.get(1).getWriter()).isNotSameAs(result.get(0).getWriter());
+    }
+
+    /**
+     * Конвертировать два романа, которые ссылаются на одного писателя без обратной ссылки
+     */
+    private static List<ExampleTestNovelResponse> convertNovelsOfSharedWriter(ConversionProvider provider) {
+        var writer = detach(writer(1, "Tolstoy", "War and Peace", "Anna Karenina"));
+        var novels = new ArrayList<>(writer.getNovels());
+
+        writer.getNovels().clear();
+
+        for(var current: novels) {
+            current.setWriter(writer);
+        }
+
+        return (List<ExampleTestNovelResponse>) provider.createResponseResolve(novels, ConversionUtils.COMMON_MAPPING);
+    }
+
+    private ConversionProvider createProvider(CyclePolicy policy, Integer depth) {
+        return new ConversationalTestConfiguration(context) {
+            @Override
+            public CyclePolicy cyclePolicy() {
+                return policy;
+            }
+
+            @Override
+            public Integer cycleDepth() {
+                return depth != null ? depth : super.cycleDepth();
+            }
+        }.createProvider();
+    }
+}
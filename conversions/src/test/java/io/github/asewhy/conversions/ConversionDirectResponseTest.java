@@ -0,0 +1,158 @@
+package io.github.asewhy.conversions;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.asewhy.conversions.config.ConversationalTestConfiguration;
+import io.github.asewhy.conversions.config.entities.book.ExampleTestAuthorEntity;
+import io.github.asewhy.conversions.config.entities.book.ExampleTestBookEntity;
+import io.github.asewhy.conversions.config.entities.book.ExampleTestPointEntity;
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { ConversationalTestConfiguration.class })
+public class ConversionDirectResponseTest {
+    @Autowired
+    protected ApplicationContext context;
+
+    @Test
+    @DisplayName("Прямая запись вложенных ответов и коллекций с null элементами совпадает с сериализацией конвертированных ответов")
+    public void nestedResponses() throws JsonProcessingException {
+        var provider = createProvider(false);
+        var books = new ArrayList<>(Arrays.asList(sample(), null, book("empty")));
+        var json = assertSameJson(provider, books, ConversionUtils.COMMON_MAPPING);
+
+        Assertions.assertThat(json)
+            .startsWith("[{\"name\":\"first\"")
+            .contains("\"location\":{\"x\":1,\"y\":2}")
+            .contains("\"location\":null")
+            .contains("},null,{\"name\":\"empty\"");
+    }
+
+    @Test
+    @DisplayName("Прямая запись пропускает null поля так же, как сериализация с NON_NULL")
+    public void nonNullInclusion() throws JsonProcessingException {
+        var provider = createProvider(true);
+        var json = assertSameJson(provider, sample(), ConversionUtils.COMMON_MAPPING);
+
+        Assertions.assertThat(json)
+            .contains("\"location\":{\"x\":1,\"y\":2}")
+            .doesNotContain("null");
+    }
+
+    @Test
+    @DisplayName("Поля, не заполняемые конверсией, записываются со значениями по умолчанию")
+    public void defaultedFields() throws JsonProcessingException {
+        var json = assertSameJson(createProvider(false), sample(), "edition");
+
+        Assertions.assertThat(json).contains("\"format\":\"paper\",\"printing\":1,\"note\":null");
+
+        var nonNull = assertSameJson(createProvider(true), sample(), "edition");
+
+        Assertions.assertThat(nonNull).contains("\"format\":\"paper\",\"printing\":1,\"authors\"");
+    }
+
+    @Test
+    @DisplayName("Вложенные ответы с fillInternal конвертируются и сериализуются обычным образом")
+    public void fillInternalFallback() throws JsonProcessingException {
+        var json = assertSameJson(createProvider(false), sample(), "edition");
+
+        Assertions.assertThat(json)
+            .contains("\"signature\":\"signed by author 1\"")
+            .contains("\"location\":{\"x\":1,\"y\":2}");
+    }
+
+    @Test
+    @DisplayName("Ответы с аннотациями jackson конвертируются и сериализуются обычным образом")
+    public void jacksonAnnotatedFallback() throws JsonProcessingException {
+        var json = assertSameJson(createProvider(false), sample(), "labeled");
+
+        Assertions.assertThat(json)
+            .contains("\"title\":\"first\"")
+            .contains("\"name\":\"author 2\"")
+            .doesNotContain("isbin");
+    }
+
+    /**
+     * Записать value напрямую и через конверсию и проверить, что результаты совпадают
+     *
+     * @return json ответа
+     */
+    private static String assertSameJson(ConversionProvider provider, Object value, String mapping) throws JsonProcessingException {
+        var objectMapper = provider.getConfig().getObjectMapper();
+        var writer = provider.getJsonWriter();
+
+        Assertions.assertThat(provider.getConfig().getConfig().isDirectSerialization()).isTrue();
+        Assertions.assertThat(writer.isApplicable(value)).isTrue();
+
+        var direct = objectMapper.writeValueAsString(new DirectResponse(writer, value, mapping, null));
+        var converted = objectMapper.writeValueAsString(provider.createResponseResolve(value, mapping));
+
+        Assertions.assertThat(direct).isEqualTo(converted);
+
+        return direct;
+    }
+
+    private ConversionProvider createProvider(boolean nonNull) {
+        return new ConversationalTestConfiguration(context) {
+            @Override
+            public ObjectMapper objectMapper() {
+                var objectMapper = new ObjectMapper();
+
+                if(nonNull) {
+                    objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+                }
+
+                return objectMapper;
+            }
+
+            @Override
+            public Boolean isDirectSerialization() {
+                return true;
+            }
+        }.createProvider();
+    }
+
+    private static ExampleTestBookEntity sample() {
+        var located = author("author 1");
+        var location = new ExampleTestPointEntity();
+
+        location.setX(1L);
+        location.setY(2L);
+        located.setLocation(location);
+
+        var book = book("first");
+
+        book.setIsbin("978-3-16-148410-0");
+        book.setPageCount(100L);
+        book.setAuthors(new ArrayList<>(Arrays.asList(located, null, author("author 2"))));
+
+        return book;
+    }
+
+    private static ExampleTestBookEntity book(String name) {
+        var book = new ExampleTestBookEntity();
+
+        book.setName(name);
+
+        return book;
+    }
+
+    private static ExampleTestAuthorEntity author(String name) {
+        var author = new ExampleTestAuthorEntity();
+
+        author.setName(name);
+
+        return author;
+    }
+}
@@ -0,0 +1,88 @@
+package io.github.asewhy.conversions;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+public class ConversionFieldSelectionTest {
+    @Test
+    @DisplayName("Пустое выражение выбирает все поля")
+    public void emptyExpression() {
+        Assertions.assertThat(FieldSelection.parse(null)).isNull();
+        Assertions.assertThat(FieldSelection.parse("")).isNull();
+        Assertions.assertThat(FieldSelection.parse("  ")).isNull();
+    }
+
+    @Test
+    @DisplayName("Пути через точку выбирают поля вложенных ответов")
+    public void dottedPaths() {
+        var selection = FieldSelection.parse("title,author.name");
+
+        Assertions.assertThat(selection).isNotNull();
+        Assertions.assertThat(selection.getFields()).containsOnlyKeys("title", "author");
+        Assertions.assertThat(selection.get("title")).isNull();
+        Assertions.assertThat(selection.get("author").getFields()).containsOnlyKeys("name");
+        Assertions.assertThat(selection.isSelected("id")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Поля в скобках равнозначны путям через точку")
+    public void groupedPaths() {
+        var grouped = FieldSelection.parse("author(id,name.first)");
+        var dotted = FieldSelection.parse("author.id,author.name.first");
+
+        for(var selection: new FieldSelection[] { grouped, dotted }) {
+            var author = selection.get("author");
+
+            Assertions.assertThat(author.getFields()).containsOnlyKeys("id", "name");
+            Assertions.assertThat(author.get("id")).isNull();
+            Assertions.assertThat(author.get("name").getFields()).containsOnlyKeys("first");
+        }
+    }
+
+    @Test
+    @DisplayName("Поле, выбранное целиком, поглощает выборку вложенных полей")
+    public void wholeFieldWins() {
+        Assertions.assertThat(FieldSelection.parse("author,author.id").get("author")).isNull();
+        Assertions.assertThat(FieldSelection.parse("author(id),author").get("author")).isNull();
+        Assertions.assertThat(FieldSelection.parse("author.id,author.name").get("author").getFields()).containsOnlyKeys("id", "name");
+    }
+
+    @Test
+    @DisplayName("Пробелы вокруг названий и разделителей пропускаются")
+    public void whitespace() {
+        var selection = FieldSelection.parse(" title , author ( id , name ) ");
+
+        Assertions.assertThat(selection.getFields()).containsOnlyKeys("title", "author");
+        Assertions.assertThat(selection.get("author").getFields()).containsOnlyKeys("id", "name");
+    }
+
+    @Test
+    @DisplayName("Некорректное выражение приводит к ошибке с позицией")
+    public void invalidExpressions() {
+        for(var expression: new String[] { ",title", "title,", "title..name", "author(id", "author)", "author()", "a b" }) {
+            Assertions.assertThatThrownBy(() -> FieldSelection.parse(expression))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at position");
+        }
+    }
+
+    @Test
+    @DisplayName("Выборка привязывается к потоку на время действия")
+    public void applyRestoresPrevious() {
+        var outer = FieldSelection.parse("title");
+        var inner = FieldSelection.parse("author");
+
+        FieldSelection.apply(outer, () -> {
+            Assertions.assertThat(FieldSelection.current()).isSameAs(outer);
+
+            Assertions.assertThat(FieldSelection.apply(inner, FieldSelection::current)).isSameAs(inner);
+            Assertions.assertThat(FieldSelection.apply(null, FieldSelection::current)).isNull();
+            Assertions.assertThat(FieldSelection.current()).isSameAs(outer);
+
+            return null;
+        });
+
+        Assertions.assertThat(FieldSelection.current()).isNull();
+    }
+}
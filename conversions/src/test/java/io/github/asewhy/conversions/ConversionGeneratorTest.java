@@ -0,0 +1,103 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.conversions.support.Bound;
+import io.github.asewhy.conversions.support.BoundedAccessible;
+import io.github.asewhy.conversions.support.ConverterGenerator;
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+public class ConversionGeneratorTest {
+    @Test
+    @DisplayName("Сгенерированный конвертер копирует простые поля")
+    public void generatedConverterCopiesFields() throws NoSuchMethodException {
+        var converter = ConverterGenerator.generate(
+            Target.class,
+            new Bound[] { getter("getName"), getter("getCount") },
+            new Bound[] { setter("setName", String.class), setter("setCount", int.class) }
+        );
+
+        Assertions.assertThat(converter).isNotNull();
+
+        var source = new Source();
+        var target = new Target();
+
+        converter.copyAll(source, target);
+
+        Assertions.assertThat(target.getName()).isEqualTo("name");
+        Assertions.assertThat(target.getCount()).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("Исключение геттера в сгенерированном конвертере пробрасывается, а геттер вызывается один раз")
+    public void generatedConverterPropagatesOnce() throws NoSuchMethodException {
+        var converter = ConverterGenerator.generate(
+            Target.class,
+            new Bound[] { getter("getName"), getter("getFailing") },
+            new Bound[] { setter("setName", String.class), setter("setFailing", String.class) }
+        );
+
+        Assertions.assertThat(converter).isNotNull();
+
+        var source = new Source();
+        var target = new Target();
+
+        Assertions.assertThatThrownBy(() -> converter.copyAll(source, target)).isInstanceOf(IllegalStateException.class);
+        Assertions.assertThat(source.getFailingCalls()).isEqualTo(1);
+        Assertions.assertThat(target.getName()).isEqualTo("name");
+    }
+
+    private static Bound getter(String name) throws NoSuchMethodException {
+        return new BoundedAccessible(null, Source.class.getMethod(name), null);
+    }
+
+    private static Bound setter(String name, Class<?> type) throws NoSuchMethodException {
+        return new BoundedAccessible(null, null, Target.class.getMethod(name, type));
+    }
+
+    public static class Source {
+        private int failingCalls;
+
+        public String getName() {
+            return "name";
+        }
+
+        public int getCount() {
+            return 42;
+        }
+
+        public String getFailing() {
+            failingCalls++;
+            throw new IllegalStateException("getter");
+        }
+
+        public int getFailingCalls() {
+            return failingCalls;
+        }
+    }
+
+    public static class Target {
+        private String name;
+        private int count;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public void setFailing(String failing) {
+            // Значение не сохраняется
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.conversions.config.ConversationalTestConfiguration;
+import io.github.asewhy.conversions.config.converters.shop.ExampleTestCustomerOrdersResponse;
+import io.github.asewhy.conversions.config.converters.shop.ExampleTestOrderAuditResponse;
+import io.github.asewhy.conversions.config.converters.shop.ExampleTestOrderResponse;
+import io.github.asewhy.conversions.config.entities.shop.ExampleTestCustomerEntity;
+import io.github.asewhy.conversions.config.entities.shop.ExampleTestOrderEntity;
+import io.github.asewhy.conversions.config.entities.shop.ExampleTestOrderLineEntity;
+import io.github.asewhy.conversions.config.entities.shop.ExampleTestOrderNoteEntity;
+import io.github.asewhy.conversions.config.entities.shop.ExampleTestOrderTagEntity;
+import io.github.asewhy.conversions.hibernate.HibernateLazyLoadingHandler;
+import io.github.asewhy.conversions.jpa.ResponseGraphFactory;
+import io.github.asewhy.conversions.support.LazyLoadingHandler;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.loader.MultipleBagFetchException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManager;
+import java.util.Collection;
+import java.util.function.Function;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { ConversationalTestConfiguration.class })
+public class ConversionGraphTest {
+    private static final int CUSTOMERS = 3;
+    private static final int CHILDREN = 2;
+
+    private static SessionFactory sessionFactory;
+
+    @Autowired
+    protected ConversionProvider provider;
+    @Autowired
+    protected ApplicationContext context;
+
+    @BeforeClass
+    public static void createDatabase() {
+        sessionFactory = new Configuration()
+            .addAnnotatedClass(ExampleTestCustomerEntity.class)
+            .addAnnotatedClass(ExampleTestOrderEntity.class)
+            .addAnnotatedClass(ExampleTestOrderLineEntity.class)
+            .addAnnotatedClass(ExampleTestOrderNoteEntity.class)
+            .addAnnotatedClass(ExampleTestOrderTagEntity.class)
+            .setProperty(AvailableSettings.DRIVER, "org.h2.Driver")
+            .setProperty(AvailableSettings.URL, "jdbc:h2:mem:conversions;DB_CLOSE_DELAY=-1")
+            .setProperty(AvailableSettings.USER, "sa")
+            .setProperty(AvailableSettings.DIALECT, "org.hibernate.dialect.H2Dialect")
+            .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+            .setProperty(AvailableSettings.GENERATE_STATISTICS, "true")
+        .buildSessionFactory();
+
+        var entityManager = sessionFactory.createEntityManager();
+        var id = 0L;
+
+        entityManager.getTransaction().begin();
+
+        for(var i = 0; i < CUSTOMERS; i++) {
+            var customer = new ExampleTestCustomerEntity();
+            var order = new ExampleTestOrderEntity();
+
+            customer.setId(++id);
+            customer.setName("customer " + i);
+            order.setId(++id);
+            order.setCode("order " + i);
+            order.setCustomer(customer);
+
+            entityManager.persist(customer);
+            entityManager.persist(order);
+
+            for(var j = 0; j < CHILDREN; j++) {
+                var line = new ExampleTestOrderLineEntity();
+                var note = new ExampleTestOrderNoteEntity();
+                var tag = new ExampleTestOrderTagEntity();
+
+                line.setId(++id);
+                line.setProduct("product " + j);
+                line.setOrder(order);
+                note.setId(++id);
+                note.setContent("note " + j);
+                note.setOrder(order);
+                tag.setId(++id);
+                tag.setName("tag " + j);
+                tag.setOrder(order);
+
+                entityManager.persist(line);
+                entityManager.persist(note);
+                entityManager.persist(tag);
+            }
+        }
+
+        entityManager.getTransaction().commit();
+        entityManager.close();
+    }
+
+    @AfterClass
+    public static void dropDatabase() {
+        sessionFactory.close();
+    }
+
+    @Test
+    @DisplayName("Без графа сущности конверсия загружает связи отдельными запросами")
+    public void conversionWithoutGraph() {
+        var statements = count(entityManager -> {
+            var orders = entityManager.createQuery("select o from ExampleTestOrderEntity o", ExampleTestOrderEntity.class).getResultList();
+
+            return assertOrders(provider.createResponseResolve(orders, ConversionUtils.COMMON_MAPPING));
+        });
+
+        //
+        // Запрос заказов, запрос покупателя и запрос строк для каждого заказа
+        //
+        Assertions.assertThat(statements).isEqualTo(1 + 2 * CUSTOMERS);
+    }
+
+    @Test
+    @DisplayName("Граф сущности загружает всё, что читает ответ, одним запросом")
+    public void conversionWithEntityGraph() {
+        var statements = count(entityManager -> {
+            var factory = new ResponseGraphFactory(entityManager, provider);
+            var orders = entityManager.createQuery("select distinct o from ExampleTestOrderEntity o", ExampleTestOrderEntity.class)
+                .setHint("javax.persistence.fetchgraph", factory.createEntityGraph(ExampleTestOrderResponse.class))
+            .getResultList();
+
+            return assertOrders(provider.createResponseResolve(orders, ConversionUtils.COMMON_MAPPING));
+        });
+
+        Assertions.assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Запрос с fetch join загружает всё, что читает ответ, одним запросом")
+    public void conversionWithFetchQuery() {
+        var statements = count(entityManager -> {
+            var factory = new ResponseGraphFactory(entityManager, provider);
+            var query = factory.createFetchQuery(ExampleTestOrderEntity.class, ConversionUtils.COMMON_MAPPING);
+
+            Assertions.assertThat(query).isEqualTo(
+                "select distinct e from ExampleTestOrderEntity e left join fetch e.customer j0 left join fetch e.lines j1"
+            );
+
+            var orders = entityManager.createQuery(query, ExampleTestOrderEntity.class).getResultList();
+
+            return assertOrders(provider.createResponseResolve(orders, ConversionUtils.COMMON_MAPPING));
+        });
+
+        Assertions.assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Две коллекции типа List нельзя загрузить одним запросом с fetch join")
+    public void fetchQueryWithTwoBags() {
+        count(entityManager -> {
+            var factory = new ResponseGraphFactory(entityManager, provider);
+            var query = factory.createFetchQuery(ExampleTestOrderEntity.class, "notes");
+
+            Assertions.assertThatThrownBy(() -> entityManager.createQuery(query, ExampleTestOrderEntity.class).getResultList())
+                .hasRootCauseInstanceOf(MultipleBagFetchException.class);
+
+            return null;
+        });
+    }
+
+    @Test
+    @DisplayName("Вложенные коллекции типа Set загружаются одним запросом с fetch join")
+    public void fetchQueryWithSets() {
+        var statements = count(entityManager -> {
+            var factory = new ResponseGraphFactory(entityManager, provider);
+            var query = factory.createFetchQuery(ExampleTestCustomerEntity.class, "orders");
+
+            Assertions.assertThat(query).isEqualTo(
+                "select distinct e from ExampleTestCustomerEntity e left join fetch e.orders j0 left join fetch j0.tags j1"
+            );
+
+            var customers = entityManager.createQuery(query, ExampleTestCustomerEntity.class).getResultList();
+            var result = (Collection<?>) provider.createResponseResolve(customers, "orders");
+
+            Assertions.assertThat(result).hasSize(CUSTOMERS);
+
+            for(var current: result) {
+                var customer = (ExampleTestCustomerOrdersResponse) current;
+
+                Assertions.assertThat(customer.getOrders()).hasSize(1);
+                Assertions.assertThat(customer.getOrders().iterator().next().getTags()).hasSize(CHILDREN);
+            }
+
+            return null;
+        });
+
+        Assertions.assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Обработчик ленивых связей загружает одну связь всех элементов коллекции одним запросом")
+    public void conversionWithLazyLoadingHandler() {
+        var statements = count(entityManager -> {
+            var orders = entityManager.createQuery("select o from ExampleTestOrderEntity o", ExampleTestOrderEntity.class).getResultList();
+
+            return assertOrders(createProvider(entityManager).createResponseResolve(orders, ConversionUtils.COMMON_MAPPING));
+        });
+
+        //
+        // Запрос заказов, запрос покупателей по идентификаторам и запрос строк всех заказов
+        //
+        Assertions.assertThat(statements).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Сущность, повторно встреченная с другим маппингом, обходится обработчиком ленивых связей еще раз")
+    public void conversionWithLazyLoadingHandlerVisitsMappings() {
+        var statements = count(entityManager -> {
+            var orders = entityManager.createQuery("select o from ExampleTestOrderEntity o", ExampleTestOrderEntity.class).getResultList();
+            var result = (Collection<?>) createProvider(entityManager).createResponseResolve(orders, "audit");
+
+            Assertions.assertThat(result).hasSize(CUSTOMERS);
+
+            for(var current: result) {
+                var order = (ExampleTestOrderAuditResponse) current;
+
+                Assertions.assertThat(order.getLines()).hasSize(CHILDREN);
+                Assertions.assertThat(order.getCustomer().getOrders()).hasSize(1);
+                Assertions.assertThat(order.getCustomer().getOrders().iterator().next().getTags()).hasSize(CHILDREN);
+            }
+
+            return result;
+        });
+
+        //
+        // Запрос заказов, покупатели, строки заказов, заказы покупателей и теги тех же заказов, встреченных второй раз
+        // с маппингом tags
+        //
+        Assertions.assertThat(statements).isEqualTo(5);
+    }
+
+    private ConversionProvider createProvider(EntityManager entityManager) {
+        return new ConversationalTestConfiguration(context) {
+            @Override
+            public LazyLoadingHandler lazyLoadingHandler() {
+                return new HibernateLazyLoadingHandler(entityManager);
+            }
+        }.createProvider();
+    }
+
+    private static Object assertOrders(Object converted) {
+        var result = (Collection<?>) converted;
+
+        Assertions.assertThat(result).hasSize(CUSTOMERS);
+
+        for(var current: result) {
+            var order = (ExampleTestOrderResponse) current;
+
+            Assertions.assertThat(order.getCustomer().getName()).startsWith("customer");
+            Assertions.assertThat(order.getLines()).hasSize(CHILDREN);
+        }
+
+        return result;
+    }
+
+    /**
+     * Выполнить действие в новом менеджере сущностей и посчитать подготовленные им запросы
+     */
+    private static long count(Function<EntityManager, Object> action) {
+        var entityManager = sessionFactory.createEntityManager();
+        var statistics = sessionFactory.getStatistics();
+
+        entityManager.getTransaction().begin();
+
+        try {
+            statistics.clear();
+
+            action.apply(entityManager);
+
+            return statistics.getPrepareStatementCount();
+        } finally {
+            entityManager.getTransaction().rollback();
+            entityManager.close();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.conversions.config.ConversationalTestConfiguration;
+import io.github.asewhy.conversions.config.converters.book.ExampleTestMutatorRequest;
+import io.github.asewhy.conversions.config.entities.book.ExampleTestAuthorEntity;
+import io.github.asewhy.conversions.config.entities.book.ExampleTestBookEntity;
+import io.github.asewhy.conversions.config.entities.book.ExampleTestPointEntity;
+import io.github.asewhy.conversions.config.entities.shop.ExampleTestOrderEntity;
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.SpringProperties;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { ConversationalTestConfiguration.class })
+public class ConversionIndexTest {
+    private static final String BOOK = "io.github.asewhy.conversions.config.converters.book";
+    private static final String SHOP = "io.github.asewhy.conversions.config.converters.shop";
+
+    @Autowired
+    protected ApplicationContext context;
+
+    @Test
+    @DisplayName("Пакет, присутствующий в индексе, регистрируется только по индексу без сканирования")
+    public void indexFirst() throws Exception {
+        var store = new ConversionStore(context);
+
+        try(var loader = createLoader()) {
+            store.from(BOOK, loader);
+        }
+
+        Assertions.assertThat(store.isPresentResponse(ExampleTestBookEntity.class)).isTrue();
+        Assertions.assertThat(store.isPresentResponse(ExampleTestAuthorEntity.class)).isTrue();
+
+        //
+        // Этих компонентов нет в индексе, при сканировании они были бы найдены
+        //
+        Assertions.assertThat(store.isPresentResponse(ExampleTestPointEntity.class)).isFalse();
+        Assertions.assertThat(store.isPresentMutator(ExampleTestMutatorRequest.class)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Пакет, отсутствующий в индексе, регистрируется сканированием")
+    public void scanFallback() throws Exception {
+        var store = new ConversionStore(context);
+
+        try(var loader = createLoader()) {
+            store.from(SHOP, loader);
+        }
+
+        Assertions.assertThat(store.isPresentResponse(ExampleTestOrderEntity.class)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Устаревшая запись индекса пропускается, остальные записи регистрируются")
+    public void staleEntry() throws Exception {
+        var store = new ConversionStore(context);
+
+        try(var loader = createLoader()) {
+            Assertions.assertThatCode(() -> store.from(BOOK, loader)).doesNotThrowAnyException();
+        }
+
+        Assertions.assertThat(store.isPresentResponse(ExampleTestBookEntity.class)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Свойство conversions.index.ignore отключает индекс и включает сканирование")
+    public void ignoreIndex() throws Exception {
+        var store = new ConversionStore(context);
+
+        SpringProperties.setFlag(ConversionStore.IGNORE_INDEX_PROPERTY);
+
+        try(var loader = createLoader()) {
+            store.from(BOOK, loader);
+        } finally {
+            SpringProperties.setProperty(ConversionStore.IGNORE_INDEX_PROPERTY, null);
+        }
+
+        Assertions.assertThat(store.isPresentResponse(ExampleTestBookEntity.class)).isTrue();
+        Assertions.assertThat(store.isPresentResponse(ExampleTestPointEntity.class)).isTrue();
+        Assertions.assertThat(store.isPresentMutator(ExampleTestMutatorRequest.class)).isTrue();
+    }
+
+    /**
+     * Создать загрузчик классов, которому виден тестовый индекс компонентов
+     *
+     * @return загрузчик классов с каталогом index в пути поиска ресурсов
+     */
+    private URLClassLoader createLoader() {
+        return new URLClassLoader(new URL[] { getClass().getResource("/index/") }, getClass().getClassLoader());
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.asewhy.conversions;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.github.asewhy.conversions.config.ConversationalTestConfiguration;
+import io.github.asewhy.conversions.config.converters.library.ExampleTestLibraryMutator;
+import io.github.asewhy.conversions.config.entities.library.ExampleTestLibraryEntity;
+import io.github.asewhy.conversions.config.entities.library.ExampleTestShelfEntity;
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { ConversationalTestConfiguration.class })
+public class ConversionMergeTest {
+    @Autowired
+    protected ConversionProvider provider;
+
+    @Test
+    @DisplayName("Список получает порядок элементов запроса, сопоставленные элементы обновляются на месте")
+    public void mergeKeepsRequestOrder() throws JsonProcessingException {
+        var first = new ExampleTestShelfEntity(1L, "first");
+        var second = new ExampleTestShelfEntity(2L, "second");
+        var third = new ExampleTestShelfEntity(3L, "third");
+        var library = library(first, second, third);
+        var shelves = library.getShelves();
+
+        fill(library, "[{\"id\":3,\"name\":\"third updated\"},{\"id\":1,\"name\":\"first updated\"},{\"name\":\"new\"}]");
+
+        Assertions.assertThat(library.getShelves()).isSameAs(shelves);
+        Assertions.assertThat(library.getShelves()).hasSize(3);
+        Assertions.assertThat(library.getShelves().get(0)).isSameAs(third);
+        Assertions.assertThat(library.getShelves().get(1)).isSameAs(first);
+        Assertions.assertThat(library.getShelves().get(2).getName()).isEqualTo("new");
+        Assertions.assertThat(third.getName()).isEqualTo("third updated");
+        Assertions.assertThat(first.getName()).isEqualTo("first updated");
+        Assertions.assertThat(library.getShelves()).doesNotContain(second);
+    }
+
+    @Test
+    @DisplayName("Список без изменений состава и порядка не пересобирается")
+    public void mergeWithoutStructureChanges() throws JsonProcessingException {
+        var first = new ExampleTestShelfEntity(1L, "first");
+        var second = new ExampleTestShelfEntity(2L, "second");
+        var library = library(first, second);
+
+        fill(library, "[{\"id\":1,\"name\":\"first updated\"},{\"id\":2,\"name\":\"second updated\"}]");
+
+        Assertions.assertThat(library.getShelves()).containsExactly(first, second);
+        Assertions.assertThat(first.getName()).isEqualTo("first updated");
+        Assertions.assertThat(second.getName()).isEqualTo("second updated");
+    }
+
+    @Test
+    @DisplayName("Повторяющиеся идентификаторы элементов сущности не приводят к ошибке")
+    public void mergeDuplicateTargetIds() throws JsonProcessingException {
+        var first = new ExampleTestShelfEntity(1L, "first");
+        var duplicate = new ExampleTestShelfEntity(1L, "duplicate");
+        var library = library(first, duplicate);
+
+        fill(library, "[{\"id\":1,\"name\":\"updated\"}]");
+
+        Assertions.assertThat(library.getShelves()).containsExactly(first);
+        Assertions.assertThat(first.getName()).isEqualTo("updated");
+    }
+
+    @Test
+    @DisplayName("Мутатору с повторяющимся идентификатором сопоставляется новый элемент")
+    public void mergeDuplicateMutatorIds() throws JsonProcessingException {
+        var first = new ExampleTestShelfEntity(1L, "first");
+        var library = library(first);
+
+        fill(library, "[{\"id\":1,\"name\":\"updated\"},{\"id\":1,\"name\":\"copy\"}]");
+
+        Assertions.assertThat(library.getShelves()).hasSize(2);
+        Assertions.assertThat(library.getShelves().get(0)).isSameAs(first);
+        Assertions.assertThat(library.getShelves().get(1)).isNotSameAs(first);
+        Assertions.assertThat(first.getName()).isEqualTo("updated");
+        Assertions.assertThat(library.getShelves().get(1).getName()).isEqualTo("copy");
+    }
+
+    private void fill(ExampleTestLibraryEntity library, String shelves) throws JsonProcessingException {
+        var tree = provider.getConfig().getObjectMapper().readTree("{\"shelves\":" + shelves + "}");
+        var mutator = (ExampleTestLibraryMutator) provider.createRequestResolve(tree, ExampleTestLibraryMutator.class, null);
+
+        mutator.fill(library);
+    }
+
+    private static ExampleTestLibraryEntity library(ExampleTestShelfEntity... shelves) {
+        var library = new ExampleTestLibraryEntity();
+
+        library.setShelves(new ArrayList<>(List.of(shelves)));
+
+        return library;
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.conversions.config.ConversationalTestConfiguration;
+import io.github.asewhy.conversions.config.converters.book.ExampleTestAuthorResponse;
+import io.github.asewhy.conversions.config.converters.book.ExampleTestAuthorTracedResponse;
+import io.github.asewhy.conversions.config.entities.book.ExampleTestAuthorEntity;
+import io.github.asewhy.conversions.config.support.ExampleTestTrace;
+import org.assertj.core.api.Assertions;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { ConversationalTestConfiguration.class })
+public class ConversionParallelTest {
+    private static final String TRACED = "traced";
+    private static final int SIZE = 500;
+
+    private static ExecutorService pool;
+
+    @Autowired
+    protected ApplicationContext context;
+
+    @BeforeClass
+    public static void createPool() {
+        pool = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterClass
+    public static void shutdownPool() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Параллельная конверсия сохраняет порядок элементов")
+    public void preservesOrder() {
+        var submitted = new AtomicInteger();
+        var provider = createProvider(task -> {
+            submitted.incrementAndGet();
+            pool.execute(task);
+        });
+        var trace = new ExampleTestTrace();
+        var result = (Collection<?>) provider.createResponseResolve(authors(SIZE), TRACED, trace);
+
+        Assertions.assertThat(result)
+            .hasSize(SIZE)
+            .extracting(e -> ((ExampleTestAuthorTracedResponse) e).getName())
+            .containsExactlyElementsOf(names(SIZE));
+        Assertions.assertThat(submitted.get()).isPositive();
+        Assertions.assertThat(trace.getVisited()).isEqualTo(SIZE);
+        Assertions.assertThat(trace.getThreads()).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("Ошибка конверсии элемента в другом потоке пробрасывается вызывающему без обертки")
+    public void propagatesFailure() {
+        var provider = createProvider(pool);
+        var trace = new ExampleTestTrace("author " + (SIZE - 1));
+
+        Assertions.assertThatThrownBy(() -> provider.createResponseResolve(authors(SIZE), TRACED, trace))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Failed on author " + (SIZE - 1));
+    }
+
+    @Test
+    @DisplayName("Порог параллельной конверсии задается для маппинга и размера коллекции")
+    public void thresholdPerMapping() {
+        var submitted = new AtomicInteger();
+        var provider = createProvider(task -> {
+            submitted.incrementAndGet();
+            task.run();
+        });
+
+        var common = (Collection<?>) provider.createResponseResolve(authors(SIZE), ConversionUtils.COMMON_MAPPING);
+
+        Assertions.assertThat(common).hasSize(SIZE).allMatch(e -> e instanceof ExampleTestAuthorResponse);
+        Assertions.assertThat(submitted.get()).isEqualTo(0);
+
+        provider.createResponseResolve(authors(1), TRACED, new ExampleTestTrace());
+
+        Assertions.assertThat(submitted.get()).isEqualTo(0);
+
+        provider.createResponseResolve(authors(SIZE), TRACED, new ExampleTestTrace());
+
+        Assertions.assertThat(submitted.get()).isPositive();
+    }
+
+    @Test
+    @DisplayName("После ошибки оставшиеся части коллекции не конвертируются")
+    public void cancelsRemainingChunks() {
+        //
+        // Части, отправленные исполнителю, запускаются только после ошибки в части текущего потока
+        //
+        var deferred = new ArrayList<Runnable>();
+        var provider = createProvider(deferred::add);
+        var trace = new ExampleTestTrace("author 0");
+
+        Assertions.assertThatThrownBy(() -> provider.createResponseResolve(authors(SIZE), TRACED, trace))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Failed on author 0");
+        Assertions.assertThat(deferred).isNotEmpty();
+
+        deferred.forEach(Runnable::run);
+
+        Assertions.assertThat(trace.getVisited()).isEqualTo(1);
+    }
+
+    private ConversionProvider createProvider(Executor executor) {
+        return new ConversationalTestConfiguration(context) {
+            @Override
+            public Integer parallelThreshold(String mapping) {
+                return TRACED.equals(mapping) ? 2 : null;
+            }
+
+            @Override
+            public Executor conversionExecutor() {
+                return executor;
+            }
+        }.createProvider();
+    }
+
+    private static List<ExampleTestAuthorEntity> authors(int size) {
+        return names(size).stream().map(name -> {
+            var author = new ExampleTestAuthorEntity();
+
+            author.setName(name);
+
+            return author;
+        }).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private static List<String> names(int size) {
+        var result = new ArrayList<String>();
+
+        for(var i = 0; i < size; i++) {
+            result.add("author " + i);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,170 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.conversions.config.ConversationalTestConfiguration;
+import io.github.asewhy.conversions.config.converters.book.ExampleTestMutatorRequest;
+import io.github.asewhy.conversions.config.entities.book.ExampleTestAuthorEntity;
+import io.github.asewhy.conversions.config.entities.book.ExampleTestBookEntity;
+import io.github.asewhy.conversions.reactive.ReactiveResponseHandler;
+import io.github.asewhy.conversions.support.annotations.ConvertMutator;
+import io.github.asewhy.conversions.support.annotations.ConvertResponse;
+import io.github.asewhy.conversions.support.annotations.ShiftController;
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.HandlerResultHandler;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.reactive.result.method.annotation.ResponseBodyResultHandler;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { ConversionReactiveTest.ReactiveTestConfiguration.class }, properties = "spring.main.web-application-type=reactive")
+public class ConversionReactiveTest {
+    @Autowired
+    protected ApplicationContext context;
+
+    private WebTestClient client;
+
+    @Before
+    public void setUp() {
+        client = WebTestClient.bindToApplicationContext(context).build();
+    }
+
+    @Test
+    @DisplayName("Значение Mono контроллера ShiftController конвертируется в ответ")
+    public void mono() {
+        client.get().uri("/reactive/author")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+                .jsonPath("$.name").isEqualTo("author 0")
+                .jsonPath("$.signature").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Элементы Flux конвертируются по одному и записываются JSON массивом")
+    public void flux() {
+        client.get().uri("/reactive/authors")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+                .jsonPath("$.length()").isEqualTo(3)
+                .jsonPath("$[2].name").isEqualTo("author 2");
+    }
+
+    @Test
+    @DisplayName("Если клиент принимает NDJSON, то каждый конвертированный элемент Flux записывается отдельной строкой")
+    public void ndjson() {
+        var body = client.get().uri("/reactive/authors")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .expectBody(String.class)
+        .returnResult()
+        .getResponseBody();
+
+        Assertions.assertThat(body).isNotNull();
+
+        var lines = body.split("\n");
+
+        Assertions.assertThat(lines).hasSize(3);
+        Assertions.assertThat(lines[1]).startsWith("{").contains("\"name\":\"author 1\"");
+    }
+
+    @Test
+    @DisplayName("Тело запроса конвертируется в мутатор, а результат обратно в ответ")
+    public void mutatorArgument() {
+        client.post().uri("/reactive/books")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{\"name\":\"reactive book\",\"pageCount\":42}")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+                .jsonPath("$.name").isEqualTo("reactive book")
+                .jsonPath("$.pageCount").isEqualTo(42)
+                .jsonPath("$.isbin").isEmpty();
+    }
+
+    @Test
+    @DisplayName("Обработчик конверсии идет перед ResponseBodyResultHandler и перехватывает RestController с ConvertResponse")
+    public void handlerOrder() {
+        var handlers = new ArrayList<>(context.getBeansOfType(HandlerResultHandler.class).values());
+
+        handlers.sort(AnnotationAwareOrderComparator.INSTANCE);
+
+        var conversion = handlers.indexOf(context.getBean(ReactiveResponseHandler.class));
+        var responseBody = handlers.indexOf(context.getBean(ResponseBodyResultHandler.class));
+
+        Assertions.assertThat(conversion).isNotNegative().isLessThan(responseBody);
+
+        client.get().uri("/rest/author")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+                .jsonPath("$.name").isEqualTo("author 0")
+                .jsonPath("$.signature").isEqualTo("signed by author 0");
+    }
+
+    @Configuration
+    @EnableWebFlux
+    @Import({ ConversationalTestConfiguration.class, ReactiveTestController.class, ReactiveRestTestController.class })
+    public static class ReactiveTestConfiguration {
+
+    }
+
+    @ShiftController
+    @RequestMapping("/reactive")
+    public static class ReactiveTestController {
+        @GetMapping("/author")
+        public Mono<ExampleTestAuthorEntity> author() {
+            return Mono.just(createAuthor(0));
+        }
+
+        @GetMapping("/authors")
+        public Flux<ExampleTestAuthorEntity> authors() {
+            return Flux.range(0, 3).map(ConversionReactiveTest::createAuthor);
+        }
+
+        @PostMapping("/books")
+        public Mono<ExampleTestBookEntity> books(@ConvertMutator ExampleTestMutatorRequest request) {
+            return Mono.just(request.fill(new ExampleTestBookEntity()));
+        }
+    }
+
+    @RestController
+    @RequestMapping("/rest")
+    @ConvertResponse(mapping = "signed")
+    public static class ReactiveRestTestController {
+        @GetMapping("/author")
+        public Mono<ExampleTestAuthorEntity> author() {
+            return Mono.just(createAuthor(0));
+        }
+    }
+
+    private static ExampleTestAuthorEntity createAuthor(int index) {
+        var author = new ExampleTestAuthorEntity();
+
+        author.setName("author " + index);
+
+        return author;
+    }
+}
@@ -0,0 +1,86 @@
+package io.github.asewhy.conversions;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.asewhy.conversions.config.ConversationalTestConfiguration;
+import io.github.asewhy.conversions.config.entities.book.ExampleTestAuthorEntity;
+import io.github.asewhy.conversions.config.entities.book.ExampleTestBookEntity;
+import io.github.asewhy.conversions.config.entities.book.ExampleTestPointEntity;
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { ConversationalTestConfiguration.class })
+public class ConversionSelectionTest {
+    @Autowired
+    protected ConversionProvider provider;
+
+    @Test
+    @DisplayName("Невыбранные поля ответа и вложенных ответов не попадают в JSON")
+    public void unselectedFieldsAreOmitted() throws JsonProcessingException {
+        var selection = FieldSelection.parse("name,authors(name,location.x)");
+        var response = FieldSelection.apply(selection, () -> provider.createResponseResolve(book(), ConversionUtils.COMMON_MAPPING));
+        var json = write(response);
+
+        Assertions.assertThat(names(json)).containsExactly("name", "authors");
+        Assertions.assertThat(json.get("authors").size()).isEqualTo(2);
+
+        for(var author: json.get("authors")) {
+            Assertions.assertThat(names(author)).containsExactly("name", "location");
+            Assertions.assertThat(names(author.get("location"))).containsExactly("x");
+        }
+    }
+
+    @Test
+    @DisplayName("Без выборки в JSON попадают все поля ответа")
+    public void allFieldsWithoutSelection() throws JsonProcessingException {
+        var json = write(provider.createResponseResolve(book(), ConversionUtils.COMMON_MAPPING));
+
+        Assertions.assertThat(json.has("isbin")).isTrue();
+        Assertions.assertThat(json.get("authors").get(0).get("location").has("y")).isTrue();
+    }
+
+    private JsonNode write(Object response) throws JsonProcessingException {
+        var objectMapper = provider.getConfig().getObjectMapper();
+
+        return objectMapper.readTree(objectMapper.writeValueAsString(response));
+    }
+
+    private static List<String> names(JsonNode node) {
+        var result = new ArrayList<String>();
+
+        node.fieldNames().forEachRemaining(result::add);
+
+        return result;
+    }
+
+    private static ExampleTestBookEntity book() {
+        var book = new ExampleTestBookEntity();
+
+        book.setName("book");
+        book.setIsbin("978-3-16-148410-0");
+        book.setPageCount(200L);
+
+        for(var i = 0; i < 2; i++) {
+            var author = new ExampleTestAuthorEntity();
+            var location = new ExampleTestPointEntity();
+
+            location.setX(10L);
+            location.setY(20L);
+            author.setName("author " + i);
+            author.setLocation(location);
+
+            book.getAuthors().add(author);
+        }
+
+        return book;
+    }
+}
@@ -0,0 +1,174 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.conversions.config.ConversationalTestConfiguration;
+import io.github.asewhy.conversions.config.entities.book.ExampleTestAuthorEntity;
+import io.github.asewhy.conversions.support.annotations.ShiftController;
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { ConversationalTestConfiguration.class, ConversionStreamTest.StreamTestConfiguration.class })
+public class ConversionStreamTest {
+    @Autowired
+    protected WebApplicationContext context;
+    @Autowired
+    protected StreamTestController controller;
+
+    private MockMvc mvc;
+
+    @Before
+    public void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).build();
+        controller.closed.set(0);
+    }
+
+    @Test
+    @DisplayName("Поток записывается JSON массивом конвертированных элементов и закрывается")
+    public void streamAsJsonArray() throws Exception {
+        mvc.perform(get("/stream/authors"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$[0].name").value("author 0"))
+            .andExpect(jsonPath("$[2].name").value("author 2"));
+
+        Assertions.assertThat(controller.closed.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Итератор записывается JSON массивом конвертированных элементов")
+    public void iteratorAsJsonArray() throws Exception {
+        mvc.perform(get("/stream/iterator"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$[1].name").value("author 1"));
+    }
+
+    @Test
+    @DisplayName("Если клиент принимает NDJSON, то каждый элемент записывается отдельной строкой")
+    public void streamAsNdjson() throws Exception {
+        var result = mvc.perform(get("/stream/authors").accept(MediaType.APPLICATION_NDJSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andReturn();
+
+        var lines = result.getResponse().getContentAsString().split("\n");
+
+        Assertions.assertThat(lines).hasSize(3);
+        Assertions.assertThat(lines[0]).startsWith("{").contains("\"name\":\"author 0\"");
+        Assertions.assertThat(lines[2]).contains("\"name\":\"author 2\"");
+        Assertions.assertThat(controller.closed.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("При ошибке конверсии элемента поток закрывается, а ошибка передается MVC")
+    public void streamIsClosedOnFailure() {
+        var thrown = Assertions.catchThrowable(() -> mvc.perform(get("/stream/failing")));
+
+        Assertions.assertThat(NestedExceptionUtils.getRootCause(thrown)).hasMessage("broken");
+        Assertions.assertThat(controller.closed.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Ошибка закрытия потока не скрывает ошибку записи, а добавляется к ней как подавленная")
+    public void closeFailureIsSuppressed() {
+        var thrown = Assertions.catchThrowable(() -> mvc.perform(get("/stream/failing-close")));
+        var cause = NestedExceptionUtils.getRootCause(thrown);
+
+        Assertions.assertThat(cause).hasMessage("broken");
+        Assertions.assertThat(cause.getSuppressed()).hasSize(1);
+        Assertions.assertThat(cause.getSuppressed()[0]).hasMessage("close");
+    }
+
+    @Test
+    @DisplayName("Ошибка закрытия потока после успешной записи передается MVC")
+    public void closeFailureIsThrown() {
+        var thrown = Assertions.catchThrowable(() -> mvc.perform(get("/stream/close")));
+
+        Assertions.assertThat(NestedExceptionUtils.getRootCause(thrown)).hasMessage("close");
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @Import(StreamTestController.class)
+    public static class StreamTestConfiguration {
+
+    }
+
+    @ShiftController
+    @RequestMapping("/stream")
+    public static class StreamTestController {
+        private final AtomicInteger closed = new AtomicInteger();
+
+        @GetMapping("/authors")
+        public Stream<ExampleTestAuthorEntity> authors() {
+            return authorList().stream().onClose(closed::incrementAndGet);
+        }
+
+        @GetMapping("/iterator")
+        public Iterator<ExampleTestAuthorEntity> iterator() {
+            return authorList().iterator();
+        }
+
+        @GetMapping("/failing")
+        public Stream<ExampleTestAuthorEntity> failing() {
+            return authorList().stream().map(StreamTestController::fail).onClose(closed::incrementAndGet);
+        }
+
+        @GetMapping("/failing-close")
+        public Stream<ExampleTestAuthorEntity> failingClose() {
+            return authorList().stream().map(StreamTestController::fail).onClose(() -> {
+                throw new IllegalStateException("close");
+            });
+        }
+
+        @GetMapping("/close")
+        public Stream<ExampleTestAuthorEntity> close() {
+            return authorList().stream().onClose(() -> {
+                throw new IllegalStateException("close");
+            });
+        }
+
+        private static ExampleTestAuthorEntity fail(ExampleTestAuthorEntity author) {
+            throw new IllegalStateException("broken");
+        }
+
+        private static List<ExampleTestAuthorEntity> authorList() {
+            return List.of(author("author 0"), author("author 1"), author("author 2"));
+        }
+
+        private static ExampleTestAuthorEntity author(String name) {
+            var author = new ExampleTestAuthorEntity();
+
+            author.setName(name);
+
+            return author;
+        }
+    }
+}
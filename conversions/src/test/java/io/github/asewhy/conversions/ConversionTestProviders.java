@@ -0,0 +1,27 @@
+package io.github.asewhy.conversions;
+
+import io.github.asewhy.conversions.support.ConversionConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Создание поставщиков конверсий вне контекста приложения, для тестов, которым нужна другая конфигурация
+ */
+public final class ConversionTestProviders {
+    private ConversionTestProviders() {
+
+    }
+
+    /**
+     * Создать поставщик конверсий с конфигурацией config
+     *
+     * @param config конфигурация
+     * @return поставщик конверсий
+     */
+    public static @NotNull ConversionProvider create(@NotNull ConversionConfiguration config) {
+        var provider = new ConversionProvider();
+
+        provider.config = new ConversionConfigurationInternal(config);
+
+        return provider;
+    }
+}
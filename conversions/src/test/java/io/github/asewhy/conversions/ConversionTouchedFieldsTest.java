@@ -0,0 +1,80 @@
+package io.github.asewhy.conversions;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.github.asewhy.conversions.config.ConversationalTestConfiguration;
+import io.github.asewhy.conversions.config.converters.graph.ExampleTestNovelMutator;
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static io.github.asewhy.conversions.config.support.ExampleTestWriters.writer;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { ConversationalTestConfiguration.class })
+public class ConversionTouchedFieldsTest {
+    @Autowired
+    protected ConversionProvider provider;
+
+    @Test
+    @DisplayName("Путь через точку проверяет поля, переданные во вложенный мутатор")
+    public void nestedPath() throws JsonProcessingException {
+        var mutator = read("{\"title\":\"Resurrection\",\"writer\":{\"name\":\"Leo Tolstoy\"}}");
+
+        Assertions.assertThat(mutator.hasField("title")).isTrue();
+        Assertions.assertThat(mutator.hasField("writer")).isTrue();
+        Assertions.assertThat(mutator.hasField("writer.name")).isTrue();
+        Assertions.assertThat(mutator.hasField("writer.version")).isFalse();
+        Assertions.assertThat(mutator.hasField("writer.unknown")).isFalse();
+
+        //
+        // Частичное обновление меняет только переданные поля
+        //
+        var novel = writer(1, "Tolstoy", "War and Peace").getNovels().get(0);
+        var writer = novel.getWriter();
+
+        mutator.fill(novel);
+
+        Assertions.assertThat(novel.getTitle()).isEqualTo("Resurrection");
+        Assertions.assertThat(novel.getWriter()).isSameAs(writer);
+        Assertions.assertThat(writer.getName()).isEqualTo("Leo Tolstoy");
+        Assertions.assertThat(writer.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Путь через не переданное или пустое вложенное поле не считается переданным")
+    public void missingNestedPath() throws JsonProcessingException {
+        var missing = read("{\"title\":\"Resurrection\"}");
+        var empty = read("{\"writer\":null}");
+
+        Assertions.assertThat(missing.hasField("writer")).isFalse();
+        Assertions.assertThat(missing.hasField("writer.name")).isFalse();
+        Assertions.assertThat(empty.hasField("writer")).isTrue();
+        Assertions.assertThat(empty.hasField("writer.name")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Доступные поля возвращаются неизменяемым представлением переданных полей")
+    public void availableFieldsView() throws JsonProcessingException {
+        var mutator = read("{\"title\":\"Resurrection\",\"writer\":{\"name\":\"Leo Tolstoy\"}}");
+        var fields = mutator.getAvailableFields();
+
+        Assertions.assertThat(fields).containsExactlyInAnyOrder("title", "writer");
+        Assertions.assertThatThrownBy(() -> fields.add("extra")).isInstanceOf(UnsupportedOperationException.class);
+        Assertions.assertThatThrownBy(() -> fields.remove("title")).isInstanceOf(UnsupportedOperationException.class);
+
+        mutator.touchedFields.remove("title");
+
+        Assertions.assertThat(fields).containsExactly("writer");
+        Assertions.assertThat(mutator.hasField("title")).isFalse();
+    }
+
+    private ExampleTestNovelMutator read(String json) throws JsonProcessingException {
+        var tree = provider.getConfig().getObjectMapper().readTree(json);
+
+        return (ExampleTestNovelMutator) provider.createRequestResolve(tree, ExampleTestNovelMutator.class, null);
+    }
+}
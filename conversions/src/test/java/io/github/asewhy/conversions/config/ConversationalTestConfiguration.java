@@ -0,0 +1,72 @@
+package io.github.asewhy.conversions.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.javafaker.Faker;
+import io.github.asewhy.conversions.ConversionProvider;
+import io.github.asewhy.conversions.ConversionStore;
+import io.github.asewhy.conversions.ConversionTestProviders;
+import io.github.asewhy.conversions.config.support.ExampleTestIdentified;
+import io.github.asewhy.conversions.support.annotations.EnableConversions;
+import io.github.asewhy.conversions.support.ConversionConfiguration;
+import io.github.asewhy.conversions.support.IdExtractor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.stereotype.Component;
+
+@Component
+@EnableConversions
+@ComponentScan("io.github.asewhy.conversions.config.*")
+public class ConversationalTestConfiguration implements ConversionConfiguration {
+    @Autowired
+    protected ApplicationContext context;
+
+    public ConversationalTestConfiguration() {
+
+    }
+
+    /**
+     * Конфигурация вне контекста приложения, для поставщиков с другими настройками (см. {@link #createProvider()})
+     *
+     * @param context контекст приложения, из которого загружаются сервисные компоненты
+     */
+    public ConversationalTestConfiguration(ApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Создать отдельный поставщик конверсий с этой конфигурацией и собственным стором
+     *
+     * @return поставщик конверсий
+     */
+    public ConversionProvider createProvider() {
+        return ConversionTestProviders.create(this);
+    }
+
+    @Override
+    public ConversionStore conversionStore() {
+        var store = new ConversionStore(context);
+        store.from("io.github.asewhy.conversions.config.converters");
+        return store;
+    }
+
+    @Override
+    public ObjectMapper objectMapper() {
+        return new ObjectMapper();
+    }
+
+    @Override
+    public IdExtractor idExtractor(Class<?> type) {
+        if(ExampleTestIdentified.class.isAssignableFrom(type)) {
+            return e -> ((ExampleTestIdentified) e).getId();
+        }
+
+        return null;
+    }
+
+    @Bean
+    public Faker faker() {
+        return new Faker();
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.asewhy.conversions.config.converters.book;
+
+import io.github.asewhy.conversions.ConversionResponse;
+import io.github.asewhy.conversions.config.entities.book.ExampleTestAuthorEntity;
+import io.github.asewhy.conversions.support.annotations.ResponseDTO;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@ResponseDTO(mapping = "signed")
+public class ExampleTestAuthorSignedResponse extends ConversionResponse<ExampleTestAuthorEntity> {
+    private String name;
+    private String signature;
+    private ExampleTestPointResponse location;
+
+    @Override
+    protected void fillInternal(ExampleTestAuthorEntity from, Object context) {
+        this.signature = "signed by " + from.getName();
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.asewhy.conversions.config.converters.book;
+
+import io.github.asewhy.conversions.ConversionResponse;
+import io.github.asewhy.conversions.config.entities.book.ExampleTestAuthorEntity;
+import io.github.asewhy.conversions.config.support.ExampleTestTrace;
+import io.github.asewhy.conversions.support.annotations.ResponseDTO;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@ResponseDTO(mapping = "traced")
+public class ExampleTestAuthorTracedResponse extends ConversionResponse<ExampleTestAuthorEntity> {
+    private String name;
+
+    @Override
+    protected void fillInternal(ExampleTestAuthorEntity from, Object context) {
+        if(context instanceof ExampleTestTrace) {
+            ((ExampleTestTrace) context).visit(from.getName());
+        }
+    }
+}
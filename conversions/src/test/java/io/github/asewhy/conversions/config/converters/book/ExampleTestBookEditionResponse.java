@@ -0,0 +1,23 @@
+package io.github.asewhy.conversions.config.converters.book;
+
+import io.github.asewhy.conversions.ConversionResponse;
+import io.github.asewhy.conversions.config.entities.book.ExampleTestBookEntity;
+import io.github.asewhy.conversions.support.annotations.ResponseDTO;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@ResponseDTO(mapping = "edition")
+public class ExampleTestBookEditionResponse extends ConversionResponse<ExampleTestBookEntity> {
+    private String name;
+    private String isbin;
+    private String format = "paper";
+    private Integer printing = 1;
+    private String note;
+    private List<ExampleTestAuthorSignedResponse> authors;
+}
@@ -0,0 +1,25 @@
+package io.github.asewhy.conversions.config.converters.book;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.github.asewhy.conversions.ConversionResponse;
+import io.github.asewhy.conversions.config.entities.book.ExampleTestBookEntity;
+import io.github.asewhy.conversions.support.annotations.ResponseDTO;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@ResponseDTO(mapping = "labeled")
+public class ExampleTestBookLabeledResponse extends ConversionResponse<ExampleTestBookEntity> {
+    @JsonProperty("title")
+    private String name;
+    @JsonIgnore
+    private String isbin;
+    private Long pageCount;
+    private List<ExampleTestAuthorResponse> authors;
+}
@@ -0,0 +1,23 @@
+package io.github.asewhy.conversions.config.converters.graph;
+
+import io.github.asewhy.conversions.ConversionResponse;
+import io.github.asewhy.conversions.config.entities.graph.ExampleTestNovelEntity;
+import io.github.asewhy.conversions.support.annotations.ResponseDTO;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Map;
+
+@Getter
+@Setter
+@ResponseDTO(mapping = "contextual")
+public class ExampleTestNovelContextualResponse extends ConversionResponse<ExampleTestNovelEntity> {
+    private String title;
+    private String label;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void fillInternal(ExampleTestNovelEntity from, Object context) {
+        this.label = context instanceof Map<?, ?> ? ((Map<Long, String>) context).get(from.getId()) : null;
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.asewhy.conversions.config.converters.graph;
+
+import io.github.asewhy.conversions.ConversionMutator;
+import io.github.asewhy.conversions.config.entities.graph.ExampleTestNovelEntity;
+import io.github.asewhy.conversions.support.annotations.MutatorDTO;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@MutatorDTO
+public class ExampleTestNovelMutator extends ConversionMutator<ExampleTestNovelEntity> {
+    private String title;
+    private ExampleTestWriterMutator writer;
+}
@@ -0,0 +1,18 @@
+package io.github.asewhy.conversions.config.converters.graph;
+
+import io.github.asewhy.conversions.ConversionResponse;
+import io.github.asewhy.conversions.config.entities.graph.ExampleTestNovelEntity;
+import io.github.asewhy.conversions.config.resolvers.ExampleTestRatingResolver;
+import io.github.asewhy.conversions.support.annotations.BatchField;
+import io.github.asewhy.conversions.support.annotations.ResponseDTO;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ResponseDTO(mapping = "rated")
+public class ExampleTestNovelRatedResponse extends ConversionResponse<ExampleTestNovelEntity> {
+    private String title;
+    @BatchField(resolver = ExampleTestRatingResolver.class)
+    private Long rating;
+}
@@ -0,0 +1,15 @@
+package io.github.asewhy.conversions.config.converters.graph;
+
+import io.github.asewhy.conversions.ConversionResponse;
+import io.github.asewhy.conversions.config.entities.graph.ExampleTestNovelEntity;
+import io.github.asewhy.conversions.support.annotations.ResponseDTO;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ResponseDTO
+public class ExampleTestNovelResponse extends ConversionResponse<ExampleTestNovelEntity> {
+    private String title;
+    private ExampleTestWriterResponse writer;
+}
@@ -0,0 +1,25 @@
+package io.github.asewhy.conversions.config.converters.graph;
+
+import io.github.asewhy.conversions.ConversionResponse;
+import io.github.asewhy.conversions.config.entities.graph.ExampleTestWriterEntity;
+import io.github.asewhy.conversions.support.annotations.ResponseDTO;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@ResponseDTO(mapping = "contextual")
+public class ExampleTestWriterContextualResponse extends ConversionResponse<ExampleTestWriterEntity> {
+    private String name;
+    private String label;
+    private List<ExampleTestNovelContextualResponse> novels;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void fillInternal(ExampleTestWriterEntity from, Object context) {
+        this.label = context instanceof Map<?, ?> ? ((Map<Long, String>) context).get(from.getId()) : null;
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.asewhy.conversions.config.converters.graph;
+
+import io.github.asewhy.conversions.ConversionMutator;
+import io.github.asewhy.conversions.config.entities.graph.ExampleTestWriterEntity;
+import io.github.asewhy.conversions.support.annotations.MutatorDTO;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@MutatorDTO
+public class ExampleTestWriterMutator extends ConversionMutator<ExampleTestWriterEntity> {
+    private String name;
+    private Long version;
+}
@@ -0,0 +1,17 @@
+package io.github.asewhy.conversions.config.converters.graph;
+
+import io.github.asewhy.conversions.ConversionResponse;
+import io.github.asewhy.conversions.config.entities.graph.ExampleTestWriterEntity;
+import io.github.asewhy.conversions.support.annotations.ResponseDTO;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ResponseDTO(mapping = "rated", cached = true, version = "version")
+public class ExampleTestWriterRatedResponse extends ConversionResponse<ExampleTestWriterEntity> {
+    private String name;
+    private List<ExampleTestNovelRatedResponse> novels;
+}
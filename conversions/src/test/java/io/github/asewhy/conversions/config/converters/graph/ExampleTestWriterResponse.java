@@ -0,0 +1,17 @@
+package io.github.asewhy.conversions.config.converters.graph;
+
+import io.github.asewhy.conversions.ConversionResponse;
+import io.github.asewhy.conversions.config.entities.graph.ExampleTestWriterEntity;
+import io.github.asewhy.conversions.support.annotations.ResponseDTO;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ResponseDTO(cached = true, version = "version")
+public class ExampleTestWriterResponse extends ConversionResponse<ExampleTestWriterEntity> {
+    private String name;
+    private List<ExampleTestNovelResponse> novels;
+}
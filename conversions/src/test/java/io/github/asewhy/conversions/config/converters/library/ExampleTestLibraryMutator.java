@@ -0,0 +1,19 @@
+package io.github.asewhy.conversions.config.converters.library;
+
+import io.github.asewhy.conversions.ConversionMutator;
+import io.github.asewhy.conversions.config.entities.library.ExampleTestLibraryEntity;
+import io.github.asewhy.conversions.support.annotations.MutatorDTO;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@MutatorDTO
+public class ExampleTestLibraryMutator extends ConversionMutator<ExampleTestLibraryEntity> {
+    private String name;
+    private List<ExampleTestShelfMutator> shelves;
+}
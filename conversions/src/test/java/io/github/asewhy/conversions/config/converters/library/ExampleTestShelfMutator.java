@@ -0,0 +1,18 @@
+package io.github.asewhy.conversions.config.converters.library;
+
+import io.github.asewhy.conversions.ConversionMutator;
+import io.github.asewhy.conversions.config.entities.library.ExampleTestShelfEntity;
+import io.github.asewhy.conversions.config.support.ExampleTestIdentified;
+import io.github.asewhy.conversions.support.annotations.MutatorDTO;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@MutatorDTO
+public class ExampleTestShelfMutator extends ConversionMutator<ExampleTestShelfEntity> implements ExampleTestIdentified {
+    private Long id;
+    private String name;
+}
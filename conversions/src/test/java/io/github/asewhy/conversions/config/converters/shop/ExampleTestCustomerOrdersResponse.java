@@ -0,0 +1,19 @@
+package io.github.asewhy.conversions.config.converters.shop;
+
+import io.github.asewhy.conversions.ConversionResponse;
+import io.github.asewhy.conversions.config.entities.shop.ExampleTestCustomerEntity;
+import io.github.asewhy.conversions.support.annotations.ResponseDTO;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.Set;
+
+@Getter
+@Setter
+@ToString
+@ResponseDTO(mapping = "orders")
+public class ExampleTestCustomerOrdersResponse extends ConversionResponse<ExampleTestCustomerEntity> {
+    private String name;
+    private Set<ExampleTestOrderTagsResponse> orders;
+}
@@ -0,0 +1,16 @@
+package io.github.asewhy.conversions.config.converters.shop;
+
+import io.github.asewhy.conversions.ConversionResponse;
+import io.github.asewhy.conversions.config.entities.shop.ExampleTestCustomerEntity;
+import io.github.asewhy.conversions.support.annotations.ResponseDTO;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@ResponseDTO
+public class ExampleTestCustomerResponse extends ConversionResponse<ExampleTestCustomerEntity> {
+    private String name;
+}
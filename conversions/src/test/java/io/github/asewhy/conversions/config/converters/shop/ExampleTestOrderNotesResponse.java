@@ -0,0 +1,20 @@
+package io.github.asewhy.conversions.config.converters.shop;
+
+import io.github.asewhy.conversions.ConversionResponse;
+import io.github.asewhy.conversions.config.entities.shop.ExampleTestOrderEntity;
+import io.github.asewhy.conversions.support.annotations.ResponseDTO;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@ResponseDTO(mapping = "notes")
+public class ExampleTestOrderNotesResponse extends ConversionResponse<ExampleTestOrderEntity> {
+    private String code;
+    private List<ExampleTestOrderLineResponse> lines;
+    private List<ExampleTestOrderNoteResponse> notes;
+}
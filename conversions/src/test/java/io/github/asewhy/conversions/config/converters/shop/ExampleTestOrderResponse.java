@@ -0,0 +1,20 @@
+package io.github.asewhy.conversions.config.converters.shop;
+
+import io.github.asewhy.conversions.ConversionResponse;
+import io.github.asewhy.conversions.config.entities.shop.ExampleTestOrderEntity;
+import io.github.asewhy.conversions.support.annotations.ResponseDTO;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+@ResponseDTO
+public class ExampleTestOrderResponse extends ConversionResponse<ExampleTestOrderEntity> {
+    private String code;
+    private ExampleTestCustomerResponse customer;
+    private List<ExampleTestOrderLineResponse> lines;
+}
@@ -0,0 +1,19 @@
+package io.github.asewhy.conversions.config.converters.shop;
+
+import io.github.asewhy.conversions.ConversionResponse;
+import io.github.asewhy.conversions.config.entities.shop.ExampleTestOrderEntity;
+import io.github.asewhy.conversions.support.annotations.ResponseDTO;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.Set;
+
+@Getter
+@Setter
+@ToString
+@ResponseDTO(mapping = "tags")
+public class ExampleTestOrderTagsResponse extends ConversionResponse<ExampleTestOrderEntity> {
+    private String code;
+    private Set<ExampleTestOrderTagResponse> tags;
+}
@@ -0,0 +1,12 @@
+package io.github.asewhy.conversions.config.entities.graph;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ExampleTestNovelEntity {
+    private Long id;
+    private String title;
+    private ExampleTestWriterEntity writer;
+}
@@ -0,0 +1,16 @@
+package io.github.asewhy.conversions.config.entities.graph;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class ExampleTestWriterEntity {
+    private Long id;
+    private Long version;
+    private String name;
+    private List<ExampleTestNovelEntity> novels = new ArrayList<>();
+}
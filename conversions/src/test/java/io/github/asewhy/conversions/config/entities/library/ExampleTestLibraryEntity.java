@@ -0,0 +1,16 @@
+package io.github.asewhy.conversions.config.entities.library;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ToString
+public class ExampleTestLibraryEntity {
+    private String name;
+    private List<ExampleTestShelfEntity> shelves = new ArrayList<>();
+}
@@ -0,0 +1,18 @@
+package io.github.asewhy.conversions.config.entities.library;
+
+import io.github.asewhy.conversions.config.support.ExampleTestIdentified;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExampleTestShelfEntity implements ExampleTestIdentified {
+    private Long id;
+    private String name;
+}
@@ -0,0 +1,21 @@
+package io.github.asewhy.conversions.config.entities.shop;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.OneToMany;
+import java.util.HashSet;
+import java.util.Set;
+
+@Getter
+@Setter
+@Entity
+public class ExampleTestCustomerEntity {
+    @Id
+    private Long id;
+    private String name;
+    @OneToMany(mappedBy = "customer")
+    private Set<ExampleTestOrderEntity> orders = new HashSet<>();
+}
@@ -0,0 +1,33 @@
+package io.github.asewhy.conversions.config.entities.shop;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.Table;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "example_test_order")
+public class ExampleTestOrderEntity {
+    @Id
+    private Long id;
+    private String code;
+    @ManyToOne(fetch = FetchType.LAZY)
+    private ExampleTestCustomerEntity customer;
+    @OneToMany(mappedBy = "order")
+    private List<ExampleTestOrderLineEntity> lines = new ArrayList<>();
+    @OneToMany(mappedBy = "order")
+    private List<ExampleTestOrderNoteEntity> notes = new ArrayList<>();
+    @OneToMany(mappedBy = "order")
+    private Set<ExampleTestOrderTagEntity> tags = new HashSet<>();
+}
@@ -0,0 +1,20 @@
+package io.github.asewhy.conversions.config.entities.shop;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+@Getter
+@Setter
+@Entity
+public class ExampleTestOrderNoteEntity {
+    @Id
+    private Long id;
+    private String content;
+    @ManyToOne(fetch = FetchType.LAZY)
+    private ExampleTestOrderEntity order;
+}
@@ -0,0 +1,56 @@
+package io.github.asewhy.conversions.config.resolvers;
+
+import io.github.asewhy.conversions.BatchFieldResolver;
+import io.github.asewhy.conversions.support.annotations.ContextLoadable;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Пакетный ресолвер рейтинга по идентификатору, запоминает ключи каждого вызова
+ */
+@Component
+@ContextLoadable
+public class ExampleTestRatingResolver extends BatchFieldResolver<Long, Long> {
+    public static final int BATCH_SIZE = 2;
+
+    private final List<List<Long>> calls = new ArrayList<>();
+    private final List<Object> contexts = new ArrayList<>();
+
+    @Override
+    public synchronized @NotNull Map<Long, Long> resolve(@NotNull Collection<Long> keys, Object context) {
+        var result = new HashMap<Long, Long>();
+
+        calls.add(new ArrayList<>(keys));
+        contexts.add(context);
+
+        for(var current: keys) {
+            result.put(current, current * 10);
+        }
+
+        return result;
+    }
+
+    @Override
+    public int getBatchSize() {
+        return BATCH_SIZE;
+    }
+
+    public synchronized @NotNull List<List<Long>> getCalls() {
+        return new ArrayList<>(calls);
+    }
+
+    public synchronized @NotNull List<Object> getContexts() {
+        return new ArrayList<>(contexts);
+    }
+
+    public synchronized void reset() {
+        calls.clear();
+        contexts.clear();
+    }
+}
@@ -0,0 +1,39 @@
+package io.github.asewhy.conversions.config.resolvers;
+
+import io.github.asewhy.conversions.ConversionContextRecipient;
+import io.github.asewhy.conversions.config.entities.graph.ExampleTestWriterEntity;
+import io.github.asewhy.conversions.support.annotations.ContextLoadable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Получатель контекста писателей, запоминает идентификаторы каждого вызова. Не является компонентом и загружается
+ * только в стор теста, который его использует
+ */
+@ContextLoadable
+public class ExampleTestWriterContextRecipient extends ConversionContextRecipient<ExampleTestWriterEntity, Map<Long, String>> {
+    private final List<List<Long>> calls = new ArrayList<>();
+
+    @Override
+    public synchronized Map<Long, String> provideContextForEntities(Collection<ExampleTestWriterEntity> entities) {
+        var ids = new ArrayList<Long>();
+        var result = new HashMap<Long, String>();
+
+        for(var current: entities) {
+            ids.add(current.getId());
+            result.put(current.getId(), "writer " + current.getId());
+        }
+
+        calls.add(ids);
+
+        return result;
+    }
+
+    public synchronized List<List<Long>> getCalls() {
+        return new ArrayList<>(calls);
+    }
+}
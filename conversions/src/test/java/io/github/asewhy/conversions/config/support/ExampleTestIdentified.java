@@ -0,0 +1,5 @@
+package io.github.asewhy.conversions.config.support;
+
+public interface ExampleTestIdentified {
+    Long getId();
+}
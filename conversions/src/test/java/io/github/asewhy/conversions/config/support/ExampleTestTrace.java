@@ -0,0 +1,42 @@
+package io.github.asewhy.conversions.config.support;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Контекст конверсии, который запоминает конвертированные элементы и потоки, в которых они конвертировались
+ */
+public class ExampleTestTrace {
+    private final Set<String> threads = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger visited = new AtomicInteger();
+    private final String failOn;
+
+    public ExampleTestTrace() {
+        this(null);
+    }
+
+    /**
+     * @param failOn название элемента, конверсия которого завершится ошибкой
+     */
+    public ExampleTestTrace(String failOn) {
+        this.failOn = failOn;
+    }
+
+    public void visit(String name) {
+        visited.incrementAndGet();
+        threads.add(Thread.currentThread().getName());
+
+        if(name.equals(failOn)) {
+            throw new IllegalStateException("Failed on " + name);
+        }
+    }
+
+    public int getVisited() {
+        return visited.get();
+    }
+
+    public Set<String> getThreads() {
+        return threads;
+    }
+}
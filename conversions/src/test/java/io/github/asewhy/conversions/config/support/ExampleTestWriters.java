@@ -0,0 +1,56 @@
+package io.github.asewhy.conversions.config.support;
+
+import io.github.asewhy.conversions.config.entities.graph.ExampleTestNovelEntity;
+import io.github.asewhy.conversions.config.entities.graph.ExampleTestWriterEntity;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Писатели с двунаправленной связью с их романами
+ */
+public final class ExampleTestWriters {
+    private ExampleTestWriters() {
+
+    }
+
+    /**
+     * Создать писателя с романами titles, каждый роман ссылается на писателя
+     *
+     * @param id идентификатор писателя, романы получают идентификаторы id * 100 + номер
+     * @param name имя писателя
+     * @param titles названия романов
+     * @return писатель
+     */
+    public static @NotNull ExampleTestWriterEntity writer(long id, String name, String @NotNull ... titles) {
+        var writer = new ExampleTestWriterEntity();
+
+        writer.setId(id);
+        writer.setVersion(1L);
+        writer.setName(name);
+
+        for(var i = 0; i < titles.length; i++) {
+            var novel = new ExampleTestNovelEntity();
+
+            novel.setId(id * 100 + i);
+            novel.setTitle(titles[i]);
+            novel.setWriter(writer);
+
+            writer.getNovels().add(novel);
+        }
+
+        return writer;
+    }
+
+    /**
+     * Убрать ссылки романов на писателя, чтобы писателя можно было конвертировать без политики циклов
+     *
+     * @param writer писатель
+     * @return тот же писатель
+     */
+    public static @NotNull ExampleTestWriterEntity detach(@NotNull ExampleTestWriterEntity writer) {
+        for(var current: writer.getNovels()) {
+            current.setWriter(null);
+        }
+
+        return writer;
+    }
+}